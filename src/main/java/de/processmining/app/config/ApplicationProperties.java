@@ -9,4 +9,212 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link io.github.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+    private final EventLog eventLog = new EventLog();
+
+    private final Concurrency concurrency = new Concurrency();
+
+    private final AnalysisCache analysisCache = new AnalysisCache();
+
+    /**
+     * Identifier of this instance of the application, which must not change when the instance restarts; the host name
+     * if not set. The instance only fails its own analysis jobs when it restarts.
+     */
+    private String instanceId;
+
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public AnalysisCache getAnalysisCache() {
+        return analysisCache;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public static class EventLog {
+        /**
+         * Number of rows sent to the database in one JDBC batch while importing an event log.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Number of event logs kept in memory, the least recently used ones being dropped first.
+         */
+        private int maxCachedLogs = 10;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxCachedLogs() {
+            return maxCachedLogs;
+        }
+
+        public void setMaxCachedLogs(int maxCachedLogs) {
+            this.maxCachedLogs = maxCachedLogs;
+        }
+    }
+
+    /**
+     * Executors of the background work, configured in {@link ExecutorConfiguration}.
+     */
+    public static class Concurrency {
+        private final Mining mining = new Mining();
+
+        private final Pool replay = new Pool(4, 256);
+
+        private final Pool eventLogImport = new Pool(4, 64);
+
+        private final Pool analysisJobs = new Pool(2, 100);
+
+        private final Pool mail = new Pool(1, 500);
+
+        private final Pool export = new Pool(4, 32);
+
+        public Mining getMining() {
+            return mining;
+        }
+
+        /**
+         * Pool replaying event logs on process models, shared by all conformance checks.
+         */
+        public Pool getReplay() {
+            return replay;
+        }
+
+        /**
+         * Pool importing the chunks of CSV event logs, each thread holding a database connection.
+         */
+        public Pool getEventLogImport() {
+            return eventLogImport;
+        }
+
+        /**
+         * Pool running analysis jobs.
+         */
+        public Pool getAnalysisJobs() {
+            return analysisJobs;
+        }
+
+        /**
+         * Pool sending e-mails.
+         */
+        public Pool getMail() {
+            return mail;
+        }
+
+        /**
+         * Pool writing the asynchronous responses, such as event log exports, each thread holding a database connection.
+         */
+        public Pool getExport() {
+            return export;
+        }
+    }
+
+    public static class Mining {
+        /**
+         * Number of threads running mining algorithms, or 0 for the number of processors.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Number of mining tasks, each one requested by a REST call or an analysis job, running at the same time.
+         */
+        private int maxConcurrentTasks = 8;
+
+        /**
+         * Seconds a request waits for a running mining task to complete before it is rejected.
+         */
+        private long waitTimeoutSeconds = 30;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxConcurrentTasks() {
+            return maxConcurrentTasks;
+        }
+
+        public void setMaxConcurrentTasks(int maxConcurrentTasks) {
+            this.maxConcurrentTasks = maxConcurrentTasks;
+        }
+
+        public long getWaitTimeoutSeconds() {
+            return waitTimeoutSeconds;
+        }
+
+        public void setWaitTimeoutSeconds(long waitTimeoutSeconds) {
+            this.waitTimeoutSeconds = waitTimeoutSeconds;
+        }
+    }
+
+    public static class Pool {
+        /**
+         * Number of threads of the pool.
+         */
+        private int threads;
+
+        /**
+         * Number of tasks waiting for a thread; what happens to further tasks depends on the pool.
+         */
+        private int queueCapacity;
+
+        public Pool() {}
+
+        Pool(int threads, int queueCapacity) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class AnalysisCache {
+        /**
+         * Number of analysis results kept in memory, for all processes. Results do not expire: beyond this number, the
+         * least recently used ones are evicted, and they are dropped when the log of their process changes.
+         */
+        private long maxEntries = 200;
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -22,14 +23,22 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment env;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment env) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
+        if (VirtualThreadConfiguration.isEnabled(env)) {
+            return new ExceptionHandlingAsyncTaskExecutor(
+                VirtualThreadConfiguration.newVirtualThreadTaskExecutor(taskExecutionProperties.getThreadNamePrefix())
+            );
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
@@ -0,0 +1,127 @@
+package de.processmining.app.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work-stealing pool bounding the number of tasks submitted from outside the pool which run at the same time.
+ * <p>
+ * Each such task holds a permit until it completes. Callers waiting for the result of a task wait for a permit up to a
+ * timeout, while asynchronous submissions only take a free permit; both are rejected with a
+ * {@link RejectedExecutionException} when no permit is available. Subtasks forked by a running task, and tasks
+ * submitted from the threads of the pool, do not take a permit.
+ */
+class BoundedForkJoinPool extends ForkJoinPool {
+    private final Semaphore permits;
+
+    private final long timeoutMillis;
+
+    BoundedForkJoinPool(int parallelism, ForkJoinWorkerThreadFactory factory, int maxConcurrentTasks, long timeoutMillis) {
+        super(parallelism, factory, null, false);
+        this.permits = new Semaphore(Math.max(1, maxConcurrentTasks), true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return the number of tasks which can still be submitted without waiting.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public <T> T invoke(ForkJoinTask<T> task) {
+        if (isOwnThread()) {
+            return super.invoke(task);
+        }
+        acquire();
+        try {
+            return super.invoke(task);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void execute(ForkJoinTask<?> task) {
+        if (isOwnThread()) {
+            super.execute(task);
+        } else {
+            tryAcquire();
+            try {
+                super.execute(releasing(task));
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(task instanceof ForkJoinTask ? (ForkJoinTask<?>) task : ForkJoinTask.adapt(task));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(ForkJoinTask<T> task) {
+        execute(task);
+        return task;
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return submit(ForkJoinTask.adapt(task));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Runnable task, T result) {
+        return submit(ForkJoinTask.adapt(task, result));
+    }
+
+    @Override
+    public ForkJoinTask<?> submit(Runnable task) {
+        return submit(ForkJoinTask.adapt(task));
+    }
+
+    private boolean isOwnThread() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == this;
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Too many mining tasks running, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting to run a mining task", e);
+        }
+    }
+
+    private void tryAcquire() {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many mining tasks running, retry later");
+        }
+    }
+
+    /**
+     * Run a task from a thread of the pool, releasing its permit once it completes.
+     */
+    private ForkJoinTask<?> releasing(ForkJoinTask<?> task) {
+        return ForkJoinTask.adapt(
+            () -> {
+                try {
+                    task.invoke();
+                } finally {
+                    permits.release();
+                }
+            }
+        );
+    }
+}
@@ -21,8 +21,9 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> analysisResultsConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration =
@@ -32,6 +33,19 @@ public class CacheConfiguration {
                     .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                     .build()
             );
+        // analysis results are keyed by the log version of their process, so they never become stale and need no TTL:
+        // the heap bound evicts the least recently used ones
+        analysisResultsConfiguration =
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(
+                        Object.class,
+                        Object.class,
+                        ResourcePoolsBuilder.heap(applicationProperties.getAnalysisCache().getMaxEntries())
+                    )
+                    .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                    .build()
+            );
     }
 
     @Bean
@@ -48,14 +62,23 @@ public class CacheConfiguration {
             createCache(cm, de.processmining.app.domain.Authority.class.getName());
             createCache(cm, de.processmining.app.domain.User.class.getName() + ".authorities");
             createCache(cm, de.processmining.app.domain.Process.class.getName());
+            createCache(cm, de.processmining.app.service.AnalysisCacheService.ANALYSIS_RESULTS_CACHE, analysisResultsConfiguration);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache == null) {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 
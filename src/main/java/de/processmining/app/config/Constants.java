@@ -11,5 +11,8 @@ public final class Constants {
     public static final String DEFAULT_LANGUAGE = "en";
     public static final String ANONYMOUS_USER = "anonymoususer";
 
+    // Spring profile handling requests and @Async methods on virtual threads, on Java 21 or later
+    public static final String SPRING_PROFILE_VIRTUAL_THREADS = "virtual-threads";
+
     private Constants() {}
 }
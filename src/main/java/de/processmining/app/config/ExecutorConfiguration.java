@@ -0,0 +1,147 @@
+package de.processmining.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Executors dedicated to each class of background work, so that one workload saturating its executor cannot delay the
+ * others: a heavy import does not hold up the mining of another process, nor the sending of activation e-mails.
+ * <p>
+ * Each executor is bounded and reports its pool and queue sizes to Micrometer, tagged with its name. The generic
+ * {@code taskExecutor} of {@link AsyncConfiguration} is left to the asynchronous Liquibase run.
+ */
+@Configuration
+public class ExecutorConfiguration implements WebMvcConfigurer {
+    private final Logger log = LoggerFactory.getLogger(ExecutorConfiguration.class);
+
+    private final ApplicationProperties.Concurrency properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Environment env;
+
+    public ExecutorConfiguration(ApplicationProperties applicationProperties, MeterRegistry meterRegistry, Environment env) {
+        this.properties = applicationProperties.getConcurrency();
+        this.meterRegistry = meterRegistry;
+        this.env = env;
+    }
+
+    /**
+     * Work-stealing pool of the CPU-bound mining algorithms, sized to the processors by default. At most the configured
+     * number of mining tasks run at the same time; further requests wait for one of them to complete, and are rejected
+     * if none completes within the configured timeout.
+     */
+    @Bean(name = "miningPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool miningPool() {
+        log.debug("Creating mining pool");
+        ApplicationProperties.Mining mining = properties.getMining();
+        int parallelism = mining.getParallelism();
+        ForkJoinPool pool = new BoundedForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("mining-" + thread.getPoolIndex());
+                return thread;
+            },
+            mining.getMaxConcurrentTasks(),
+            TimeUnit.SECONDS.toMillis(mining.getWaitTimeoutSeconds())
+        );
+        return monitor(pool, "mining");
+    }
+
+    /**
+     * Bounded pool shared by token replay and alignments, so concurrent conformance checks cannot use more than the
+     * configured number of threads. When its queue is full, the requesting thread runs the task itself.
+     */
+    @Bean(name = "replayExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor replayExecutor() {
+        log.debug("Creating replay executor");
+        return threadPool("replay", properties.getReplay(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Bounded pool shared by the imports of CSV event logs, whose chunks are parsed and written concurrently, each one
+     * holding a database connection. When its queue is full, the importing thread imports the chunk itself.
+     */
+    @Bean(name = "importExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor importExecutor() {
+        log.debug("Creating import executor");
+        return threadPool("event-log-import", properties.getEventLogImport(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Bounded pool running the analysis jobs. When its queue is full, new jobs are rejected and fail right away
+     * instead of waiting behind an unbounded backlog.
+     */
+    @Bean(name = "analysisJobExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor analysisJobExecutor() {
+        log.debug("Creating analysis job executor");
+        return threadPool("analysis-job", properties.getAnalysisJobs(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Bounded pool sending e-mails. When its queue is full, the requesting thread sends the e-mail itself, so that
+     * no activation or password reset e-mail is dropped. With the {@code virtual-threads} profile on Java 21 or later,
+     * each e-mail is sent on its own virtual thread instead.
+     */
+    @Bean(name = "mailExecutor", destroyMethod = "shutdown")
+    public ExecutorService mailExecutor() {
+        log.debug("Creating mail executor");
+        if (VirtualThreadConfiguration.isEnabled(env)) {
+            return monitor(VirtualThreadConfiguration.newVirtualThreadPerTaskExecutor("mail-"), "mail");
+        }
+        return threadPool("mail", properties.getMail(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Bounded pool writing the asynchronous responses of Spring MVC, such as event log exports and NDJSON streams, each
+     * one holding a database connection while it streams. When its queue is full, the request thread writes the
+     * response itself.
+     */
+    @Bean(name = "exportExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor exportExecutor() {
+        log.debug("Creating export executor");
+        return threadPool("export", properties.getExport(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(exportExecutor()));
+    }
+
+    private ThreadPoolExecutor threadPool(String name, ApplicationProperties.Pool pool, RejectedExecutionHandler saturationPolicy) {
+        int threads = Math.max(1, pool.getThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, pool.getQueueCapacity())),
+            new CustomizableThreadFactory(name + "-"),
+            saturationPolicy
+        );
+        return monitor(executor, name);
+    }
+
+    private <T extends ExecutorService> T monitor(T executor, String name) {
+        new ExecutorServiceMetrics(executor, name, Collections.emptyList()).bindTo(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,139 @@
+package de.processmining.app.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Runs the handling of HTTP requests on virtual threads, so that thousands of requests can wait on the database at the
+ * same time without sizing a pool of platform threads. The {@code @Async} executors of {@link AsyncConfiguration} and
+ * {@link ExecutorConfiguration} switch to virtual threads with the same profile.
+ * <p>
+ * The application is built for Java 11: virtual threads are looked up by reflection when the application starts. On a
+ * Java runtime older than 21, the profile logs a warning and the application keeps its pools of platform threads.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_VIRTUAL_THREADS)
+public class VirtualThreadConfiguration {
+    private static final boolean SUPPORTED = isSupported();
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    public VirtualThreadConfiguration() {
+        if (!SUPPORTED) {
+            log.warn(
+                "The {} profile requires Java 21 or later, running on {}: keeping platform threads",
+                Constants.SPRING_PROFILE_VIRTUAL_THREADS,
+                System.getProperty("java.version")
+            );
+        }
+    }
+
+    @Bean(name = "requestExecutor", destroyMethod = "shutdown")
+    @Conditional(VirtualThreadsSupported.class)
+    public ExecutorService requestExecutor() {
+        return newVirtualThreadPerTaskExecutor("request-");
+    }
+
+    @Bean
+    @Conditional(VirtualThreadsSupported.class)
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadRequestHandling(
+        @Qualifier("requestExecutor") ExecutorService requestExecutor
+    ) {
+        log.debug("Handling requests on virtual threads");
+        return factory -> factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(requestExecutor));
+    }
+
+    /**
+     * @param env the environment of the application.
+     * @return whether the {@code virtual-threads} profile is active and the Java runtime has virtual threads.
+     */
+    static boolean isEnabled(Environment env) {
+        return SUPPORTED && env.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_VIRTUAL_THREADS));
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task, with {@code Executors.newThreadPerTaskExecutor}.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads, followed by a counter.
+     * @return the executor.
+     * @throws IllegalStateException if the Java runtime has no virtual threads.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                "The " + Constants.SPRING_PROFILE_VIRTUAL_THREADS + " profile requires Java 21 or later, running on " +
+                System.getProperty("java.version"),
+                e
+            );
+        }
+    }
+
+    /**
+     * Create a task executor starting a new virtual thread for each task, which shuts down with the application context.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads, followed by a counter.
+     * @return the executor.
+     * @throws IllegalStateException if the Java runtime has no virtual threads.
+     */
+    static AsyncTaskExecutor newVirtualThreadTaskExecutor(String threadNamePrefix) {
+        return new ShutdownTaskExecutorAdapter(newVirtualThreadPerTaskExecutor(threadNamePrefix));
+    }
+
+    private static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Matches when the Java runtime has virtual threads.
+     */
+    static class VirtualThreadsSupported implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return SUPPORTED;
+        }
+    }
+
+    private static class ShutdownTaskExecutorAdapter extends TaskExecutorAdapter implements DisposableBean {
+        private final ExecutorService executor;
+
+        ShutdownTaskExecutorAdapter(ExecutorService executor) {
+            super(executor);
+            this.executor = executor;
+        }
+
+        @Override
+        public void destroy() {
+            executor.shutdown();
+        }
+    }
+}
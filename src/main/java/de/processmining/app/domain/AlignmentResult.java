@@ -0,0 +1,185 @@
+package de.processmining.app.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+
+/**
+ * The optimal alignment of a trace variant of a {@link Process} with a process model.
+ * <p>
+ * Variants and models are identified by hashes of their content, so a result stays valid when the event log of the
+ * process changes and is reused by every later alignment of the same variant with the same model.
+ */
+@Entity
+@Table(
+    name = "alignment_result",
+    uniqueConstraints = @UniqueConstraint(
+        name = "ux_alignment_result_variant",
+        columnNames = { "process_id", "model_hash", "variant_hash" }
+    )
+)
+public class AlignmentResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    private Long id;
+
+    /**
+     * SHA-256 of the canonical form of the Petri net.
+     */
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Column(name = "model_hash", length = 64, nullable = false)
+    private String modelHash;
+
+    /**
+     * SHA-256 of the activities of the trace variant.
+     */
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Column(name = "variant_hash", length = 64, nullable = false)
+    private String variantHash;
+
+    /**
+     * Cost of the alignment, or {@code null} if no alignment was found within the search bound.
+     */
+    @Column(name = "cost")
+    private Integer cost;
+
+    @Column(name = "fitness")
+    private Double fitness;
+
+    /**
+     * Moves of the alignment, as JSON.
+     */
+    @Lob
+    @Type(type = "org.hibernate.type.TextType")
+    @Column(name = "moves")
+    private String moves;
+
+    @ManyToOne(optional = false)
+    @NotNull
+    @JsonIgnoreProperties(value = "alignmentResults", allowSetters = true)
+    private Process process;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getModelHash() {
+        return modelHash;
+    }
+
+    public AlignmentResult modelHash(String modelHash) {
+        this.modelHash = modelHash;
+        return this;
+    }
+
+    public void setModelHash(String modelHash) {
+        this.modelHash = modelHash;
+    }
+
+    public String getVariantHash() {
+        return variantHash;
+    }
+
+    public AlignmentResult variantHash(String variantHash) {
+        this.variantHash = variantHash;
+        return this;
+    }
+
+    public void setVariantHash(String variantHash) {
+        this.variantHash = variantHash;
+    }
+
+    public Integer getCost() {
+        return cost;
+    }
+
+    public AlignmentResult cost(Integer cost) {
+        this.cost = cost;
+        return this;
+    }
+
+    public void setCost(Integer cost) {
+        this.cost = cost;
+    }
+
+    public Double getFitness() {
+        return fitness;
+    }
+
+    public AlignmentResult fitness(Double fitness) {
+        this.fitness = fitness;
+        return this;
+    }
+
+    public void setFitness(Double fitness) {
+        this.fitness = fitness;
+    }
+
+    public String getMoves() {
+        return moves;
+    }
+
+    public AlignmentResult moves(String moves) {
+        this.moves = moves;
+        return this;
+    }
+
+    public void setMoves(String moves) {
+        this.moves = moves;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public AlignmentResult process(Process process) {
+        this.process = process;
+        return this;
+    }
+
+    public void setProcess(Process process) {
+        this.process = process;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlignmentResult)) {
+            return false;
+        }
+        return id != null && id.equals(((AlignmentResult) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlignmentResult{" +
+            "id=" + getId() +
+            ", modelHash='" + getModelHash() + "'" +
+            ", variantHash='" + getVariantHash() + "'" +
+            ", cost=" + getCost() +
+            ", fitness=" + getFitness() +
+            "}";
+    }
+}
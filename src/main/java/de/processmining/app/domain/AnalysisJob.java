@@ -0,0 +1,259 @@
+package de.processmining.app.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import de.processmining.app.domain.enumeration.AnalysisJobStatus;
+import de.processmining.app.domain.enumeration.AnalysisJobType;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.time.Instant;
+
+/**
+ * A long-running analysis of a {@link Process}, run in the background while clients poll its status.
+ * <p>
+ * The record outlives the analysis: it keeps the result, as JSON, or the reason of the failure.
+ */
+@Entity
+@Table(name = "analysis_job")
+public class AnalysisJob extends AbstractAuditingEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", length = 20, nullable = false)
+    private AnalysisJobType type;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private AnalysisJobStatus status;
+
+    /**
+     * Share of the work done, between 0 and 1.
+     */
+    @NotNull
+    @Column(name = "progress", nullable = false)
+    private Double progress;
+
+    /**
+     * Parameters of the analysis, as shown to users.
+     */
+    @Size(max = 1024)
+    @Column(name = "parameters", length = 1024)
+    private String parameters;
+
+    @Column(name = "started_date")
+    private Instant startedDate;
+
+    @Column(name = "finished_date")
+    private Instant finishedDate;
+
+    @Size(max = 1024)
+    @Column(name = "error_message", length = 1024)
+    private String errorMessage;
+
+    /**
+     * Result of a succeeded job, as JSON.
+     */
+    @Lob
+    @Type(type = "org.hibernate.type.TextType")
+    @Column(name = "result")
+    private String result;
+
+    /**
+     * Identifier of the instance of the application running the job.
+     */
+    @Size(max = 255)
+    @Column(name = "owner", length = 255)
+    private String owner;
+
+    @ManyToOne(optional = false)
+    @NotNull
+    @JsonIgnoreProperties(value = "analysisJobs", allowSetters = true)
+    private Process process;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AnalysisJobType getType() {
+        return type;
+    }
+
+    public AnalysisJob type(AnalysisJobType type) {
+        this.type = type;
+        return this;
+    }
+
+    public void setType(AnalysisJobType type) {
+        this.type = type;
+    }
+
+    public AnalysisJobStatus getStatus() {
+        return status;
+    }
+
+    public AnalysisJob status(AnalysisJobStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public void setStatus(AnalysisJobStatus status) {
+        this.status = status;
+    }
+
+    public Double getProgress() {
+        return progress;
+    }
+
+    public AnalysisJob progress(Double progress) {
+        this.progress = progress;
+        return this;
+    }
+
+    public void setProgress(Double progress) {
+        this.progress = progress;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public AnalysisJob parameters(String parameters) {
+        this.parameters = parameters;
+        return this;
+    }
+
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public AnalysisJob startedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+        return this;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public AnalysisJob finishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+        return this;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public AnalysisJob errorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+        return this;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public AnalysisJob result(String result) {
+        this.result = result;
+        return this;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public AnalysisJob owner(String owner) {
+        this.owner = owner;
+        return this;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public AnalysisJob process(Process process) {
+        this.process = process;
+        return this;
+    }
+
+    public void setProcess(Process process) {
+        this.process = process;
+    }
+
+    /**
+     * @return whether the job is done, whatever its outcome.
+     */
+    public boolean isFinished() {
+        return status == AnalysisJobStatus.SUCCEEDED || status == AnalysisJobStatus.FAILED || status == AnalysisJobStatus.CANCELLED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AnalysisJob)) {
+            return false;
+        }
+        return id != null && id.equals(((AnalysisJob) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AnalysisJob{" +
+            "id=" + getId() +
+            ", type='" + getType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", progress=" + getProgress() +
+            ", parameters='" + getParameters() + "'" +
+            ", startedDate='" + getStartedDate() + "'" +
+            ", finishedDate='" + getFinishedDate() + "'" +
+            ", errorMessage='" + getErrorMessage() + "'" +
+            ", owner='" + getOwner() + "'" +
+            "}";
+    }
+}
@@ -1,7 +1,10 @@
 package de.processmining.app.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.GenerationTime;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -30,6 +33,14 @@ public class Process implements Serializable {
     @Column(name = "code")
     private String code;
 
+    /**
+     * Version of the event log of the process, only incremented by the database each time the log changes.
+     */
+    @Generated(GenerationTime.ALWAYS)
+    @Column(name = "log_version", nullable = false, insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long logVersion;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -64,6 +75,14 @@ public class Process implements Serializable {
     public void setCode(String code) {
         this.code = code;
     }
+
+    public Long getLogVersion() {
+        return logVersion;
+    }
+
+    public void setLogVersion(Long logVersion) {
+        this.logVersion = logVersion;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -89,6 +108,7 @@ public class Process implements Serializable {
             "id=" + getId() +
             ", title='" + getTitle() + "'" +
             ", code='" + getCode() + "'" +
+            ", logVersion=" + getLogVersion() +
             "}";
     }
 }
@@ -0,0 +1,12 @@
+package de.processmining.app.domain.enumeration;
+
+/**
+ * The AnalysisJobStatus enumeration.
+ */
+public enum AnalysisJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,11 @@
+package de.processmining.app.domain.enumeration;
+
+/**
+ * The AnalysisJobType enumeration.
+ */
+public enum AnalysisJobType {
+    PROCESS_TREE,
+    CAUSAL_NET,
+    ALIGNMENTS,
+    CSV_IMPORT
+}
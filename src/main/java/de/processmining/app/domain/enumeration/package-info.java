@@ -0,0 +1,4 @@
+/**
+ * JPA domain objects enumerations.
+ */
+package de.processmining.app.domain.enumeration;
@@ -0,0 +1,16 @@
+package de.processmining.app.repository;
+
+import de.processmining.app.domain.AlignmentResult;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data  repository for the AlignmentResult entity.
+ */
+@Repository
+public interface AlignmentResultRepository extends JpaRepository<AlignmentResult, Long> {
+    List<AlignmentResult> findByProcessIdAndModelHash(Long processId, String modelHash);
+}
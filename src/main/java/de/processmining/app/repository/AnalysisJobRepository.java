@@ -0,0 +1,75 @@
+package de.processmining.app.repository;
+
+import de.processmining.app.domain.AnalysisJob;
+import de.processmining.app.domain.enumeration.AnalysisJobStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data  repository for the AnalysisJob entity.
+ * <p>
+ * Status changes are conditional updates, so that a job is never both started and cancelled by concurrent requests.
+ */
+@Repository
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+    /**
+     * Move a job from one status to a final one and set its finish date and error message, unless its status changed
+     * meanwhile.
+     *
+     * @return {@code 1} if the job was finished, {@code 0} otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        "update AnalysisJob j set j.status = :to, j.errorMessage = :message, j.finishedDate = :now, j.lastModifiedDate = :now " +
+        "where j.id = :id and j.status = :from"
+    )
+    int finish(
+        @Param("id") Long id,
+        @Param("from") AnalysisJobStatus from,
+        @Param("to") AnalysisJobStatus to,
+        @Param("message") String message,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Move a job from one status to another and set its start date, unless its status changed meanwhile.
+     *
+     * @return {@code 1} if the job was started, {@code 0} otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("update AnalysisJob j set j.status = :to, j.startedDate = :now, j.lastModifiedDate = :now where j.id = :id and j.status = :from")
+    int start(@Param("id") Long id, @Param("from") AnalysisJobStatus from, @Param("to") AnalysisJobStatus to, @Param("now") Instant now);
+
+    /**
+     * Set the progress of a job, unless it is no longer in the given status.
+     */
+    @Modifying
+    @Transactional
+    @Query("update AnalysisJob j set j.progress = :progress where j.id = :id and j.status = :status")
+    int updateProgress(@Param("id") Long id, @Param("status") AnalysisJobStatus status, @Param("progress") double progress);
+
+    /**
+     * Fail the jobs of an instance of the application left unfinished, for instance by a restart of the instance.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        "update AnalysisJob j set j.status = :failed, j.errorMessage = :message, j.finishedDate = :now, j.lastModifiedDate = :now " +
+        "where j.owner = :owner and j.status in :unfinished"
+    )
+    int failAll(
+        @Param("owner") String owner,
+        @Param("unfinished") Collection<AnalysisJobStatus> unfinished,
+        @Param("failed") AnalysisJobStatus failed,
+        @Param("message") String message,
+        @Param("now") Instant now
+    );
+}
@@ -0,0 +1,251 @@
+package de.processmining.app.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the event log ({@code trace} and {@code event} tables) and the object-centric event log
+ * ({@code ocel_object}, {@code ocel_event} and {@code ocel_event_object} tables) of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Event logs hold millions of rows, so they are not mapped as JPA entities: they are written with batched
+ * JDBC inserts and read with forward-only cursors.
+ */
+@Repository
+public class EventLogRepository {
+    private static final String SELECT_EVENTS =
+        "select case_id, activity, event_timestamp, resource from event where process_id = ? order by case_id, event_timestamp, id";
+
+    /**
+     * Joins the attributes of the last trace with attributes of each case, so that a case with several traces is read
+     * once.
+     */
+    private static final String SELECT_EVENTS_WITH_ATTRIBUTES =
+        "select e.case_id, t.attributes, e.activity, e.event_timestamp, e.resource, e.attributes from event e " +
+        "left join (select process_id, case_id, max(id) as id from trace where attributes is not null " +
+        "group by process_id, case_id) l on l.process_id = e.process_id and l.case_id = e.case_id " +
+        "left join trace t on t.id = l.id where e.process_id = ? order by e.case_id, e.event_timestamp, e.id";
+
+    private static final String SELECT_TRACE_ATTRIBUTES =
+        "select case_id, attributes from trace where process_id = ? and attributes is not null";
+
+    private static final String INSERT_MISSING_TRACES =
+        "insert into trace (process_id, case_id) select distinct e.process_id, e.case_id from event e where e.process_id = ? " +
+        "and not exists (select 1 from trace t where t.process_id = e.process_id and t.case_id = e.case_id)";
+
+    private static final String SELECT_OCEL_OBJECTS = "select object_id, object_type from ocel_object where process_id = ?";
+
+    private static final String SELECT_OCEL_EVENTS =
+        "select event_id, activity, event_timestamp from ocel_event where process_id = ? order by event_timestamp, id";
+
+    private static final String SELECT_OCEL_RELATIONS = "select event_id, object_id from ocel_event_object where process_id = ?";
+
+    /**
+     * Number of rows fetched per round trip when reading an event log.
+     */
+    private static final int FETCH_SIZE = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Open a writer appending traces and events to the event log of a process.
+     * <p>
+     * The writer uses the connection bound to the current transaction, so the rows it writes are committed
+     * or rolled back together with it.
+     *
+     * @param processId the id of the process owning the event log.
+     * @param batchSize the number of rows sent to the database in one JDBC batch.
+     * @return the writer.
+     */
+    public EventLogWriter openWriter(Long processId, int batchSize) {
+        return new EventLogWriter(jdbcTemplate, processId, batchSize);
+    }
+
+    /**
+     * Open a writer appending objects, events and their relations to the object-centric event log of a process.
+     * <p>
+     * The writer uses the connection bound to the current transaction, so the rows it writes are committed
+     * or rolled back together with it.
+     *
+     * @param processId the id of the process owning the object-centric event log.
+     * @param batchSize the number of rows sent to the database in one JDBC batch.
+     * @return the writer.
+     */
+    public ObjectCentricEventLogWriter openObjectCentricWriter(Long processId, int batchSize) {
+        return new ObjectCentricEventLogWriter(jdbcTemplate, processId, batchSize);
+    }
+
+    /**
+     * Read all events of a process, grouped by case and ordered by time within a case.
+     * <p>
+     * Rows are fetched through a forward-only cursor, which PostgreSQL only streams inside a transaction.
+     *
+     * @param processId the id of the process owning the event log.
+     * @param handler the handler receiving the events.
+     */
+    public void readEvents(Long processId, EventRowHandler handler) {
+        final Calendar utc = Calendar.getInstance(EventLogWriter.UTC);
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(SELECT_EVENTS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setLong(1, processId);
+                return ps;
+            },
+            (ResultSet rs) -> {
+                Timestamp timestamp = rs.getTimestamp(3, utc);
+                handler.event(rs.getString(1), rs.getString(2), timestamp == null ? null : timestamp.toInstant(), rs.getString(4));
+            }
+        );
+    }
+
+    /**
+     * Read all events of a process with their attributes and the attributes of their case, grouped by case and ordered
+     * by time within a case.
+     * <p>
+     * Rows are fetched through a forward-only cursor, which PostgreSQL only streams inside a transaction.
+     *
+     * @param processId the id of the process owning the event log.
+     * @param handler the handler receiving the events.
+     */
+    public void readEventsWithAttributes(Long processId, EventAttributesRowHandler handler) {
+        final Calendar utc = Calendar.getInstance(EventLogWriter.UTC);
+        query(
+            SELECT_EVENTS_WITH_ATTRIBUTES,
+            processId,
+            rs -> {
+                Timestamp timestamp = rs.getTimestamp(4, utc);
+                Instant instant = timestamp == null ? null : timestamp.toInstant();
+                handler.event(rs.getString(1), rs.getString(2), rs.getString(3), instant, rs.getString(5), rs.getString(6));
+            }
+        );
+    }
+
+    /**
+     * Add a trace without attributes for each case of the event log of a process which has events but no trace.
+     *
+     * @param processId the id of the process owning the event log.
+     * @return the number of added traces.
+     */
+    public int insertMissingTraces(Long processId) {
+        return jdbcTemplate.update(INSERT_MISSING_TRACES, processId);
+    }
+
+    /**
+     * Read the case attributes of the traces of a process which have some.
+     *
+     * @param processId the id of the process owning the event log.
+     * @param handler the handler receiving the case identifier and the attributes serialized as JSON.
+     */
+    public void readTraceAttributes(Long processId, AttributesRowHandler handler) {
+        query(SELECT_TRACE_ATTRIBUTES, processId, rs -> handler.attributes(rs.getString(1), rs.getString(2)));
+    }
+
+    /**
+     * Read the objects of the object-centric event log of a process.
+     *
+     * @param processId the id of the process owning the object-centric event log.
+     * @param handler the handler receiving the object identifier and type.
+     */
+    public void readObjectCentricObjects(Long processId, ObjectRowHandler handler) {
+        query(SELECT_OCEL_OBJECTS, processId, rs -> handler.object(rs.getString(1), rs.getString(2)));
+    }
+
+    /**
+     * Read the events of the object-centric event log of a process, ordered by time.
+     *
+     * @param processId the id of the process owning the object-centric event log.
+     * @param handler the handler receiving the events.
+     */
+    public void readObjectCentricEvents(Long processId, ObjectCentricEventRowHandler handler) {
+        final Calendar utc = Calendar.getInstance(EventLogWriter.UTC);
+        query(
+            SELECT_OCEL_EVENTS,
+            processId,
+            rs -> {
+                Timestamp timestamp = rs.getTimestamp(3, utc);
+                handler.event(rs.getString(1), rs.getString(2), timestamp == null ? null : timestamp.toInstant());
+            }
+        );
+    }
+
+    /**
+     * Read the relations between the events and the objects of the object-centric event log of a process.
+     *
+     * @param processId the id of the process owning the object-centric event log.
+     * @param handler the handler receiving the event and object identifiers.
+     */
+    public void readObjectCentricRelations(Long processId, RelationRowHandler handler) {
+        query(SELECT_OCEL_RELATIONS, processId, rs -> handler.relation(rs.getString(1), rs.getString(2)));
+    }
+
+    private void query(String sql, Long processId, RowCallbackHandler rowHandler) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setLong(1, processId);
+                return ps;
+            },
+            rowHandler
+        );
+    }
+
+    /**
+     * Receives the events read from an event log.
+     */
+    @FunctionalInterface
+    public interface EventRowHandler {
+        void event(String caseId, String activity, Instant timestamp, String resource);
+    }
+
+    /**
+     * Receives the events read from an event log, with their attributes and the attributes of their case, serialized
+     * as JSON.
+     */
+    @FunctionalInterface
+    public interface EventAttributesRowHandler {
+        void event(String caseId, String caseAttributes, String activity, Instant timestamp, String resource, String attributes);
+    }
+
+    /**
+     * Receives the case or event attributes read from an event log.
+     */
+    @FunctionalInterface
+    public interface AttributesRowHandler {
+        void attributes(String caseId, String attributes);
+    }
+
+    /**
+     * Receives the objects read from an object-centric event log.
+     */
+    @FunctionalInterface
+    public interface ObjectRowHandler {
+        void object(String objectId, String objectType);
+    }
+
+    /**
+     * Receives the events read from an object-centric event log.
+     */
+    @FunctionalInterface
+    public interface ObjectCentricEventRowHandler {
+        void event(String eventId, String activity, Instant timestamp);
+    }
+
+    /**
+     * Receives the event-object relations read from an object-centric event log.
+     */
+    @FunctionalInterface
+    public interface RelationRowHandler {
+        void relation(String eventId, String objectId);
+    }
+}
@@ -0,0 +1,170 @@
+package de.processmining.app.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Appends traces and events to the event log of a process using batched JDBC inserts.
+ * <p>
+ * Rows are buffered until {@code batchSize} of them are pending, so that only one batch is ever held in memory.
+ * Call {@link #flush()} once all rows have been added. Instances are not thread-safe.
+ */
+public class EventLogWriter {
+    private static final String INSERT_TRACE = "insert into trace (process_id, case_id, attributes) values (?, ?, ?)";
+
+    private static final String INSERT_EVENT =
+        "insert into event (process_id, case_id, activity, event_timestamp, resource, attributes) values (?, ?, ?, ?, ?, ?)";
+
+    static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Long processId;
+
+    private final int batchSize;
+
+    private final List<Object[]> pendingTraces;
+
+    private final List<Object[]> pendingEvents;
+
+    private long traceCount;
+
+    private long eventCount;
+
+    EventLogWriter(JdbcTemplate jdbcTemplate, Long processId, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.processId = processId;
+        this.batchSize = Math.max(1, batchSize);
+        this.pendingTraces = new ArrayList<>(this.batchSize);
+        this.pendingEvents = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * Add a trace, holding the case-level attributes of a case.
+     *
+     * @param caseId the case identifier.
+     * @param attributes the case attributes serialized as JSON, or {@code null}.
+     */
+    public void addTrace(String caseId, String attributes) {
+        pendingTraces.add(new Object[] { caseId, attributes });
+        traceCount++;
+        if (pendingTraces.size() >= batchSize) {
+            flushTraces();
+        }
+    }
+
+    /**
+     * Add an event of a case.
+     *
+     * @param caseId the case identifier.
+     * @param activity the executed activity.
+     * @param timestamp the time the event occurred, or {@code null} if unknown.
+     * @param resource the resource executing the activity, or {@code null}.
+     * @param attributes the remaining event attributes serialized as JSON, or {@code null}.
+     */
+    public void addEvent(String caseId, String activity, Instant timestamp, String resource, String attributes) {
+        pendingEvents.add(new Object[] { caseId, activity, timestamp, resource, attributes });
+        eventCount++;
+        if (pendingEvents.size() >= batchSize) {
+            flushEvents();
+        }
+    }
+
+    /**
+     * Send all pending rows to the database.
+     */
+    public void flush() {
+        flushTraces();
+        flushEvents();
+    }
+
+    public long getTraceCount() {
+        return traceCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    private void flushTraces() {
+        if (pendingTraces.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            INSERT_TRACE,
+            new RowBatchSetter(pendingTraces) {
+                @Override
+                void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+                    ps.setLong(1, processId);
+                    ps.setString(2, (String) row[0]);
+                    setNullableString(ps, 3, (String) row[1]);
+                }
+            }
+        );
+        pendingTraces.clear();
+    }
+
+    private void flushEvents() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        final Calendar utc = Calendar.getInstance(UTC);
+        jdbcTemplate.batchUpdate(
+            INSERT_EVENT,
+            new RowBatchSetter(pendingEvents) {
+                @Override
+                void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+                    ps.setLong(1, processId);
+                    ps.setString(2, (String) row[0]);
+                    ps.setString(3, (String) row[1]);
+                    Instant timestamp = (Instant) row[2];
+                    if (timestamp == null) {
+                        ps.setNull(4, Types.TIMESTAMP);
+                    } else {
+                        ps.setTimestamp(4, Timestamp.from(timestamp), utc);
+                    }
+                    setNullableString(ps, 5, (String) row[3]);
+                    setNullableString(ps, 6, (String) row[4]);
+                }
+            }
+        );
+        pendingEvents.clear();
+    }
+
+    static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    abstract static class RowBatchSetter implements BatchPreparedStatementSetter {
+        private final List<Object[]> rows;
+
+        RowBatchSetter(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            setRow(ps, rows.get(i));
+        }
+
+        @Override
+        public int getBatchSize() {
+            return rows.size();
+        }
+
+        abstract void setRow(PreparedStatement ps, Object[] row) throws SQLException;
+    }
+}
@@ -0,0 +1,170 @@
+package de.processmining.app.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Appends objects, events and their relations to the object-centric event log of a process using batched JDBC inserts.
+ * <p>
+ * Rows are buffered until {@code batchSize} of them are pending, so that only one batch per table is ever held in
+ * memory. Call {@link #flush()} once all rows have been added. Instances are not thread-safe.
+ */
+public class ObjectCentricEventLogWriter {
+    private static final String INSERT_OBJECT =
+        "insert into ocel_object (process_id, object_id, object_type, attributes) values (?, ?, ?, ?)";
+
+    private static final String INSERT_EVENT =
+        "insert into ocel_event (process_id, event_id, activity, event_timestamp, attributes) values (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RELATION = "insert into ocel_event_object (process_id, event_id, object_id) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Long processId;
+
+    private final int batchSize;
+
+    private final List<Object[]> pendingObjects;
+
+    private final List<Object[]> pendingEvents;
+
+    private final List<Object[]> pendingRelations;
+
+    private long objectCount;
+
+    private long eventCount;
+
+    ObjectCentricEventLogWriter(JdbcTemplate jdbcTemplate, Long processId, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.processId = processId;
+        this.batchSize = Math.max(1, batchSize);
+        this.pendingObjects = new ArrayList<>(this.batchSize);
+        this.pendingEvents = new ArrayList<>(this.batchSize);
+        this.pendingRelations = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * Add an object.
+     *
+     * @param objectId the object identifier.
+     * @param objectType the type of the object.
+     * @param attributes the object attributes serialized as JSON, or {@code null}.
+     */
+    public void addObject(String objectId, String objectType, String attributes) {
+        pendingObjects.add(new Object[] { objectId, objectType, attributes });
+        objectCount++;
+        if (pendingObjects.size() >= batchSize) {
+            flushObjects();
+        }
+    }
+
+    /**
+     * Add an event together with its relations to objects.
+     *
+     * @param eventId the event identifier.
+     * @param activity the executed activity.
+     * @param timestamp the time the event occurred, or {@code null} if unknown.
+     * @param objectIds the identifiers of the objects the event refers to.
+     * @param attributes the event attributes serialized as JSON, or {@code null}.
+     */
+    public void addEvent(String eventId, String activity, Instant timestamp, List<String> objectIds, String attributes) {
+        pendingEvents.add(new Object[] { eventId, activity, timestamp, attributes });
+        eventCount++;
+        if (pendingEvents.size() >= batchSize) {
+            flushEvents();
+        }
+        for (String objectId : objectIds) {
+            pendingRelations.add(new Object[] { eventId, objectId });
+            if (pendingRelations.size() >= batchSize) {
+                flushRelations();
+            }
+        }
+    }
+
+    /**
+     * Send all pending rows to the database.
+     */
+    public void flush() {
+        flushObjects();
+        flushEvents();
+        flushRelations();
+    }
+
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    private void flushObjects() {
+        if (pendingObjects.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            INSERT_OBJECT,
+            new EventLogWriter.RowBatchSetter(pendingObjects) {
+                @Override
+                void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+                    ps.setLong(1, processId);
+                    ps.setString(2, (String) row[0]);
+                    ps.setString(3, (String) row[1]);
+                    EventLogWriter.setNullableString(ps, 4, (String) row[2]);
+                }
+            }
+        );
+        pendingObjects.clear();
+    }
+
+    private void flushEvents() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        final Calendar utc = Calendar.getInstance(EventLogWriter.UTC);
+        jdbcTemplate.batchUpdate(
+            INSERT_EVENT,
+            new EventLogWriter.RowBatchSetter(pendingEvents) {
+                @Override
+                void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+                    ps.setLong(1, processId);
+                    ps.setString(2, (String) row[0]);
+                    ps.setString(3, (String) row[1]);
+                    Instant timestamp = (Instant) row[2];
+                    if (timestamp == null) {
+                        ps.setNull(4, Types.TIMESTAMP);
+                    } else {
+                        ps.setTimestamp(4, Timestamp.from(timestamp), utc);
+                    }
+                    EventLogWriter.setNullableString(ps, 5, (String) row[3]);
+                }
+            }
+        );
+        pendingEvents.clear();
+    }
+
+    private void flushRelations() {
+        if (pendingRelations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            INSERT_RELATION,
+            new EventLogWriter.RowBatchSetter(pendingRelations) {
+                @Override
+                void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+                    ps.setLong(1, processId);
+                    ps.setString(2, (String) row[0]);
+                    ps.setString(3, (String) row[1]);
+                }
+            }
+        );
+        pendingRelations.clear();
+    }
+}
@@ -2,7 +2,10 @@ package de.processmining.app.repository;
 
 import de.processmining.app.domain.Process;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,5 +13,17 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProcessRepository extends JpaRepository<Process, Long>, JpaSpecificationExecutor<Process> {
+public interface ProcessRepository extends JpaRepository<Process, Long>, JpaSpecificationExecutor<Process>, ProcessRepositoryCustom {
+    /**
+     * Read the log version of a process from the database, bypassing the second-level cache.
+     */
+    @Query("select p.logVersion from Process p where p.id = :id")
+    Optional<Long> findLogVersionById(@Param("id") Long id);
+
+    /**
+     * Increment the log version of a process, to be called in the transaction changing its event log.
+     */
+    @Modifying
+    @Query("update Process p set p.logVersion = p.logVersion + 1 where p.id = :id")
+    int incrementLogVersion(@Param("id") Long id);
 }
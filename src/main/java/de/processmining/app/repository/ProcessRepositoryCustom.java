@@ -0,0 +1,35 @@
+package de.processmining.app.repository;
+
+import de.processmining.app.domain.Process;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Queries of the {@link ProcessRepository} which Spring Data cannot derive.
+ */
+public interface ProcessRepositoryCustom {
+    /**
+     * Find the processes matching a specification whose id is greater than a given one, ordered by id. This seeks the
+     * primary key index instead of skipping the rows of previous pages, and counts nothing.
+     *
+     * @param specification the specification which the processes should match.
+     * @param afterId the id after which processes are returned.
+     * @param limit the maximum number of processes returned.
+     * @return the matching processes.
+     */
+    List<Process> findAllAfter(Specification<Process> specification, long afterId, int limit);
+
+    /**
+     * Stream the processes matching a specification, ordered by id, from a database cursor. The processes are detached
+     * as they are read, so that the persistence context does not grow with the result.
+     * <p>
+     * The stream must be consumed within a transaction and closed afterwards.
+     *
+     * @param specification the specification which the processes should match.
+     * @return the matching processes.
+     */
+    Stream<Process> streamAll(Specification<Process> specification);
+}
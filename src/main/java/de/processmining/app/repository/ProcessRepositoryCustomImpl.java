@@ -0,0 +1,63 @@
+package de.processmining.app.repository;
+
+import de.processmining.app.domain.Process;
+import de.processmining.app.domain.Process_;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Implementation of the {@link ProcessRepositoryCustom} queries, picked up by Spring Data for the {@link ProcessRepository}.
+ */
+class ProcessRepositoryCustomImpl implements ProcessRepositoryCustom {
+
+    /**
+     * Number of rows fetched from the database cursor at once while streaming.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Process> findAllAfter(Specification<Process> specification, long afterId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Process> query = builder.createQuery(Process.class);
+        Root<Process> root = query.from(Process.class);
+        Predicate after = builder.greaterThan(root.get(Process_.id), afterId);
+        Predicate filter = specification.toPredicate(root, query, builder);
+        query.where(filter == null ? after : builder.and(filter, after)).orderBy(builder.asc(root.get(Process_.id)));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<Process> streamAll(Specification<Process> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Process> query = builder.createQuery(Process.class);
+        Root<Process> root = query.from(Process.class);
+        Predicate filter = specification.toPredicate(root, query, builder);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.orderBy(builder.asc(root.get(Process_.id)));
+        return entityManager
+            .createQuery(query)
+            .setHint(QueryHints.FETCH_SIZE, FETCH_SIZE)
+            .setHint(QueryHints.READ_ONLY, true)
+            // a bulk read would otherwise fill the second-level cache, evicting the processes other requests use
+            .setHint("javax.persistence.cache.storeMode", CacheStoreMode.BYPASS)
+            .getResultStream()
+            .peek(entityManager::detach);
+    }
+}
@@ -0,0 +1,376 @@
+package de.processmining.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.processmining.app.domain.AlignmentResult;
+import de.processmining.app.domain.Process;
+import de.processmining.app.repository.AlignmentResultRepository;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.conformance.Aligner;
+import de.processmining.app.service.conformance.Alignment;
+import de.processmining.app.service.conformance.PetriNet;
+import de.processmining.app.service.conformance.PnmlParser;
+import de.processmining.app.service.dto.AlignmentSummaryDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.VariantIndex;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service aligning the event log of a {@link de.processmining.app.domain.Process} with a Petri net.
+ * <p>
+ * Each trace variant is aligned once per model: alignments are stored as {@link AlignmentResult}s keyed by hashes of
+ * the model and of the variant, so later requests only align the variants they have not seen yet, for instance after
+ * events were appended to the log. Alignments run on the bounded replay executor shared with token replay, without
+ * holding a database transaction. Summaries are kept in the {@link AnalysisCacheService} until the log of the process
+ * changes, so that requests with the same model and deviation limit do not even look up the stored alignments.
+ */
+@Service
+public class AlignmentService {
+    private final Logger log = LoggerFactory.getLogger(AlignmentService.class);
+
+    /**
+     * Number of groups of variants aligned per thread, so that threads finishing early pick up remaining work.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private static final TypeReference<List<AlignmentSummaryDTO.MoveDTO>> MOVES_TYPE =
+        new TypeReference<List<AlignmentSummaryDTO.MoveDTO>>() {};
+
+    private final EventLogService eventLogService;
+
+    private final ProcessRepository processRepository;
+
+    private final AlignmentResultRepository alignmentResultRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor replayExecutor;
+
+    private final AnalysisCacheService analysisCacheService;
+
+    public AlignmentService(
+        EventLogService eventLogService,
+        ProcessRepository processRepository,
+        AlignmentResultRepository alignmentResultRepository,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("replayExecutor") ThreadPoolExecutor replayExecutor,
+        AnalysisCacheService analysisCacheService
+    ) {
+        this.eventLogService = eventLogService;
+        this.processRepository = processRepository;
+        this.alignmentResultRepository = alignmentResultRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.replayExecutor = replayExecutor;
+        this.analysisCacheService = analysisCacheService;
+    }
+
+    /**
+     * Align the trace variants of the event log of a process with a Petri net.
+     *
+     * @param processId the id of the process.
+     * @param pnml the Petri net, as a PNML document.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @return the alignments, or empty if the process does not exist.
+     * @throws InvalidProcessModelException if the document is not a valid PNML Petri net or its final marking cannot be reached.
+     */
+    public Optional<AlignmentSummaryDTO> align(Long processId, InputStream pnml, int deviationLimit) {
+        return align(processId, new PnmlParser().parse(pnml), deviationLimit, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Align the trace variants of the event log of a process with a Petri net, reporting each aligned variant.
+     *
+     * @param processId the id of the process.
+     * @param net the Petri net.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @param monitor the monitor of the alignment.
+     * @return the alignments, or empty if the process does not exist.
+     * @throws InvalidProcessModelException if the final marking of the Petri net cannot be reached.
+     * @throws AnalysisJobCancelledException if the alignment was cancelled.
+     */
+    public Optional<AlignmentSummaryDTO> align(Long processId, PetriNet net, int deviationLimit, ProgressMonitor monitor) {
+        log.debug("Request to align event log of Process : {} with a Petri net", processId);
+        String modelHash = sha256(net.canonicalForm());
+        AtomicBoolean aligned = new AtomicBoolean();
+        return analysisCacheService
+            .getOrCompute(
+                processId,
+                "alignments",
+                null,
+                "model=" + modelHash + ", deviationLimit=" + deviationLimit,
+                () -> {
+                    aligned.set(true);
+                    return eventLogService
+                        .getVariantIndex(processId)
+                        .map(variantIndex -> align(processId, variantIndex, net, modelHash, deviationLimit, monitor));
+                }
+            )
+            .map(summary -> aligned.get() ? summary : reused(summary));
+    }
+
+    private AlignmentSummaryDTO align(
+        Long processId,
+        VariantIndex variantIndex,
+        PetriNet net,
+        String modelHash,
+        int deviationLimit,
+        ProgressMonitor monitor
+    ) {
+        long start = System.currentTimeMillis();
+        Aligner aligner = new Aligner(net);
+        Alignment emptyTraceAlignment = aligner.align(Collections.emptyList());
+        if (emptyTraceAlignment == null) {
+            throw new InvalidProcessModelException("The final marking cannot be reached from the initial marking");
+        }
+        Map<String, AlignmentResult> storedResults = new HashMap<>();
+        for (AlignmentResult result : alignmentResultRepository.findByProcessIdAndModelHash(processId, modelHash)) {
+            storedResults.put(result.getVariantHash(), result);
+        }
+        EventLog eventLog = variantIndex.getEventLog();
+        List<Variant> variants = new ArrayList<>(variantIndex.variantCount());
+        List<Variant> missingVariants = new ArrayList<>();
+        for (int rank = 0; rank < variantIndex.variantCount(); rank++) {
+            List<String> activities = new ArrayList<>();
+            for (int activity : variantIndex.trace(rank)) {
+                activities.add(eventLog.activityName(activity));
+            }
+            Variant variant = new Variant(rank, activities, variantHash(activities));
+            variant.result = storedResults.get(variant.hash);
+            variants.add(variant);
+            if (variant.result == null) {
+                missingVariants.add(variant);
+            }
+        }
+        alignAll(aligner, emptyTraceAlignment, modelHash, missingVariants, monitor);
+        save(processId, missingVariants);
+        log.debug(
+            "Aligned {} of {} variants of Process {} with {} in {} ms",
+            missingVariants.size(),
+            variants.size(),
+            processId,
+            net,
+            System.currentTimeMillis() - start
+        );
+        return toDto(variantIndex, variants, missingVariants.size(), deviationLimit);
+    }
+
+    private void alignAll(
+        Aligner aligner,
+        Alignment emptyTraceAlignment,
+        String modelHash,
+        List<Variant> variants,
+        ProgressMonitor monitor
+    ) {
+        int taskCount = Math.min(variants.size(), replayExecutor.getMaximumPoolSize() * TASKS_PER_THREAD);
+        List<Future<?>> tasks = new ArrayList<>(taskCount);
+        AtomicInteger alignedCount = new AtomicInteger();
+        for (int task = 0; task < taskCount; task++) {
+            final int first = task;
+            tasks.add(
+                replayExecutor.submit(
+                    () -> {
+                        // variants are dealt round-robin, so that tasks get variants of every length
+                        for (int i = first; i < variants.size(); i += taskCount) {
+                            Variant variant = variants.get(i);
+                            Alignment alignment = aligner.align(variant.activities);
+                            variant.result = toResult(modelHash, variant, alignment, emptyTraceAlignment);
+                            monitor.worked(alignedCount.incrementAndGet(), variants.size());
+                        }
+                    }
+                )
+            );
+        }
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while aligning event log", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    private AlignmentResult toResult(String modelHash, Variant variant, Alignment alignment, Alignment emptyTraceAlignment) {
+        AlignmentResult result = new AlignmentResult().modelHash(modelHash).variantHash(variant.hash);
+        if (alignment != null) {
+            List<AlignmentSummaryDTO.MoveDTO> moves = new ArrayList<>(alignment.getMoves().size());
+            for (Alignment.Move move : alignment.getMoves()) {
+                moves.add(new AlignmentSummaryDTO.MoveDTO(move.getType().name(), move.getActivity()));
+            }
+            try {
+                result.setMoves(objectMapper.writeValueAsString(moves));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize alignment", e);
+            }
+            result.setCost(alignment.getCost());
+            result.setFitness(Aligner.fitness(alignment, variant.activities.size(), emptyTraceAlignment));
+        }
+        return result;
+    }
+
+    private void save(Long processId, List<Variant> variants) {
+        if (variants.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(
+                status -> {
+                    Process process = processRepository.getOne(processId);
+                    List<AlignmentResult> results = new ArrayList<>(variants.size());
+                    for (Variant variant : variants) {
+                        results.add(variant.result.process(process));
+                    }
+                    return alignmentResultRepository.saveAll(results);
+                }
+            );
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request stored the same variants, or the process was deleted
+            log.debug("Alignments of Process {} not stored: {}", processId, e.getMessage());
+        }
+    }
+
+    private AlignmentSummaryDTO toDto(VariantIndex variantIndex, List<Variant> variants, int computed, int deviationLimit) {
+        AlignmentSummaryDTO dto = new AlignmentSummaryDTO();
+        List<Variant> deviatingVariants = new ArrayList<>();
+        double fitnessSum = 0;
+        long alignedTraceCount = 0;
+        for (Variant variant : variants) {
+            int caseCount = variantIndex.caseCount(variant.rank);
+            Integer cost = variant.result.getCost();
+            dto.setTraceCount(dto.getTraceCount() + caseCount);
+            if (cost == null) {
+                dto.setUnalignedTraceCount(dto.getUnalignedTraceCount() + caseCount);
+                dto.setUnalignedVariantCount(dto.getUnalignedVariantCount() + 1);
+                deviatingVariants.add(variant);
+            } else {
+                alignedTraceCount += caseCount;
+                fitnessSum += variant.result.getFitness() * caseCount;
+                if (cost < Aligner.DEVIATION_COST) {
+                    dto.setFittingTraceCount(dto.getFittingTraceCount() + caseCount);
+                } else {
+                    deviatingVariants.add(variant);
+                }
+            }
+        }
+        dto.setFitness(alignedTraceCount == 0 ? 1.0 : fitnessSum / alignedTraceCount);
+        dto.setVariantCount(variants.size());
+        dto.setComputedVariantCount(computed);
+        dto.setCachedVariantCount(variants.size() - computed);
+        dto.setDeviatingVariantCount(deviatingVariants.size());
+        for (Variant variant : deviatingVariants.subList(0, Math.min(deviationLimit, deviatingVariants.size()))) {
+            AlignmentSummaryDTO.AlignedVariantDTO variantDto = new AlignmentSummaryDTO.AlignedVariantDTO();
+            variantDto.setActivities(variant.activities);
+            variantDto.setCaseCount(variantIndex.caseCount(variant.rank));
+            for (int i = 0; i < variantIndex.caseCount(variant.rank); i++) {
+                variantDto.getCaseIds().add(variantIndex.getEventLog().caseId(variantIndex.caseIndex(variant.rank, i)));
+            }
+            variantDto.setCost(variant.result.getCost());
+            variantDto.setFitness(variant.result.getFitness());
+            if (variant.result.getMoves() != null) {
+                try {
+                    variantDto.setMoves(objectMapper.readValue(variant.result.getMoves(), MOVES_TYPE));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot read stored alignment " + variant.result.getId(), e);
+                }
+            }
+            dto.getDeviatingVariants().add(variantDto);
+        }
+        return dto;
+    }
+
+    /**
+     * Copy a cached summary, telling that no variant was aligned for this request.
+     */
+    private static AlignmentSummaryDTO reused(AlignmentSummaryDTO cached) {
+        AlignmentSummaryDTO dto = new AlignmentSummaryDTO();
+        dto.setTraceCount(cached.getTraceCount());
+        dto.setFittingTraceCount(cached.getFittingTraceCount());
+        dto.setUnalignedTraceCount(cached.getUnalignedTraceCount());
+        dto.setFitness(cached.getFitness());
+        dto.setVariantCount(cached.getVariantCount());
+        dto.setComputedVariantCount(0);
+        dto.setCachedVariantCount(cached.getVariantCount());
+        dto.setUnalignedVariantCount(cached.getUnalignedVariantCount());
+        dto.setDeviatingVariantCount(cached.getDeviatingVariantCount());
+        dto.setDeviatingVariants(cached.getDeviatingVariants());
+        return dto;
+    }
+
+    /**
+     * Hash the activities of a variant, each one prefixed by its length so that no two variants share an encoding.
+     */
+    static String variantHash(List<String> activities) {
+        StringBuilder encoded = new StringBuilder();
+        for (String activity : activities) {
+            encoded.append(activity.length()).append(':').append(activity);
+        }
+        return sha256(encoded.toString());
+    }
+
+    static String sha256(String value) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A trace variant, identified by its rank in the variant index, with its stored or computed alignment.
+     */
+    private static final class Variant {
+        final int rank;
+
+        final List<String> activities;
+
+        final String hash;
+
+        AlignmentResult result;
+
+        Variant(int rank, List<String> activities, String hash) {
+            this.rank = rank;
+            this.activities = activities;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package de.processmining.app.service;
+
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.dto.EventLogCriteria;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service caching the results of heavy analyses of the event log of a {@link de.processmining.app.domain.Process},
+ * such as discovered models and alignments, which analysts request again and again with the same parameters.
+ * <p>
+ * Results are keyed by the process, the {@link de.processmining.app.domain.Process#getLogVersion() version} of its
+ * log, a hash of the case filters, the algorithm and its parameters: a change of the log increments its version, so
+ * results of an older log are never returned and need no expiry. They are also dropped from the cache once the change
+ * is committed, to make room for the results of the new log. Concurrent requests of the same result wait for the
+ * analysis of the first one instead of running it again.
+ */
+@Service
+public class AnalysisCacheService {
+    /**
+     * Name of the cache holding the analysis results, configured in {@link de.processmining.app.config.CacheConfiguration}.
+     */
+    public static final String ANALYSIS_RESULTS_CACHE = "analysisResults";
+
+    private final Logger log = LoggerFactory.getLogger(AnalysisCacheService.class);
+
+    private final ProcessRepository processRepository;
+
+    private final Cache<Object, Object> results;
+
+    private final ConcurrentMap<AnalysisKey, CompletableFuture<Object>> runningAnalyses = new ConcurrentHashMap<>();
+
+    public AnalysisCacheService(ProcessRepository processRepository, CacheManager cacheManager) {
+        this.processRepository = processRepository;
+        this.results = cacheManager.getCache(ANALYSIS_RESULTS_CACHE);
+    }
+
+    /**
+     * Get the result of an analysis of the current log of a process, running the analysis if it is not cached yet.
+     *
+     * @param processId the id of the process.
+     * @param algorithm the name of the analysis.
+     * @param criteria the filters of the analyzed cases, or {@code null} for all cases.
+     * @param parameters the parameters of the analysis, in a form equal for equal parameters.
+     * @param analysis the analysis, returning empty if the process does not exist.
+     * @param <T> the type of the result.
+     * @return the result, or empty if the process does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> Optional<T> getOrCompute(
+        Long processId,
+        String algorithm,
+        EventLogCriteria criteria,
+        String parameters,
+        Supplier<Optional<T>> analysis
+    ) {
+        Optional<Long> logVersion = processRepository.findLogVersionById(processId);
+        if (!logVersion.isPresent()) {
+            return Optional.empty();
+        }
+        AnalysisKey key = new AnalysisKey(processId, logVersion.get(), filterHash(criteria), algorithm, parameters);
+        T result = (T) results.get(key);
+        if (result != null) {
+            log.debug("Found cached {} of Process {} with {}", algorithm, processId, parameters);
+            return Optional.of(result);
+        }
+        CompletableFuture<Object> analyzed = new CompletableFuture<>();
+        CompletableFuture<Object> running = runningAnalyses.putIfAbsent(key, analyzed);
+        if (running != null) {
+            try {
+                return Optional.ofNullable((T) join(running));
+            } catch (AnalysisJobCancelledException e) {
+                // the analysis was cancelled by its own requester, not by this one
+                return getOrCompute(processId, algorithm, criteria, parameters, analysis);
+            }
+        }
+        try {
+            result = analysis.get().orElse(null);
+            // a result of a log changed meanwhile may have been computed from either version of the log
+            if (result != null && logVersion.equals(processRepository.findLogVersionById(processId))) {
+                results.put(key, result);
+            }
+            analyzed.complete(result);
+            return Optional.ofNullable(result);
+        } catch (RuntimeException e) {
+            analyzed.completeExceptionally(e);
+            throw e;
+        } finally {
+            runningAnalyses.remove(key, analyzed);
+        }
+    }
+
+    /**
+     * Drop the cached results of a process once a change of its log is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        Iterator<Cache.Entry<Object, Object>> entries = results.iterator();
+        while (entries.hasNext()) {
+            if (((AnalysisKey) entries.next().getKey()).processId.equals(event.getProcessId())) {
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Hash the filters of the analyzed cases, with attribute filters sorted by name so that equal filters hash equally.
+     */
+    static String filterHash(EventLogCriteria criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return "";
+        }
+        EventLogCriteria sorted = criteria.copy();
+        sorted.setAttribute(new TreeMap<>(criteria.getAttribute()));
+        return AlignmentService.sha256(sorted.toString());
+    }
+
+    private static Object join(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Identifies an analysis result: the version of the log and the filters tell which cases were analyzed, the
+     * algorithm and its parameters how.
+     */
+    static final class AnalysisKey implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Long processId;
+
+        private final long logVersion;
+
+        private final String filterHash;
+
+        private final String algorithm;
+
+        private final String parameters;
+
+        AnalysisKey(Long processId, long logVersion, String filterHash, String algorithm, String parameters) {
+            this.processId = processId;
+            this.logVersion = logVersion;
+            this.filterHash = filterHash;
+            this.algorithm = algorithm;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AnalysisKey)) {
+                return false;
+            }
+            AnalysisKey other = (AnalysisKey) o;
+            return (
+                processId.equals(other.processId) &&
+                logVersion == other.logVersion &&
+                filterHash.equals(other.filterHash) &&
+                algorithm.equals(other.algorithm) &&
+                parameters.equals(other.parameters)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(processId, logVersion, filterHash, algorithm, parameters);
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "AnalysisKey{" +
+                "processId=" + processId +
+                ", logVersion=" + logVersion +
+                ", filterHash='" + filterHash + "'" +
+                ", algorithm='" + algorithm + "'" +
+                ", parameters='" + parameters + "'" +
+                "}";
+        }
+    }
+}
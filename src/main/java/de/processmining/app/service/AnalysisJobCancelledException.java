@@ -0,0 +1,12 @@
+package de.processmining.app.service;
+
+/**
+ * Thrown by a {@link ProgressMonitor} when the analysis it monitors was cancelled.
+ */
+public class AnalysisJobCancelledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public AnalysisJobCancelledException() {
+        super("Analysis job cancelled");
+    }
+}
@@ -0,0 +1,394 @@
+package de.processmining.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.processmining.app.config.ApplicationProperties;
+import de.processmining.app.domain.AnalysisJob;
+import de.processmining.app.domain.Process;
+import de.processmining.app.domain.enumeration.AnalysisJobStatus;
+import de.processmining.app.domain.enumeration.AnalysisJobType;
+import de.processmining.app.repository.AnalysisJobRepository;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.conformance.PetriNet;
+import de.processmining.app.service.dto.AnalysisJobDTO;
+import de.processmining.app.service.dto.CsvColumnMappingDTO;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.mining.HeuristicsMiner;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running long analyses of a {@link Process} as {@link AnalysisJob}s, so that requests return right away
+ * instead of holding a server thread until the analysis is done.
+ * <p>
+ * Jobs run on the bounded {@code analysisJobExecutor} of {@link de.processmining.app.config.ExecutorConfiguration}; jobs
+ * submitted while its queue is full fail right away. Their status moves from {@code QUEUED} to {@code RUNNING} to a final
+ * status with conditional updates, so a job cancelled while queued never starts. Running jobs are cancelled
+ * cooperatively: they are given a {@link ProgressMonitor} which throws once the job is cancelled, the next time the
+ * analysis reports its progress. Progress is written to the job record at most once per second.
+ */
+@Service
+public class AnalysisJobService {
+    private final Logger log = LoggerFactory.getLogger(AnalysisJobService.class);
+
+    /**
+     * Minimum time between two writes of the progress of a job, in milliseconds.
+     */
+    private static final long PROGRESS_INTERVAL = 1000;
+
+    private static final int MAX_TEXT_LENGTH = 1024;
+
+    private final AnalysisJobRepository analysisJobRepository;
+
+    private final ProcessRepository processRepository;
+
+    private final ProcessDiscoveryService processDiscoveryService;
+
+    private final AlignmentService alignmentService;
+
+    private final EventLogImportService eventLogImportService;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor analysisJobExecutor;
+
+    private final ConcurrentMap<Long, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Identifier of this instance of the application, recorded as the owner of the jobs it runs.
+     */
+    private final String instanceId;
+
+    public AnalysisJobService(
+        AnalysisJobRepository analysisJobRepository,
+        ProcessRepository processRepository,
+        ProcessDiscoveryService processDiscoveryService,
+        AlignmentService alignmentService,
+        EventLogImportService eventLogImportService,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        @Qualifier("analysisJobExecutor") Executor analysisJobExecutor
+    ) {
+        this.analysisJobRepository = analysisJobRepository;
+        this.processRepository = processRepository;
+        this.processDiscoveryService = processDiscoveryService;
+        this.alignmentService = alignmentService;
+        this.eventLogImportService = eventLogImportService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.analysisJobExecutor = analysisJobExecutor;
+        this.instanceId = instanceId(applicationProperties.getInstanceId());
+    }
+
+    /**
+     * Submit the discovery of a process tree with the infrequent Inductive Miner.
+     *
+     * @param processId the id of the process.
+     * @param noiseThreshold the noise threshold, between 0 and 1.
+     * @return the queued job, or empty if the process does not exist.
+     */
+    public Optional<AnalysisJobDTO> submitProcessTreeDiscovery(Long processId, double noiseThreshold) {
+        log.debug("Request to submit process tree discovery of Process : {}", processId);
+        return submit(
+            processId,
+            AnalysisJobType.PROCESS_TREE,
+            "noiseThreshold=" + noiseThreshold,
+            monitor -> processDiscoveryService.discoverProcessTree(processId, noiseThreshold, monitor),
+            () -> {}
+        );
+    }
+
+    /**
+     * Submit the discovery of a causal net with the Heuristics Miner from the cases matching criteria.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match, or {@code null} for all cases.
+     * @param parameters the thresholds of the miner.
+     * @return the queued job, or empty if the process does not exist.
+     */
+    public Optional<AnalysisJobDTO> submitCausalNetDiscovery(
+        Long processId,
+        EventLogCriteria criteria,
+        HeuristicsMiner.Parameters parameters
+    ) {
+        log.debug("Request to submit causal net discovery of Process : {}", processId);
+        return submit(
+            processId,
+            AnalysisJobType.CAUSAL_NET,
+            (criteria == null || criteria.isEmpty() ? "" : criteria + ", ") + parameters,
+            monitor -> processDiscoveryService.discoverCausalNet(processId, criteria, parameters, monitor),
+            () -> {}
+        );
+    }
+
+    /**
+     * Submit the alignment of the trace variants of a process with a Petri net.
+     *
+     * @param processId the id of the process.
+     * @param net the Petri net.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @return the queued job, or empty if the process does not exist.
+     */
+    public Optional<AnalysisJobDTO> submitAlignment(Long processId, PetriNet net, int deviationLimit) {
+        log.debug("Request to submit alignment of Process : {} with {}", processId, net);
+        return submit(
+            processId,
+            AnalysisJobType.ALIGNMENTS,
+            "model=" + AlignmentService.sha256(net.canonicalForm()) + ", deviationLimit=" + deviationLimit,
+            monitor -> alignmentService.align(processId, net, deviationLimit, monitor),
+            () -> {}
+        );
+    }
+
+    /**
+     * Submit the import of a CSV event log. The job owns the file and deletes it once done.
+     *
+     * @param processId the id of the process.
+     * @param file the CSV file.
+     * @param mapping the mapping of the CSV columns to the event fields.
+     * @return the queued job, or empty if the process does not exist.
+     */
+    public Optional<AnalysisJobDTO> submitCsvImport(Long processId, Path file, CsvColumnMappingDTO mapping) {
+        log.debug("Request to submit CSV import into Process : {} with mapping {}", processId, mapping);
+        return submit(
+            processId,
+            AnalysisJobType.CSV_IMPORT,
+            mapping.toString(),
+            monitor -> eventLogImportService.importCsv(processId, file, mapping, monitor),
+            () -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Cannot delete imported file {}: {}", file, e.getMessage());
+                }
+            }
+        );
+    }
+
+    /**
+     * Get a job, with the latest progress reported if it runs on this instance.
+     *
+     * @param id the id of the job.
+     * @return the job, or empty if it does not exist.
+     */
+    public Optional<AnalysisJobDTO> findOne(Long id) {
+        log.debug("Request to get AnalysisJob : {}", id);
+        return analysisJobRepository
+            .findById(id)
+            .map(
+                job -> {
+                    AnalysisJobDTO dto = new AnalysisJobDTO(job);
+                    RunningJob running = runningJobs.get(id);
+                    if (running != null && job.getStatus() == AnalysisJobStatus.RUNNING) {
+                        dto.setProgress(Math.max(dto.getProgress(), running.progress));
+                    }
+                    return dto;
+                }
+            );
+    }
+
+    /**
+     * Cancel a job: a queued job is cancelled right away, a running one once its analysis next reports progress.
+     * Finished jobs are left unchanged.
+     *
+     * @param id the id of the job.
+     * @return the job, or empty if it does not exist.
+     */
+    public Optional<AnalysisJobDTO> cancel(Long id) {
+        log.debug("Request to cancel AnalysisJob : {}", id);
+        if (!analysisJobRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        RunningJob running = runningJobs.get(id);
+        if (running != null) {
+            running.cancelled = true;
+        }
+        analysisJobRepository.finish(id, AnalysisJobStatus.QUEUED, AnalysisJobStatus.CANCELLED, null, Instant.now());
+        return findOne(id);
+    }
+
+    /**
+     * Fail the jobs which were queued or running on this instance when it stopped, as nothing will ever finish them.
+     * Jobs of the other instances are left alone, as they may still be running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        try {
+            int count = analysisJobRepository.failAll(
+                instanceId,
+                Arrays.asList(AnalysisJobStatus.QUEUED, AnalysisJobStatus.RUNNING),
+                AnalysisJobStatus.FAILED,
+                "Interrupted by a restart of the application",
+                Instant.now()
+            );
+            if (count > 0) {
+                log.info("Failed {} analysis jobs of instance {} interrupted by a restart", count, instanceId);
+            }
+        } catch (DataAccessException e) {
+            // the schema may not be up to date yet when Liquibase runs asynchronously
+            log.warn("Cannot fail interrupted analysis jobs: {}", e.getMessage());
+        }
+    }
+
+    private static String instanceId(String configured) {
+        if (configured != null && !configured.isEmpty()) {
+            return configured;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve the host name, set application.instance-id", e);
+        }
+    }
+
+    private Optional<AnalysisJobDTO> submit(Long processId, AnalysisJobType type, String parameters, Analysis analysis, Runnable cleanup) {
+        Optional<Process> process = processRepository.findById(processId);
+        if (!process.isPresent()) {
+            cleanup.run();
+            return Optional.empty();
+        }
+        AnalysisJob job = analysisJobRepository.save(
+            new AnalysisJob()
+                .type(type)
+                .status(AnalysisJobStatus.QUEUED)
+                .progress(0.0)
+                .parameters(abbreviate(parameters))
+                .owner(instanceId)
+                .process(process.get())
+        );
+        RunningJob running = new RunningJob(job.getId());
+        runningJobs.put(job.getId(), running);
+        try {
+            analysisJobExecutor.execute(() -> run(running, analysis, cleanup));
+        } catch (RejectedExecutionException e) {
+            log.warn("Analysis job {} rejected: {}", job.getId(), e.getMessage());
+            runningJobs.remove(job.getId());
+            cleanup.run();
+            String message = "Too many analysis jobs queued";
+            if (analysisJobRepository.finish(job.getId(), AnalysisJobStatus.QUEUED, AnalysisJobStatus.FAILED, message, Instant.now()) > 0) {
+                job.status(AnalysisJobStatus.FAILED).errorMessage(message);
+            }
+        }
+        return Optional.of(new AnalysisJobDTO(job));
+    }
+
+    private void run(RunningJob running, Analysis analysis, Runnable cleanup) {
+        try {
+            if (analysisJobRepository.start(running.id, AnalysisJobStatus.QUEUED, AnalysisJobStatus.RUNNING, Instant.now()) == 0) {
+                // cancelled while queued
+                return;
+            }
+            long start = System.currentTimeMillis();
+            try {
+                running.checkCancelled();
+                Optional<?> result = analysis.run(running);
+                if (result.isPresent()) {
+                    complete(running.id, AnalysisJobStatus.SUCCEEDED, objectMapper.writeValueAsString(result.get()), null);
+                } else {
+                    complete(running.id, AnalysisJobStatus.FAILED, null, "Process not found");
+                }
+            } catch (AnalysisJobCancelledException e) {
+                complete(running.id, AnalysisJobStatus.CANCELLED, null, null);
+            } catch (RuntimeException | IOException e) {
+                log.warn("Analysis job {} failed: {}", running.id, e.toString());
+                complete(running.id, AnalysisJobStatus.FAILED, null, e.getMessage() == null ? e.toString() : e.getMessage());
+            }
+            log.debug("Finished analysis job {} in {} ms", running.id, System.currentTimeMillis() - start);
+        } finally {
+            runningJobs.remove(running.id);
+            cleanup.run();
+        }
+    }
+
+    private void complete(Long id, AnalysisJobStatus status, String result, String errorMessage) {
+        transactionTemplate.execute(
+            transaction ->
+                // the job is gone if its process was deleted meanwhile
+                analysisJobRepository
+                    .findById(id)
+                    .filter(job -> job.getStatus() == AnalysisJobStatus.RUNNING)
+                    .map(
+                        job ->
+                            job
+                                .status(status)
+                                .progress(status == AnalysisJobStatus.SUCCEEDED ? 1.0 : job.getProgress())
+                                .result(result)
+                                .errorMessage(abbreviate(errorMessage))
+                                .finishedDate(Instant.now())
+                    )
+        );
+    }
+
+    private static String abbreviate(String text) {
+        return text == null || text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH - 3) + "...";
+    }
+
+    /**
+     * The analysis run by a job.
+     */
+    @FunctionalInterface
+    private interface Analysis {
+        /**
+         * @return the result, to be serialized as JSON, or empty if the process does not exist.
+         */
+        Optional<?> run(ProgressMonitor monitor) throws IOException;
+    }
+
+    /**
+     * A job submitted on this instance and not finished yet, monitoring its analysis.
+     */
+    private final class RunningJob implements ProgressMonitor {
+        private final Long id;
+
+        private final AtomicLong maxDone = new AtomicLong();
+
+        private final AtomicLong lastWrite = new AtomicLong(System.currentTimeMillis());
+
+        private volatile double progress;
+
+        private volatile boolean cancelled;
+
+        RunningJob(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void worked(long done, long total) {
+            checkCancelled();
+            // parts of an analysis may report out of order
+            progress = total <= 0 ? 1.0 : (double) maxDone.accumulateAndGet(done, Math::max) / total;
+            long now = System.currentTimeMillis();
+            long last = lastWrite.get();
+            if (now - last >= PROGRESS_INTERVAL && lastWrite.compareAndSet(last, now)) {
+                analysisJobRepository.updateProgress(id, AnalysisJobStatus.RUNNING, progress);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.conformance.PetriNet;
+import de.processmining.app.service.conformance.PnmlParser;
+import de.processmining.app.service.conformance.TokenReplayResult;
+import de.processmining.app.service.conformance.TokenReplayer;
+import de.processmining.app.service.dto.ConformanceResultDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.PrefixTree;
+import de.processmining.app.service.eventlog.VariantIndex;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service checking the conformance of the event log of a {@link de.processmining.app.domain.Process} to a process model.
+ * <p>
+ * Replays run on the bounded replay executor shared by all requests, see
+ * {@link de.processmining.app.config.ExecutorConfiguration#replayExecutor()}.
+ */
+@Service
+public class ConformanceService {
+    private final Logger log = LoggerFactory.getLogger(ConformanceService.class);
+
+    /**
+     * Number of prefix tree subtrees replayed per thread. Subtrees hold very different numbers of cases, since a few
+     * frequent variants share most prefixes; splitting into several subtrees per thread keeps a large subtree from
+     * replaying alone while the other replay threads are idle.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final EventLogService eventLogService;
+
+    private final ThreadPoolExecutor replayExecutor;
+
+    public ConformanceService(EventLogService eventLogService, @Qualifier("replayExecutor") ThreadPoolExecutor replayExecutor) {
+        this.eventLogService = eventLogService;
+        this.replayExecutor = replayExecutor;
+    }
+
+    /**
+     * Replay the event log of a process on a Petri net.
+     *
+     * @param processId the id of the process.
+     * @param pnml the Petri net, as a PNML document.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @param caseIdLimit the maximum number of case ids returned per deviating variant.
+     * @return the conformance result, or empty if the process does not exist.
+     * @throws InvalidProcessModelException if the document is not a valid PNML Petri net.
+     */
+    public Optional<ConformanceResultDTO> replay(Long processId, InputStream pnml, int deviationLimit, int caseIdLimit) {
+        log.debug("Request to replay event log of Process : {} on a Petri net", processId);
+        PetriNet net = new PnmlParser().parse(pnml);
+        return eventLogService.getVariantIndex(processId).map(variantIndex -> replay(variantIndex, net, deviationLimit, caseIdLimit));
+    }
+
+    private ConformanceResultDTO replay(VariantIndex variantIndex, PetriNet net, int deviationLimit, int caseIdLimit) {
+        long start = System.currentTimeMillis();
+        EventLog eventLog = variantIndex.getEventLog();
+        PrefixTree prefixTree = variantIndex.getPrefixTree();
+        int taskCount = replayExecutor.getMaximumPoolSize() * TASKS_PER_THREAD;
+        TokenReplayResult result;
+        try {
+            result = new TokenReplayer(net, eventLog).replay(prefixTree, replayExecutor, taskCount);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying event log", e);
+        }
+        log.debug(
+            "Replayed {} cases over {} prefixes on {} in {} ms",
+            result.getTraceCount(),
+            prefixTree.nodeCount(),
+            net,
+            System.currentTimeMillis() - start
+        );
+        return toDto(eventLog, prefixTree, result, deviationLimit, caseIdLimit);
+    }
+
+    static ConformanceResultDTO toDto(
+        EventLog eventLog,
+        PrefixTree prefixTree,
+        TokenReplayResult result,
+        int deviationLimit,
+        int caseIdLimit
+    ) {
+        ConformanceResultDTO dto = new ConformanceResultDTO();
+        dto.setTraceCount(result.getTraceCount());
+        dto.setFittingTraceCount(result.getFittingTraceCount());
+        dto.setFitness(result.getFitness());
+        dto.setPrecision(result.getPrecision());
+        dto.setProducedTokens(result.getProduced());
+        dto.setConsumedTokens(result.getConsumed());
+        dto.setMissingTokens(result.getMissing());
+        dto.setRemainingTokens(result.getRemaining());
+        dto.setDeviatingVariantCount(result.getDeviatingVariants().size());
+        List<TokenReplayResult.VariantResult> variants = new ArrayList<>(result.getDeviatingVariants());
+        variants.sort(Comparator.comparingInt(TokenReplayResult.VariantResult::getCaseCount).reversed());
+        for (TokenReplayResult.VariantResult variant : variants.subList(0, Math.min(deviationLimit, variants.size()))) {
+            ConformanceResultDTO.DeviatingVariantDTO variantDto = new ConformanceResultDTO.DeviatingVariantDTO();
+            for (int activity : prefixTree.trace(variant.getNode())) {
+                variantDto.getActivities().add(eventLog.activityName(activity));
+            }
+            variantDto.setCaseCount(variant.getCaseCount());
+            for (int i = 0; i < Math.min(caseIdLimit, prefixTree.caseCount(variant.getNode())); i++) {
+                variantDto.getCaseIds().add(eventLog.caseId(prefixTree.caseIndex(variant.getNode(), i)));
+            }
+            variantDto.setFitness(variant.getFitness());
+            variantDto.setMissingTokens(variant.getMissing());
+            variantDto.setRemainingTokens(variant.getRemaining());
+            for (TokenReplayResult.EventDeviation deviation : variant.getDeviations()) {
+                variantDto
+                    .getDeviations()
+                    .add(
+                        new ConformanceResultDTO.EventDeviationDTO(
+                            deviation.getPosition(),
+                            eventLog.activityName(deviation.getActivity()),
+                            deviation.getType().name()
+                        )
+                    );
+            }
+            dto.getDeviatingVariants().add(variantDto);
+        }
+        return dto;
+    }
+}
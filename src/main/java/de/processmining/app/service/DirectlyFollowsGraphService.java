@@ -0,0 +1,248 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.DirectlyFollowsGraphDTO;
+import de.processmining.app.service.dto.EventDTO;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.ObjectCentricDirectlyFollowsGraphDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.ObjectCentricEventLog;
+import de.processmining.app.service.mining.DirectlyFollowsGraph;
+import de.processmining.app.service.mining.DirectlyFollowsMiner;
+import de.processmining.app.service.mining.IncrementalDirectlyFollowsGraph;
+import de.processmining.app.service.mining.ObjectCentricDirectlyFollowsMiner;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service computing the directly-follows graph of the event log of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * The graph of a process is mined once and then kept up to date in memory as events are appended to its log; it is
+ * only mined again when it does not hold the current version of the log, after a bulk import or when appended events
+ * are older than the last event of their case.
+ */
+@Service
+public class DirectlyFollowsGraphService {
+    private final Logger log = LoggerFactory.getLogger(DirectlyFollowsGraphService.class);
+
+    private final EventLogService eventLogService;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    private final ObjectCentricEventLogService objectCentricEventLogService;
+
+    private final ForkJoinPool miningPool;
+
+    private final ConcurrentMap<Long, VersionedGraph> graphs = new ConcurrentHashMap<>();
+
+    public DirectlyFollowsGraphService(
+        EventLogService eventLogService,
+        EventLogQueryService eventLogQueryService,
+        ObjectCentricEventLogService objectCentricEventLogService,
+        @Qualifier("miningPool") ForkJoinPool miningPool
+    ) {
+        this.eventLogService = eventLogService;
+        this.eventLogQueryService = eventLogQueryService;
+        this.objectCentricEventLogService = objectCentricEventLogService;
+        this.miningPool = miningPool;
+    }
+
+    /**
+     * Get the directly-follows graph of a process.
+     *
+     * @param processId the id of the process.
+     * @return the graph, or empty if the process does not exist.
+     */
+    public Optional<DirectlyFollowsGraphDTO> getDirectlyFollowsGraph(Long processId) {
+        log.debug("Request to get directly-follows graph of Process : {}", processId);
+        Optional<Long> logVersion = eventLogService.getLogVersion(processId);
+        if (!logVersion.isPresent()) {
+            return Optional.empty();
+        }
+        VersionedGraph graph = graphs.get(processId);
+        if (graph == null || graph.logVersion < logVersion.get()) {
+            Optional<EventLog> eventLog = eventLogService.getEventLog(processId);
+            if (!eventLog.isPresent()) {
+                return Optional.empty();
+            }
+            graph = new VersionedGraph(
+                IncrementalDirectlyFollowsGraph.of(eventLog.get(), DirectlyFollowsMiner.mine(eventLog.get(), miningPool)),
+                eventLog.get().getLogVersion()
+            );
+            if (graph.logVersion != EventLog.NO_LOG_VERSION) {
+                graph = graphs.merge(processId, graph, (current, mined) -> current.logVersion >= mined.logVersion ? current : mined);
+            }
+        }
+        return Optional.of(toDto(graph.graph.snapshot(), graph.graph::activityName));
+    }
+
+    /**
+     * Get the directly-follows graph of the cases of a process matching criteria. Unlike the graph of the whole log,
+     * it is mined on each request from the selected cases.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match.
+     * @return the graph, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<DirectlyFollowsGraphDTO> getDirectlyFollowsGraph(Long processId, EventLogCriteria criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return getDirectlyFollowsGraph(processId);
+        }
+        log.debug("Request to get directly-follows graph of Process : {} by criteria : {}", processId, criteria);
+        return eventLogQueryService
+            .findByCriteria(processId, criteria)
+            .map(
+                selection -> {
+                    EventLog eventLog = selection.toEventLog();
+                    return toDto(DirectlyFollowsMiner.mine(eventLog, miningPool), eventLog::activityName);
+                }
+            );
+    }
+
+    /**
+     * Get the object-centric directly-follows graph of a process, mined from its object-centric event log on each
+     * request.
+     *
+     * @param processId the id of the process.
+     * @return the graphs of the object types, or empty if the process does not exist.
+     */
+    public Optional<ObjectCentricDirectlyFollowsGraphDTO> getObjectCentricDirectlyFollowsGraph(Long processId) {
+        log.debug("Request to get object-centric directly-follows graph of Process : {}", processId);
+        return objectCentricEventLogService.getEventLog(processId).map(this::toDto);
+    }
+
+    /**
+     * Apply a committed change of the log of a process: events appended to the version of the log the graph was mined
+     * from are added to the graph in place, any other change drops the graph.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        Long processId = event.getProcessId();
+        VersionedGraph graph = graphs.get(processId);
+        if (graph == null) {
+            return;
+        }
+        synchronized (graph) {
+            if (event.isAppend() && graph.logVersion >= event.getLogVersion()) {
+                // mined after the change was committed
+                return;
+            }
+            if (
+                event.isAppend() &&
+                graph.logVersion == event.getLogVersion() - 1 &&
+                append(graph.graph, event.getAppendedEvents())
+            ) {
+                graph.logVersion = event.getLogVersion();
+                return;
+            }
+        }
+        log.debug("Dropping directly-follows graph of Process : {}", processId);
+        graphs.remove(processId, graph);
+    }
+
+    private static boolean append(IncrementalDirectlyFollowsGraph graph, List<EventDTO> events) {
+        List<EventDTO> ordered = new ArrayList<>(events);
+        // stable, so events of a case with the same timestamp keep their order, as when the log is read back
+        ordered.sort(Comparator.comparing(EventDTO::getTimestamp, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())));
+        for (EventDTO event : ordered) {
+            long timestamp = event.getTimestamp() == null ? EventLog.NO_TIMESTAMP : event.getTimestamp().toEpochMilli();
+            if (!graph.append(event.getCaseId(), event.getActivity(), timestamp)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ObjectCentricDirectlyFollowsGraphDTO toDto(ObjectCentricEventLog eventLog) {
+        DirectlyFollowsGraph[] graphs = ObjectCentricDirectlyFollowsMiner.mine(eventLog, miningPool);
+        long[] objectCounts = new long[graphs.length];
+        for (int o = 0; o < eventLog.objectCount(); o++) {
+            objectCounts[eventLog.objectType(o)]++;
+        }
+        ObjectCentricDirectlyFollowsGraphDTO dto = new ObjectCentricDirectlyFollowsGraphDTO();
+        dto.setEventCount(eventLog.eventCount());
+        dto.setObjectCount(eventLog.objectCount());
+        for (int t = 0; t < graphs.length; t++) {
+            dto
+                .getObjectTypes()
+                .add(
+                    new ObjectCentricDirectlyFollowsGraphDTO.ObjectTypeGraphDTO(
+                        eventLog.objectTypeName(t),
+                        objectCounts[t],
+                        toDto(graphs[t], eventLog::activityName)
+                    )
+                );
+        }
+        return dto;
+    }
+
+    static DirectlyFollowsGraphDTO toDto(DirectlyFollowsGraph graph, IntFunction<String> activityNames) {
+        DirectlyFollowsGraphDTO dto = new DirectlyFollowsGraphDTO();
+        dto.setCaseCount(graph.getCaseCount());
+        int activityCount = graph.getActivityCount();
+        for (int a = 0; a < activityCount; a++) {
+            if (graph.getActivityFrequency(a) > 0) {
+                dto
+                    .getNodes()
+                    .add(
+                        new DirectlyFollowsGraphDTO.NodeDTO(
+                            activityNames.apply(a),
+                            graph.getActivityFrequency(a),
+                            graph.getStartFrequency(a),
+                            graph.getEndFrequency(a)
+                        )
+                    );
+            }
+        }
+        for (int from = 0; from < activityCount; from++) {
+            for (int to = 0; to < activityCount; to++) {
+                long frequency = graph.getEdgeFrequency(from, to);
+                if (frequency == 0) {
+                    continue;
+                }
+                long timedFrequency = graph.getEdgeTimedFrequency(from, to);
+                long totalDuration = graph.getEdgeDurationSum(from, to);
+                dto
+                    .getEdges()
+                    .add(
+                        new DirectlyFollowsGraphDTO.EdgeDTO(
+                            activityNames.apply(from),
+                            activityNames.apply(to),
+                            frequency,
+                            totalDuration,
+                            timedFrequency == 0 ? null : totalDuration / timedFrequency
+                        )
+                    );
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * The graph of a process and the version of the log it holds, advanced as events are appended to it.
+     */
+    private static final class VersionedGraph {
+        final IncrementalDirectlyFollowsGraph graph;
+
+        volatile long logVersion;
+
+        VersionedGraph(IncrementalDirectlyFollowsGraph graph, long logVersion) {
+            this.graph = graph;
+            this.logVersion = logVersion;
+        }
+    }
+}
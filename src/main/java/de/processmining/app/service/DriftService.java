@@ -0,0 +1,148 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.ConceptDriftDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.mining.DriftDetector;
+import de.processmining.app.service.mining.TimeWindow;
+import de.processmining.app.service.mining.WindowedDirectlyFollowsGraph;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service detecting concept drift in the event log of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * The directly-follows snapshots of all the windows of a log are built in a single pass and kept in memory until the
+ * log changes, so that tests with other parameters do not mine the log again.
+ */
+@Service
+public class DriftService {
+    /**
+     * Maximum number of changed relations returned per drift.
+     */
+    private static final int CHANGE_LIMIT = 10;
+
+    private final Logger log = LoggerFactory.getLogger(DriftService.class);
+
+    private final EventLogService eventLogService;
+
+    private final Map<TimeWindow, ConcurrentMap<Long, WindowedDirectlyFollowsGraph>> snapshots = new EnumMap<>(TimeWindow.class);
+
+    public DriftService(EventLogService eventLogService) {
+        this.eventLogService = eventLogService;
+        for (TimeWindow window : TimeWindow.values()) {
+            snapshots.put(window, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Compare the directly-follows relations of each window of the log of a process with the previous window.
+     *
+     * @param processId the id of the process.
+     * @param window the time window.
+     * @param significance the significance level of the chi-square tests, between 0 and 1.
+     * @param minEffectSize the minimum Cramer's V of a drift, between 0 and 1.
+     * @return the comparisons, or empty if the process does not exist.
+     */
+    public Optional<ConceptDriftDTO> detectDrift(Long processId, TimeWindow window, double significance, double minEffectSize) {
+        log.debug("Request to detect drift of Process : {} per {}", processId, window);
+        return eventLogService
+            .getEventLog(processId)
+            .map(
+                eventLog ->
+                    // snapshots built from a log evicted meanwhile are replaced, as their log is not the current one
+                    snapshots
+                        .get(window)
+                        .compute(
+                            processId,
+                            (id, graphs) -> graphs != null && graphs.getEventLog() == eventLog ? graphs : build(id, eventLog, window)
+                        )
+            )
+            .map(graphs -> toDto(graphs, significance, minEffectSize));
+    }
+
+    /**
+     * Drop the snapshots of a process once a change of its log is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        for (ConcurrentMap<Long, WindowedDirectlyFollowsGraph> windowSnapshots : snapshots.values()) {
+            windowSnapshots.remove(event.getProcessId());
+        }
+    }
+
+    private WindowedDirectlyFollowsGraph build(Long processId, EventLog eventLog, TimeWindow window) {
+        long start = System.currentTimeMillis();
+        WindowedDirectlyFollowsGraph graphs = WindowedDirectlyFollowsGraph.of(eventLog, window);
+        log.debug(
+            "Built {} directly-follows snapshots per {} of Process {} in {} ms",
+            graphs.windowCount(),
+            window,
+            processId,
+            System.currentTimeMillis() - start
+        );
+        return graphs;
+    }
+
+    static ConceptDriftDTO toDto(WindowedDirectlyFollowsGraph graphs, double significance, double minEffectSize) {
+        ConceptDriftDTO dto = new ConceptDriftDTO();
+        dto.setWindow(graphs.getWindow().name());
+        dto.setSignificance(significance);
+        dto.setMinEffectSize(minEffectSize);
+        dto.setWindowCount(graphs.windowCount());
+        for (DriftDetector.Comparison comparison : DriftDetector.detect(graphs, significance, minEffectSize)) {
+            ConceptDriftDTO.WindowComparisonDTO comparisonDto = new ConceptDriftDTO.WindowComparisonDTO();
+            comparisonDto.setPreviousWindowStart(Instant.ofEpochMilli(graphs.windowStart(comparison.getFirstWindow())));
+            comparisonDto.setPreviousCaseCount(graphs.caseCount(comparison.getFirstWindow()));
+            comparisonDto.setWindowStart(Instant.ofEpochMilli(graphs.windowStart(comparison.getSecondWindow())));
+            comparisonDto.setCaseCount(graphs.caseCount(comparison.getSecondWindow()));
+            comparisonDto.setChiSquare(comparison.getStatistic());
+            comparisonDto.setDegreesOfFreedom(comparison.getDegreesOfFreedom());
+            comparisonDto.setPValue(comparison.getPValue());
+            comparisonDto.setEffectSize(comparison.getEffectSize());
+            comparisonDto.setDrift(comparison.isDrift());
+            if (comparison.isDrift()) {
+                dto.setDriftCount(dto.getDriftCount() + 1);
+                for (DriftDetector.RelationChange change : comparison.getChanges()) {
+                    if (comparisonDto.getChanges().size() == CHANGE_LIMIT) {
+                        break;
+                    }
+                    comparisonDto.getChanges().add(toDto(graphs.getEventLog(), change));
+                }
+            }
+            dto.getComparisons().add(comparisonDto);
+        }
+        return dto;
+    }
+
+    private static ConceptDriftDTO.RelationChangeDTO toDto(EventLog eventLog, DriftDetector.RelationChange change) {
+        int activityCount = eventLog.activityCount();
+        int key = change.getKey();
+        String source = null;
+        String target = null;
+        if (key < activityCount * activityCount) {
+            source = eventLog.activityName(key / activityCount);
+            target = eventLog.activityName(key % activityCount);
+        } else if (key < WindowedDirectlyFollowsGraph.endKey(activityCount, 0)) {
+            target = eventLog.activityName(key - WindowedDirectlyFollowsGraph.startKey(activityCount, 0));
+        } else {
+            source = eventLog.activityName(key - WindowedDirectlyFollowsGraph.endKey(activityCount, 0));
+        }
+        return new ConceptDriftDTO.RelationChangeDTO(
+            source,
+            target,
+            change.getFirstCount(),
+            change.getSecondCount(),
+            change.getContribution()
+        );
+    }
+}
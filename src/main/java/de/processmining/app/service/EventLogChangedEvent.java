@@ -0,0 +1,70 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.EventDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published when the event log of a {@link de.processmining.app.domain.Process} changed, so that in-memory copies and
+ * analysis results derived from it can be updated or dropped once the change is committed.
+ */
+public class EventLogChangedEvent {
+    private final Long processId;
+
+    private final long logVersion;
+
+    private final List<EventDTO> appendedEvents;
+
+    private EventLogChangedEvent(Long processId, long logVersion, List<EventDTO> appendedEvents) {
+        this.processId = processId;
+        this.logVersion = logVersion;
+        this.appendedEvents = appendedEvents;
+    }
+
+    /**
+     * @param processId the id of the process whose log was replaced, bulk-imported or deleted.
+     * @return an event telling that the log changed in an unknown way.
+     */
+    public static EventLogChangedEvent replaced(Long processId) {
+        return new EventLogChangedEvent(processId, EventLog.NO_LOG_VERSION, null);
+    }
+
+    /**
+     * @param processId the id of the process.
+     * @param logVersion the version of the log once the events are appended.
+     * @param events the events appended at the end of the log.
+     * @return an event telling that the given events, and only them, were appended to the log.
+     */
+    public static EventLogChangedEvent appended(Long processId, long logVersion, List<EventDTO> events) {
+        return new EventLogChangedEvent(processId, logVersion, Collections.unmodifiableList(events));
+    }
+
+    public Long getProcessId() {
+        return processId;
+    }
+
+    /**
+     * @return the version of the log once the events are appended, or {@link EventLog#NO_LOG_VERSION} if the log was
+     * replaced.
+     */
+    public long getLogVersion() {
+        return logVersion;
+    }
+
+    /**
+     * @return whether the only change is the append of {@link #getAppendedEvents() the appended events}.
+     */
+    public boolean isAppend() {
+        return appendedEvents != null;
+    }
+
+    public List<EventDTO> getAppendedEvents() {
+        return appendedEvents;
+    }
+
+    @Override
+    public String toString() {
+        return "EventLogChangedEvent{processId=" + processId + ", logVersion=" + logVersion + ", appendedEvents=" + (appendedEvents == null ? "none" : appendedEvents.size()) + "}";
+    }
+}
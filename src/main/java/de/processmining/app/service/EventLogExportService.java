@@ -0,0 +1,212 @@
+package de.processmining.app.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.processmining.app.repository.EventLogRepository;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogFileWriter;
+import de.processmining.app.service.eventlog.EventLogFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting the event log of a {@link de.processmining.app.domain.Process} to a file.
+ * <p>
+ * Events are streamed with their attributes and the attributes of their case from a read-only database cursor straight
+ * to the output, so that an export never holds the cases of the log in memory. Formats writing attributes in columns
+ * read the cursor twice, first keeping only the attribute names. Filters on the cases are still evaluated on the
+ * in-memory {@link de.processmining.app.service.eventlog.CaseIndex}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EventLogExportService {
+    private final Logger log = LoggerFactory.getLogger(EventLogExportService.class);
+
+    private static final TypeReference<Map<String, String>> ATTRIBUTES_TYPE = new TypeReference<Map<String, String>>() {};
+
+    private final ProcessRepository processRepository;
+
+    private final EventLogRepository eventLogRepository;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    public EventLogExportService(
+        ProcessRepository processRepository,
+        EventLogRepository eventLogRepository,
+        EventLogQueryService eventLogQueryService,
+        ObjectMapper objectMapper
+    ) {
+        this.processRepository = processRepository;
+        this.eventLogRepository = eventLogRepository;
+        this.eventLogQueryService = eventLogQueryService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Select the cases of the event log of a process to export.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match.
+     * @return the predicate accepting the identifiers of the selected cases, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<Predicate<String>> findCases(Long processId, EventLogCriteria criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return processRepository.existsById(processId) ? Optional.of(caseId -> true) : Optional.empty();
+        }
+        return eventLogQueryService
+            .findByCriteria(processId, criteria)
+            .map(
+                selection -> {
+                    EventLog eventLog = selection.getCaseIndex().getEventLog();
+                    BitSet cases = selection.getCases();
+                    return caseId -> {
+                        int caseIndex = eventLog.caseIndex(caseId);
+                        return caseIndex >= 0 && cases.get(caseIndex);
+                    };
+                }
+            );
+    }
+
+    /**
+     * Write the selected cases of the event log of a process, with all their case and event attributes.
+     *
+     * @param processId the id of the process.
+     * @param cases the predicate accepting the identifiers of the cases to write.
+     * @param format the file format.
+     * @param outputStream the stream receiving the log, which is left open.
+     * @return the number of written events.
+     * @throws IOException if the stream cannot be written.
+     */
+    public long export(Long processId, Predicate<String> cases, EventLogFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Request to export event log of Process : {} as {}", processId, format);
+        List<String> caseAttributeNames = Collections.emptyList();
+        List<String> eventAttributeNames = Collections.emptyList();
+        if (format.hasAttributeColumns()) {
+            // the columns are written first, so the attribute names are collected with another pass over the events
+            AttributeNamesHandler names = new AttributeNamesHandler(processId, cases);
+            eventLogRepository.readEventsWithAttributes(processId, names);
+            caseAttributeNames = new ArrayList<>(names.caseAttributeNames);
+            eventAttributeNames = new ArrayList<>(names.eventAttributeNames);
+        }
+        EventLogFileWriter writer = format.open(outputStream, caseAttributeNames, eventAttributeNames);
+        ExportHandler handler = new ExportHandler(processId, cases, writer);
+        try {
+            eventLogRepository.readEventsWithAttributes(processId, handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.debug("Exported {} events of Process {}", handler.eventCount, processId);
+        return handler.eventCount;
+    }
+
+    private Map<String, String> readAttributes(Long processId, String caseId, String attributes) {
+        if (attributes == null) {
+            return Collections.emptyMap();
+        }
+        try {
+            return objectMapper.readValue(attributes, ATTRIBUTES_TYPE);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable attributes of case {} of Process {}: {}", caseId, processId, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Collects the names of the case and event attributes of the selected cases, in order of first occurrence.
+     */
+    private final class AttributeNamesHandler implements EventLogRepository.EventAttributesRowHandler {
+        private final Long processId;
+
+        private final Predicate<String> cases;
+
+        private final Set<String> caseAttributeNames = new LinkedHashSet<>();
+
+        private final Set<String> eventAttributeNames = new LinkedHashSet<>();
+
+        private String caseId;
+
+        private boolean selected;
+
+        AttributeNamesHandler(Long processId, Predicate<String> cases) {
+            this.processId = processId;
+            this.cases = cases;
+        }
+
+        @Override
+        public void event(String caseId, String caseAttributes, String activity, Instant timestamp, String resource, String attributes) {
+            if (!caseId.equals(this.caseId)) {
+                this.caseId = caseId;
+                selected = cases.test(caseId);
+                if (selected) {
+                    caseAttributeNames.addAll(readAttributes(processId, caseId, caseAttributes).keySet());
+                }
+            }
+            if (selected) {
+                eventAttributeNames.addAll(readAttributes(processId, caseId, attributes).keySet());
+            }
+        }
+    }
+
+    /**
+     * Writes the events read from the database, starting a case whenever the case identifier changes.
+     */
+    private final class ExportHandler implements EventLogRepository.EventAttributesRowHandler {
+        private final Long processId;
+
+        private final Predicate<String> cases;
+
+        private final EventLogFileWriter writer;
+
+        private String caseId;
+
+        private boolean selected;
+
+        private long eventCount;
+
+        ExportHandler(Long processId, Predicate<String> cases, EventLogFileWriter writer) {
+            this.processId = processId;
+            this.cases = cases;
+            this.writer = writer;
+        }
+
+        @Override
+        public void event(String caseId, String caseAttributes, String activity, Instant timestamp, String resource, String attributes) {
+            try {
+                if (!caseId.equals(this.caseId)) {
+                    this.caseId = caseId;
+                    selected = cases.test(caseId);
+                    if (selected) {
+                        writer.startCase(caseId, readAttributes(processId, caseId, caseAttributes));
+                    }
+                }
+                if (selected) {
+                    writer.event(activity, timestamp, resource, readAttributes(processId, caseId, attributes));
+                    eventCount++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package de.processmining.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.processmining.app.config.ApplicationProperties;
+import de.processmining.app.repository.EventLogRepository;
+import de.processmining.app.repository.EventLogWriter;
+import de.processmining.app.repository.ObjectCentricEventLogWriter;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.dto.CsvColumnMappingDTO;
+import de.processmining.app.service.dto.EventDTO;
+import de.processmining.app.service.dto.EventLogImportSummaryDTO;
+import de.processmining.app.service.eventlog.CsvEventLogParser;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogHandler;
+import de.processmining.app.service.eventlog.ObjectCentricEventLogHandler;
+import de.processmining.app.service.eventlog.OcelJsonParser;
+import de.processmining.app.service.eventlog.OcelXmlParser;
+import de.processmining.app.service.eventlog.XesEventLogParser;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing event logs into a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Logs are parsed as a stream and written with batched JDBC inserts, so memory usage does not depend on the log size.
+ */
+@Service
+@Transactional
+public class EventLogImportService {
+    private final Logger log = LoggerFactory.getLogger(EventLogImportService.class);
+
+    /**
+     * Number of CSV chunks per import thread. Chunks are split on byte offsets, so their number of events and of
+     * attributes to serialize differs; several smaller chunks per thread keep every thread, and its connection,
+     * writing until the end of the file instead of waiting on the slowest chunk.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ProcessRepository processRepository;
+
+    private final EventLogRepository eventLogRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ThreadPoolExecutor importExecutor;
+
+    public EventLogImportService(
+        ProcessRepository processRepository,
+        EventLogRepository eventLogRepository,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher,
+        @Qualifier("importExecutor") ThreadPoolExecutor importExecutor
+    ) {
+        this.processRepository = processRepository;
+        this.eventLogRepository = eventLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * Append an XES event log, optionally gzip-compressed, to the event log of a process.
+     * <p>
+     * The log is written in a single transaction: if the document turns out to be invalid or cannot be read, none of
+     * its traces are kept, so that the upload can be retried without duplicating cases.
+     *
+     * @param processId the id of the process.
+     * @param inputStream the XES document.
+     * @return the import summary, or empty if the process does not exist.
+     * @throws IOException if the document cannot be read.
+     * @throws InvalidEventLogException if the document is not a valid XES log.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public Optional<EventLogImportSummaryDTO> importXes(Long processId, InputStream inputStream) throws IOException {
+        log.debug("Request to import XES event log into Process : {}", processId);
+        if (!processRepository.existsById(processId)) {
+            return Optional.empty();
+        }
+        EventLogWriter writer = eventLogRepository.openWriter(processId, applicationProperties.getEventLog().getBatchSize());
+        new XesEventLogParser().parse(decompressIfNeeded(inputStream), new WritingHandler(writer));
+        writer.flush();
+        processRepository.incrementLogVersion(processId);
+        eventPublisher.publishEvent(EventLogChangedEvent.replaced(processId));
+        log.debug("Imported {} traces and {} events into Process : {}", writer.getTraceCount(), writer.getEventCount(), processId);
+        return Optional.of(new EventLogImportSummaryDTO(processId, writer.getTraceCount(), writer.getEventCount()));
+    }
+
+    /**
+     * Append an object-centric event log in the OCEL JSON or XML format, optionally gzip-compressed, to the
+     * object-centric event log of a process. The format is recognized from the first character of the document.
+     * <p>
+     * As for XES logs, the log is written in a single transaction, so that an invalid document leaves no objects or
+     * events behind.
+     *
+     * @param processId the id of the process.
+     * @param inputStream the OCEL document.
+     * @return the import summary, or empty if the process does not exist.
+     * @throws IOException if the document cannot be read.
+     * @throws InvalidEventLogException if the document is not a valid OCEL log.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public Optional<EventLogImportSummaryDTO> importOcel(Long processId, InputStream inputStream) throws IOException {
+        log.debug("Request to import OCEL event log into Process : {}", processId);
+        if (!processRepository.existsById(processId)) {
+            return Optional.empty();
+        }
+        ObjectCentricEventLogWriter writer = eventLogRepository.openObjectCentricWriter(
+            processId,
+            applicationProperties.getEventLog().getBatchSize()
+        );
+        InputStream document = decompressIfNeeded(inputStream);
+        ObjectCentricWritingHandler handler = new ObjectCentricWritingHandler(writer);
+        int first = firstNonWhitespace(document);
+        if (first == '{') {
+            new OcelJsonParser().parse(document, handler);
+        } else if (first == '<') {
+            new OcelXmlParser().parse(document, handler);
+        } else {
+            throw new InvalidEventLogException("OCEL document is neither JSON nor XML");
+        }
+        writer.flush();
+        processRepository.incrementLogVersion(processId);
+        eventPublisher.publishEvent(EventLogChangedEvent.replaced(processId));
+        log.debug("Imported {} objects and {} events into Process : {}", writer.getObjectCount(), writer.getEventCount(), processId);
+        EventLogImportSummaryDTO summary = new EventLogImportSummaryDTO(processId, 0, writer.getEventCount());
+        summary.setObjectCount(writer.getObjectCount());
+        return Optional.of(summary);
+    }
+
+    /**
+     * Append a CSV event log to the event log of a process.
+     * <p>
+     * The file is split into byte ranges which are parsed and written concurrently, each one in its own transaction:
+     * if a range fails, the ranges already written stay committed.
+     *
+     * @param processId the id of the process.
+     * @param file the CSV file.
+     * @param mapping the mapping of the CSV columns to the event fields.
+     * @return the import summary, or empty if the process does not exist.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidEventLogException if the file does not match the mapping.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<EventLogImportSummaryDTO> importCsv(Long processId, Path file, CsvColumnMappingDTO mapping) throws IOException {
+        return importCsv(processId, file, mapping, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Append a CSV event log to the event log of a process, reporting each written byte range.
+     * <p>
+     * Once cancelled, ranges not started yet are skipped, while the ranges already written stay committed.
+     *
+     * @param processId the id of the process.
+     * @param file the CSV file.
+     * @param mapping the mapping of the CSV columns to the event fields.
+     * @param monitor the monitor of the import.
+     * @return the import summary, or empty if the process does not exist.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidEventLogException if the file does not match the mapping.
+     * @throws AnalysisJobCancelledException if the import was cancelled.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<EventLogImportSummaryDTO> importCsv(Long processId, Path file, CsvColumnMappingDTO mapping, ProgressMonitor monitor)
+        throws IOException {
+        log.debug("Request to import CSV event log into Process : {} with mapping {}", processId, mapping);
+        if (!processRepository.existsById(processId)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvEventLogParser parser = CsvEventLogParser.open(channel, mapping);
+            List<CsvEventLogParser.Chunk> chunks = parser.split(importExecutor.getMaximumPoolSize() * CHUNKS_PER_THREAD);
+            List<Future<Long>> results = new ArrayList<>(chunks.size());
+            AtomicBoolean stopped = new AtomicBoolean();
+            AtomicInteger committedChunks = new AtomicInteger();
+            long eventCount = 0;
+            long traceCount = 0;
+            try {
+                for (CsvEventLogParser.Chunk chunk : chunks) {
+                    results.add(
+                        importExecutor.submit(
+                            () -> {
+                                if (stopped.get() || monitor.isCancelled()) {
+                                    return 0L;
+                                }
+                                Long chunkEventCount = transactionTemplate.execute(status -> importChunk(processId, parser, chunk));
+                                committedChunks.incrementAndGet();
+                                return chunkEventCount;
+                            }
+                        )
+                    );
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    eventCount += results.get(i).get();
+                    monitor.worked(i + 1, results.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while importing CSV event log", e);
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            } finally {
+                // the executor is shared with other imports, so only the chunks of this one are skipped, and the running
+                // ones are awaited so that the new log version covers every committed chunk
+                stopped.set(true);
+                awaitChunks(results);
+                if (committedChunks.get() > 0) {
+                    // chunks are committed independently, so the log changed even if the import failed
+                    traceCount = transactionTemplate.execute(status -> addMissingTraces(processId));
+                    eventPublisher.publishEvent(EventLogChangedEvent.replaced(processId));
+                }
+            }
+            log.debug("Imported {} traces and {} events in {} chunks into Process : {}", traceCount, eventCount, chunks.size(), processId);
+            return Optional.of(new EventLogImportSummaryDTO(processId, traceCount, eventCount));
+        }
+    }
+
+    /**
+     * Append a micro-batch of events to the event log of a process.
+     * <p>
+     * Unlike imports, appends are announced with the appended events, so that analyses kept in memory can be updated
+     * in place instead of being computed again.
+     *
+     * @param processId the id of the process.
+     * @param events the events, whose case identifier and activity are mandatory.
+     * @return the import summary, or empty if the process does not exist.
+     * @throws InvalidEventLogException if an event has no case identifier or no activity.
+     */
+    public Optional<EventLogImportSummaryDTO> appendEvents(Long processId, List<EventDTO> events) {
+        log.debug("Request to append {} events to Process : {}", events.size(), processId);
+        if (!processRepository.existsById(processId)) {
+            return Optional.empty();
+        }
+        EventLogWriter writer = eventLogRepository.openWriter(processId, applicationProperties.getEventLog().getBatchSize());
+        for (EventDTO event : events) {
+            if (isBlank(event.getCaseId()) || isBlank(event.getActivity())) {
+                throw new InvalidEventLogException("Event without case identifier or activity: " + event);
+            }
+            writer.addEvent(
+                event.getCaseId(),
+                event.getActivity(),
+                event.getTimestamp(),
+                event.getResource(),
+                toJson(event.getAttributes())
+            );
+        }
+        writer.flush();
+        processRepository.incrementLogVersion(processId);
+        long logVersion = processRepository.findLogVersionById(processId).orElse(EventLog.NO_LOG_VERSION);
+        eventPublisher.publishEvent(EventLogChangedEvent.appended(processId, logVersion, new ArrayList<>(events)));
+        return Optional.of(new EventLogImportSummaryDTO(processId, 0, writer.getEventCount()));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private long importChunk(Long processId, CsvEventLogParser parser, CsvEventLogParser.Chunk chunk) {
+        EventLogWriter writer = eventLogRepository.openWriter(processId, applicationProperties.getEventLog().getBatchSize());
+        try {
+            parser.parse(chunk, new WritingHandler(writer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writer.flush();
+        return writer.getEventCount();
+    }
+
+    /**
+     * Add a trace to each case whose events were imported without one, and increment the log version.
+     *
+     * @return the number of added traces.
+     */
+    private long addMissingTraces(Long processId) {
+        long traceCount = eventLogRepository.insertMissingTraces(processId);
+        processRepository.incrementLogVersion(processId);
+        return traceCount;
+    }
+
+    /**
+     * Wait until the chunks of an import are written or skipped, whatever their outcome.
+     */
+    private static void awaitChunks(List<Future<Long>> results) {
+        for (Future<Long> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                // reported by the loop collecting the results
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) throws IOException {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static InputStream decompressIfNeeded(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, 64 * 1024);
+        buffered.mark(2);
+        int magic = buffered.read() | (buffered.read() << 8);
+        buffered.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new BufferedInputStream(new GZIPInputStream(buffered, 64 * 1024)) : buffered;
+    }
+
+    /**
+     * Peek at the first character of a document which is not whitespace, after the UTF-8 byte order mark if any.
+     */
+    private static int firstNonWhitespace(InputStream document) throws IOException {
+        document.mark(1024);
+        int c = document.read();
+        if (c == 0xEF && document.read() == 0xBB && document.read() == 0xBF) {
+            c = document.read();
+        } else if (c == 0xEF) {
+            document.reset();
+            return c;
+        }
+        while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+            c = document.read();
+        }
+        document.reset();
+        return c;
+    }
+
+    private String toJson(Map<String, String> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new InvalidEventLogException("Attributes cannot be serialized: " + attributes, e);
+        }
+    }
+
+    /**
+     * Writes the parsed traces and events through an {@link EventLogWriter}.
+     */
+    private class WritingHandler implements EventLogHandler {
+        private final EventLogWriter writer;
+
+        WritingHandler(EventLogWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void trace(String caseId, Map<String, String> attributes) {
+            writer.addTrace(caseId, toJson(attributes));
+        }
+
+        @Override
+        public void event(String caseId, String activity, Instant timestamp, String resource, Map<String, String> attributes) {
+            writer.addEvent(caseId, activity, timestamp, resource, toJson(attributes));
+        }
+    }
+
+    /**
+     * Writes the parsed objects and events through an {@link ObjectCentricEventLogWriter}.
+     */
+    private class ObjectCentricWritingHandler implements ObjectCentricEventLogHandler {
+        private final ObjectCentricEventLogWriter writer;
+
+        ObjectCentricWritingHandler(ObjectCentricEventLogWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void object(String objectId, String objectType, Map<String, String> attributes) {
+            writer.addObject(objectId, objectType, toJson(attributes));
+        }
+
+        @Override
+        public void event(String eventId, String activity, Instant timestamp, List<String> objectIds, Map<String, String> attributes) {
+            writer.addEvent(eventId, activity, timestamp, objectIds, toJson(attributes));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.eventlog.CaseAttributes;
+import de.processmining.app.service.eventlog.CaseIndex;
+import de.processmining.app.service.eventlog.CaseSelection;
+import de.processmining.app.service.eventlog.EventLog;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.RangeFilter;
+import io.github.jhipster.service.filter.StringFilter;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for selecting the cases of the event log of a {@link de.processmining.app.domain.Process}.
+ * The main input is an {@link EventLogCriteria} which gets converted to a {@link BitSet} of cases, in a way that all
+ * the filters must apply.
+ * <p>
+ * Filters are not translated to SQL: they are evaluated on the in-memory {@link CaseIndex} of the log, the cheapest
+ * and most selective ones first, so that chains of filters on millions of cases are answered in milliseconds.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EventLogQueryService {
+    private static final String FOLLOWS_SEPARATOR = "->";
+
+    private final Logger log = LoggerFactory.getLogger(EventLogQueryService.class);
+
+    private final EventLogService eventLogService;
+
+    public EventLogQueryService(EventLogService eventLogService) {
+        this.eventLogService = eventLogService;
+    }
+
+    /**
+     * Return the cases of the event log of a process which match the criteria.
+     * @param processId the id of the process.
+     * @param criteria The object which holds all the filters, which the cases should match.
+     * @return the matching cases, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<CaseSelection> findByCriteria(Long processId, EventLogCriteria criteria) {
+        log.debug("find cases of Process {} by criteria : {}", processId, criteria);
+        return eventLogService.getCaseIndex(processId).map(caseIndex -> findByCriteria(processId, caseIndex, criteria));
+    }
+
+    /**
+     * Return the cases of a case index of the event log of a process which match the criteria.
+     * @param processId the id of the process.
+     * @param caseIndex the case index of the event log of the process.
+     * @param criteria The object which holds all the filters, which the cases should match.
+     * @return the matching cases.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public CaseSelection findByCriteria(Long processId, CaseIndex caseIndex, EventLogCriteria criteria) {
+        return new CaseSelection(caseIndex, createSelection(processId, caseIndex, criteria));
+    }
+
+    /**
+     * Return the number of cases of the event log of a process which match the criteria.
+     * @param processId the id of the process.
+     * @param criteria The object which holds all the filters, which the cases should match.
+     * @return the number of matching cases, or empty if the process does not exist.
+     */
+    public Optional<Long> countByCriteria(Long processId, EventLogCriteria criteria) {
+        return findByCriteria(processId, criteria).map(selection -> (long) selection.caseCount());
+    }
+
+    /**
+     * Function to convert {@link EventLogCriteria} to a {@link BitSet} of cases.
+     * @param processId the id of the process.
+     * @param caseIndex the case index of the event log of the process.
+     * @param criteria The object which holds all the filters, which the cases should match.
+     * @return the matching cases.
+     */
+    protected BitSet createSelection(Long processId, CaseIndex caseIndex, EventLogCriteria criteria) {
+        BitSet cases = caseIndex.allCases();
+        if (criteria == null) {
+            return cases;
+        }
+        EventLog eventLog = caseIndex.getEventLog();
+        if (criteria.getVariant() != null) {
+            cases.and(caseIndex.casesOfVariants(rank -> matches(criteria.getVariant(), rank + 1)));
+        }
+        if (criteria.getActivity() != null) {
+            retainByEventValues(
+                cases,
+                criteria.getActivity(),
+                eventLog.activityCount(),
+                eventLog::activityName,
+                caseIndex::casesWithActivity
+            );
+        }
+        if (criteria.getResource() != null) {
+            retainByEventValues(
+                cases,
+                criteria.getResource(),
+                eventLog.resourceCount(),
+                eventLog::resourceName,
+                caseIndex::casesWithResource
+            );
+        }
+        if (criteria.getCaseStart() != null) {
+            caseIndex.retain(cases, c -> matches(criteria.getCaseStart(), toInstant(caseIndex.startTime(c))));
+        }
+        if (criteria.getCaseEnd() != null) {
+            caseIndex.retain(cases, c -> matches(criteria.getCaseEnd(), toInstant(caseIndex.endTime(c))));
+        }
+        if (criteria.getDuration() != null) {
+            caseIndex.retain(cases, c -> matches(criteria.getDuration(), duration(caseIndex, c)));
+        }
+        if (criteria.getAttribute() != null && !criteria.getAttribute().isEmpty()) {
+            CaseAttributes attributes = eventLogService.getCaseAttributes(processId, eventLog);
+            for (Map.Entry<String, StringFilter> attribute : criteria.getAttribute().entrySet()) {
+                if (attribute.getValue() != null) {
+                    attributes.retain(cases, attribute.getKey(), value -> matches(attribute.getValue(), value));
+                }
+            }
+        }
+        if (criteria.getFollows() != null) {
+            for (String relation : criteria.getFollows()) {
+                retainFollows(cases, caseIndex, relation, false);
+            }
+        }
+        if (criteria.getDirectlyFollows() != null) {
+            for (String relation : criteria.getDirectlyFollows()) {
+                retainFollows(cases, caseIndex, relation, true);
+            }
+        }
+        return cases;
+    }
+
+    /**
+     * Filter cases on a value their events may have several times: positive conditions select cases with at least one
+     * matching event, negative ones cases without any event matching their value.
+     */
+    private static void retainByEventValues(
+        BitSet cases,
+        StringFilter filter,
+        int valueCount,
+        IntFunction<String> names,
+        Function<int[], BitSet> casesWith
+    ) {
+        if (filter.getSpecified() != null) {
+            BitSet withValue = casesWith.apply(IntStream.range(0, valueCount).toArray());
+            if (filter.getSpecified()) {
+                cases.and(withValue);
+            } else {
+                cases.andNot(withValue);
+            }
+        }
+        if (filter.getEquals() != null) {
+            cases.and(casesWith.apply(codes(valueCount, names, filter.getEquals()::equals)));
+        }
+        if (filter.getIn() != null) {
+            cases.and(casesWith.apply(codes(valueCount, names, filter.getIn()::contains)));
+        }
+        if (filter.getContains() != null) {
+            cases.and(casesWith.apply(codes(valueCount, names, name -> name.contains(filter.getContains()))));
+        }
+        if (filter.getNotEquals() != null) {
+            cases.andNot(casesWith.apply(codes(valueCount, names, filter.getNotEquals()::equals)));
+        }
+        if (filter.getNotIn() != null) {
+            cases.andNot(casesWith.apply(codes(valueCount, names, filter.getNotIn()::contains)));
+        }
+        if (filter.getDoesNotContain() != null) {
+            cases.andNot(casesWith.apply(codes(valueCount, names, name -> name.contains(filter.getDoesNotContain()))));
+        }
+    }
+
+    private static int[] codes(int valueCount, IntFunction<String> names, Predicate<String> predicate) {
+        return IntStream.range(0, valueCount).filter(code -> predicate.test(names.apply(code))).toArray();
+    }
+
+    private static void retainFollows(BitSet cases, CaseIndex caseIndex, String relation, boolean directly) {
+        int separator = relation.indexOf(FOLLOWS_SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidCriteriaException("Follows relation must be written source" + FOLLOWS_SEPARATOR + "target: " + relation);
+        }
+        EventLog eventLog = caseIndex.getEventLog();
+        int source = eventLog.activityCode(relation.substring(0, separator));
+        int target = eventLog.activityCode(relation.substring(separator + FOLLOWS_SEPARATOR.length()));
+        caseIndex.retainFollows(cases, source, target, directly);
+    }
+
+    private static Instant toInstant(long timestamp) {
+        return timestamp == EventLog.NO_TIMESTAMP ? null : Instant.ofEpochMilli(timestamp);
+    }
+
+    private static Long duration(CaseIndex caseIndex, int caseIndexOfCase) {
+        long start = caseIndex.startTime(caseIndexOfCase);
+        return start == EventLog.NO_TIMESTAMP ? null : caseIndex.endTime(caseIndexOfCase) - start;
+    }
+
+    /**
+     * Evaluate a filter on a single value, {@code null} standing for a missing value.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Comparable<? super T>> boolean matches(Filter<T> filter, T value) {
+        if (value == null) {
+            return Boolean.FALSE.equals(filter.getSpecified());
+        }
+        if (Boolean.FALSE.equals(filter.getSpecified())) {
+            return false;
+        }
+        if (filter.getEquals() != null && !filter.getEquals().equals(value)) {
+            return false;
+        }
+        if (filter.getNotEquals() != null && filter.getNotEquals().equals(value)) {
+            return false;
+        }
+        if (filter.getIn() != null && !filter.getIn().contains(value)) {
+            return false;
+        }
+        if (filter.getNotIn() != null && filter.getNotIn().contains(value)) {
+            return false;
+        }
+        if (filter instanceof RangeFilter) {
+            RangeFilter<T> range = (RangeFilter<T>) filter;
+            if (range.getGreaterThan() != null && value.compareTo(range.getGreaterThan()) <= 0) {
+                return false;
+            }
+            if (range.getGreaterThanOrEqual() != null && value.compareTo(range.getGreaterThanOrEqual()) < 0) {
+                return false;
+            }
+            if (range.getLessThan() != null && value.compareTo(range.getLessThan()) >= 0) {
+                return false;
+            }
+            if (range.getLessThanOrEqual() != null && value.compareTo(range.getLessThanOrEqual()) > 0) {
+                return false;
+            }
+        }
+        if (filter instanceof StringFilter) {
+            StringFilter string = (StringFilter) filter;
+            if (string.getContains() != null && !((String) value).contains(string.getContains())) {
+                return false;
+            }
+            if (string.getDoesNotContain() != null && ((String) value).contains(string.getDoesNotContain())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
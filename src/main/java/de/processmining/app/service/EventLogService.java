@@ -0,0 +1,343 @@
+package de.processmining.app.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.processmining.app.config.ApplicationProperties;
+import de.processmining.app.repository.EventLogRepository;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.dto.EventDTO;
+import de.processmining.app.service.eventlog.CaseAttributes;
+import de.processmining.app.service.eventlog.CaseIndex;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import de.processmining.app.service.eventlog.VariantIndex;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service providing the in-memory {@link EventLog} of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Event logs are loaded once from the database and kept in memory, so that mining algorithms never work on JPA
+ * entities. A log in memory is only used while it holds the current {@link de.processmining.app.domain.Process#getLogVersion()
+ * version} of the log of its process: appended events are added to it in place, any other change makes it load again.
+ * The least recently used logs are dropped beyond {@code application.event-log.max-cached-logs}. The
+ * {@link VariantIndex} and {@link CaseIndex} of a log are built on first use and kept along with it, as are its
+ * {@link CaseAttributes}, which are only loaded to filter cases on them; appended events update them with the cases
+ * they change.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EventLogService {
+    private final Logger log = LoggerFactory.getLogger(EventLogService.class);
+
+    private static final TypeReference<Map<String, String>> ATTRIBUTES_TYPE = new TypeReference<Map<String, String>>() {};
+
+    private final ProcessRepository processRepository;
+
+    private final EventLogRepository eventLogRepository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The logs in memory by process, in access order; guarded by itself.
+     */
+    private final Map<Long, EventLog> eventLogs;
+
+    private final ConcurrentMap<Long, CompletableFuture<EventLog>> loadingLogs = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, VariantIndex> variantIndexes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, CaseIndex> caseIndexes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, CaseAttributes> caseAttributes = new ConcurrentHashMap<>();
+
+    public EventLogService(
+        ProcessRepository processRepository,
+        EventLogRepository eventLogRepository,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.processRepository = processRepository;
+        this.eventLogRepository = eventLogRepository;
+        this.objectMapper = objectMapper;
+        int maxCachedLogs = applicationProperties.getEventLog().getMaxCachedLogs();
+        this.eventLogs =
+            new LinkedHashMap<Long, EventLog>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, EventLog> eldest) {
+                    if (size() <= maxCachedLogs) {
+                        return false;
+                    }
+                    log.debug("Dropping least recently used event log of Process : {}", eldest.getKey());
+                    removeIndexes(eldest.getKey());
+                    return true;
+                }
+            };
+    }
+
+    /**
+     * @param processId the id of the process.
+     * @return the current {@link EventLog#getLogVersion() version} of the log of the process, or empty if the process
+     * does not exist.
+     */
+    public Optional<Long> getLogVersion(Long processId) {
+        return processRepository.findLogVersionById(processId);
+    }
+
+    /**
+     * Get the current event log of a process, loading it from the database if it is not in memory yet.
+     *
+     * @param processId the id of the process.
+     * @return the event log, or empty if the process does not exist.
+     */
+    public Optional<EventLog> getEventLog(Long processId) {
+        Optional<Long> logVersion = processRepository.findLogVersionById(processId);
+        if (!logVersion.isPresent()) {
+            return Optional.empty();
+        }
+        EventLog eventLog = cachedEventLog(processId);
+        if (eventLog != null && eventLog.getLogVersion() >= logVersion.get()) {
+            return Optional.of(eventLog);
+        }
+        CompletableFuture<EventLog> loaded = new CompletableFuture<>();
+        CompletableFuture<EventLog> loading = loadingLogs.putIfAbsent(processId, loaded);
+        if (loading != null) {
+            eventLog = join(loading);
+            // a load started before the last change holds an older version of the log
+            return eventLog.getLogVersion() >= logVersion.get() ? Optional.of(eventLog) : getEventLog(processId);
+        }
+        try {
+            eventLog = load(processId, logVersion.get());
+            if (eventLog.getLogVersion() != EventLog.NO_LOG_VERSION) {
+                cache(processId, eventLog);
+            }
+            loaded.complete(eventLog);
+            return Optional.of(eventLog);
+        } catch (RuntimeException e) {
+            loaded.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadingLogs.remove(processId, loaded);
+        }
+    }
+
+    /**
+     * Get the variant index of the event log of a process, building it if it is not in memory yet.
+     *
+     * @param processId the id of the process.
+     * @return the variant index, or empty if the process does not exist.
+     */
+    public Optional<VariantIndex> getVariantIndex(Long processId) {
+        return getEventLog(processId)
+            .map(
+                eventLog ->
+                    // an index built from a log evicted meanwhile is replaced, as its log is not the current one
+                    variantIndexes.compute(
+                        processId,
+                        (id, index) -> index != null && index.getEventLog() == eventLog ? index : buildVariantIndex(id, eventLog)
+                    )
+            );
+    }
+
+    /**
+     * Get the case index of the event log of a process, building it if it is not in memory yet.
+     *
+     * @param processId the id of the process.
+     * @return the case index, or empty if the process does not exist.
+     */
+    public Optional<CaseIndex> getCaseIndex(Long processId) {
+        return getVariantIndex(processId)
+            .map(
+                variantIndex ->
+                    caseIndexes.compute(
+                        processId,
+                        (id, index) -> index != null && index.getVariantIndex() == variantIndex ? index : CaseIndex.of(variantIndex)
+                    )
+            );
+    }
+
+    /**
+     * Get the case attributes of the cases of an event log, loading them from the database if they are not in memory yet.
+     *
+     * @param processId the id of the process.
+     * @param eventLog the current event log of the process.
+     * @return the case attributes.
+     */
+    public CaseAttributes getCaseAttributes(Long processId, EventLog eventLog) {
+        return caseAttributes.compute(
+            processId,
+            (id, attributes) -> attributes != null && attributes.getEventLog() == eventLog ? attributes : loadCaseAttributes(id, eventLog)
+        );
+    }
+
+    /**
+     * Apply a committed change of the log of a process to its in-memory log: appended events are added to a new version
+     * of the log if it holds the version they were appended to, and its indexes are updated; any other change drops the
+     * log.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        Long processId = event.getProcessId();
+        EventLog eventLog = cachedEventLog(processId);
+        if (eventLog == null) {
+            return;
+        }
+        EventLog appendedEvents = null;
+        EventLog appended = null;
+        if (event.isAppend() && eventLog.getLogVersion() == event.getLogVersion() - 1) {
+            appendedEvents = toEventLog(event.getAppendedEvents());
+            appended = eventLog.append(appendedEvents, event.getLogVersion());
+        }
+        synchronized (eventLogs) {
+            EventLog current = eventLogs.get(processId);
+            if (current == null || (event.isAppend() && current.getLogVersion() >= event.getLogVersion())) {
+                // dropped, or loaded again after the change, meanwhile
+                return;
+            }
+            if (appended != null && current == eventLog) {
+                log.debug("Appending {} events to in-memory event log of Process : {}", event.getAppendedEvents().size(), processId);
+                eventLogs.put(processId, appended);
+                updateIndexes(processId, eventLog, appended, appendedEvents);
+            } else {
+                log.debug("Evicting in-memory event log of Process : {}", processId);
+                removeIndexes(processId);
+                eventLogs.remove(processId);
+            }
+        }
+    }
+
+    private EventLog cachedEventLog(Long processId) {
+        synchronized (eventLogs) {
+            return eventLogs.get(processId);
+        }
+    }
+
+    /**
+     * Keep a loaded log in memory, unless a newer version of it is already kept.
+     */
+    private void cache(Long processId, EventLog eventLog) {
+        synchronized (eventLogs) {
+            EventLog current = eventLogs.get(processId);
+            if (current == null || current.getLogVersion() < eventLog.getLogVersion()) {
+                removeIndexes(processId);
+                eventLogs.put(processId, eventLog);
+            }
+        }
+    }
+
+    /**
+     * Update the indexes of the previous version of a log with the appended events, so that they are not built again
+     * on next use; indexes of another version are dropped.
+     */
+    private void updateIndexes(Long processId, EventLog previous, EventLog eventLog, EventLog appendedEvents) {
+        VariantIndex variantIndex = variantIndexes.computeIfPresent(
+            processId,
+            (id, index) -> index.getEventLog() == previous ? index.update(eventLog, appendedEvents) : null
+        );
+        caseIndexes.computeIfPresent(
+            processId,
+            (id, index) -> variantIndex != null && index.getEventLog() == previous ? index.update(variantIndex, appendedEvents) : null
+        );
+        caseAttributes.computeIfPresent(
+            processId,
+            (id, attributes) -> attributes.getEventLog() == previous ? attributes.update(eventLog) : null
+        );
+    }
+
+    private void removeIndexes(Long processId) {
+        variantIndexes.remove(processId);
+        caseIndexes.remove(processId);
+        caseAttributes.remove(processId);
+    }
+
+    private static EventLog toEventLog(List<EventDTO> events) {
+        List<EventDTO> ordered = new ArrayList<>(events);
+        // stable, so events of a case keep their order, which the builder keeps for events with the same timestamp
+        ordered.sort(Comparator.comparing(EventDTO::getCaseId));
+        EventLogBuilder builder = new EventLogBuilder();
+        for (EventDTO event : ordered) {
+            long timestamp = event.getTimestamp() == null ? EventLog.NO_TIMESTAMP : event.getTimestamp().toEpochMilli();
+            builder.addEvent(event.getCaseId(), event.getActivity(), timestamp, event.getResource());
+        }
+        return builder.build();
+    }
+
+    private static EventLog join(CompletableFuture<EventLog> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    private CaseAttributes loadCaseAttributes(Long processId, EventLog eventLog) {
+        log.debug("Loading case attributes of Process : {}", processId);
+        CaseAttributes.Builder builder = new CaseAttributes.Builder(eventLog);
+        eventLogRepository.readTraceAttributes(
+            processId,
+            (caseId, attributes) -> {
+                try {
+                    builder.add(caseId, objectMapper.readValue(attributes, ATTRIBUTES_TYPE));
+                } catch (IOException e) {
+                    log.warn("Ignoring unreadable attributes of case {} of Process {}: {}", caseId, processId, e.getMessage());
+                }
+            }
+        );
+        return builder.build();
+    }
+
+    private VariantIndex buildVariantIndex(Long processId, EventLog eventLog) {
+        long start = System.currentTimeMillis();
+        VariantIndex variantIndex = VariantIndex.of(eventLog);
+        log.debug(
+            "Indexed {} variants of {} cases of Process {} in {} ms",
+            variantIndex.variantCount(),
+            variantIndex.caseCount(),
+            processId,
+            System.currentTimeMillis() - start
+        );
+        return variantIndex;
+    }
+
+    /**
+     * Load the log of a process, at the given version unless the version changed meanwhile: such a log may hold part of
+     * the changes of the new version, so it gets {@link EventLog#NO_LOG_VERSION} and is not kept.
+     */
+    private EventLog load(Long processId, Long logVersion) {
+        log.debug("Loading event log of Process : {} at version {}", processId, logVersion);
+        long start = System.currentTimeMillis();
+        EventLogBuilder builder = new EventLogBuilder();
+        eventLogRepository.readEvents(
+            processId,
+            (caseId, activity, timestamp, resource) ->
+                builder.addEvent(caseId, activity, timestamp == null ? EventLog.NO_TIMESTAMP : timestamp.toEpochMilli(), resource)
+        );
+        boolean changed = !logVersion.equals(processRepository.findLogVersionById(processId).orElse(null));
+        EventLog eventLog = builder.logVersion(changed ? EventLog.NO_LOG_VERSION : logVersion).build();
+        log.debug(
+            "Loaded {} events of {} cases of Process {} in {} ms",
+            eventLog.eventCount(),
+            eventLog.caseCount(),
+            processId,
+            System.currentTimeMillis() - start
+        );
+        return eventLog;
+    }
+}
@@ -0,0 +1,12 @@
+package de.processmining.app.service;
+
+/**
+ * Thrown when filter criteria of an event log cannot be interpreted.
+ */
+public class InvalidCriteriaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCriteriaException(String message) {
+        super(message);
+    }
+}
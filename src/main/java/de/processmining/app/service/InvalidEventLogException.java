@@ -0,0 +1,16 @@
+package de.processmining.app.service;
+
+/**
+ * Thrown when an uploaded event log cannot be parsed.
+ */
+public class InvalidEventLogException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidEventLogException(String message) {
+        super(message);
+    }
+
+    public InvalidEventLogException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
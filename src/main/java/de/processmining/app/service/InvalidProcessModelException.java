@@ -0,0 +1,16 @@
+package de.processmining.app.service;
+
+/**
+ * Thrown when an uploaded process model cannot be parsed or is not a valid model.
+ */
+public class InvalidProcessModelException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidProcessModelException(String message) {
+        super(message);
+    }
+
+    public InvalidProcessModelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
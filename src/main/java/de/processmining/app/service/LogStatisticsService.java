@@ -0,0 +1,158 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.LogStatisticsDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.mining.LogStatistics;
+import de.processmining.app.service.mining.LogStatisticsAnalyzer;
+import de.processmining.app.service.mining.TDigest;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service providing the summary statistics of the event log of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Statistics are computed in a single scan of the in-memory log and kept until the log of the process changes.
+ */
+@Service
+public class LogStatisticsService {
+    private final Logger log = LoggerFactory.getLogger(LogStatisticsService.class);
+
+    private final EventLogService eventLogService;
+
+    private final ForkJoinPool miningPool;
+
+    private final ConcurrentMap<Long, CachedStatistics> statistics = new ConcurrentHashMap<>();
+
+    public LogStatisticsService(EventLogService eventLogService, @Qualifier("miningPool") ForkJoinPool miningPool) {
+        this.eventLogService = eventLogService;
+        this.miningPool = miningPool;
+    }
+
+    /**
+     * Get the summary statistics of the event log of a process.
+     *
+     * @param processId the id of the process.
+     * @return the statistics, or empty if the process does not exist.
+     */
+    public Optional<LogStatisticsDTO> getStatistics(Long processId) {
+        log.debug("Request to get statistics of Process : {}", processId);
+        return eventLogService
+            .getEventLog(processId)
+            .map(
+                eventLog ->
+                    // statistics of a log evicted meanwhile are replaced, as their log is not the current one
+                    statistics
+                        .compute(
+                            processId,
+                            (id, cached) -> cached != null && cached.eventLog == eventLog ? cached : compute(id, eventLog)
+                        )
+                        .dto
+            );
+    }
+
+    /**
+     * Drop the statistics of a process once a change of its log is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        statistics.remove(event.getProcessId());
+    }
+
+    private CachedStatistics compute(Long processId, EventLog eventLog) {
+        long start = System.currentTimeMillis();
+        LogStatistics logStatistics = LogStatisticsAnalyzer.analyze(eventLog, miningPool);
+        log.debug(
+            "Computed statistics of {} events of Process {} in {} ms",
+            eventLog.eventCount(),
+            processId,
+            System.currentTimeMillis() - start
+        );
+        return new CachedStatistics(eventLog, toDto(logStatistics, eventLog));
+    }
+
+    static LogStatisticsDTO toDto(LogStatistics statistics, EventLog eventLog) {
+        LogStatisticsDTO dto = new LogStatisticsDTO();
+        dto.setCaseCount(statistics.getCaseCount());
+        dto.setEventCount(statistics.getEventCount());
+        dto.setActivityCount(eventLog.activityCount());
+        dto.setResourceCount(eventLog.resourceCount());
+        dto.setMinCaseLength(statistics.getMinCaseLength());
+        dto.setMaxCaseLength(statistics.getMaxCaseLength());
+        dto.setMeanCaseLength(statistics.getCaseCount() == 0 ? 0 : (double) statistics.getEventCount() / statistics.getCaseCount());
+        if (statistics.getStartTime() != EventLog.NO_TIMESTAMP) {
+            dto.setStartTime(Instant.ofEpochMilli(statistics.getStartTime()));
+            dto.setEndTime(Instant.ofEpochMilli(statistics.getEndTime()));
+        }
+        TDigest durations = statistics.getDurations();
+        if (durations.count() > 0) {
+            dto.setMinDuration(Math.round(durations.min()));
+            dto.setMeanDuration(Math.round(statistics.getMeanDuration()));
+            dto.setP50Duration(Math.round(durations.quantile(0.5)));
+            dto.setP90Duration(Math.round(durations.quantile(0.9)));
+            dto.setMaxDuration(Math.round(durations.max()));
+        }
+        for (int a = 0; a < statistics.getActivityCount(); a++) {
+            dto
+                .getActivities()
+                .add(
+                    new LogStatisticsDTO.ActivityStatisticsDTO(
+                        eventLog.activityName(a),
+                        statistics.getActivityFrequency(a),
+                        statistics.getActivityCaseFrequency(a),
+                        statistics.getStartFrequency(a),
+                        statistics.getEndFrequency(a)
+                    )
+                );
+        }
+        dto.getActivities().sort(Comparator.comparingLong(LogStatisticsDTO.ActivityStatisticsDTO::getFrequency).reversed());
+        int firstBucket = 0;
+        while (firstBucket < LogStatistics.DURATION_BUCKETS && statistics.getDurationFrequency(firstBucket) == 0) {
+            firstBucket++;
+        }
+        int lastBucket = LogStatistics.DURATION_BUCKETS - 1;
+        while (lastBucket >= firstBucket && statistics.getDurationFrequency(lastBucket) == 0) {
+            lastBucket--;
+        }
+        for (int b = firstBucket; b <= lastBucket; b++) {
+            long upperBound = b + 1 < LogStatistics.DURATION_BUCKETS ? LogStatistics.durationBucketLowerBound(b + 1) : Long.MAX_VALUE;
+            dto
+                .getDurationHistogram()
+                .add(
+                    new LogStatisticsDTO.DurationBucketDTO(
+                        LogStatistics.durationBucketLowerBound(b),
+                        upperBound,
+                        statistics.getDurationFrequency(b)
+                    )
+                );
+        }
+        dto.setThroughputStart(Instant.ofEpochMilli(statistics.getThroughputStart()));
+        dto.setThroughputBucketSize(statistics.getThroughputBucketSize());
+        for (int b = 0; b < statistics.getThroughputBucketCount(); b++) {
+            dto.getStartedCases().add(statistics.getStartedCases(b));
+            dto.getCompletedCases().add(statistics.getCompletedCases(b));
+        }
+        return dto;
+    }
+
+    private static final class CachedStatistics {
+        private final EventLog eventLog;
+
+        private final LogStatisticsDTO dto;
+
+        CachedStatistics(EventLog eventLog, LogStatisticsDTO dto) {
+            this.eventLog = eventLog;
+            this.dto = dto;
+        }
+    }
+}
@@ -20,7 +20,7 @@ import org.thymeleaf.spring5.SpringTemplateEngine;
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * We use the {@link Async} annotation to send emails asynchronously, on their own executor.
  */
 @Service
 public class MailService {
@@ -50,7 +50,7 @@ public class MailService {
         this.templateEngine = templateEngine;
     }
 
-    @Async
+    @Async("mailExecutor")
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
             "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
@@ -76,7 +76,7 @@ public class MailService {
         }
     }
 
-    @Async
+    @Async("mailExecutor")
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
@@ -91,19 +91,19 @@ public class MailService {
         sendEmail(user.getEmail(), subject, content, false, true);
     }
 
-    @Async
+    @Async("mailExecutor")
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
+    @Async("mailExecutor")
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
+    @Async("mailExecutor")
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
@@ -0,0 +1,101 @@
+package de.processmining.app.service;
+
+import de.processmining.app.repository.EventLogRepository;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.ObjectCentricEventLog;
+import de.processmining.app.service.eventlog.ObjectCentricEventLogBuilder;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service providing the in-memory {@link ObjectCentricEventLog} of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Like case-centric event logs, object-centric logs are loaded once from the database and kept in memory until the
+ * log of the process is replaced.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ObjectCentricEventLogService {
+    private final Logger log = LoggerFactory.getLogger(ObjectCentricEventLogService.class);
+
+    private final ProcessRepository processRepository;
+
+    private final EventLogRepository eventLogRepository;
+
+    private final ConcurrentMap<Long, ObjectCentricEventLog> eventLogs = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, Object> loadLocks = new ConcurrentHashMap<>();
+
+    public ObjectCentricEventLogService(ProcessRepository processRepository, EventLogRepository eventLogRepository) {
+        this.processRepository = processRepository;
+        this.eventLogRepository = eventLogRepository;
+    }
+
+    /**
+     * Get the object-centric event log of a process, loading it from the database if it is not in memory yet.
+     *
+     * @param processId the id of the process.
+     * @return the object-centric event log, or empty if the process does not exist.
+     */
+    public Optional<ObjectCentricEventLog> getEventLog(Long processId) {
+        ObjectCentricEventLog eventLog = eventLogs.get(processId);
+        if (eventLog != null) {
+            return Optional.of(eventLog);
+        }
+        synchronized (loadLocks.computeIfAbsent(processId, id -> new Object())) {
+            eventLog = eventLogs.get(processId);
+            if (eventLog == null) {
+                if (!processRepository.existsById(processId)) {
+                    return Optional.empty();
+                }
+                eventLog = load(processId);
+                eventLogs.put(processId, eventLog);
+            }
+            return Optional.of(eventLog);
+        }
+    }
+
+    /**
+     * Drop the in-memory object-centric event log of a process once a change of its log is committed. Appended case
+     * events do not change the object-centric log.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        if (event.isAppend()) {
+            return;
+        }
+        log.debug("Evicting in-memory object-centric event log of Process : {}", event.getProcessId());
+        eventLogs.remove(event.getProcessId());
+    }
+
+    private ObjectCentricEventLog load(Long processId) {
+        log.debug("Loading object-centric event log of Process : {}", processId);
+        long start = System.currentTimeMillis();
+        ObjectCentricEventLogBuilder builder = new ObjectCentricEventLogBuilder();
+        eventLogRepository.readObjectCentricObjects(processId, builder::addObject);
+        eventLogRepository.readObjectCentricEvents(
+            processId,
+            (eventId, activity, timestamp) ->
+                builder.addEvent(eventId, activity, timestamp == null ? EventLog.NO_TIMESTAMP : timestamp.toEpochMilli())
+        );
+        eventLogRepository.readObjectCentricRelations(processId, builder::addRelation);
+        ObjectCentricEventLog eventLog = builder.build();
+        log.debug(
+            "Loaded {} events of {} objects of Process {} in {} ms",
+            eventLog.eventCount(),
+            eventLog.objectCount(),
+            processId,
+            System.currentTimeMillis() - start
+        );
+        return eventLog;
+    }
+}
@@ -0,0 +1,176 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.DottedChartDTO;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.PerformanceSpectrumDTO;
+import de.processmining.app.service.eventlog.CaseSelection;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.mining.DottedChart;
+import de.processmining.app.service.mining.DottedChartAggregator;
+import de.processmining.app.service.mining.PerformanceAnalyzer;
+import de.processmining.app.service.mining.PerformanceSpectrum;
+import de.processmining.app.service.mining.TDigest;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service analysing the performance of the event log of a {@link de.processmining.app.domain.Process}: where time is
+ * spent between activities, how much work completes over time and when the events of each case happen.
+ */
+@Service
+public class PerformanceService {
+    private final Logger log = LoggerFactory.getLogger(PerformanceService.class);
+
+    private final EventLogService eventLogService;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    private final ForkJoinPool miningPool;
+
+    public PerformanceService(
+        EventLogService eventLogService,
+        EventLogQueryService eventLogQueryService,
+        @Qualifier("miningPool") ForkJoinPool miningPool
+    ) {
+        this.eventLogService = eventLogService;
+        this.eventLogQueryService = eventLogQueryService;
+        this.miningPool = miningPool;
+    }
+
+    /**
+     * Get the duration percentiles and the throughput of the directly-follows edges of the cases of a process matching
+     * criteria.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match.
+     * @param bucketSize the requested size of the throughput buckets, in milliseconds; it is widened if the log spans
+     * more than {@link PerformanceAnalyzer#MAX_BUCKETS} buckets.
+     * @return the performance spectrum, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<PerformanceSpectrumDTO> getPerformanceSpectrum(Long processId, EventLogCriteria criteria, long bucketSize) {
+        log.debug("Request to get performance spectrum of Process : {} by criteria : {}", processId, criteria);
+        Optional<EventLog> eventLog = criteria == null || criteria.isEmpty()
+            ? eventLogService.getEventLog(processId)
+            : eventLogQueryService.findByCriteria(processId, criteria).map(CaseSelection::toEventLog);
+        return eventLog.map(
+            selected -> {
+                long start = System.currentTimeMillis();
+                PerformanceSpectrum spectrum = PerformanceAnalyzer.analyze(selected, bucketSize, miningPool);
+                log.debug("Analysed performance of {} events in {} ms", selected.eventCount(), System.currentTimeMillis() - start);
+                return toDto(spectrum, selected);
+            }
+        );
+    }
+
+    /**
+     * Get the dotted chart of the cases of a process matching criteria, downsampled to a grid of cells so that its size
+     * does not depend on the number of events.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match.
+     * @param width the number of columns, between 1 and {@link DottedChartAggregator#MAX_SIZE}.
+     * @param height the maximum number of rows, between 1 and {@link DottedChartAggregator#MAX_SIZE}.
+     * @return the dotted chart, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<DottedChartDTO> getDottedChart(Long processId, EventLogCriteria criteria, int width, int height) {
+        log.debug("Request to get dotted chart of Process : {} by criteria : {}", processId, criteria);
+        Optional<EventLog> eventLog = criteria == null || criteria.isEmpty()
+            ? eventLogService.getEventLog(processId)
+            : eventLogQueryService.findByCriteria(processId, criteria).map(CaseSelection::toEventLog);
+        return eventLog.map(
+            selected -> {
+                long start = System.currentTimeMillis();
+                DottedChart chart = DottedChartAggregator.aggregate(selected, width, height, miningPool);
+                log.debug(
+                    "Aggregated {} events into {} cells in {} ms",
+                    selected.eventCount(),
+                    chart.getCellCount(),
+                    System.currentTimeMillis() - start
+                );
+                return toDto(chart, selected);
+            }
+        );
+    }
+
+    static PerformanceSpectrumDTO toDto(PerformanceSpectrum spectrum, EventLog eventLog) {
+        PerformanceSpectrumDTO dto = new PerformanceSpectrumDTO();
+        dto.setCaseCount(spectrum.getCaseCount());
+        dto.setBucketStart(Instant.ofEpochMilli(spectrum.getBucketStart()));
+        dto.setBucketSize(spectrum.getBucketSize());
+        for (int b = 0; b < spectrum.getBucketCount(); b++) {
+            dto.getCaseThroughput().add(spectrum.getCaseThroughput(b));
+        }
+        for (PerformanceSpectrum.Edge edge : spectrum.getEdges()) {
+            PerformanceSpectrumDTO.EdgePerformanceDTO edgeDto = new PerformanceSpectrumDTO.EdgePerformanceDTO();
+            edgeDto.setSource(eventLog.activityName(edge.getSource()));
+            edgeDto.setTarget(eventLog.activityName(edge.getTarget()));
+            edgeDto.setFrequency(edge.getFrequency());
+            TDigest durations = edge.getDurations();
+            edgeDto.setTimedFrequency(durations.count());
+            if (durations.count() > 0) {
+                edgeDto.setMinDuration(Math.round(durations.min()));
+                edgeDto.setP50Duration(Math.round(durations.quantile(0.5)));
+                edgeDto.setP90Duration(Math.round(durations.quantile(0.9)));
+                edgeDto.setP99Duration(Math.round(durations.quantile(0.99)));
+                edgeDto.setMaxDuration(Math.round(durations.max()));
+            }
+            for (int b = 0; b < spectrum.getBucketCount(); b++) {
+                edgeDto.getThroughput().add(edge.getThroughput(b));
+            }
+            dto.getEdges().add(edgeDto);
+        }
+        return dto;
+    }
+
+    static DottedChartDTO toDto(DottedChart chart, EventLog eventLog) {
+        DottedChartDTO dto = new DottedChartDTO();
+        dto.setCaseCount(eventLog.caseCount());
+        dto.setEventCount(eventLog.eventCount());
+        dto.setWidth(chart.getWidth());
+        dto.setHeight(chart.getRowCount());
+        dto.setStartTime(toInstant(chart.getStartTime()));
+        dto.setEndTime(toInstant(chart.getEndTime()));
+        for (int a = 0; a < eventLog.activityCount(); a++) {
+            dto.getActivities().add(eventLog.activityName(a));
+        }
+        for (int r = 0; r < chart.getRowCount(); r++) {
+            dto
+                .getRows()
+                .add(
+                    new DottedChartDTO.RowDTO(
+                        eventLog.caseId(chart.getRowFirstCase(r)),
+                        chart.getRowCaseCount(r),
+                        toInstant(chart.getRowStartTime(r)),
+                        toInstant(chart.getRowEndTime(r))
+                    )
+                );
+        }
+        for (int c = 0; c < chart.getCellCount(); c++) {
+            dto
+                .getCells()
+                .add(
+                    new DottedChartDTO.CellDTO(
+                        chart.getCellColumn(c),
+                        chart.getCellRow(c),
+                        chart.getCellEventCount(c),
+                        Instant.ofEpochMilli(chart.getCellFirstTime(c)),
+                        chart.getCellFirstActivity(c),
+                        Instant.ofEpochMilli(chart.getCellLastTime(c)),
+                        chart.getCellLastActivity(c)
+                    )
+                );
+        }
+        return dto;
+    }
+
+    private static Instant toInstant(long timestamp) {
+        return timestamp == EventLog.NO_TIMESTAMP ? null : Instant.ofEpochMilli(timestamp);
+    }
+}
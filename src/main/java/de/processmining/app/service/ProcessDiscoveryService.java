@@ -0,0 +1,141 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.CausalNetDTO;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.ProcessTreeDTO;
+import de.processmining.app.service.eventlog.CaseSelection;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.mining.HeuristicsMiner;
+import de.processmining.app.service.mining.InductiveMiner;
+import de.processmining.app.service.mining.ProcessTree;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service discovering process models from the event log of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Discovered models are kept in the {@link AnalysisCacheService} until the log of the process changes.
+ */
+@Service
+public class ProcessDiscoveryService {
+    private final Logger log = LoggerFactory.getLogger(ProcessDiscoveryService.class);
+
+    private final EventLogService eventLogService;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    private final AnalysisCacheService analysisCacheService;
+
+    private final ForkJoinPool miningPool;
+
+    public ProcessDiscoveryService(
+        EventLogService eventLogService,
+        EventLogQueryService eventLogQueryService,
+        AnalysisCacheService analysisCacheService,
+        @Qualifier("miningPool") ForkJoinPool miningPool
+    ) {
+        this.eventLogService = eventLogService;
+        this.eventLogQueryService = eventLogQueryService;
+        this.analysisCacheService = analysisCacheService;
+        this.miningPool = miningPool;
+    }
+
+    /**
+     * Discover a process tree with the infrequent Inductive Miner.
+     *
+     * @param processId the id of the process.
+     * @param noiseThreshold the noise threshold, between 0 and 1; 0 keeps all behaviour of the log.
+     * @return the process tree, or empty if the process does not exist.
+     */
+    public Optional<ProcessTreeDTO> discoverProcessTree(Long processId, double noiseThreshold) {
+        return discoverProcessTree(processId, noiseThreshold, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Discover a process tree with the infrequent Inductive Miner, reporting when the log is loaded and when the tree
+     * is mined.
+     *
+     * @param processId the id of the process.
+     * @param noiseThreshold the noise threshold, between 0 and 1; 0 keeps all behaviour of the log.
+     * @param monitor the monitor of the discovery.
+     * @return the process tree, or empty if the process does not exist.
+     * @throws AnalysisJobCancelledException if the discovery was cancelled.
+     */
+    public Optional<ProcessTreeDTO> discoverProcessTree(Long processId, double noiseThreshold, ProgressMonitor monitor) {
+        log.debug("Request to discover process tree of Process : {} with noise threshold {}", processId, noiseThreshold);
+        return analysisCacheService.getOrCompute(
+            processId,
+            "inductive-miner",
+            null,
+            "noiseThreshold=" + noiseThreshold,
+            () ->
+                eventLogService
+                    .getVariantIndex(processId)
+                    .map(
+                        variantIndex -> {
+                            monitor.worked(1, 2);
+                            ProcessTree tree = InductiveMiner.mine(variantIndex, noiseThreshold, miningPool);
+                            monitor.worked(2, 2);
+                            return new ProcessTreeDTO(tree);
+                        }
+                    )
+        );
+    }
+
+    /**
+     * Discover a causal net with the Heuristics Miner from the cases of a process matching criteria.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match, or {@code null} for all cases.
+     * @param parameters the thresholds of the miner.
+     * @return the causal net, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<CausalNetDTO> discoverCausalNet(Long processId, EventLogCriteria criteria, HeuristicsMiner.Parameters parameters) {
+        return discoverCausalNet(processId, criteria, parameters, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Discover a causal net with the Heuristics Miner from the cases of a process matching criteria, reporting when
+     * the cases are selected and when the net is mined.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match, or {@code null} for all cases.
+     * @param parameters the thresholds of the miner.
+     * @param monitor the monitor of the discovery.
+     * @return the causal net, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     * @throws AnalysisJobCancelledException if the discovery was cancelled.
+     */
+    public Optional<CausalNetDTO> discoverCausalNet(
+        Long processId,
+        EventLogCriteria criteria,
+        HeuristicsMiner.Parameters parameters,
+        ProgressMonitor monitor
+    ) {
+        log.debug("Request to discover causal net of Process : {} by criteria : {} with {}", processId, criteria, parameters);
+        return analysisCacheService.getOrCompute(
+            processId,
+            "heuristics-miner",
+            criteria,
+            parameters.toString(),
+            () -> {
+                Optional<EventLog> eventLog = criteria == null || criteria.isEmpty()
+                    ? eventLogService.getEventLog(processId)
+                    : eventLogQueryService.findByCriteria(processId, criteria).map(CaseSelection::toEventLog);
+                return eventLog.map(
+                    selected -> {
+                        monitor.worked(1, 2);
+                        CausalNetDTO net = new CausalNetDTO(HeuristicsMiner.mine(selected, parameters, miningPool));
+                        monitor.worked(2, 2);
+                        return net;
+                    }
+                );
+            }
+        );
+    }
+}
@@ -1,6 +1,10 @@
 package de.processmining.app.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.persistence.criteria.JoinType;
 
@@ -8,10 +12,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 import io.github.jhipster.service.QueryService;
 
 import de.processmining.app.domain.Process;
@@ -33,8 +44,11 @@ public class ProcessQueryService extends QueryService<Process> {
 
     private final ProcessRepository processRepository;
 
-    public ProcessQueryService(ProcessRepository processRepository) {
+    private final ObjectMapper objectMapper;
+
+    public ProcessQueryService(ProcessRepository processRepository, ObjectMapper objectMapper) {
         this.processRepository = processRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -62,6 +76,57 @@ public class ProcessQueryService extends QueryService<Process> {
         return processRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Slice} of {@link Process} which matches the criteria from the database, starting after the entity
+     * with the given id and ordered by id. Unlike {@link #findByCriteria(ProcessCriteria, Pageable)}, the query seeks the
+     * primary key index instead of skipping the entities of previous pages, and does not count the matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id after which entities are returned.
+     * @param page The size of the slice; its page number and sort are ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Process> findByCriteriaAfter(ProcessCriteria criteria, long after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Specification<Process> specification = createSpecification(criteria);
+        // one more entity tells whether there is a next slice
+        List<Process> processes = processRepository.findAllAfter(specification, after, page.getPageSize() + 1);
+        boolean hasNext = processes.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? processes.subList(0, page.getPageSize()) : processes, page, hasNext);
+    }
+
+    /**
+     * Write the {@link Process} entities which match the criteria as newline-delimited JSON, one entity per line, ordered
+     * by id. The entities are read from a database cursor and written one by one, so that neither the result set nor
+     * the response is held in memory.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param outputStream The stream the entities are written to, left open.
+     * @return the number of written entities.
+     * @throws IOException if the entities cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long writeByCriteria(ProcessCriteria criteria, OutputStream outputStream) throws IOException {
+        log.debug("write by criteria : {}", criteria);
+        final Specification<Process> specification = createSpecification(criteria);
+        // lines are separated explicitly, and flushed by the generator buffer rather than after each entity
+        ObjectWriter writer = objectMapper
+            .writerFor(Process.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+        long count = 0;
+        try (
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            Stream<Process> processes = processRepository.streamAll(specification)
+        ) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (Iterator<Process> iterator = processes.iterator(); iterator.hasNext(); count++) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
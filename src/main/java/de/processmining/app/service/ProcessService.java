@@ -5,6 +5,7 @@ import de.processmining.app.repository.ProcessRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,8 +24,11 @@ public class ProcessService {
 
     private final ProcessRepository processRepository;
 
-    public ProcessService(ProcessRepository processRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProcessService(ProcessRepository processRepository, ApplicationEventPublisher eventPublisher) {
         this.processRepository = processRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -71,5 +75,6 @@ public class ProcessService {
     public void delete(Long id) {
         log.debug("Request to delete Process : {}", id);
         processRepository.deleteById(id);
+        eventPublisher.publishEvent(EventLogChangedEvent.replaced(id));
     }
 }
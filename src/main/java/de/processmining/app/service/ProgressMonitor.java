@@ -0,0 +1,46 @@
+package de.processmining.app.service;
+
+/**
+ * Receives the progress of a long-running analysis and tells it whether to stop.
+ * <p>
+ * Cancellation is cooperative: analyses report their progress between units of work, which throws an
+ * {@link AnalysisJobCancelledException} once they are cancelled. Implementations must be thread-safe, as analyses
+ * report progress from the threads running their parts.
+ */
+public interface ProgressMonitor {
+    /**
+     * A monitor ignoring progress, for analyses run within a request.
+     */
+    ProgressMonitor NONE = new ProgressMonitor() {
+        @Override
+        public void worked(long done, long total) {}
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Report the progress of the analysis.
+     *
+     * @param done the units of work done.
+     * @param total the units of work of the whole analysis.
+     * @throws AnalysisJobCancelledException if the analysis was cancelled.
+     */
+    void worked(long done, long total);
+
+    /**
+     * @return whether the analysis was cancelled.
+     */
+    boolean isCancelled();
+
+    /**
+     * @throws AnalysisJobCancelledException if the analysis was cancelled.
+     */
+    default void checkCancelled() {
+        if (isCancelled()) {
+            throw new AnalysisJobCancelledException();
+        }
+    }
+}
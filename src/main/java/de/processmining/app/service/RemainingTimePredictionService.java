@@ -0,0 +1,302 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.EventDTO;
+import de.processmining.app.service.dto.RemainingTimePredictionDTO;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.mining.RemainingTimeModel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service predicting the remaining time of the cases of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * The {@link RemainingTimeModel} of a process is trained on first use and kept in memory along with the state of each
+ * of its cases: its last activities and the times of its first and last events. Predictions only look these up, so
+ * they never wait for the event log to be loaded again. Appended events update the states of their cases in place,
+ * and the model is retrained in the background once the appended events exceed a share of its training log. Any other
+ * change of the log drops both, as does finding that they do not hold the current version of the log.
+ */
+@Service
+public class RemainingTimePredictionService {
+    private final Logger log = LoggerFactory.getLogger(RemainingTimePredictionService.class);
+
+    /**
+     * Number of last activities making up the state of a case.
+     */
+    static final int HORIZON = RemainingTimeModel.MAX_HORIZON;
+
+    /**
+     * Number of observations of a state before predictions are based on it rather than on a shorter state.
+     */
+    static final int MIN_SUPPORT = 5;
+
+    /**
+     * Share of the events of its training log that must be appended before a model is retrained.
+     */
+    static final double RETRAIN_SHARE = 0.1;
+
+    private final EventLogService eventLogService;
+
+    private final ForkJoinPool miningPool;
+
+    private final ConcurrentMap<Long, Predictor> predictors = new ConcurrentHashMap<>();
+
+    public RemainingTimePredictionService(EventLogService eventLogService, @Qualifier("miningPool") ForkJoinPool miningPool) {
+        this.eventLogService = eventLogService;
+        this.miningPool = miningPool;
+    }
+
+    /**
+     * Predict the remaining time of a case of a process.
+     *
+     * @param processId the id of the process.
+     * @param caseId the id of the case.
+     * @return the prediction, or empty if the process or the case does not exist.
+     */
+    public Optional<RemainingTimePredictionDTO> predictRemainingTime(Long processId, String caseId) {
+        log.debug("Request to predict remaining time of case {} of Process : {}", caseId, processId);
+        Optional<Long> logVersion = eventLogService.getLogVersion(processId);
+        if (!logVersion.isPresent()) {
+            return Optional.empty();
+        }
+        Predictor predictor = predictors.get(processId);
+        if (predictor == null || predictor.logVersion < logVersion.get()) {
+            Optional<EventLog> eventLog = eventLogService.getEventLog(processId);
+            if (!eventLog.isPresent()) {
+                return Optional.empty();
+            }
+            predictor = new Predictor(train(processId, eventLog.get()), eventLog.get());
+            if (predictor.logVersion != EventLog.NO_LOG_VERSION) {
+                predictor =
+                    predictors.merge(processId, predictor, (current, built) -> current.logVersion >= built.logVersion ? current : built);
+            }
+        }
+        CaseState caseState = predictor.cases.get(caseId);
+        if (caseState == null) {
+            return Optional.empty();
+        }
+        retrainIfStale(processId, predictor);
+        return Optional.of(toDto(caseId, caseState, predictor.model));
+    }
+
+    /**
+     * Apply a committed change of the log of a process: events appended to the version of the log the predictor was
+     * built from update the states of their cases, any other change drops the model and the case states.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        Long processId = event.getProcessId();
+        Predictor predictor = predictors.get(processId);
+        if (predictor == null) {
+            return;
+        }
+        synchronized (predictor) {
+            if (event.isAppend() && predictor.logVersion >= event.getLogVersion()) {
+                // built after the change was committed
+                return;
+            }
+            if (
+                event.isAppend() &&
+                predictor.logVersion == event.getLogVersion() - 1 &&
+                predictor.append(event.getAppendedEvents())
+            ) {
+                predictor.logVersion = event.getLogVersion();
+                return;
+            }
+        }
+        log.debug("Dropping remaining time model of Process : {}", processId);
+        predictors.remove(processId, predictor);
+    }
+
+    private RemainingTimeModel train(Long processId, EventLog eventLog) {
+        long start = System.currentTimeMillis();
+        RemainingTimeModel model = RemainingTimeModel.train(eventLog, HORIZON, MIN_SUPPORT, miningPool);
+        log.debug(
+            "Trained remaining time model of {} states on {} events of Process {} in {} ms",
+            model.stateCount(),
+            eventLog.eventCount(),
+            processId,
+            System.currentTimeMillis() - start
+        );
+        return model;
+    }
+
+    /**
+     * Retrain the model of a predictor in the background if enough events were appended since it was trained. The
+     * states of the cases are kept, as they are up to date.
+     */
+    private void retrainIfStale(Long processId, Predictor predictor) {
+        if (predictor.appendedEvents.get() < RETRAIN_SHARE * predictor.model.getTrainedEventCount()) {
+            return;
+        }
+        if (!predictor.retraining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            miningPool.execute(() -> retrain(processId, predictor));
+            predictor.appendedEvents.set(0);
+        } catch (RejectedExecutionException e) {
+            // retried on a later append, once the mining pool has room
+            log.debug("Retraining of remaining time model of Process {} postponed: {}", processId, e.getMessage());
+            predictor.retraining.set(false);
+        }
+    }
+
+    private void retrain(Long processId, Predictor predictor) {
+        try {
+            eventLogService
+                .getEventLog(processId)
+                .ifPresent(
+                    eventLog -> {
+                        RemainingTimeModel model = train(processId, eventLog);
+                        if (predictors.get(processId) == predictor) {
+                            predictor.model = model;
+                        }
+                    }
+                );
+        } catch (RuntimeException e) {
+            log.warn("Could not retrain remaining time model of Process {}: {}", processId, e.getMessage());
+        } finally {
+            predictor.retraining.set(false);
+        }
+    }
+
+    private static RemainingTimePredictionDTO toDto(String caseId, CaseState caseState, RemainingTimeModel model) {
+        RemainingTimePredictionDTO dto = new RemainingTimePredictionDTO();
+        dto.setCaseId(caseId);
+        dto.setEventCount(caseState.eventCount);
+        if (caseState.startTime != EventLog.NO_TIMESTAMP) {
+            dto.setStartTime(Instant.ofEpochMilli(caseState.startTime));
+            dto.setLastEventTime(Instant.ofEpochMilli(caseState.lastEventTime));
+            dto.setElapsedTime(caseState.lastEventTime - caseState.startTime);
+        }
+        int state = model.state(caseState.lastActivities);
+        if (state >= 0) {
+            long remainingTime = Math.round(model.meanRemainingTime(state));
+            dto.setState(model.stateActivities(state));
+            dto.setSupport(model.support(state));
+            dto.setPredictedRemainingTime(remainingTime);
+            dto.setP50RemainingTime(Math.round(model.p50RemainingTime(state)));
+            dto.setP90RemainingTime(Math.round(model.p90RemainingTime(state)));
+            if (caseState.lastEventTime != EventLog.NO_TIMESTAMP) {
+                dto.setPredictedEndTime(Instant.ofEpochMilli(caseState.lastEventTime + remainingTime));
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * The model of a process and the states of its cases.
+     */
+    private static final class Predictor {
+        private volatile RemainingTimeModel model;
+
+        private final ConcurrentMap<String, CaseState> cases = new ConcurrentHashMap<>();
+
+        private final AtomicLong appendedEvents = new AtomicLong();
+
+        private final AtomicBoolean retraining = new AtomicBoolean();
+
+        /**
+         * The version of the log the case states hold, advanced as events are appended to them.
+         */
+        private volatile long logVersion;
+
+        Predictor(RemainingTimeModel model, EventLog eventLog) {
+            this.model = model;
+            this.logVersion = eventLog.getLogVersion();
+            for (int c = 0; c < eventLog.caseCount(); c++) {
+                int start = eventLog.caseStart(c);
+                int end = eventLog.caseEnd(c);
+                List<String> lastActivities = new ArrayList<>(HORIZON);
+                for (int e = Math.max(start, end - HORIZON); e < end; e++) {
+                    lastActivities.add(eventLog.activityName(eventLog.activity(e)));
+                }
+                // events without timestamp come first in a case
+                long startTime = EventLog.NO_TIMESTAMP;
+                for (int e = start; e < end && startTime == EventLog.NO_TIMESTAMP; e++) {
+                    startTime = eventLog.timestamp(e);
+                }
+                long lastEventTime = start == end ? EventLog.NO_TIMESTAMP : eventLog.timestamp(end - 1);
+                cases.put(eventLog.caseId(c), new CaseState(end - start, startTime, lastEventTime, lastActivities));
+            }
+        }
+
+        /**
+         * @return whether the events could be appended, which is not the case of events older than the last event of
+         * their case.
+         */
+        boolean append(List<EventDTO> events) {
+            List<EventDTO> ordered = new ArrayList<>(events);
+            // stable, so events of a case with the same timestamp keep their order
+            ordered.sort(Comparator.comparing(EventDTO::getTimestamp, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())));
+            for (EventDTO event : ordered) {
+                long timestamp = event.getTimestamp() == null ? EventLog.NO_TIMESTAMP : event.getTimestamp().toEpochMilli();
+                CaseState caseState = cases.getOrDefault(event.getCaseId(), CaseState.EMPTY);
+                boolean outOfOrder = timestamp == EventLog.NO_TIMESTAMP
+                    ? caseState.lastEventTime != EventLog.NO_TIMESTAMP
+                    : timestamp < caseState.lastEventTime;
+                if (outOfOrder) {
+                    return false;
+                }
+                cases.put(event.getCaseId(), caseState.append(event.getActivity(), timestamp));
+            }
+            appendedEvents.addAndGet(events.size());
+            return true;
+        }
+    }
+
+    /**
+     * Immutable state of a case, replaced on each of its events.
+     */
+    private static final class CaseState {
+        static final CaseState EMPTY = new CaseState(0, EventLog.NO_TIMESTAMP, EventLog.NO_TIMESTAMP, Collections.emptyList());
+
+        final int eventCount;
+
+        final long startTime;
+
+        final long lastEventTime;
+
+        /**
+         * The last {@link #HORIZON} activities of the case, oldest first.
+         */
+        final List<String> lastActivities;
+
+        CaseState(int eventCount, long startTime, long lastEventTime, List<String> lastActivities) {
+            this.eventCount = eventCount;
+            this.startTime = startTime;
+            this.lastEventTime = lastEventTime;
+            this.lastActivities = lastActivities;
+        }
+
+        CaseState append(String activity, long timestamp) {
+            List<String> activities = new ArrayList<>(HORIZON);
+            activities.addAll(lastActivities.subList(Math.max(0, lastActivities.size() - HORIZON + 1), lastActivities.size()));
+            activities.add(activity);
+            return new CaseState(
+                eventCount + 1,
+                startTime == EventLog.NO_TIMESTAMP ? timestamp : startTime,
+                timestamp == EventLog.NO_TIMESTAMP ? lastEventTime : timestamp,
+                activities
+            );
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.SocialNetworkDTO;
+import de.processmining.app.service.eventlog.CaseIndex;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.mining.SocialNetwork;
+import de.processmining.app.service.mining.SocialNetworkMiner;
+import de.processmining.app.service.mining.SparseLongMatrix;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service mining the social network of the resources of the event log of a {@link de.processmining.app.domain.Process}.
+ * <p>
+ * Networks are kept in memory per process for the most recently used filter sets, until the log of the process
+ * changes.
+ */
+@Service
+public class SocialNetworkService {
+    /**
+     * Number of filter sets whose network is kept per process.
+     */
+    private static final int CACHED_FILTER_SETS = 16;
+
+    private final Logger log = LoggerFactory.getLogger(SocialNetworkService.class);
+
+    private final EventLogService eventLogService;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    private final ForkJoinPool miningPool;
+
+    private final ConcurrentMap<Long, CachedNetworks> networks = new ConcurrentHashMap<>();
+
+    public SocialNetworkService(
+        EventLogService eventLogService,
+        EventLogQueryService eventLogQueryService,
+        @Qualifier("miningPool") ForkJoinPool miningPool
+    ) {
+        this.eventLogService = eventLogService;
+        this.eventLogQueryService = eventLogQueryService;
+        this.miningPool = miningPool;
+    }
+
+    /**
+     * Get the strongest handover-of-work, working-together and subcontracting links between the resources of the cases
+     * of a process matching criteria.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match.
+     * @param limit the maximum number of links returned per relation.
+     * @return the social network, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<SocialNetworkDTO> getSocialNetwork(Long processId, EventLogCriteria criteria, int limit) {
+        log.debug("Request to get social network of Process : {} by criteria : {}", processId, criteria);
+        // copied, as the key of the cache must not change
+        EventLogCriteria key = criteria == null ? new EventLogCriteria() : criteria.copy();
+        Optional<EventLog> current;
+        Optional<CaseIndex> caseIndex = Optional.empty();
+        if (key.isEmpty()) {
+            current = eventLogService.getEventLog(processId);
+        } else {
+            caseIndex = eventLogService.getCaseIndex(processId);
+            current = caseIndex.map(CaseIndex::getEventLog);
+        }
+        if (!current.isPresent()) {
+            return Optional.empty();
+        }
+        EventLog eventLog = current.get();
+        // networks mined from a log evicted meanwhile are dropped, as their log is not the current one
+        CachedNetworks cache = networks.compute(
+            processId,
+            (id, cached) -> cached != null && cached.eventLog == eventLog ? cached : new CachedNetworks(eventLog)
+        );
+        SocialNetwork network = cache.get(key);
+        if (network == null) {
+            long start = System.currentTimeMillis();
+            EventLog selected = caseIndex.isPresent()
+                ? eventLogQueryService.findByCriteria(processId, caseIndex.get(), key).toEventLog()
+                : eventLog;
+            network = SocialNetworkMiner.mine(selected, miningPool);
+            log.debug(
+                "Mined social network of {} cases of Process {} in {} ms",
+                selected.caseCount(),
+                processId,
+                System.currentTimeMillis() - start
+            );
+            cache.put(key, network);
+        }
+        return Optional.of(toDto(network, eventLog, limit));
+    }
+
+    /**
+     * Drop the networks of a process once a change of its log is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventLogChanged(EventLogChangedEvent event) {
+        networks.remove(event.getProcessId());
+    }
+
+    static SocialNetworkDTO toDto(SocialNetwork network, EventLog eventLog, int limit) {
+        SocialNetworkDTO dto = new SocialNetworkDTO();
+        TreeSet<Integer> linkedResources = new TreeSet<>();
+        dto.setHandoverCount(network.getHandovers().size());
+        dto.setHandovers(strongestLinks(network.getHandovers(), eventLog, limit, linkedResources));
+        dto.setWorkingTogetherCount(network.getWorkingTogether().size());
+        dto.setWorkingTogether(strongestLinks(network.getWorkingTogether(), eventLog, limit, linkedResources));
+        dto.setSubcontractingCount(network.getSubcontracting().size());
+        dto.setSubcontracting(strongestLinks(network.getSubcontracting(), eventLog, limit, linkedResources));
+        for (int r = 0; r < network.getResourceCount(); r++) {
+            if (network.getEventCount(r) > 0) {
+                dto.setResourceCount(dto.getResourceCount() + 1);
+            }
+        }
+        for (int resource : linkedResources) {
+            dto
+                .getResources()
+                .add(
+                    new SocialNetworkDTO.ResourceDTO(
+                        eventLog.resourceName(resource),
+                        network.getEventCount(resource),
+                        network.getCaseCount(resource)
+                    )
+                );
+        }
+        return dto;
+    }
+
+    /**
+     * Select the heaviest cells of a matrix with a bounded heap, without sorting all of them.
+     */
+    private static List<SocialNetworkDTO.ResourceLinkDTO> strongestLinks(
+        SparseLongMatrix matrix,
+        EventLog eventLog,
+        int limit,
+        TreeSet<Integer> linkedResources
+    ) {
+        Comparator<long[]> byWeight = Comparator
+            .<long[]>comparingLong(cell -> cell[2])
+            .thenComparing(Comparator.<long[]>comparingLong(cell -> cell[0]).thenComparingLong(cell -> cell[1]).reversed());
+        PriorityQueue<long[]> heaviest = new PriorityQueue<>(byWeight);
+        if (limit > 0) {
+            matrix.forEach(
+                (row, column, value) -> {
+                    long[] cell = { row, column, value };
+                    if (heaviest.size() < limit) {
+                        heaviest.add(cell);
+                    } else if (byWeight.compare(cell, heaviest.peek()) > 0) {
+                        heaviest.poll();
+                        heaviest.add(cell);
+                    }
+                }
+            );
+        }
+        List<long[]> cells = new ArrayList<>(heaviest);
+        cells.sort(byWeight.reversed());
+        List<SocialNetworkDTO.ResourceLinkDTO> links = new ArrayList<>(cells.size());
+        for (long[] cell : cells) {
+            linkedResources.add((int) cell[0]);
+            linkedResources.add((int) cell[1]);
+            links.add(
+                new SocialNetworkDTO.ResourceLinkDTO(eventLog.resourceName((int) cell[0]), eventLog.resourceName((int) cell[1]), cell[2])
+            );
+        }
+        return links;
+    }
+
+    /**
+     * The networks mined from one event log, by filter set, least recently used first.
+     */
+    private static final class CachedNetworks {
+        private final EventLog eventLog;
+
+        private final Map<EventLogCriteria, SocialNetwork> networks = new LinkedHashMap<EventLogCriteria, SocialNetwork>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EventLogCriteria, SocialNetwork> eldest) {
+                return size() > CACHED_FILTER_SETS;
+            }
+        };
+
+        CachedNetworks(EventLog eventLog) {
+            this.eventLog = eventLog;
+        }
+
+        synchronized SocialNetwork get(EventLogCriteria criteria) {
+            return networks.get(criteria);
+        }
+
+        synchronized void put(EventLogCriteria criteria, SocialNetwork network) {
+            networks.put(criteria, network);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package de.processmining.app.service;
+
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.TraceVariantsDTO;
+import de.processmining.app.service.eventlog.CaseIndex;
+import de.processmining.app.service.eventlog.CaseSelection;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.VariantIndex;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service reading the trace variants of the event log of a {@link de.processmining.app.domain.Process} from its
+ * {@link VariantIndex}.
+ */
+@Service
+public class TraceVariantService {
+    private final Logger log = LoggerFactory.getLogger(TraceVariantService.class);
+
+    private final EventLogService eventLogService;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    public TraceVariantService(EventLogService eventLogService, EventLogQueryService eventLogQueryService) {
+        this.eventLogService = eventLogService;
+        this.eventLogQueryService = eventLogQueryService;
+    }
+
+    /**
+     * Get the most frequent trace variants of a process.
+     *
+     * @param processId the id of the process.
+     * @param limit the maximum number of variants returned.
+     * @param caseIdLimit the maximum number of case ids returned per variant.
+     * @return the variants, or empty if the process does not exist.
+     */
+    public Optional<TraceVariantsDTO> getVariants(Long processId, int limit, int caseIdLimit) {
+        log.debug("Request to get the {} most frequent variants of Process : {}", limit, processId);
+        return eventLogService.getVariantIndex(processId).map(variantIndex -> toDto(variantIndex, limit, caseIdLimit));
+    }
+
+    /**
+     * Get the most frequent trace variants of the cases of a process matching criteria.
+     *
+     * @param processId the id of the process.
+     * @param criteria the filters the cases must match.
+     * @param limit the maximum number of variants returned.
+     * @param caseIdLimit the maximum number of case ids returned per variant.
+     * @return the variants, or empty if the process does not exist.
+     * @throws InvalidCriteriaException if a filter cannot be interpreted.
+     */
+    public Optional<TraceVariantsDTO> getVariants(Long processId, EventLogCriteria criteria, int limit, int caseIdLimit) {
+        if (criteria == null || criteria.isEmpty()) {
+            return getVariants(processId, limit, caseIdLimit);
+        }
+        log.debug("Request to get the {} most frequent variants of Process : {} by criteria : {}", limit, processId, criteria);
+        return eventLogQueryService.findByCriteria(processId, criteria).map(selection -> toDto(selection, limit, caseIdLimit));
+    }
+
+    static TraceVariantsDTO toDto(VariantIndex variantIndex, int limit, int caseIdLimit) {
+        EventLog eventLog = variantIndex.getEventLog();
+        TraceVariantsDTO dto = new TraceVariantsDTO();
+        dto.setCaseCount(variantIndex.caseCount());
+        dto.setVariantCount(variantIndex.variantCount());
+        long coveredCases = 0;
+        for (int rank = 0; rank < Math.min(limit, variantIndex.variantCount()); rank++) {
+            int caseCount = variantIndex.caseCount(rank);
+            coveredCases += caseCount;
+            TraceVariantsDTO.VariantDTO variantDto = new TraceVariantsDTO.VariantDTO();
+            variantDto.setRank(rank + 1);
+            for (int activity : variantIndex.trace(rank)) {
+                variantDto.getActivities().add(eventLog.activityName(activity));
+            }
+            variantDto.setCaseCount(caseCount);
+            variantDto.setCoverage((double) caseCount / variantIndex.caseCount());
+            variantDto.setCumulativeCoverage((double) coveredCases / variantIndex.caseCount());
+            for (int i = 0; i < Math.min(caseIdLimit, caseCount); i++) {
+                variantDto.getCaseIds().add(eventLog.caseId(variantIndex.caseIndex(rank, i)));
+            }
+            dto.getVariants().add(variantDto);
+        }
+        return dto;
+    }
+
+    /**
+     * Count the selected cases of each variant and list the variants by decreasing count. Variants keep the rank they
+     * have in the whole log, so that they can be selected by rank again.
+     */
+    static TraceVariantsDTO toDto(CaseSelection selection, int limit, int caseIdLimit) {
+        CaseIndex caseIndex = selection.getCaseIndex();
+        VariantIndex variantIndex = caseIndex.getVariantIndex();
+        EventLog eventLog = variantIndex.getEventLog();
+        BitSet cases = selection.getCases();
+        int[] caseCounts = new int[variantIndex.variantCount()];
+        int selectedCaseCount = 0;
+        for (int c = cases.nextSetBit(0); c >= 0; c = cases.nextSetBit(c + 1)) {
+            caseCounts[caseIndex.variantRank(c)]++;
+            selectedCaseCount++;
+        }
+        int[] ranks = IntStream
+            .range(0, caseCounts.length)
+            .filter(rank -> caseCounts[rank] > 0)
+            .boxed()
+            .sorted(Comparator.comparingInt((Integer rank) -> caseCounts[rank]).reversed().thenComparingInt(rank -> rank))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        TraceVariantsDTO dto = new TraceVariantsDTO();
+        dto.setCaseCount(selectedCaseCount);
+        dto.setVariantCount(ranks.length);
+        long coveredCases = 0;
+        for (int rank : ranks) {
+            if (dto.getVariants().size() == limit) {
+                break;
+            }
+            int caseCount = caseCounts[rank];
+            coveredCases += caseCount;
+            TraceVariantsDTO.VariantDTO variantDto = new TraceVariantsDTO.VariantDTO();
+            variantDto.setRank(rank + 1);
+            for (int activity : variantIndex.trace(rank)) {
+                variantDto.getActivities().add(eventLog.activityName(activity));
+            }
+            variantDto.setCaseCount(caseCount);
+            variantDto.setCoverage((double) caseCount / selectedCaseCount);
+            variantDto.setCumulativeCoverage((double) coveredCases / selectedCaseCount);
+            for (int i = 0; i < variantIndex.caseCount(rank) && variantDto.getCaseIds().size() < caseIdLimit; i++) {
+                int c = variantIndex.caseIndex(rank, i);
+                if (cases.get(c)) {
+                    variantDto.getCaseIds().add(eventLog.caseId(c));
+                }
+            }
+            dto.getVariants().add(variantDto);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,386 @@
+package de.processmining.app.service.conformance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Computes optimal alignments of traces with a {@link PetriNet} by A* search.
+ * <p>
+ * States are pairs of a marking and a position in the trace. A synchronous move costs nothing, a log move or a move
+ * of a visible transition costs {@link #DEVIATION_COST} and a move of a silent transition costs
+ * {@link #SILENT_MOVE_COST}, so that alignments avoid needless silent moves. The remaining cost of a state is
+ * estimated by the linear relaxation of the marking equation: states from which the final marking cannot be reached
+ * according to the equation are pruned, and the solution of a state gives the exact estimate of its successors
+ * whenever the move reaching them is part of it, so most states never solve a program.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class Aligner {
+    public static final int DEVIATION_COST = 10000;
+
+    public static final int SILENT_MOVE_COST = 1;
+
+    /**
+     * Default maximum number of states expanded before giving up on a trace.
+     */
+    public static final int DEFAULT_MAX_STATES = 200000;
+
+    private static final double EPSILON = 1e-6;
+
+    private static final int UNKNOWN_LABEL = -1;
+
+    private final PetriNet net;
+
+    private final int maxStates;
+
+    private final Map<String, Integer> labels = new LinkedHashMap<>();
+
+    /**
+     * Label number of each transition, or {@link #UNKNOWN_LABEL} for silent transitions.
+     */
+    private final int[] transitionLabels;
+
+    private final int[] finalMarking;
+
+    /**
+     * Constraint matrix of the marking equation: one row per place and one per label, one column per model move,
+     * synchronous move and log move.
+     */
+    private final double[][] constraints;
+
+    private final double[] costs;
+
+    public Aligner(PetriNet net) {
+        this(net, DEFAULT_MAX_STATES);
+    }
+
+    public Aligner(PetriNet net, int maxStates) {
+        this.net = net;
+        this.maxStates = maxStates;
+        int transitionCount = net.transitionCount();
+        transitionLabels = new int[transitionCount];
+        for (int t = 0; t < transitionCount; t++) {
+            transitionLabels[t] = net.isSilent(t) ? UNKNOWN_LABEL : labels.computeIfAbsent(net.label(t), label -> labels.size());
+        }
+        finalMarking = net.finalMarking();
+        int placeCount = net.placeCount();
+        int labelCount = labels.size();
+        constraints = new double[placeCount + labelCount][2 * transitionCount + labelCount];
+        costs = new double[2 * transitionCount + labelCount];
+        for (int t = 0; t < transitionCount; t++) {
+            boolean silent = transitionLabels[t] == UNKNOWN_LABEL;
+            int[] inputPlaces = net.inputPlaces(t);
+            int[] inputWeights = net.inputWeights(t);
+            for (int i = 0; i < inputPlaces.length; i++) {
+                constraints[inputPlaces[i]][t] -= inputWeights[i];
+                if (!silent) {
+                    constraints[inputPlaces[i]][transitionCount + t] -= inputWeights[i];
+                }
+            }
+            int[] outputPlaces = net.outputPlaces(t);
+            int[] outputWeights = net.outputWeights(t);
+            for (int i = 0; i < outputPlaces.length; i++) {
+                constraints[outputPlaces[i]][t] += outputWeights[i];
+                if (!silent) {
+                    constraints[outputPlaces[i]][transitionCount + t] += outputWeights[i];
+                }
+            }
+            if (!silent) {
+                constraints[placeCount + transitionLabels[t]][transitionCount + t] = 1;
+            }
+            costs[t] = silent ? SILENT_MOVE_COST : DEVIATION_COST;
+        }
+        for (int a = 0; a < labelCount; a++) {
+            constraints[placeCount + a][2 * transitionCount + a] = 1;
+            costs[2 * transitionCount + a] = DEVIATION_COST;
+        }
+    }
+
+    /**
+     * Align a trace with the net.
+     *
+     * @param trace the activities of the trace.
+     * @return the optimal alignment, or {@code null} if the final marking cannot be reached or the search expanded
+     * more states than allowed.
+     */
+    public Alignment align(List<String> trace) {
+        return new Search(trace).run();
+    }
+
+    /**
+     * @return the fitness of a trace of the given length, given its alignment and the alignment of the empty trace.
+     */
+    public static double fitness(Alignment alignment, int traceLength, Alignment emptyTraceAlignment) {
+        double worstCost = (double) traceLength * DEVIATION_COST + emptyTraceAlignment.getCost();
+        return worstCost == 0 ? 1.0 : 1.0 - alignment.getCost() / worstCost;
+    }
+
+    /**
+     * The A* search of one trace.
+     */
+    private final class Search {
+        private final List<String> trace;
+
+        private final int[] traceLabels;
+
+        /**
+         * Number of events of each label from each position of the trace.
+         */
+        private final int[][] remainingLabels;
+
+        /**
+         * Number of events without transition in the net from each position of the trace.
+         */
+        private final int[] remainingUnknown;
+
+        private final double[] rightHandSide;
+
+        Search(List<String> trace) {
+            this.trace = trace;
+            int length = trace.size();
+            traceLabels = new int[length];
+            remainingLabels = new int[length + 1][labels.size()];
+            remainingUnknown = new int[length + 1];
+            for (int i = length - 1; i >= 0; i--) {
+                Integer label = labels.get(trace.get(i));
+                traceLabels[i] = label == null ? UNKNOWN_LABEL : label;
+                remainingLabels[i] = remainingLabels[i + 1].clone();
+                remainingUnknown[i] = remainingUnknown[i + 1];
+                if (label == null) {
+                    remainingUnknown[i]++;
+                } else {
+                    remainingLabels[i][label]++;
+                }
+            }
+            rightHandSide = new double[constraints.length];
+        }
+
+        Alignment run() {
+            PriorityQueue<Node> open = new PriorityQueue<>(
+                Comparator
+                    .comparingInt((Node node) -> node.cost + node.estimate)
+                    .thenComparing(Comparator.comparingInt((Node node) -> node.position).reversed())
+            );
+            Set<State> closed = new HashSet<>();
+            Map<State, Integer> bestCosts = new HashMap<>();
+            Node root = new Node(net.initialMarking(), 0, 0, null, -1);
+            if (!solve(root)) {
+                return null;
+            }
+            open.add(root);
+            int expanded = 0;
+            while (!open.isEmpty()) {
+                Node node = open.poll();
+                State state = new State(node.marking, node.position);
+                if (closed.contains(state)) {
+                    continue;
+                }
+                if (node.solution == null) {
+                    int previousEstimate = node.estimate;
+                    if (!solve(node)) {
+                        closed.add(state);
+                        continue;
+                    }
+                    if (node.estimate > previousEstimate) {
+                        open.add(node);
+                        continue;
+                    }
+                }
+                closed.add(state);
+                if (node.position == trace.size() && Arrays.equals(node.marking, finalMarking)) {
+                    return toAlignment(node);
+                }
+                if (++expanded > maxStates) {
+                    return null;
+                }
+                for (int t = 0; t < transitionLabels.length; t++) {
+                    if (net.isEnabled(t, node.marking)) {
+                        int[] marking = fire(t, node.marking);
+                        push(open, closed, bestCosts, node, marking, node.position, (int) costs[t], t, t);
+                        boolean synchronous =
+                            node.position < trace.size() &&
+                            transitionLabels[t] != UNKNOWN_LABEL &&
+                            transitionLabels[t] == traceLabels[node.position];
+                        if (synchronous) {
+                            push(open, closed, bestCosts, node, marking, node.position + 1, 0, transitionLabels.length + t, t);
+                        }
+                    }
+                }
+                if (node.position < trace.size()) {
+                    int label = traceLabels[node.position];
+                    int variable = label == UNKNOWN_LABEL ? -1 : 2 * transitionLabels.length + label;
+                    push(open, closed, bestCosts, node, node.marking, node.position + 1, DEVIATION_COST, variable, -1);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Queue the successor of a node reached by a move, identified by its variable in the marking equation (-1 for
+         * a log move of an activity without transition) and its transition (-1 for a log move).
+         */
+        private void push(
+            PriorityQueue<Node> open,
+            Set<State> closed,
+            Map<State, Integer> bestCosts,
+            Node parent,
+            int[] marking,
+            int position,
+            int moveCost,
+            int variable,
+            int transition
+        ) {
+            int cost = parent.cost + moveCost;
+            State state = new State(marking, position);
+            if (closed.contains(state)) {
+                return;
+            }
+            Integer bestCost = bestCosts.get(state);
+            if (bestCost != null && bestCost <= cost) {
+                return;
+            }
+            bestCosts.put(state, cost);
+            Node child = new Node(marking, position, cost, parent, transition);
+            if (variable < 0 && transition < 0) {
+                // log move of an activity without transition: the estimate only loses its cost
+                child.solution = parent.solution;
+                child.estimate = parent.estimate - moveCost;
+            } else if (parent.solution[variable] >= 1 - EPSILON) {
+                child.solution = parent.solution.clone();
+                child.solution[variable] -= 1;
+                child.estimate = parent.estimate - moveCost;
+            } else {
+                child.estimate = Math.max(0, parent.estimate - moveCost);
+            }
+            open.add(child);
+        }
+
+        /**
+         * Solve the marking equation of a node, setting its estimate and solution.
+         *
+         * @return {@code false} if the final marking cannot be reached from the node.
+         */
+        private boolean solve(Node node) {
+            int placeCount = finalMarking.length;
+            for (int p = 0; p < placeCount; p++) {
+                rightHandSide[p] = finalMarking[p] - node.marking[p];
+            }
+            int[] remaining = remainingLabels[node.position];
+            for (int a = 0; a < remaining.length; a++) {
+                rightHandSide[placeCount + a] = remaining[a];
+            }
+            double[] solution = LinearProgram.minimize(constraints, rightHandSide, costs);
+            if (solution == null) {
+                return false;
+            }
+            double value = 0;
+            for (int j = 0; j < solution.length; j++) {
+                value += costs[j] * solution[j];
+            }
+            node.solution = solution;
+            node.estimate = (int) Math.ceil(value - EPSILON) + remainingUnknown[node.position] * DEVIATION_COST;
+            return true;
+        }
+
+        private Alignment toAlignment(Node goal) {
+            List<Alignment.Move> moves = new ArrayList<>();
+            for (Node node = goal; node.parent != null; node = node.parent) {
+                if (node.transition < 0) {
+                    moves.add(new Alignment.Move(Alignment.MoveType.LOG, trace.get(node.position - 1)));
+                } else if (node.position > node.parent.position) {
+                    moves.add(new Alignment.Move(Alignment.MoveType.SYNC, trace.get(node.position - 1)));
+                } else if (!net.isSilent(node.transition)) {
+                    moves.add(new Alignment.Move(Alignment.MoveType.MODEL, net.label(node.transition)));
+                }
+            }
+            Collections.reverse(moves);
+            return new Alignment(goal.cost, moves);
+        }
+    }
+
+    private int[] fire(int transition, int[] marking) {
+        int[] next = marking.clone();
+        int[] inputPlaces = net.inputPlaces(transition);
+        int[] inputWeights = net.inputWeights(transition);
+        for (int i = 0; i < inputPlaces.length; i++) {
+            next[inputPlaces[i]] -= inputWeights[i];
+        }
+        int[] outputPlaces = net.outputPlaces(transition);
+        int[] outputWeights = net.outputWeights(transition);
+        for (int i = 0; i < outputPlaces.length; i++) {
+            next[outputPlaces[i]] += outputWeights[i];
+        }
+        return next;
+    }
+
+    /**
+     * A node of the search tree. Its solution is {@code null} while its estimate is only a lower bound derived from
+     * its parent.
+     */
+    private static final class Node {
+        final int[] marking;
+
+        final int position;
+
+        final int cost;
+
+        final Node parent;
+
+        /**
+         * Transition fired by the move reaching the node, or -1 for a log move.
+         */
+        final int transition;
+
+        int estimate;
+
+        double[] solution;
+
+        Node(int[] marking, int position, int cost, Node parent, int transition) {
+            this.marking = marking;
+            this.position = position;
+            this.cost = cost;
+            this.parent = parent;
+            this.transition = transition;
+        }
+    }
+
+    private static final class State {
+        private final int[] marking;
+
+        private final int position;
+
+        private final int hash;
+
+        State(int[] marking, int position) {
+            this.marking = marking;
+            this.position = position;
+            this.hash = 31 * Arrays.hashCode(marking) + position;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State) o;
+            return position == other.position && Arrays.equals(marking, other.marking);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
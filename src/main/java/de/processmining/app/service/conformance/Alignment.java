@@ -0,0 +1,88 @@
+package de.processmining.app.service.conformance;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimal alignment of a trace with a {@link PetriNet}, computed by the {@link Aligner}.
+ * <p>
+ * Moves of silent transitions count in the cost of the alignment but are not listed in its moves.
+ */
+public final class Alignment {
+    private final int cost;
+
+    private final List<Move> moves;
+
+    Alignment(int cost, List<Move> moves) {
+        this.cost = cost;
+        this.moves = Collections.unmodifiableList(moves);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * @return the number of log and visible model moves.
+     */
+    public int getDeviationCount() {
+        int deviations = 0;
+        for (Move move : moves) {
+            if (move.getType() != MoveType.SYNC) {
+                deviations++;
+            }
+        }
+        return deviations;
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    @Override
+    public String toString() {
+        return "Alignment{cost=" + cost + ", moves=" + moves + "}";
+    }
+
+    public enum MoveType {
+        /**
+         * The event and a transition with its activity as label move together.
+         */
+        SYNC,
+        /**
+         * The event has no counterpart in the model.
+         */
+        LOG,
+        /**
+         * A visible transition fires without event in the trace.
+         */
+        MODEL
+    }
+
+    /**
+     * A move of the alignment, with the activity of the event or the label of the transition.
+     */
+    public static final class Move {
+        private final MoveType type;
+
+        private final String activity;
+
+        public Move(MoveType type, String activity) {
+            this.type = type;
+            this.activity = activity;
+        }
+
+        public MoveType getType() {
+            return type;
+        }
+
+        public String getActivity() {
+            return activity;
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + activity + ")";
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package de.processmining.app.service.conformance;
+
+/**
+ * Dense two-phase simplex solver for the small linear programs of the alignment heuristic.
+ * <p>
+ * Solves {@code min c.x subject to A.x = b, x >= 0}. Bland's rule is used to choose pivots, so the method always
+ * terminates; the programs solved here have a few hundred variables at most.
+ */
+final class LinearProgram {
+    private static final double EPSILON = 1e-9;
+
+    private LinearProgram() {}
+
+    /**
+     * @param a the constraint matrix, one row per constraint.
+     * @param b the right-hand sides.
+     * @param c the costs, which must not be negative.
+     * @return the optimal values of the variables, or {@code null} if the program is infeasible.
+     */
+    static double[] minimize(double[][] a, double[] b, double[] c) {
+        int rows = b.length;
+        int columns = c.length;
+        int rhs = columns + rows;
+        double[][] tableau = new double[rows + 1][rhs + 1];
+        int[] basis = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            double sign = b[i] < 0 ? -1.0 : 1.0;
+            for (int j = 0; j < columns; j++) {
+                tableau[i][j] = sign * a[i][j];
+            }
+            tableau[i][columns + i] = 1.0;
+            tableau[i][rhs] = sign * b[i];
+            basis[i] = columns + i;
+        }
+        // phase 1: minimize the sum of the artificial variables
+        double[] objective = tableau[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                objective[j] -= tableau[i][j];
+            }
+            objective[rhs] -= tableau[i][rhs];
+        }
+        optimize(tableau, basis, rhs);
+        if (-objective[rhs] > 1e-7) {
+            return null;
+        }
+        for (int i = 0; i < rows; i++) {
+            if (basis[i] >= columns) {
+                for (int j = 0; j < columns; j++) {
+                    if (Math.abs(tableau[i][j]) > EPSILON) {
+                        pivot(tableau, basis, i, j);
+                        break;
+                    }
+                }
+            }
+        }
+        // phase 2: minimize the costs, artificial variables staying out of the basis
+        for (int j = 0; j <= rhs; j++) {
+            objective[j] = j < columns ? c[j] : 0.0;
+        }
+        for (int i = 0; i < rows; i++) {
+            if (basis[i] < columns && objective[basis[i]] != 0.0) {
+                double factor = objective[basis[i]];
+                for (int j = 0; j <= rhs; j++) {
+                    objective[j] -= factor * tableau[i][j];
+                }
+            }
+        }
+        optimize(tableau, basis, columns);
+        double[] solution = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            if (basis[i] < columns) {
+                solution[basis[i]] = tableau[i][rhs];
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Pivot until no variable among the first {@code candidates} columns has a negative reduced cost.
+     */
+    private static void optimize(double[][] tableau, int[] basis, int candidates) {
+        int rows = basis.length;
+        int rhs = tableau[0].length - 1;
+        double[] objective = tableau[rows];
+        while (true) {
+            int entering = -1;
+            for (int j = 0; j < candidates && entering < 0; j++) {
+                if (objective[j] < -EPSILON) {
+                    entering = j;
+                }
+            }
+            if (entering < 0) {
+                return;
+            }
+            int leaving = -1;
+            double bestRatio = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < rows; i++) {
+                if (tableau[i][entering] > EPSILON) {
+                    double ratio = tableau[i][rhs] / tableau[i][entering];
+                    if (ratio < bestRatio - EPSILON || (ratio < bestRatio + EPSILON && leaving >= 0 && basis[i] < basis[leaving])) {
+                        bestRatio = ratio;
+                        leaving = i;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                // unbounded, which cannot happen with non-negative costs
+                return;
+            }
+            pivot(tableau, basis, leaving, entering);
+        }
+    }
+
+    private static void pivot(double[][] tableau, int[] basis, int row, int column) {
+        double[] pivotRow = tableau[row];
+        double pivot = pivotRow[column];
+        for (int j = 0; j < pivotRow.length; j++) {
+            pivotRow[j] /= pivot;
+        }
+        for (int i = 0; i < tableau.length; i++) {
+            double factor = tableau[i][column];
+            if (i != row && factor != 0.0) {
+                double[] target = tableau[i];
+                for (int j = 0; j < target.length; j++) {
+                    target[j] -= factor * pivotRow[j];
+                }
+            }
+        }
+        basis[row] = column;
+    }
+}
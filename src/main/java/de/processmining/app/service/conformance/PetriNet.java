@@ -0,0 +1,288 @@
+package de.processmining.app.service.conformance;
+
+import de.processmining.app.service.InvalidProcessModelException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable labelled Petri net with an initial and a final marking.
+ * <p>
+ * Places and transitions are numbered from 0 in declaration order. Transitions without label are silent. Arcs are
+ * stored per transition as arrays of places and weights, and markings as arrays of token counts indexed by place.
+ */
+public final class PetriNet {
+    private final String[] placeIds;
+
+    private final String[] transitionIds;
+
+    private final String[] labels;
+
+    private final int[][] inputPlaces;
+
+    private final int[][] inputWeights;
+
+    private final int[][] outputPlaces;
+
+    private final int[][] outputWeights;
+
+    private final int[] initialMarking;
+
+    private final int[] finalMarking;
+
+    private PetriNet(
+        String[] placeIds,
+        String[] transitionIds,
+        String[] labels,
+        int[][] inputPlaces,
+        int[][] inputWeights,
+        int[][] outputPlaces,
+        int[][] outputWeights,
+        int[] initialMarking,
+        int[] finalMarking
+    ) {
+        this.placeIds = placeIds;
+        this.transitionIds = transitionIds;
+        this.labels = labels;
+        this.inputPlaces = inputPlaces;
+        this.inputWeights = inputWeights;
+        this.outputPlaces = outputPlaces;
+        this.outputWeights = outputWeights;
+        this.initialMarking = initialMarking;
+        this.finalMarking = finalMarking;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int placeCount() {
+        return placeIds.length;
+    }
+
+    public int transitionCount() {
+        return transitionIds.length;
+    }
+
+    public String placeId(int place) {
+        return placeIds[place];
+    }
+
+    public String transitionId(int transition) {
+        return transitionIds[transition];
+    }
+
+    /**
+     * @return the label of the transition, or {@code null} if the transition is silent.
+     */
+    public String label(int transition) {
+        return labels[transition];
+    }
+
+    public boolean isSilent(int transition) {
+        return labels[transition] == null;
+    }
+
+    int[] inputPlaces(int transition) {
+        return inputPlaces[transition];
+    }
+
+    int[] inputWeights(int transition) {
+        return inputWeights[transition];
+    }
+
+    int[] outputPlaces(int transition) {
+        return outputPlaces[transition];
+    }
+
+    int[] outputWeights(int transition) {
+        return outputWeights[transition];
+    }
+
+    /**
+     * @return a copy of the initial marking.
+     */
+    public int[] initialMarking() {
+        return initialMarking.clone();
+    }
+
+    /**
+     * @return a copy of the final marking.
+     */
+    public int[] finalMarking() {
+        return finalMarking.clone();
+    }
+
+    /**
+     * Describe the net without node identifiers, so that nets with the same places, labels, arcs and markings declared
+     * in the same order have the same description whatever their identifiers and layout.
+     *
+     * @return the description.
+     */
+    public String canonicalForm() {
+        StringBuilder form = new StringBuilder();
+        form.append("m0=").append(Arrays.toString(initialMarking)).append(";mf=").append(Arrays.toString(finalMarking));
+        for (int t = 0; t < labels.length; t++) {
+            form.append(";t").append(t);
+            if (labels[t] != null) {
+                form.append('[').append(labels[t].length()).append(':').append(labels[t]).append(']');
+            }
+            form.append(Arrays.toString(inputPlaces[t])).append(Arrays.toString(inputWeights[t]));
+            form.append(Arrays.toString(outputPlaces[t])).append(Arrays.toString(outputWeights[t]));
+        }
+        return form.toString();
+    }
+
+    boolean isEnabled(int transition, int[] marking) {
+        int[] places = inputPlaces[transition];
+        int[] weights = inputWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            if (marking[places[i]] < weights[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds a {@link PetriNet}, nodes being referenced by their identifiers. Instances are not thread-safe.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> places = new LinkedHashMap<>();
+
+        private final List<Integer> initialTokens = new ArrayList<>();
+
+        private final Map<String, Integer> finalTokens = new LinkedHashMap<>();
+
+        private final Map<String, Integer> transitions = new LinkedHashMap<>();
+
+        private final List<String> labels = new ArrayList<>();
+
+        private final List<String[]> arcs = new ArrayList<>();
+
+        private final List<Integer> arcWeights = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder place(String id, int tokens) {
+            if (places.containsKey(id) || transitions.containsKey(id)) {
+                throw new InvalidProcessModelException("Duplicate node identifier: " + id);
+            }
+            places.put(id, places.size());
+            initialTokens.add(tokens);
+            return this;
+        }
+
+        /**
+         * @param id the transition identifier.
+         * @param label the label, or {@code null} for a silent transition.
+         * @return this builder.
+         */
+        public Builder transition(String id, String label) {
+            if (places.containsKey(id) || transitions.containsKey(id)) {
+                throw new InvalidProcessModelException("Duplicate node identifier: " + id);
+            }
+            transitions.put(id, transitions.size());
+            labels.add(label);
+            return this;
+        }
+
+        /**
+         * Add an arc, from a place to a transition or from a transition to a place, which may be declared later.
+         */
+        public Builder arc(String source, String target, int weight) {
+            if (weight < 1) {
+                throw new InvalidProcessModelException("Arc weight must be positive: " + source + " -> " + target);
+            }
+            arcs.add(new String[] { source, target });
+            arcWeights.add(weight);
+            return this;
+        }
+
+        /**
+         * Set the tokens of a place in the final marking. Without final marking, every place without outgoing arc
+         * holds one token in the final marking.
+         */
+        public Builder finalTokens(String placeId, int tokens) {
+            finalTokens.put(placeId, tokens);
+            return this;
+        }
+
+        public PetriNet build() {
+            int transitionCount = transitions.size();
+            List<List<int[]>> inputs = new ArrayList<>(transitionCount);
+            List<List<int[]>> outputs = new ArrayList<>(transitionCount);
+            for (int t = 0; t < transitionCount; t++) {
+                inputs.add(new ArrayList<>());
+                outputs.add(new ArrayList<>());
+            }
+            boolean[] hasOutgoingArc = new boolean[places.size()];
+            for (int i = 0; i < arcs.size(); i++) {
+                String source = arcs.get(i)[0];
+                String target = arcs.get(i)[1];
+                int weight = arcWeights.get(i);
+                if (places.containsKey(source) && transitions.containsKey(target)) {
+                    inputs.get(transitions.get(target)).add(new int[] { places.get(source), weight });
+                    hasOutgoingArc[places.get(source)] = true;
+                } else if (transitions.containsKey(source) && places.containsKey(target)) {
+                    outputs.get(transitions.get(source)).add(new int[] { places.get(target), weight });
+                } else {
+                    throw new InvalidProcessModelException("Arc must link a place and a transition: " + source + " -> " + target);
+                }
+            }
+            int[] initialMarking = new int[places.size()];
+            for (int p = 0; p < initialMarking.length; p++) {
+                initialMarking[p] = initialTokens.get(p);
+            }
+            int[] finalMarking = new int[places.size()];
+            if (finalTokens.isEmpty()) {
+                for (int p = 0; p < finalMarking.length; p++) {
+                    finalMarking[p] = hasOutgoingArc[p] ? 0 : 1;
+                }
+            }
+            for (Map.Entry<String, Integer> entry : finalTokens.entrySet()) {
+                Integer place = places.get(entry.getKey());
+                if (place == null) {
+                    throw new InvalidProcessModelException("Final marking references unknown place: " + entry.getKey());
+                }
+                finalMarking[place] = entry.getValue();
+            }
+            int[][] inputPlaces = new int[transitionCount][];
+            int[][] inputWeights = new int[transitionCount][];
+            int[][] outputPlaces = new int[transitionCount][];
+            int[][] outputWeights = new int[transitionCount][];
+            for (int t = 0; t < transitionCount; t++) {
+                inputPlaces[t] = column(inputs.get(t), 0);
+                inputWeights[t] = column(inputs.get(t), 1);
+                outputPlaces[t] = column(outputs.get(t), 0);
+                outputWeights[t] = column(outputs.get(t), 1);
+            }
+            return new PetriNet(
+                places.keySet().toArray(new String[0]),
+                transitions.keySet().toArray(new String[0]),
+                labels.toArray(new String[0]),
+                inputPlaces,
+                inputWeights,
+                outputPlaces,
+                outputWeights,
+                initialMarking,
+                finalMarking
+            );
+        }
+
+        private static int[] column(List<int[]> rows, int column) {
+            int[] values = new int[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rows.get(i)[column];
+            }
+            return values;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PetriNet{places=" + placeIds.length + ", transitions=" + transitionIds.length + ", finalMarking=" + Arrays.toString(finalMarking) + "}";
+    }
+}
@@ -0,0 +1,173 @@
+package de.processmining.app.service.conformance;
+
+import de.processmining.app.service.InvalidProcessModelException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Parser for Petri nets in the <a href="https://www.pnml.org">PNML</a> format.
+ * <p>
+ * Places, transitions and arcs of all pages of the first net are read, with their initial marking and arc weights.
+ * Transitions without name, or marked as {@code $invisible$} by a ProM tool-specific element, are silent. The final
+ * marking is read from the {@code finalmarkings} element written by ProM, if any.
+ */
+public class PnmlParser {
+    private static final String INVISIBLE = "$invisible$";
+
+    private final XMLInputFactory inputFactory;
+
+    public PnmlParser() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * @param inputStream the PNML document.
+     * @return the Petri net.
+     * @throws InvalidProcessModelException if the document is not a valid PNML Petri net.
+     */
+    public PetriNet parse(InputStream inputStream) {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(inputStream);
+            return parse(reader);
+        } catch (XMLStreamException e) {
+            throw new InvalidProcessModelException("Malformed PNML document: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // the underlying stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    private PetriNet parse(XMLStreamReader reader) throws XMLStreamException {
+        PetriNet.Builder builder = PetriNet.builder();
+        List<String> path = new ArrayList<>();
+        Node node = null;
+        int nets = 0;
+        String finalPlace = null;
+        while (reader.hasNext()) {
+            int eventType = reader.next();
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (path.isEmpty() && !"pnml".equals(name)) {
+                    throw new InvalidProcessModelException("Not a PNML document, root element is " + name);
+                }
+                if ("net".equals(name) && ++nets > 1) {
+                    break;
+                }
+                if ("text".equals(name)) {
+                    String text = reader.getElementText().trim();
+                    String owner = parent(path, 1);
+                    if (node != null && node.finalMarking) {
+                        if (finalPlace != null) {
+                            builder.finalTokens(finalPlace, parseInt(text, "final marking"));
+                        }
+                    } else if (node != null && "name".equals(owner)) {
+                        node.name = text;
+                    } else if (node != null && ("initialMarking".equals(owner) || "inscription".equals(owner))) {
+                        node.value = parseInt(text, owner);
+                    }
+                    continue;
+                }
+                path.add(name);
+                if ("finalmarkings".equals(name)) {
+                    node = new Node("finalmarkings", null);
+                    node.finalMarking = true;
+                } else if (node != null && node.finalMarking) {
+                    if ("place".equals(name)) {
+                        finalPlace = reader.getAttributeValue(null, "idref");
+                    }
+                } else if ("place".equals(name) || "transition".equals(name)) {
+                    node = new Node(name, required(reader, "id"));
+                } else if ("arc".equals(name)) {
+                    node = new Node(name, required(reader, "id"));
+                    node.source = required(reader, "source");
+                    node.target = required(reader, "target");
+                    node.value = 1;
+                } else if ("toolspecific".equals(name) && node != null && INVISIBLE.equals(reader.getAttributeValue(null, "activity"))) {
+                    node.invisible = true;
+                }
+            } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+                String name = path.remove(path.size() - 1);
+                if (node != null && node.element.equals(name)) {
+                    add(builder, node);
+                    node = null;
+                } else if ("place".equals(name)) {
+                    finalPlace = null;
+                }
+            }
+        }
+        if (nets == 0) {
+            throw new InvalidProcessModelException("PNML document has no net");
+        }
+        return builder.build();
+    }
+
+    private static void add(PetriNet.Builder builder, Node node) {
+        if ("place".equals(node.element)) {
+            builder.place(node.id, node.value);
+        } else if ("transition".equals(node.element)) {
+            builder.transition(node.id, node.invisible || node.name == null || node.name.isEmpty() ? null : node.name);
+        } else if ("arc".equals(node.element)) {
+            builder.arc(node.source, node.target, node.value);
+        }
+        // final markings are added while they are read
+    }
+
+    private static String parent(List<String> path, int level) {
+        return path.size() >= level ? path.get(path.size() - level) : null;
+    }
+
+    private static String required(XMLStreamReader reader, String attribute) {
+        String value = reader.getAttributeValue(null, attribute);
+        if (value == null) {
+            throw new InvalidProcessModelException("Missing " + attribute + " attribute on " + reader.getLocalName());
+        }
+        return value;
+    }
+
+    private static int parseInt(String text, String what) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidProcessModelException("Invalid " + what + ": " + text, e);
+        }
+    }
+
+    /**
+     * Place, transition or arc being parsed.
+     */
+    private static final class Node {
+        private final String element;
+
+        private final String id;
+
+        private String name;
+
+        private int value;
+
+        private String source;
+
+        private String target;
+
+        private boolean invisible;
+
+        private boolean finalMarking;
+
+        Node(String element, String id) {
+            this.element = element;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package de.processmining.app.service.conformance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of the token-based replay of an event log on a {@link PetriNet}.
+ * <p>
+ * Token counts are summed over all traces, a trace variant counting once per case. Fitness follows Rozinat and van der
+ * Aalst, precision is the escaping-edges precision of Munoz-Gama and Carmona computed on the replayed prefixes.
+ */
+public final class TokenReplayResult {
+    private long traceCount;
+
+    private long fittingTraceCount;
+
+    private long produced;
+
+    private long consumed;
+
+    private long missing;
+
+    private long remaining;
+
+    private long allowedActivities;
+
+    private long escapingActivities;
+
+    private final List<VariantResult> deviatingVariants = new ArrayList<>();
+
+    TokenReplayResult() {}
+
+    public long getTraceCount() {
+        return traceCount;
+    }
+
+    public long getFittingTraceCount() {
+        return fittingTraceCount;
+    }
+
+    public long getProduced() {
+        return produced;
+    }
+
+    public long getConsumed() {
+        return consumed;
+    }
+
+    public long getMissing() {
+        return missing;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * @return the fitness of the log, between 0 and 1.
+     */
+    public double getFitness() {
+        return fitness(missing, consumed, remaining, produced);
+    }
+
+    /**
+     * @return the share of activities enabled by the model after a replayed prefix that also follow that prefix in the
+     * log, between 0 and 1.
+     */
+    public double getPrecision() {
+        return allowedActivities == 0 ? 1.0 : 1.0 - (double) escapingActivities / allowedActivities;
+    }
+
+    /**
+     * @return the variants whose replay deviated from the model, in no particular order.
+     */
+    public List<VariantResult> getDeviatingVariants() {
+        return Collections.unmodifiableList(deviatingVariants);
+    }
+
+    void addVariant(VariantResult variant) {
+        traceCount += variant.caseCount;
+        produced += (long) variant.produced * variant.caseCount;
+        consumed += (long) variant.consumed * variant.caseCount;
+        missing += (long) variant.missing * variant.caseCount;
+        remaining += (long) variant.remaining * variant.caseCount;
+        if (variant.isFitting()) {
+            fittingTraceCount += variant.caseCount;
+        } else {
+            deviatingVariants.add(variant);
+        }
+    }
+
+    void addPrefix(long weight, int allowed, int escaping) {
+        allowedActivities += weight * allowed;
+        escapingActivities += weight * escaping;
+    }
+
+    void merge(TokenReplayResult other) {
+        traceCount += other.traceCount;
+        fittingTraceCount += other.fittingTraceCount;
+        produced += other.produced;
+        consumed += other.consumed;
+        missing += other.missing;
+        remaining += other.remaining;
+        allowedActivities += other.allowedActivities;
+        escapingActivities += other.escapingActivities;
+        deviatingVariants.addAll(other.deviatingVariants);
+    }
+
+    static double fitness(long missing, long consumed, long remaining, long produced) {
+        double missingRatio = consumed == 0 ? 0.0 : (double) missing / consumed;
+        double remainingRatio = produced == 0 ? 0.0 : (double) remaining / produced;
+        return 0.5 * (1.0 - missingRatio) + 0.5 * (1.0 - remainingRatio);
+    }
+
+    /**
+     * Replay of one trace variant, shared by all cases having this trace.
+     */
+    public static final class VariantResult {
+        private final int node;
+
+        private final int caseCount;
+
+        private final int produced;
+
+        private final int consumed;
+
+        private final int missing;
+
+        private final int remaining;
+
+        private final List<EventDeviation> deviations;
+
+        VariantResult(int node, int caseCount, int produced, int consumed, int missing, int remaining, List<EventDeviation> deviations) {
+            this.node = node;
+            this.caseCount = caseCount;
+            this.produced = produced;
+            this.consumed = consumed;
+            this.missing = missing;
+            this.remaining = remaining;
+            this.deviations = deviations;
+        }
+
+        /**
+         * @return the node of the variant in the {@link de.processmining.app.service.eventlog.PrefixTree} replayed.
+         */
+        public int getNode() {
+            return node;
+        }
+
+        public int getCaseCount() {
+            return caseCount;
+        }
+
+        public int getMissing() {
+            return missing;
+        }
+
+        public int getRemaining() {
+            return remaining;
+        }
+
+        public double getFitness() {
+            return fitness(missing, consumed, remaining, produced);
+        }
+
+        public List<EventDeviation> getDeviations() {
+            return deviations;
+        }
+
+        public boolean isFitting() {
+            return missing == 0 && remaining == 0 && deviations.isEmpty();
+        }
+    }
+
+    /**
+     * An event of a trace that could not be replayed as is.
+     */
+    public static final class EventDeviation {
+
+        public enum Type {
+            /**
+             * The activity has no transition in the model; the event was skipped.
+             */
+            UNKNOWN_ACTIVITY,
+            /**
+             * No transition of the activity was enabled; missing tokens were added to fire one.
+             */
+            MISSING_TOKENS
+        }
+
+        private final int position;
+
+        private final int activity;
+
+        private final Type type;
+
+        EventDeviation(int position, int activity, Type type) {
+            this.position = position;
+            this.activity = activity;
+            this.type = type;
+        }
+
+        /**
+         * @return the position of the event in the trace, from 0.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * @return the activity code of the event in the event log.
+         */
+        public int getActivity() {
+            return activity;
+        }
+
+        public Type getType() {
+            return type;
+        }
+    }
+}
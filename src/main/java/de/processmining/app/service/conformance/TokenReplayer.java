@@ -0,0 +1,431 @@
+package de.processmining.app.service.conformance;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.PrefixTree;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Token-based replay of the traces of an event log on a {@link PetriNet}.
+ * <p>
+ * Traces are replayed along the {@link PrefixTree} of the log, so every distinct prefix, and thus every trace variant,
+ * is replayed once whatever its number of cases. An event fires an enabled transition with its activity as label,
+ * after firing silent transitions if needed; when none can be enabled, the missing tokens are created. The subtrees of
+ * the prefix tree are replayed in parallel.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class TokenReplayer {
+    /**
+     * Maximum number of markings explored when looking for silent transitions to fire.
+     */
+    private static final int MAX_SILENT_MARKINGS = 1024;
+
+    private static final int[] NO_TRANSITIONS = new int[0];
+
+    private final PetriNet net;
+
+    /**
+     * Transitions labelled with each activity code of the event log.
+     */
+    private final int[][] transitionsByActivity;
+
+    /**
+     * Label number of each transition, visible labels being numbered from 0, or -1 for silent transitions.
+     */
+    private final int[] transitionLabels;
+
+    private final int labelCount;
+
+    /**
+     * Label number of each activity code of the event log, or -1 if the model has no transition with this activity.
+     */
+    private final int[] activityLabels;
+
+    private final int[] silentTransitions;
+
+    private final int[] finalMarking;
+
+    public TokenReplayer(PetriNet net, EventLog eventLog) {
+        this.net = net;
+        Map<String, Integer> labels = new LinkedHashMap<>();
+        transitionLabels = new int[net.transitionCount()];
+        List<Integer> silent = new ArrayList<>();
+        for (int t = 0; t < net.transitionCount(); t++) {
+            if (net.isSilent(t)) {
+                transitionLabels[t] = -1;
+                silent.add(t);
+            } else {
+                transitionLabels[t] = labels.computeIfAbsent(net.label(t), label -> labels.size());
+            }
+        }
+        labelCount = labels.size();
+        silentTransitions = silent.stream().mapToInt(Integer::intValue).toArray();
+        activityLabels = new int[eventLog.activityCount()];
+        transitionsByActivity = new int[eventLog.activityCount()][];
+        for (int a = 0; a < eventLog.activityCount(); a++) {
+            Integer label = labels.get(eventLog.activityName(a));
+            activityLabels[a] = label == null ? -1 : label;
+            List<Integer> transitions = new ArrayList<>();
+            for (int t = 0; t < net.transitionCount(); t++) {
+                if (label != null && transitionLabels[t] == label) {
+                    transitions.add(t);
+                }
+            }
+            transitionsByActivity[a] = transitions.isEmpty() ? NO_TRANSITIONS : transitions.stream().mapToInt(Integer::intValue).toArray();
+        }
+        finalMarking = net.finalMarking();
+    }
+
+    /**
+     * Replay all traces of the prefix tree of the log.
+     *
+     * @param prefixTree the prefix tree of the event log given at construction.
+     * @param executor the executor running the replay of subtrees.
+     * @param taskCount the number of subtrees replayed concurrently, at least.
+     * @return the replay result.
+     * @throws InterruptedException if interrupted while waiting for the replay of subtrees.
+     */
+    public TokenReplayResult replay(PrefixTree prefixTree, ExecutorService executor, int taskCount) throws InterruptedException {
+        TokenReplayResult result = new TokenReplayResult();
+        int[] initialMarking = net.initialMarking();
+        Deque<Frame> frontier = new ArrayDeque<>();
+        frontier.add(new Frame(PrefixTree.ROOT, new State(initialMarking, sum(initialMarking), 0, 0, null)));
+        // the upper levels are replayed by the caller until there are enough subtrees to share between threads
+        while (!frontier.isEmpty() && frontier.size() < taskCount) {
+            visit(prefixTree, frontier.poll(), frontier, result);
+        }
+        List<Future<TokenReplayResult>> results = new ArrayList<>(frontier.size());
+        for (Frame frame : frontier) {
+            results.add(executor.submit((Callable<TokenReplayResult>) () -> replaySubtree(prefixTree, frame)));
+        }
+        try {
+            for (Future<TokenReplayResult> subtreeResult : results) {
+                result.merge(subtreeResult.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            for (Future<TokenReplayResult> subtreeResult : results) {
+                subtreeResult.cancel(true);
+            }
+        }
+        return result;
+    }
+
+    private TokenReplayResult replaySubtree(PrefixTree prefixTree, Frame root) {
+        TokenReplayResult result = new TokenReplayResult();
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Token replay interrupted");
+            }
+            // depth-first, so that only the states along one path and their siblings are held
+            visit(prefixTree, stack.pollLast(), stack, result);
+        }
+        return result;
+    }
+
+    /**
+     * Account for the prefix of a node, complete the traces ending there and add the frames of its children.
+     */
+    private void visit(PrefixTree prefixTree, Frame frame, Deque<Frame> pending, TokenReplayResult result) {
+        int node = frame.node;
+        State state = frame.state;
+        BitSet followingLabels = new BitSet(labelCount);
+        for (int i = 0; i < prefixTree.childCount(node); i++) {
+            int label = activityLabels[prefixTree.activity(prefixTree.child(node, i))];
+            if (label >= 0) {
+                followingLabels.set(label);
+            }
+        }
+        BitSet enabledLabels = enabledLabels(state.marking);
+        int allowed = enabledLabels.cardinality();
+        enabledLabels.andNot(followingLabels);
+        result.addPrefix(prefixTree.traceCount(node), allowed, enabledLabels.cardinality());
+        if (prefixTree.caseCount(node) > 0) {
+            result.addVariant(complete(node, prefixTree.caseCount(node), state));
+        }
+        for (int i = 0; i < prefixTree.childCount(node); i++) {
+            int child = prefixTree.child(node, i);
+            pending.add(new Frame(child, fire(state, prefixTree.depth(node), prefixTree.activity(child))));
+        }
+    }
+
+    private State fire(State state, int position, int activity) {
+        int[] candidates = transitionsByActivity[activity];
+        if (candidates.length == 0) {
+            return new State(
+                state.marking,
+                state.produced,
+                state.consumed,
+                state.missing,
+                new Deviation(position, activity, TokenReplayResult.EventDeviation.Type.UNKNOWN_ACTIVITY, state.deviations)
+            );
+        }
+        int[] marking = state.marking.clone();
+        int[] counts = { state.produced, state.consumed, state.missing };
+        Deviation deviations = state.deviations;
+        int[] silentPath = silentPath(
+            marking,
+            m -> {
+                for (int t : candidates) {
+                    if (net.isEnabled(t, m)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        );
+        int transition = candidates[0];
+        if (silentPath != null) {
+            for (int t : silentPath) {
+                fire(t, marking, counts);
+            }
+            for (int t : candidates) {
+                if (net.isEnabled(t, marking)) {
+                    transition = t;
+                    break;
+                }
+            }
+        } else {
+            transition = leastMissingTokens(candidates, marking);
+            deviations = new Deviation(position, activity, TokenReplayResult.EventDeviation.Type.MISSING_TOKENS, deviations);
+        }
+        fire(transition, marking, counts);
+        return new State(marking, counts[0], counts[1], counts[2], deviations);
+    }
+
+    private TokenReplayResult.VariantResult complete(int node, int caseCount, State state) {
+        int[] marking = state.marking.clone();
+        int[] counts = { state.produced, state.consumed, state.missing };
+        int[] silentPath = silentPath(marking, m -> Arrays.equals(m, finalMarking));
+        if (silentPath != null) {
+            for (int t : silentPath) {
+                fire(t, marking, counts);
+            }
+        }
+        int remaining = 0;
+        for (int p = 0; p < marking.length; p++) {
+            counts[1] += finalMarking[p];
+            counts[2] += Math.max(0, finalMarking[p] - marking[p]);
+            remaining += Math.max(0, marking[p] - finalMarking[p]);
+        }
+        List<TokenReplayResult.EventDeviation> deviations = new ArrayList<>();
+        for (Deviation d = state.deviations; d != null; d = d.previous) {
+            deviations.add(new TokenReplayResult.EventDeviation(d.position, d.activity, d.type));
+        }
+        Collections.reverse(deviations);
+        return new TokenReplayResult.VariantResult(node, caseCount, counts[0], counts[1], counts[2], remaining, deviations);
+    }
+
+    /**
+     * Fire a transition, creating the tokens it misses.
+     *
+     * @param counts the produced, consumed and missing token counts, updated.
+     */
+    private void fire(int transition, int[] marking, int[] counts) {
+        int[] inputs = net.inputPlaces(transition);
+        int[] inputWeights = net.inputWeights(transition);
+        for (int i = 0; i < inputs.length; i++) {
+            int place = inputs[i];
+            if (marking[place] < inputWeights[i]) {
+                counts[2] += inputWeights[i] - marking[place];
+                marking[place] = inputWeights[i];
+            }
+            marking[place] -= inputWeights[i];
+            counts[1] += inputWeights[i];
+        }
+        int[] outputs = net.outputPlaces(transition);
+        int[] outputWeights = net.outputWeights(transition);
+        for (int i = 0; i < outputs.length; i++) {
+            marking[outputs[i]] += outputWeights[i];
+            counts[0] += outputWeights[i];
+        }
+    }
+
+    private int leastMissingTokens(int[] candidates, int[] marking) {
+        int best = candidates[0];
+        int bestMissing = Integer.MAX_VALUE;
+        for (int t : candidates) {
+            int missing = 0;
+            int[] inputs = net.inputPlaces(t);
+            int[] weights = net.inputWeights(t);
+            for (int i = 0; i < inputs.length; i++) {
+                missing += Math.max(0, weights[i] - marking[inputs[i]]);
+            }
+            if (missing < bestMissing) {
+                best = t;
+                bestMissing = missing;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Breadth-first search of the shortest sequence of silent transitions leading to a marking satisfying the goal.
+     *
+     * @return the silent transitions to fire, or {@code null} if no such marking is found within the search bound.
+     */
+    private int[] silentPath(int[] marking, Predicate<int[]> goal) {
+        if (goal.test(marking)) {
+            return NO_TRANSITIONS;
+        }
+        if (silentTransitions.length == 0) {
+            return null;
+        }
+        List<int[]> markings = new ArrayList<>();
+        List<int[]> steps = new ArrayList<>();
+        Map<Marking, Integer> visited = new HashMap<>();
+        markings.add(marking);
+        steps.add(null);
+        visited.put(new Marking(marking), 0);
+        for (int i = 0; i < markings.size() && markings.size() < MAX_SILENT_MARKINGS; i++) {
+            int[] current = markings.get(i);
+            for (int t : silentTransitions) {
+                if (!net.isEnabled(t, current)) {
+                    continue;
+                }
+                int[] next = current.clone();
+                fire(t, next, new int[3]);
+                Marking key = new Marking(next);
+                if (visited.containsKey(key)) {
+                    continue;
+                }
+                visited.put(key, markings.size());
+                markings.add(next);
+                steps.add(new int[] { i, t });
+                if (goal.test(next)) {
+                    return path(steps, markings.size() - 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int[] path(List<int[]> steps, int index) {
+        List<Integer> transitions = new ArrayList<>();
+        for (int i = index; steps.get(i) != null; i = steps.get(i)[0]) {
+            transitions.add(steps.get(i)[1]);
+        }
+        Collections.reverse(transitions);
+        return transitions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the labels of the visible transitions enabled in the marking or after firing silent transitions.
+     */
+    private BitSet enabledLabels(int[] marking) {
+        BitSet labels = new BitSet(labelCount);
+        silentPath(
+            marking,
+            m -> {
+                for (int t = 0; t < transitionLabels.length; t++) {
+                    if (transitionLabels[t] >= 0 && !labels.get(transitionLabels[t]) && net.isEnabled(t, m)) {
+                        labels.set(transitionLabels[t]);
+                    }
+                }
+                return false;
+            }
+        );
+        return labels;
+    }
+
+    private static int sum(int[] marking) {
+        int sum = 0;
+        for (int tokens : marking) {
+            sum += tokens;
+        }
+        return sum;
+    }
+
+    private static final class Frame {
+        private final int node;
+
+        private final State state;
+
+        Frame(int node, State state) {
+            this.node = node;
+            this.state = state;
+        }
+    }
+
+    /**
+     * Marking and token counts after replaying a prefix; the marking is never modified once the state is created.
+     */
+    private static final class State {
+        private final int[] marking;
+
+        private final int produced;
+
+        private final int consumed;
+
+        private final int missing;
+
+        private final Deviation deviations;
+
+        State(int[] marking, int produced, int consumed, int missing, Deviation deviations) {
+            this.marking = marking;
+            this.produced = produced;
+            this.consumed = consumed;
+            this.missing = missing;
+            this.deviations = deviations;
+        }
+    }
+
+    /**
+     * Deviations of a prefix, as a list shared with the prefixes extending it.
+     */
+    private static final class Deviation {
+        private final int position;
+
+        private final int activity;
+
+        private final TokenReplayResult.EventDeviation.Type type;
+
+        private final Deviation previous;
+
+        Deviation(int position, int activity, TokenReplayResult.EventDeviation.Type type, Deviation previous) {
+            this.position = position;
+            this.activity = activity;
+            this.type = type;
+            this.previous = previous;
+        }
+    }
+
+    private static final class Marking {
+        private final int[] tokens;
+
+        private final int hash;
+
+        Marking(int[] tokens) {
+            this.tokens = tokens;
+            this.hash = Arrays.hashCode(tokens);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Marking && hash == ((Marking) o).hash && Arrays.equals(tokens, ((Marking) o).tokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Process models and conformance checking of event logs against them.
+ */
+package de.processmining.app.service.conformance;
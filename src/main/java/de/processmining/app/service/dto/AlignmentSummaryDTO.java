@@ -0,0 +1,230 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the alignments of the event log of a {@link de.processmining.app.domain.Process} with a process model.
+ */
+public class AlignmentSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long traceCount;
+
+    private long fittingTraceCount;
+
+    private long unalignedTraceCount;
+
+    private double fitness;
+
+    private int variantCount;
+
+    private int computedVariantCount;
+
+    private int cachedVariantCount;
+
+    private int unalignedVariantCount;
+
+    private int deviatingVariantCount;
+
+    private List<AlignedVariantDTO> deviatingVariants = new ArrayList<>();
+
+    public long getTraceCount() {
+        return traceCount;
+    }
+
+    public void setTraceCount(long traceCount) {
+        this.traceCount = traceCount;
+    }
+
+    public long getFittingTraceCount() {
+        return fittingTraceCount;
+    }
+
+    public void setFittingTraceCount(long fittingTraceCount) {
+        this.fittingTraceCount = fittingTraceCount;
+    }
+
+    /**
+     * @return the number of traces for which no alignment was found within the search bound.
+     */
+    public long getUnalignedTraceCount() {
+        return unalignedTraceCount;
+    }
+
+    public void setUnalignedTraceCount(long unalignedTraceCount) {
+        this.unalignedTraceCount = unalignedTraceCount;
+    }
+
+    /**
+     * @return the mean fitness of the aligned traces.
+     */
+    public double getFitness() {
+        return fitness;
+    }
+
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+    }
+
+    public int getVariantCount() {
+        return variantCount;
+    }
+
+    public void setVariantCount(int variantCount) {
+        this.variantCount = variantCount;
+    }
+
+    /**
+     * @return the number of variants aligned by this request.
+     */
+    public int getComputedVariantCount() {
+        return computedVariantCount;
+    }
+
+    public void setComputedVariantCount(int computedVariantCount) {
+        this.computedVariantCount = computedVariantCount;
+    }
+
+    /**
+     * @return the number of variants whose alignment was stored by a previous request.
+     */
+    public int getCachedVariantCount() {
+        return cachedVariantCount;
+    }
+
+    public void setCachedVariantCount(int cachedVariantCount) {
+        this.cachedVariantCount = cachedVariantCount;
+    }
+
+    public int getUnalignedVariantCount() {
+        return unalignedVariantCount;
+    }
+
+    public void setUnalignedVariantCount(int unalignedVariantCount) {
+        this.unalignedVariantCount = unalignedVariantCount;
+    }
+
+    public int getDeviatingVariantCount() {
+        return deviatingVariantCount;
+    }
+
+    public void setDeviatingVariantCount(int deviatingVariantCount) {
+        this.deviatingVariantCount = deviatingVariantCount;
+    }
+
+    public List<AlignedVariantDTO> getDeviatingVariants() {
+        return deviatingVariants;
+    }
+
+    public void setDeviatingVariants(List<AlignedVariantDTO> deviatingVariants) {
+        this.deviatingVariants = deviatingVariants;
+    }
+
+    /**
+     * A trace variant with its alignment.
+     */
+    public static class AlignedVariantDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private List<String> activities = new ArrayList<>();
+
+        private int caseCount;
+
+        private List<String> caseIds = new ArrayList<>();
+
+        private Integer cost;
+
+        private Double fitness;
+
+        private List<MoveDTO> moves = new ArrayList<>();
+
+        public List<String> getActivities() {
+            return activities;
+        }
+
+        public void setActivities(List<String> activities) {
+            this.activities = activities;
+        }
+
+        public int getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(int caseCount) {
+            this.caseCount = caseCount;
+        }
+
+        public List<String> getCaseIds() {
+            return caseIds;
+        }
+
+        public void setCaseIds(List<String> caseIds) {
+            this.caseIds = caseIds;
+        }
+
+        /**
+         * @return the cost of the alignment, or {@code null} if no alignment was found within the search bound.
+         */
+        public Integer getCost() {
+            return cost;
+        }
+
+        public void setCost(Integer cost) {
+            this.cost = cost;
+        }
+
+        public Double getFitness() {
+            return fitness;
+        }
+
+        public void setFitness(Double fitness) {
+            this.fitness = fitness;
+        }
+
+        public List<MoveDTO> getMoves() {
+            return moves;
+        }
+
+        public void setMoves(List<MoveDTO> moves) {
+            this.moves = moves;
+        }
+    }
+
+    /**
+     * A synchronous, log or model move of an alignment.
+     */
+    public static class MoveDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String type;
+
+        private String activity;
+
+        public MoveDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public MoveDTO(String type, String activity) {
+            this.type = type;
+            this.activity = activity;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getActivity() {
+            return activity;
+        }
+
+        public void setActivity(String activity) {
+            this.activity = activity;
+        }
+    }
+}
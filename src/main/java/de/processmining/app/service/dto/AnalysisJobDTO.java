@@ -0,0 +1,173 @@
+package de.processmining.app.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import de.processmining.app.domain.AnalysisJob;
+import de.processmining.app.domain.enumeration.AnalysisJobStatus;
+import de.processmining.app.domain.enumeration.AnalysisJobType;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO representing an {@link AnalysisJob}, with its result as raw JSON once it succeeded.
+ */
+public class AnalysisJobDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long processId;
+
+    private AnalysisJobType type;
+
+    private AnalysisJobStatus status;
+
+    private double progress;
+
+    private String parameters;
+
+    private String createdBy;
+
+    private Instant createdDate;
+
+    private Instant startedDate;
+
+    private Instant finishedDate;
+
+    private String errorMessage;
+
+    private String result;
+
+    public AnalysisJobDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AnalysisJobDTO(AnalysisJob job) {
+        this.id = job.getId();
+        this.processId = job.getProcess().getId();
+        this.type = job.getType();
+        this.status = job.getStatus();
+        this.progress = job.getProgress();
+        this.parameters = job.getParameters();
+        this.createdBy = job.getCreatedBy();
+        this.createdDate = job.getCreatedDate();
+        this.startedDate = job.getStartedDate();
+        this.finishedDate = job.getFinishedDate();
+        this.errorMessage = job.getErrorMessage();
+        this.result = job.getResult();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(Long processId) {
+        this.processId = processId;
+    }
+
+    public AnalysisJobType getType() {
+        return type;
+    }
+
+    public void setType(AnalysisJobType type) {
+        this.type = type;
+    }
+
+    public AnalysisJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AnalysisJobStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the share of the work done, between 0 and 1.
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return the result of the analysis, as JSON, or {@code null} until the job succeeded.
+     */
+    @JsonRawValue
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AnalysisJobDTO{" +
+            "id=" + getId() +
+            ", processId=" + getProcessId() +
+            ", type='" + getType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", progress=" + getProgress() +
+            "}";
+    }
+}
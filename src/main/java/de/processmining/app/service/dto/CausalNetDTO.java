@@ -0,0 +1,225 @@
+package de.processmining.app.service.dto;
+
+import de.processmining.app.service.mining.CausalNet;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing a causal net discovered from the event log of a {@link de.processmining.app.domain.Process}.
+ */
+public class CausalNetDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<ActivityDTO> activities = new ArrayList<>();
+
+    private List<ArcDTO> arcs = new ArrayList<>();
+
+    public CausalNetDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CausalNetDTO(CausalNet net) {
+        for (CausalNet.Activity activity : net.getActivities()) {
+            activities.add(new ActivityDTO(activity));
+        }
+        for (CausalNet.Arc arc : net.getArcs()) {
+            arcs.add(new ArcDTO(arc));
+        }
+    }
+
+    public List<ActivityDTO> getActivities() {
+        return activities;
+    }
+
+    public void setActivities(List<ActivityDTO> activities) {
+        this.activities = activities;
+    }
+
+    public List<ArcDTO> getArcs() {
+        return arcs;
+    }
+
+    public void setArcs(List<ArcDTO> arcs) {
+        this.arcs = arcs;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CausalNetDTO{" +
+            "activities=" + activities.size() +
+            ", arcs=" + arcs.size() +
+            "}";
+    }
+
+    /**
+     * An activity of the net with its input and output bindings.
+     */
+    public static class ActivityDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+
+        private long frequency;
+
+        private long startFrequency;
+
+        private long endFrequency;
+
+        private List<List<String>> inputs = new ArrayList<>();
+
+        private List<List<String>> outputs = new ArrayList<>();
+
+        public ActivityDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ActivityDTO(CausalNet.Activity activity) {
+            this.name = activity.getName();
+            this.frequency = activity.getFrequency();
+            this.startFrequency = activity.getStartFrequency();
+            this.endFrequency = activity.getEndFrequency();
+            for (List<String> group : activity.getInputs()) {
+                inputs.add(new ArrayList<>(group));
+            }
+            for (List<String> group : activity.getOutputs()) {
+                outputs.add(new ArrayList<>(group));
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public long getStartFrequency() {
+            return startFrequency;
+        }
+
+        public void setStartFrequency(long startFrequency) {
+            this.startFrequency = startFrequency;
+        }
+
+        public long getEndFrequency() {
+            return endFrequency;
+        }
+
+        public void setEndFrequency(long endFrequency) {
+            this.endFrequency = endFrequency;
+        }
+
+        /**
+         * @return the groups of exclusive inputs of the activity, all groups being required.
+         */
+        public List<List<String>> getInputs() {
+            return inputs;
+        }
+
+        public void setInputs(List<List<String>> inputs) {
+            this.inputs = inputs;
+        }
+
+        /**
+         * @return the groups of exclusive outputs of the activity, all groups being activated.
+         */
+        public List<List<String>> getOutputs() {
+            return outputs;
+        }
+
+        public void setOutputs(List<List<String>> outputs) {
+            this.outputs = outputs;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ActivityDTO{" +
+                "name='" + name + "'" +
+                ", frequency=" + frequency +
+                ", inputs=" + inputs +
+                ", outputs=" + outputs +
+                "}";
+        }
+    }
+
+    /**
+     * A causal dependency between two activities.
+     */
+    public static class ArcDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String source;
+
+        private String target;
+
+        private long frequency;
+
+        private double dependency;
+
+        public ArcDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ArcDTO(CausalNet.Arc arc) {
+            this.source = arc.getSource();
+            this.target = arc.getTarget();
+            this.frequency = arc.getFrequency();
+            this.dependency = arc.getDependency();
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public double getDependency() {
+            return dependency;
+        }
+
+        public void setDependency(double dependency) {
+            this.dependency = dependency;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ArcDTO{" +
+                "source='" + source + "'" +
+                ", target='" + target + "'" +
+                ", frequency=" + frequency +
+                ", dependency=" + dependency +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package de.processmining.app.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the comparison of the directly-follows relations of consecutive time windows of the event log
+ * of a {@link de.processmining.app.domain.Process}.
+ */
+public class ConceptDriftDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String window;
+
+    private double significance;
+
+    private double minEffectSize;
+
+    private int windowCount;
+
+    private int driftCount;
+
+    private List<WindowComparisonDTO> comparisons = new ArrayList<>();
+
+    public String getWindow() {
+        return window;
+    }
+
+    public void setWindow(String window) {
+        this.window = window;
+    }
+
+    public double getSignificance() {
+        return significance;
+    }
+
+    public void setSignificance(double significance) {
+        this.significance = significance;
+    }
+
+    public double getMinEffectSize() {
+        return minEffectSize;
+    }
+
+    public void setMinEffectSize(double minEffectSize) {
+        this.minEffectSize = minEffectSize;
+    }
+
+    public int getWindowCount() {
+        return windowCount;
+    }
+
+    public void setWindowCount(int windowCount) {
+        this.windowCount = windowCount;
+    }
+
+    public int getDriftCount() {
+        return driftCount;
+    }
+
+    public void setDriftCount(int driftCount) {
+        this.driftCount = driftCount;
+    }
+
+    public List<WindowComparisonDTO> getComparisons() {
+        return comparisons;
+    }
+
+    public void setComparisons(List<WindowComparisonDTO> comparisons) {
+        this.comparisons = comparisons;
+    }
+
+    /**
+     * The chi-square test of a window against the previous window holding cases.
+     */
+    public static class WindowComparisonDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Instant previousWindowStart;
+
+        private long previousCaseCount;
+
+        private Instant windowStart;
+
+        private long caseCount;
+
+        private double chiSquare;
+
+        private int degreesOfFreedom;
+
+        private double pValue;
+
+        private double effectSize;
+
+        private boolean drift;
+
+        private List<RelationChangeDTO> changes = new ArrayList<>();
+
+        public Instant getPreviousWindowStart() {
+            return previousWindowStart;
+        }
+
+        public void setPreviousWindowStart(Instant previousWindowStart) {
+            this.previousWindowStart = previousWindowStart;
+        }
+
+        public long getPreviousCaseCount() {
+            return previousCaseCount;
+        }
+
+        public void setPreviousCaseCount(long previousCaseCount) {
+            this.previousCaseCount = previousCaseCount;
+        }
+
+        public Instant getWindowStart() {
+            return windowStart;
+        }
+
+        public void setWindowStart(Instant windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        public long getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(long caseCount) {
+            this.caseCount = caseCount;
+        }
+
+        public double getChiSquare() {
+            return chiSquare;
+        }
+
+        public void setChiSquare(double chiSquare) {
+            this.chiSquare = chiSquare;
+        }
+
+        public int getDegreesOfFreedom() {
+            return degreesOfFreedom;
+        }
+
+        public void setDegreesOfFreedom(int degreesOfFreedom) {
+            this.degreesOfFreedom = degreesOfFreedom;
+        }
+
+        @JsonProperty("pValue")
+        public double getPValue() {
+            return pValue;
+        }
+
+        public void setPValue(double pValue) {
+            this.pValue = pValue;
+        }
+
+        public double getEffectSize() {
+            return effectSize;
+        }
+
+        public void setEffectSize(double effectSize) {
+            this.effectSize = effectSize;
+        }
+
+        public boolean isDrift() {
+            return drift;
+        }
+
+        public void setDrift(boolean drift) {
+            this.drift = drift;
+        }
+
+        public List<RelationChangeDTO> getChanges() {
+            return changes;
+        }
+
+        public void setChanges(List<RelationChangeDTO> changes) {
+            this.changes = changes;
+        }
+    }
+
+    /**
+     * A directly-follows relation whose frequency changed between two windows. The source is {@code null} for the
+     * start of a case and the target {@code null} for its end.
+     */
+    public static class RelationChangeDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String source;
+
+        private String target;
+
+        private long previousFrequency;
+
+        private long frequency;
+
+        private double contribution;
+
+        public RelationChangeDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RelationChangeDTO(String source, String target, long previousFrequency, long frequency, double contribution) {
+            this.source = source;
+            this.target = target;
+            this.previousFrequency = previousFrequency;
+            this.frequency = frequency;
+            this.contribution = contribution;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public long getPreviousFrequency() {
+            return previousFrequency;
+        }
+
+        public void setPreviousFrequency(long previousFrequency) {
+            this.previousFrequency = previousFrequency;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public double getContribution() {
+            return contribution;
+        }
+
+        public void setContribution(double contribution) {
+            this.contribution = contribution;
+        }
+    }
+}
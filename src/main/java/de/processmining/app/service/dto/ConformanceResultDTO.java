@@ -0,0 +1,252 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the conformance of the event log of a {@link de.processmining.app.domain.Process} to a process model.
+ */
+public class ConformanceResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long traceCount;
+
+    private long fittingTraceCount;
+
+    private double fitness;
+
+    private double precision;
+
+    private long producedTokens;
+
+    private long consumedTokens;
+
+    private long missingTokens;
+
+    private long remainingTokens;
+
+    private int deviatingVariantCount;
+
+    private List<DeviatingVariantDTO> deviatingVariants = new ArrayList<>();
+
+    public long getTraceCount() {
+        return traceCount;
+    }
+
+    public void setTraceCount(long traceCount) {
+        this.traceCount = traceCount;
+    }
+
+    public long getFittingTraceCount() {
+        return fittingTraceCount;
+    }
+
+    public void setFittingTraceCount(long fittingTraceCount) {
+        this.fittingTraceCount = fittingTraceCount;
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+    }
+
+    public double getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(double precision) {
+        this.precision = precision;
+    }
+
+    public long getProducedTokens() {
+        return producedTokens;
+    }
+
+    public void setProducedTokens(long producedTokens) {
+        this.producedTokens = producedTokens;
+    }
+
+    public long getConsumedTokens() {
+        return consumedTokens;
+    }
+
+    public void setConsumedTokens(long consumedTokens) {
+        this.consumedTokens = consumedTokens;
+    }
+
+    public long getMissingTokens() {
+        return missingTokens;
+    }
+
+    public void setMissingTokens(long missingTokens) {
+        this.missingTokens = missingTokens;
+    }
+
+    public long getRemainingTokens() {
+        return remainingTokens;
+    }
+
+    public void setRemainingTokens(long remainingTokens) {
+        this.remainingTokens = remainingTokens;
+    }
+
+    /**
+     * @return the number of deviating variants, which may exceed the number of {@link #getDeviatingVariants() variants listed}.
+     */
+    public int getDeviatingVariantCount() {
+        return deviatingVariantCount;
+    }
+
+    public void setDeviatingVariantCount(int deviatingVariantCount) {
+        this.deviatingVariantCount = deviatingVariantCount;
+    }
+
+    /**
+     * @return the deviating variants with the most cases first.
+     */
+    public List<DeviatingVariantDTO> getDeviatingVariants() {
+        return deviatingVariants;
+    }
+
+    public void setDeviatingVariants(List<DeviatingVariantDTO> deviatingVariants) {
+        this.deviatingVariants = deviatingVariants;
+    }
+
+    /**
+     * A trace variant whose replay deviated from the model, with the cases having this trace.
+     */
+    public static class DeviatingVariantDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private List<String> activities = new ArrayList<>();
+
+        private long caseCount;
+
+        private List<String> caseIds = new ArrayList<>();
+
+        private double fitness;
+
+        private int missingTokens;
+
+        private int remainingTokens;
+
+        private List<EventDeviationDTO> deviations = new ArrayList<>();
+
+        public List<String> getActivities() {
+            return activities;
+        }
+
+        public void setActivities(List<String> activities) {
+            this.activities = activities;
+        }
+
+        /**
+         * @return the number of cases having this trace, which may exceed the number of {@link #getCaseIds() case ids listed}.
+         */
+        public long getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(long caseCount) {
+            this.caseCount = caseCount;
+        }
+
+        public List<String> getCaseIds() {
+            return caseIds;
+        }
+
+        public void setCaseIds(List<String> caseIds) {
+            this.caseIds = caseIds;
+        }
+
+        public double getFitness() {
+            return fitness;
+        }
+
+        public void setFitness(double fitness) {
+            this.fitness = fitness;
+        }
+
+        public int getMissingTokens() {
+            return missingTokens;
+        }
+
+        public void setMissingTokens(int missingTokens) {
+            this.missingTokens = missingTokens;
+        }
+
+        public int getRemainingTokens() {
+            return remainingTokens;
+        }
+
+        public void setRemainingTokens(int remainingTokens) {
+            this.remainingTokens = remainingTokens;
+        }
+
+        public List<EventDeviationDTO> getDeviations() {
+            return deviations;
+        }
+
+        public void setDeviations(List<EventDeviationDTO> deviations) {
+            this.deviations = deviations;
+        }
+    }
+
+    /**
+     * An event of a deviating variant that could not be replayed as is.
+     */
+    public static class EventDeviationDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int position;
+
+        private String activity;
+
+        private String type;
+
+        public EventDeviationDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public EventDeviationDTO(int position, String activity, String type) {
+            this.position = position;
+            this.activity = activity;
+            this.type = type;
+        }
+
+        /**
+         * @return the position of the event in the trace, from 0.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        public void setPosition(int position) {
+            this.position = position;
+        }
+
+        public String getActivity() {
+            return activity;
+        }
+
+        public void setActivity(String activity) {
+            this.activity = activity;
+        }
+
+        /**
+         * @return {@code UNKNOWN_ACTIVITY} if the model has no transition for the activity, {@code MISSING_TOKENS} if
+         * tokens had to be created to fire it.
+         */
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.constraints.NotBlank;
+
+/**
+ * A DTO mapping the header columns of a CSV event log to the event fields.
+ */
+public class CsvColumnMappingDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank
+    private String caseId;
+
+    @NotBlank
+    private String activity;
+
+    private String timestamp;
+
+    private String resource;
+
+    private List<String> attributes = new ArrayList<>();
+
+    private char delimiter = ',';
+
+    /**
+     * {@link java.time.format.DateTimeFormatter} pattern of the timestamp column, ISO-8601 if not set.
+     */
+    private String timestampFormat;
+
+    public String getCaseId() {
+        return caseId;
+    }
+
+    public void setCaseId(String caseId) {
+        this.caseId = caseId;
+    }
+
+    public String getActivity() {
+        return activity;
+    }
+
+    public void setActivity(String activity) {
+        this.activity = activity;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(List<String> attributes) {
+        this.attributes = attributes;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public String getTimestampFormat() {
+        return timestampFormat;
+    }
+
+    public void setTimestampFormat(String timestampFormat) {
+        this.timestampFormat = timestampFormat;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CsvColumnMappingDTO{" +
+            "caseId='" + caseId + "'" +
+            ", activity='" + activity + "'" +
+            ", timestamp='" + timestamp + "'" +
+            ", resource='" + resource + "'" +
+            ", attributes=" + attributes +
+            ", delimiter='" + delimiter + "'" +
+            ", timestampFormat='" + timestampFormat + "'" +
+            "}";
+    }
+}
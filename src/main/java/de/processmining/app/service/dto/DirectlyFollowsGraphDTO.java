@@ -0,0 +1,172 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the directly-follows graph of the event log of a {@link de.processmining.app.domain.Process}.
+ */
+public class DirectlyFollowsGraphDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long caseCount;
+
+    private List<NodeDTO> nodes = new ArrayList<>();
+
+    private List<EdgeDTO> edges = new ArrayList<>();
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(long caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public List<NodeDTO> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<NodeDTO> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<EdgeDTO> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<EdgeDTO> edges) {
+        this.edges = edges;
+    }
+
+    /**
+     * An activity of the graph.
+     */
+    public static class NodeDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String activity;
+
+        private long frequency;
+
+        private long startFrequency;
+
+        private long endFrequency;
+
+        public NodeDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public NodeDTO(String activity, long frequency, long startFrequency, long endFrequency) {
+            this.activity = activity;
+            this.frequency = frequency;
+            this.startFrequency = startFrequency;
+            this.endFrequency = endFrequency;
+        }
+
+        public String getActivity() {
+            return activity;
+        }
+
+        public void setActivity(String activity) {
+            this.activity = activity;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public long getStartFrequency() {
+            return startFrequency;
+        }
+
+        public void setStartFrequency(long startFrequency) {
+            this.startFrequency = startFrequency;
+        }
+
+        public long getEndFrequency() {
+            return endFrequency;
+        }
+
+        public void setEndFrequency(long endFrequency) {
+            this.endFrequency = endFrequency;
+        }
+    }
+
+    /**
+     * A directly-follows relation between two activities, with durations in milliseconds.
+     */
+    public static class EdgeDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String source;
+
+        private String target;
+
+        private long frequency;
+
+        private long totalDuration;
+
+        private Long meanDuration;
+
+        public EdgeDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public EdgeDTO(String source, String target, long frequency, long totalDuration, Long meanDuration) {
+            this.source = source;
+            this.target = target;
+            this.frequency = frequency;
+            this.totalDuration = totalDuration;
+            this.meanDuration = meanDuration;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public long getTotalDuration() {
+            return totalDuration;
+        }
+
+        public void setTotalDuration(long totalDuration) {
+            this.totalDuration = totalDuration;
+        }
+
+        /**
+         * @return the mean duration, or {@code null} if no occurrence of the edge has timestamps.
+         */
+        public Long getMeanDuration() {
+            return meanDuration;
+        }
+
+        public void setMeanDuration(Long meanDuration) {
+            this.meanDuration = meanDuration;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the dotted chart of the event log of a {@link de.processmining.app.domain.Process}, downsampled
+ * to a grid of cells: columns split the time from {@code startTime} to {@code endTime} evenly and rows hold
+ * consecutive cases ordered by start time. Activities of cells are indexes in {@code activities}.
+ */
+public class DottedChartDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long caseCount;
+
+    private long eventCount;
+
+    private int width;
+
+    private int height;
+
+    private Instant startTime;
+
+    private Instant endTime;
+
+    private List<String> activities = new ArrayList<>();
+
+    private List<RowDTO> rows = new ArrayList<>();
+
+    private List<CellDTO> cells = new ArrayList<>();
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(long caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public List<String> getActivities() {
+        return activities;
+    }
+
+    public void setActivities(List<String> activities) {
+        this.activities = activities;
+    }
+
+    public List<RowDTO> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowDTO> rows) {
+        this.rows = rows;
+    }
+
+    public List<CellDTO> getCells() {
+        return cells;
+    }
+
+    public void setCells(List<CellDTO> cells) {
+        this.cells = cells;
+    }
+
+    /**
+     * A row of the chart, spanning the first to the last event of its cases.
+     */
+    public static class RowDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String firstCaseId;
+
+        private int caseCount;
+
+        private Instant startTime;
+
+        private Instant endTime;
+
+        public RowDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowDTO(String firstCaseId, int caseCount, Instant startTime, Instant endTime) {
+            this.firstCaseId = firstCaseId;
+            this.caseCount = caseCount;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        public String getFirstCaseId() {
+            return firstCaseId;
+        }
+
+        public void setFirstCaseId(String firstCaseId) {
+            this.firstCaseId = firstCaseId;
+        }
+
+        public int getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(int caseCount) {
+            this.caseCount = caseCount;
+        }
+
+        public Instant getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(Instant startTime) {
+            this.startTime = startTime;
+        }
+
+        public Instant getEndTime() {
+            return endTime;
+        }
+
+        public void setEndTime(Instant endTime) {
+            this.endTime = endTime;
+        }
+    }
+
+    /**
+     * A non-empty cell of the chart with the number of its events and its first and last events.
+     */
+    public static class CellDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int x;
+
+        private int y;
+
+        private int eventCount;
+
+        private Instant firstTime;
+
+        private int firstActivity;
+
+        private Instant lastTime;
+
+        private int lastActivity;
+
+        public CellDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public CellDTO(int x, int y, int eventCount, Instant firstTime, int firstActivity, Instant lastTime, int lastActivity) {
+            this.x = x;
+            this.y = y;
+            this.eventCount = eventCount;
+            this.firstTime = firstTime;
+            this.firstActivity = firstActivity;
+            this.lastTime = lastTime;
+            this.lastActivity = lastActivity;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public void setY(int y) {
+            this.y = y;
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+
+        public void setEventCount(int eventCount) {
+            this.eventCount = eventCount;
+        }
+
+        public Instant getFirstTime() {
+            return firstTime;
+        }
+
+        public void setFirstTime(Instant firstTime) {
+            this.firstTime = firstTime;
+        }
+
+        public int getFirstActivity() {
+            return firstActivity;
+        }
+
+        public void setFirstActivity(int firstActivity) {
+            this.firstActivity = firstActivity;
+        }
+
+        public Instant getLastTime() {
+            return lastTime;
+        }
+
+        public void setLastTime(Instant lastTime) {
+            this.lastTime = lastTime;
+        }
+
+        public int getLastActivity() {
+            return lastActivity;
+        }
+
+        public void setLastActivity(int lastActivity) {
+            this.lastActivity = lastActivity;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.validation.constraints.NotBlank;
+
+/**
+ * A DTO representing an event appended to the event log of a {@link de.processmining.app.domain.Process}.
+ */
+public class EventDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank
+    private String caseId;
+
+    @NotBlank
+    private String activity;
+
+    private Instant timestamp;
+
+    private String resource;
+
+    private Map<String, String> attributes = new LinkedHashMap<>();
+
+    public String getCaseId() {
+        return caseId;
+    }
+
+    public void setCaseId(String caseId) {
+        this.caseId = caseId;
+    }
+
+    public String getActivity() {
+        return activity;
+    }
+
+    public void setActivity(String activity) {
+        this.activity = activity;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EventDTO{" +
+            "caseId='" + caseId + "'" +
+            ", activity='" + activity + "'" +
+            ", timestamp=" + timestamp +
+            ", resource='" + resource + "'" +
+            "}";
+    }
+}
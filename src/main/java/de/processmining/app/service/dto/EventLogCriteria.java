@@ -0,0 +1,208 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import io.github.jhipster.service.Criteria;
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.IntegerFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the cases of the event log of a {@link de.processmining.app.domain.Process}. This class is used
+ * in {@link de.processmining.app.web.rest.ProcessMiningResource} to receive the case filters from the Http GET request
+ * parameters; a case must match all of them.
+ * For example the following could be a valid request:
+ * {@code /processes/1/variants?duration.lessThan=86400000&activity.notEquals=Cancel&attribute[region].in=EU,US&follows=Approve->Pay}
+ * <ul>
+ * <li>{@code caseStart}, {@code caseEnd}: the time of the first and last event of the case.</li>
+ * <li>{@code duration}: the time between the first and last event of the case, in milliseconds.</li>
+ * <li>{@code activity}, {@code resource}: the activities and resources of the events of the case; {@code equals},
+ * {@code in} and {@code contains} select cases with at least one matching event, {@code notEquals}, {@code notIn}
+ * and {@code doesNotContain} cases without such event.</li>
+ * <li>{@code variant}: the rank of the variant of the case, 1 being the most frequent one.</li>
+ * <li>{@code attribute[name]}: the value of a case attribute.</li>
+ * <li>{@code follows}, {@code directlyFollows}: relations {@code A->B} between activities, the case must have an
+ * event of B after (directly after) an event of A.</li>
+ * </ul>
+ */
+public class EventLogCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private InstantFilter caseStart;
+
+    private InstantFilter caseEnd;
+
+    private LongFilter duration;
+
+    private StringFilter activity;
+
+    private StringFilter resource;
+
+    private IntegerFilter variant;
+
+    private Map<String, StringFilter> attribute = new HashMap<>();
+
+    private List<String> follows = new ArrayList<>();
+
+    private List<String> directlyFollows = new ArrayList<>();
+
+    public EventLogCriteria() {
+    }
+
+    public EventLogCriteria(EventLogCriteria other) {
+        this.caseStart = other.caseStart == null ? null : other.caseStart.copy();
+        this.caseEnd = other.caseEnd == null ? null : other.caseEnd.copy();
+        this.duration = other.duration == null ? null : other.duration.copy();
+        this.activity = other.activity == null ? null : other.activity.copy();
+        this.resource = other.resource == null ? null : other.resource.copy();
+        this.variant = other.variant == null ? null : other.variant.copy();
+        other.attribute.forEach((name, filter) -> this.attribute.put(name, filter.copy()));
+        this.follows = new ArrayList<>(other.follows);
+        this.directlyFollows = new ArrayList<>(other.directlyFollows);
+    }
+
+    @Override
+    public EventLogCriteria copy() {
+        return new EventLogCriteria(this);
+    }
+
+    /**
+     * @return {@code true} if no filter is set, so that every case matches.
+     */
+    public boolean isEmpty() {
+        return caseStart == null && caseEnd == null && duration == null && activity == null && resource == null &&
+            variant == null && attribute.isEmpty() && follows.isEmpty() && directlyFollows.isEmpty();
+    }
+
+    public InstantFilter getCaseStart() {
+        return caseStart;
+    }
+
+    public void setCaseStart(InstantFilter caseStart) {
+        this.caseStart = caseStart;
+    }
+
+    public InstantFilter getCaseEnd() {
+        return caseEnd;
+    }
+
+    public void setCaseEnd(InstantFilter caseEnd) {
+        this.caseEnd = caseEnd;
+    }
+
+    public LongFilter getDuration() {
+        return duration;
+    }
+
+    public void setDuration(LongFilter duration) {
+        this.duration = duration;
+    }
+
+    public StringFilter getActivity() {
+        return activity;
+    }
+
+    public void setActivity(StringFilter activity) {
+        this.activity = activity;
+    }
+
+    public StringFilter getResource() {
+        return resource;
+    }
+
+    public void setResource(StringFilter resource) {
+        this.resource = resource;
+    }
+
+    public IntegerFilter getVariant() {
+        return variant;
+    }
+
+    public void setVariant(IntegerFilter variant) {
+        this.variant = variant;
+    }
+
+    public Map<String, StringFilter> getAttribute() {
+        return attribute;
+    }
+
+    public void setAttribute(Map<String, StringFilter> attribute) {
+        this.attribute = attribute;
+    }
+
+    public List<String> getFollows() {
+        return follows;
+    }
+
+    public void setFollows(List<String> follows) {
+        this.follows = follows;
+    }
+
+    public List<String> getDirectlyFollows() {
+        return directlyFollows;
+    }
+
+    public void setDirectlyFollows(List<String> directlyFollows) {
+        this.directlyFollows = directlyFollows;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EventLogCriteria that = (EventLogCriteria) o;
+        return
+            Objects.equals(caseStart, that.caseStart) &&
+            Objects.equals(caseEnd, that.caseEnd) &&
+            Objects.equals(duration, that.duration) &&
+            Objects.equals(activity, that.activity) &&
+            Objects.equals(resource, that.resource) &&
+            Objects.equals(variant, that.variant) &&
+            Objects.equals(attribute, that.attribute) &&
+            Objects.equals(follows, that.follows) &&
+            Objects.equals(directlyFollows, that.directlyFollows);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        caseStart,
+        caseEnd,
+        duration,
+        activity,
+        resource,
+        variant,
+        attribute,
+        follows,
+        directlyFollows
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EventLogCriteria{" +
+                (caseStart != null ? "caseStart=" + caseStart + ", " : "") +
+                (caseEnd != null ? "caseEnd=" + caseEnd + ", " : "") +
+                (duration != null ? "duration=" + duration + ", " : "") +
+                (activity != null ? "activity=" + activity + ", " : "") +
+                (resource != null ? "resource=" + resource + ", " : "") +
+                (variant != null ? "variant=" + variant + ", " : "") +
+                (!attribute.isEmpty() ? "attribute=" + attribute + ", " : "") +
+                (!follows.isEmpty() ? "follows=" + follows + ", " : "") +
+                (!directlyFollows.isEmpty() ? "directlyFollows=" + directlyFollows + ", " : "") +
+            "}";
+    }
+
+}
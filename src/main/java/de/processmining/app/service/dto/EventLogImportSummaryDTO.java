@@ -0,0 +1,74 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO summarizing the import of an event log into a {@link de.processmining.app.domain.Process}.
+ */
+public class EventLogImportSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long processId;
+
+    private long traceCount;
+
+    private long eventCount;
+
+    private long objectCount;
+
+    public EventLogImportSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EventLogImportSummaryDTO(Long processId, long traceCount, long eventCount) {
+        this.processId = processId;
+        this.traceCount = traceCount;
+        this.eventCount = eventCount;
+    }
+
+    public Long getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(Long processId) {
+        this.processId = processId;
+    }
+
+    public long getTraceCount() {
+        return traceCount;
+    }
+
+    public void setTraceCount(long traceCount) {
+        this.traceCount = traceCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * @return the number of objects of an object-centric event log, {@code 0} for other logs.
+     */
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public void setObjectCount(long objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EventLogImportSummaryDTO{" +
+            "processId=" + processId +
+            ", traceCount=" + traceCount +
+            ", eventCount=" + eventCount +
+            ", objectCount=" + objectCount +
+            "}";
+    }
+}
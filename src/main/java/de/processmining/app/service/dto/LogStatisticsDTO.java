@@ -0,0 +1,330 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the summary statistics of the event log of a {@link de.processmining.app.domain.Process}.
+ * Durations are in milliseconds and are {@code null} when no case has timestamps.
+ */
+public class LogStatisticsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long caseCount;
+
+    private long eventCount;
+
+    private int activityCount;
+
+    private int resourceCount;
+
+    private int minCaseLength;
+
+    private int maxCaseLength;
+
+    private double meanCaseLength;
+
+    private Instant startTime;
+
+    private Instant endTime;
+
+    private Long minDuration;
+
+    private Long meanDuration;
+
+    private Long p50Duration;
+
+    private Long p90Duration;
+
+    private Long maxDuration;
+
+    private List<ActivityStatisticsDTO> activities = new ArrayList<>();
+
+    private List<DurationBucketDTO> durationHistogram = new ArrayList<>();
+
+    private Instant throughputStart;
+
+    private long throughputBucketSize;
+
+    private List<Long> startedCases = new ArrayList<>();
+
+    private List<Long> completedCases = new ArrayList<>();
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(long caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public int getActivityCount() {
+        return activityCount;
+    }
+
+    public void setActivityCount(int activityCount) {
+        this.activityCount = activityCount;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    public void setResourceCount(int resourceCount) {
+        this.resourceCount = resourceCount;
+    }
+
+    public int getMinCaseLength() {
+        return minCaseLength;
+    }
+
+    public void setMinCaseLength(int minCaseLength) {
+        this.minCaseLength = minCaseLength;
+    }
+
+    public int getMaxCaseLength() {
+        return maxCaseLength;
+    }
+
+    public void setMaxCaseLength(int maxCaseLength) {
+        this.maxCaseLength = maxCaseLength;
+    }
+
+    public double getMeanCaseLength() {
+        return meanCaseLength;
+    }
+
+    public void setMeanCaseLength(double meanCaseLength) {
+        this.meanCaseLength = meanCaseLength;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public Long getMinDuration() {
+        return minDuration;
+    }
+
+    public void setMinDuration(Long minDuration) {
+        this.minDuration = minDuration;
+    }
+
+    public Long getMeanDuration() {
+        return meanDuration;
+    }
+
+    public void setMeanDuration(Long meanDuration) {
+        this.meanDuration = meanDuration;
+    }
+
+    public Long getP50Duration() {
+        return p50Duration;
+    }
+
+    public void setP50Duration(Long p50Duration) {
+        this.p50Duration = p50Duration;
+    }
+
+    public Long getP90Duration() {
+        return p90Duration;
+    }
+
+    public void setP90Duration(Long p90Duration) {
+        this.p90Duration = p90Duration;
+    }
+
+    public Long getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Long maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public List<ActivityStatisticsDTO> getActivities() {
+        return activities;
+    }
+
+    public void setActivities(List<ActivityStatisticsDTO> activities) {
+        this.activities = activities;
+    }
+
+    public List<DurationBucketDTO> getDurationHistogram() {
+        return durationHistogram;
+    }
+
+    public void setDurationHistogram(List<DurationBucketDTO> durationHistogram) {
+        this.durationHistogram = durationHistogram;
+    }
+
+    public Instant getThroughputStart() {
+        return throughputStart;
+    }
+
+    public void setThroughputStart(Instant throughputStart) {
+        this.throughputStart = throughputStart;
+    }
+
+    public long getThroughputBucketSize() {
+        return throughputBucketSize;
+    }
+
+    public void setThroughputBucketSize(long throughputBucketSize) {
+        this.throughputBucketSize = throughputBucketSize;
+    }
+
+    public List<Long> getStartedCases() {
+        return startedCases;
+    }
+
+    public void setStartedCases(List<Long> startedCases) {
+        this.startedCases = startedCases;
+    }
+
+    public List<Long> getCompletedCases() {
+        return completedCases;
+    }
+
+    public void setCompletedCases(List<Long> completedCases) {
+        this.completedCases = completedCases;
+    }
+
+    /**
+     * How often an activity occurs, in how many cases, and how many cases it starts and ends.
+     */
+    public static class ActivityStatisticsDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String activity;
+
+        private long frequency;
+
+        private long caseFrequency;
+
+        private long startFrequency;
+
+        private long endFrequency;
+
+        public ActivityStatisticsDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ActivityStatisticsDTO(String activity, long frequency, long caseFrequency, long startFrequency, long endFrequency) {
+            this.activity = activity;
+            this.frequency = frequency;
+            this.caseFrequency = caseFrequency;
+            this.startFrequency = startFrequency;
+            this.endFrequency = endFrequency;
+        }
+
+        public String getActivity() {
+            return activity;
+        }
+
+        public void setActivity(String activity) {
+            this.activity = activity;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public long getCaseFrequency() {
+            return caseFrequency;
+        }
+
+        public void setCaseFrequency(long caseFrequency) {
+            this.caseFrequency = caseFrequency;
+        }
+
+        public long getStartFrequency() {
+            return startFrequency;
+        }
+
+        public void setStartFrequency(long startFrequency) {
+            this.startFrequency = startFrequency;
+        }
+
+        public long getEndFrequency() {
+            return endFrequency;
+        }
+
+        public void setEndFrequency(long endFrequency) {
+            this.endFrequency = endFrequency;
+        }
+    }
+
+    /**
+     * The number of cases whose duration is at least {@code lowerBound} and less than {@code upperBound}.
+     */
+    public static class DurationBucketDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long lowerBound;
+
+        private long upperBound;
+
+        private long caseCount;
+
+        public DurationBucketDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public DurationBucketDTO(long lowerBound, long upperBound, long caseCount) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.caseCount = caseCount;
+        }
+
+        public long getLowerBound() {
+            return lowerBound;
+        }
+
+        public void setLowerBound(long lowerBound) {
+            this.lowerBound = lowerBound;
+        }
+
+        public long getUpperBound() {
+            return upperBound;
+        }
+
+        public void setUpperBound(long upperBound) {
+            this.upperBound = upperBound;
+        }
+
+        public long getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(long caseCount) {
+            this.caseCount = caseCount;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the object-centric directly-follows graph of the object-centric event log of a
+ * {@link de.processmining.app.domain.Process}: one directly-follows graph per object type.
+ */
+public class ObjectCentricDirectlyFollowsGraphDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long eventCount;
+
+    private long objectCount;
+
+    private List<ObjectTypeGraphDTO> objectTypes = new ArrayList<>();
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public void setObjectCount(long objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    public List<ObjectTypeGraphDTO> getObjectTypes() {
+        return objectTypes;
+    }
+
+    public void setObjectTypes(List<ObjectTypeGraphDTO> objectTypes) {
+        this.objectTypes = objectTypes;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ObjectCentricDirectlyFollowsGraphDTO{" +
+            "eventCount=" + eventCount +
+            ", objectCount=" + objectCount +
+            ", objectTypes=" + objectTypes.size() +
+            "}";
+    }
+
+    /**
+     * The directly-follows graph of the objects of one type, whose case count is the number of objects with events.
+     */
+    public static class ObjectTypeGraphDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String objectType;
+
+        private long objectCount;
+
+        private DirectlyFollowsGraphDTO graph;
+
+        public ObjectTypeGraphDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ObjectTypeGraphDTO(String objectType, long objectCount, DirectlyFollowsGraphDTO graph) {
+            this.objectType = objectType;
+            this.objectCount = objectCount;
+            this.graph = graph;
+        }
+
+        public String getObjectType() {
+            return objectType;
+        }
+
+        public void setObjectType(String objectType) {
+            this.objectType = objectType;
+        }
+
+        public long getObjectCount() {
+            return objectCount;
+        }
+
+        public void setObjectCount(long objectCount) {
+            this.objectCount = objectCount;
+        }
+
+        public DirectlyFollowsGraphDTO getGraph() {
+            return graph;
+        }
+
+        public void setGraph(DirectlyFollowsGraphDTO graph) {
+            this.graph = graph;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ObjectTypeGraphDTO{" +
+                "objectType='" + objectType + "'" +
+                ", objectCount=" + objectCount +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the performance of the directly-follows edges of the event log of a
+ * {@link de.processmining.app.domain.Process}. Durations are in milliseconds; throughputs are counts per time bucket,
+ * the first bucket starting at {@code bucketStart}.
+ */
+public class PerformanceSpectrumDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long caseCount;
+
+    private Instant bucketStart;
+
+    private long bucketSize;
+
+    private List<Long> caseThroughput = new ArrayList<>();
+
+    private List<EdgePerformanceDTO> edges = new ArrayList<>();
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(long caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getBucketSize() {
+        return bucketSize;
+    }
+
+    public void setBucketSize(long bucketSize) {
+        this.bucketSize = bucketSize;
+    }
+
+    public List<Long> getCaseThroughput() {
+        return caseThroughput;
+    }
+
+    public void setCaseThroughput(List<Long> caseThroughput) {
+        this.caseThroughput = caseThroughput;
+    }
+
+    public List<EdgePerformanceDTO> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<EdgePerformanceDTO> edges) {
+        this.edges = edges;
+    }
+
+    /**
+     * A directly-follows edge, with the estimated percentiles of the time between its activities and the number of
+     * its occurrences completed in each bucket. Durations are {@code null} when no occurrence has timestamps.
+     */
+    public static class EdgePerformanceDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String source;
+
+        private String target;
+
+        private long frequency;
+
+        private long timedFrequency;
+
+        private Long minDuration;
+
+        private Long p50Duration;
+
+        private Long p90Duration;
+
+        private Long p99Duration;
+
+        private Long maxDuration;
+
+        private List<Long> throughput = new ArrayList<>();
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+
+        public long getTimedFrequency() {
+            return timedFrequency;
+        }
+
+        public void setTimedFrequency(long timedFrequency) {
+            this.timedFrequency = timedFrequency;
+        }
+
+        public Long getMinDuration() {
+            return minDuration;
+        }
+
+        public void setMinDuration(Long minDuration) {
+            this.minDuration = minDuration;
+        }
+
+        public Long getP50Duration() {
+            return p50Duration;
+        }
+
+        public void setP50Duration(Long p50Duration) {
+            this.p50Duration = p50Duration;
+        }
+
+        public Long getP90Duration() {
+            return p90Duration;
+        }
+
+        public void setP90Duration(Long p90Duration) {
+            this.p90Duration = p90Duration;
+        }
+
+        public Long getP99Duration() {
+            return p99Duration;
+        }
+
+        public void setP99Duration(Long p99Duration) {
+            this.p99Duration = p99Duration;
+        }
+
+        public Long getMaxDuration() {
+            return maxDuration;
+        }
+
+        public void setMaxDuration(Long maxDuration) {
+            this.maxDuration = maxDuration;
+        }
+
+        public List<Long> getThroughput() {
+            return throughput;
+        }
+
+        public void setThroughput(List<Long> throughput) {
+            this.throughput = throughput;
+        }
+    }
+}
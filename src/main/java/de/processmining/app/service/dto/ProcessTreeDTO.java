@@ -0,0 +1,71 @@
+package de.processmining.app.service.dto;
+
+import de.processmining.app.service.mining.ProcessTree;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing a node of a process tree discovered from the event log of a {@link de.processmining.app.domain.Process}.
+ */
+public class ProcessTreeDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private ProcessTree.Operator operator;
+
+    private String activity;
+
+    private List<ProcessTreeDTO> children = new ArrayList<>();
+
+    public ProcessTreeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProcessTreeDTO(ProcessTree tree) {
+        this.operator = tree.getOperator();
+        this.activity = tree.getActivity();
+        for (ProcessTree child : tree.getChildren()) {
+            children.add(new ProcessTreeDTO(child));
+        }
+    }
+
+    public ProcessTree.Operator getOperator() {
+        return operator;
+    }
+
+    public void setOperator(ProcessTree.Operator operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * @return the activity name of an activity leaf, {@code null} for other nodes.
+     */
+    public String getActivity() {
+        return activity;
+    }
+
+    public void setActivity(String activity) {
+        this.activity = activity;
+    }
+
+    /**
+     * @return the children of an operator node, the body and the redo part for a loop.
+     */
+    public List<ProcessTreeDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<ProcessTreeDTO> children) {
+        this.children = children;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProcessTreeDTO{" +
+            "operator=" + operator +
+            ", activity='" + activity + "'" +
+            ", children=" + children.size() +
+            "}";
+    }
+}
@@ -0,0 +1,147 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the predicted remaining time of a case of the event log of a
+ * {@link de.processmining.app.domain.Process}. Times are counted in milliseconds from the last event of the case and
+ * are {@code null} when they cannot be predicted.
+ */
+public class RemainingTimePredictionDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String caseId;
+
+    private int eventCount;
+
+    private Instant startTime;
+
+    private Instant lastEventTime;
+
+    private Long elapsedTime;
+
+    private List<String> state = new ArrayList<>();
+
+    private long support;
+
+    private Long predictedRemainingTime;
+
+    private Long p50RemainingTime;
+
+    private Long p90RemainingTime;
+
+    private Instant predictedEndTime;
+
+    public String getCaseId() {
+        return caseId;
+    }
+
+    public void setCaseId(String caseId) {
+        this.caseId = caseId;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(int eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getLastEventTime() {
+        return lastEventTime;
+    }
+
+    public void setLastEventTime(Instant lastEventTime) {
+        this.lastEventTime = lastEventTime;
+    }
+
+    public Long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public void setElapsedTime(Long elapsedTime) {
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return the last activities of the case the prediction is based on, oldest first.
+     */
+    public List<String> getState() {
+        return state;
+    }
+
+    public void setState(List<String> state) {
+        this.state = state;
+    }
+
+    /**
+     * @return the number of events of completed cases the prediction is based on.
+     */
+    public long getSupport() {
+        return support;
+    }
+
+    public void setSupport(long support) {
+        this.support = support;
+    }
+
+    /**
+     * @return the mean remaining time.
+     */
+    public Long getPredictedRemainingTime() {
+        return predictedRemainingTime;
+    }
+
+    public void setPredictedRemainingTime(Long predictedRemainingTime) {
+        this.predictedRemainingTime = predictedRemainingTime;
+    }
+
+    public Long getP50RemainingTime() {
+        return p50RemainingTime;
+    }
+
+    public void setP50RemainingTime(Long p50RemainingTime) {
+        this.p50RemainingTime = p50RemainingTime;
+    }
+
+    public Long getP90RemainingTime() {
+        return p90RemainingTime;
+    }
+
+    public void setP90RemainingTime(Long p90RemainingTime) {
+        this.p90RemainingTime = p90RemainingTime;
+    }
+
+    public Instant getPredictedEndTime() {
+        return predictedEndTime;
+    }
+
+    public void setPredictedEndTime(Instant predictedEndTime) {
+        this.predictedEndTime = predictedEndTime;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RemainingTimePredictionDTO{" +
+            "caseId='" + caseId + "'" +
+            ", eventCount=" + eventCount +
+            ", state=" + state +
+            ", support=" + support +
+            ", predictedRemainingTime=" + predictedRemainingTime +
+            ", predictedEndTime=" + predictedEndTime +
+            "}";
+    }
+}
@@ -0,0 +1,187 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the strongest links of the social network of the resources of the event log of a
+ * {@link de.processmining.app.domain.Process}, with the resources they involve.
+ */
+public class SocialNetworkDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int resourceCount;
+
+    private List<ResourceDTO> resources = new ArrayList<>();
+
+    private long handoverCount;
+
+    private List<ResourceLinkDTO> handovers = new ArrayList<>();
+
+    private long workingTogetherCount;
+
+    private List<ResourceLinkDTO> workingTogether = new ArrayList<>();
+
+    private long subcontractingCount;
+
+    private List<ResourceLinkDTO> subcontracting = new ArrayList<>();
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    public void setResourceCount(int resourceCount) {
+        this.resourceCount = resourceCount;
+    }
+
+    public List<ResourceDTO> getResources() {
+        return resources;
+    }
+
+    public void setResources(List<ResourceDTO> resources) {
+        this.resources = resources;
+    }
+
+    public long getHandoverCount() {
+        return handoverCount;
+    }
+
+    public void setHandoverCount(long handoverCount) {
+        this.handoverCount = handoverCount;
+    }
+
+    public List<ResourceLinkDTO> getHandovers() {
+        return handovers;
+    }
+
+    public void setHandovers(List<ResourceLinkDTO> handovers) {
+        this.handovers = handovers;
+    }
+
+    public long getWorkingTogetherCount() {
+        return workingTogetherCount;
+    }
+
+    public void setWorkingTogetherCount(long workingTogetherCount) {
+        this.workingTogetherCount = workingTogetherCount;
+    }
+
+    public List<ResourceLinkDTO> getWorkingTogether() {
+        return workingTogether;
+    }
+
+    public void setWorkingTogether(List<ResourceLinkDTO> workingTogether) {
+        this.workingTogether = workingTogether;
+    }
+
+    public long getSubcontractingCount() {
+        return subcontractingCount;
+    }
+
+    public void setSubcontractingCount(long subcontractingCount) {
+        this.subcontractingCount = subcontractingCount;
+    }
+
+    public List<ResourceLinkDTO> getSubcontracting() {
+        return subcontracting;
+    }
+
+    public void setSubcontracting(List<ResourceLinkDTO> subcontracting) {
+        this.subcontracting = subcontracting;
+    }
+
+    /**
+     * A resource with the number of its events and of the cases it works on.
+     */
+    public static class ResourceDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String resource;
+
+        private long eventCount;
+
+        private long caseCount;
+
+        public ResourceDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ResourceDTO(String resource, long eventCount, long caseCount) {
+            this.resource = resource;
+            this.eventCount = eventCount;
+            this.caseCount = caseCount;
+        }
+
+        public String getResource() {
+            return resource;
+        }
+
+        public void setResource(String resource) {
+            this.resource = resource;
+        }
+
+        public long getEventCount() {
+            return eventCount;
+        }
+
+        public void setEventCount(long eventCount) {
+            this.eventCount = eventCount;
+        }
+
+        public long getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(long caseCount) {
+            this.caseCount = caseCount;
+        }
+    }
+
+    /**
+     * A weighted link between two resources.
+     */
+    public static class ResourceLinkDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String source;
+
+        private String target;
+
+        private long frequency;
+
+        public ResourceLinkDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ResourceLinkDTO(String source, String target, long frequency) {
+            this.source = source;
+            this.target = target;
+            this.frequency = frequency;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+}
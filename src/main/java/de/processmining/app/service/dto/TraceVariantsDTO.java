@@ -0,0 +1,112 @@
+package de.processmining.app.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the most frequent trace variants of the event log of a {@link de.processmining.app.domain.Process}.
+ */
+public class TraceVariantsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long caseCount;
+
+    private int variantCount;
+
+    private List<VariantDTO> variants = new ArrayList<>();
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(long caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public int getVariantCount() {
+        return variantCount;
+    }
+
+    public void setVariantCount(int variantCount) {
+        this.variantCount = variantCount;
+    }
+
+    public List<VariantDTO> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<VariantDTO> variants) {
+        this.variants = variants;
+    }
+
+    /**
+     * A trace variant, with the share of cases it covers alone and together with all more frequent variants.
+     */
+    public static class VariantDTO implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int rank;
+
+        private List<String> activities = new ArrayList<>();
+
+        private int caseCount;
+
+        private double coverage;
+
+        private double cumulativeCoverage;
+
+        private List<String> caseIds = new ArrayList<>();
+
+        public int getRank() {
+            return rank;
+        }
+
+        public void setRank(int rank) {
+            this.rank = rank;
+        }
+
+        public List<String> getActivities() {
+            return activities;
+        }
+
+        public void setActivities(List<String> activities) {
+            this.activities = activities;
+        }
+
+        public int getCaseCount() {
+            return caseCount;
+        }
+
+        public void setCaseCount(int caseCount) {
+            this.caseCount = caseCount;
+        }
+
+        public double getCoverage() {
+            return coverage;
+        }
+
+        public void setCoverage(double coverage) {
+            this.coverage = coverage;
+        }
+
+        public double getCumulativeCoverage() {
+            return cumulativeCoverage;
+        }
+
+        public void setCumulativeCoverage(double cumulativeCoverage) {
+            this.cumulativeCoverage = cumulativeCoverage;
+        }
+
+        /**
+         * @return the ids of the first cases of the variant.
+         */
+        public List<String> getCaseIds() {
+            return caseIds;
+        }
+
+        public void setCaseIds(List<String> caseIds) {
+            this.caseIds = caseIds;
+        }
+    }
+}
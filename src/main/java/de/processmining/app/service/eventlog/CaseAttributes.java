@@ -0,0 +1,138 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Immutable case-level attributes of the cases of an {@link EventLog}, stored as one dictionary-encoded column per
+ * attribute.
+ * <p>
+ * Case attributes are not part of the columnar log, which mining algorithms scan; they are only loaded to filter
+ * cases on them. Events appended to a log do not change case attributes, so the attributes of a log with appended
+ * events are the ones of the previous log, the new cases having none.
+ */
+public final class CaseAttributes {
+    private static final int ABSENT = -1;
+
+    private final EventLog eventLog;
+
+    private final Map<String, Column> columns;
+
+    private CaseAttributes(EventLog eventLog, Map<String, Column> columns) {
+        this.eventLog = eventLog;
+        this.columns = columns;
+    }
+
+    /**
+     * @param eventLog a log with events appended to the log of these attributes.
+     * @return the attributes of the cases of that log.
+     */
+    public CaseAttributes update(EventLog eventLog) {
+        return new CaseAttributes(eventLog, columns);
+    }
+
+    /**
+     * @return the event log whose cases hold the attributes.
+     */
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * @param attribute the attribute name.
+     * @return the value of the attribute in the case, or {@code null} if the case does not have it.
+     */
+    public String value(String attribute, int caseIndex) {
+        Column column = columns.get(attribute);
+        int code = column == null ? ABSENT : column.code(caseIndex);
+        return code == ABSENT ? null : column.dictionary.decode(code);
+    }
+
+    /**
+     * Remove from a set the cases whose value of an attribute does not satisfy a predicate.
+     *
+     * @param cases the set of cases, modified in place.
+     * @param attribute the attribute name.
+     * @param predicate the predicate on the value, {@code null} for cases without the attribute.
+     */
+    public void retain(BitSet cases, String attribute, Predicate<String> predicate) {
+        Column column = columns.get(attribute);
+        if (column == null) {
+            if (!predicate.test(null)) {
+                cases.clear();
+            }
+            return;
+        }
+        // the predicate is evaluated once per distinct value
+        boolean[] accepted = new boolean[column.dictionary.size()];
+        for (int code = 0; code < accepted.length; code++) {
+            accepted[code] = predicate.test(column.dictionary.decode(code));
+        }
+        boolean absentAccepted = predicate.test(null);
+        for (int c = cases.nextSetBit(0); c >= 0; c = cases.nextSetBit(c + 1)) {
+            int code = column.code(c);
+            if (code == ABSENT ? !absentAccepted : !accepted[code]) {
+                cases.clear(c);
+            }
+        }
+    }
+
+    /**
+     * Collects the attributes of the cases of an event log. Instances are not thread-safe.
+     */
+    public static final class Builder {
+        private final EventLog eventLog;
+
+        private final Map<String, Column> columns = new HashMap<>();
+
+        public Builder(EventLog eventLog) {
+            this.eventLog = eventLog;
+        }
+
+        /**
+         * Add attributes of a case; cases not in the event log are ignored.
+         *
+         * @param caseId the case identifier.
+         * @param attributes the attribute values by name.
+         * @return this builder.
+         */
+        public Builder add(String caseId, Map<String, String> attributes) {
+            int caseIndex = eventLog.caseIndex(caseId);
+            if (caseIndex < 0) {
+                return this;
+            }
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (attribute.getValue() != null) {
+                    Column column = columns.computeIfAbsent(attribute.getKey(), name -> new Column(eventLog.caseCount()));
+                    column.codes[caseIndex] = column.dictionary.encode(attribute.getValue());
+                }
+            }
+            return this;
+        }
+
+        public CaseAttributes build() {
+            return new CaseAttributes(eventLog, new HashMap<>(columns));
+        }
+    }
+
+    private static final class Column {
+        private final ValueDictionary dictionary = new ValueDictionary();
+
+        private final int[] codes;
+
+        Column(int caseCount) {
+            codes = new int[caseCount];
+            Arrays.fill(codes, ABSENT);
+        }
+
+        /**
+         * @return the code of the value of the case, or {@link #ABSENT} for cases without value or appended later.
+         */
+        int code(int caseIndex) {
+            return caseIndex < codes.length ? codes[caseIndex] : ABSENT;
+        }
+    }
+}
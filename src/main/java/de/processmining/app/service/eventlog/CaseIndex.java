@@ -0,0 +1,348 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable case-level index of an {@link EventLog}, answering filters on cases with {@link BitSet}s of case indexes.
+ * <p>
+ * For each activity and each resource the index lists the cases in which it occurs, and for each case it holds its
+ * first and last timestamps and the rank of its variant in the {@link VariantIndex}. Filters are evaluated by
+ * combining the bit sets of the cases they select, so a chain of filters costs a few passes over the cases and only
+ * relations between events need to scan them.
+ * <p>
+ * The index of a log with appended events is {@link #update(VariantIndex, EventLog) updated} from the index of the
+ * previous log, sharing its chunked columns and reading only the changed cases.
+ */
+public final class CaseIndex {
+    private final VariantIndex variantIndex;
+
+    /**
+     * The cases of each activity, in no particular order.
+     */
+    private final ObjectColumn<IntColumn> activityCases;
+
+    /**
+     * The cases of each resource, in no particular order.
+     */
+    private final ObjectColumn<IntColumn> resourceCases;
+
+    private final LongColumn startTimes;
+
+    private final LongColumn endTimes;
+
+    private CaseIndex(
+        VariantIndex variantIndex,
+        ObjectColumn<IntColumn> activityCases,
+        ObjectColumn<IntColumn> resourceCases,
+        LongColumn startTimes,
+        LongColumn endTimes
+    ) {
+        this.variantIndex = variantIndex;
+        this.activityCases = activityCases;
+        this.resourceCases = resourceCases;
+        this.startTimes = startTimes;
+        this.endTimes = endTimes;
+    }
+
+    /**
+     * @param variantIndex the variant index of the event log.
+     * @return the case index of the log.
+     */
+    public static CaseIndex of(VariantIndex variantIndex) {
+        EventLog eventLog = variantIndex.getEventLog();
+        Builder builder = new Builder(eventLog);
+        for (int c = 0; c < eventLog.caseCount(); c++) {
+            builder.addCase(c);
+        }
+        return builder.build(variantIndex);
+    }
+
+    /**
+     * Update the index with events appended to its log.
+     *
+     * @param variantIndex the variant index of the log of this index with the appended events, as returned by
+     * {@link VariantIndex#update}.
+     * @param appended the appended events.
+     * @return the case index of the log, this one staying unchanged.
+     */
+    public CaseIndex update(VariantIndex variantIndex, EventLog appended) {
+        EventLog previous = getEventLog();
+        EventLog eventLog = variantIndex.getEventLog();
+        Builder builder = new Builder(this, eventLog);
+        for (int c : VariantIndex.appendedCases(eventLog, appended)) {
+            if (c < previous.caseCount()) {
+                // the activities and resources of the case are already listed
+                builder.skipValuesOf(previous, c);
+            }
+            builder.addCase(c);
+        }
+        return builder.build(variantIndex);
+    }
+
+    public VariantIndex getVariantIndex() {
+        return variantIndex;
+    }
+
+    public EventLog getEventLog() {
+        return variantIndex.getEventLog();
+    }
+
+    public int caseCount() {
+        return startTimes.size();
+    }
+
+    /**
+     * @return a new set holding every case.
+     */
+    public BitSet allCases() {
+        BitSet cases = new BitSet(caseCount());
+        cases.set(0, caseCount());
+        return cases;
+    }
+
+    /**
+     * @param activities the activity codes.
+     * @return a new set of the cases in which at least one of the activities occurs.
+     */
+    public BitSet casesWithActivity(int... activities) {
+        return union(activityCases, activities);
+    }
+
+    /**
+     * @param resources the resource codes.
+     * @return a new set of the cases in which at least one of the resources executes an event.
+     */
+    public BitSet casesWithResource(int... resources) {
+        return union(resourceCases, resources);
+    }
+
+    /**
+     * @param ranks the predicate on the rank of a variant in the variant index.
+     * @return a new set of the cases whose variant satisfies the predicate.
+     */
+    public BitSet casesOfVariants(IntPredicate ranks) {
+        BitSet cases = new BitSet(caseCount());
+        for (int rank = 0; rank < variantIndex.variantCount(); rank++) {
+            if (ranks.test(rank)) {
+                for (int i = 0; i < variantIndex.caseCount(rank); i++) {
+                    cases.set(variantIndex.caseIndex(rank, i));
+                }
+            }
+        }
+        return cases;
+    }
+
+    /**
+     * Remove from a set the cases not satisfying a predicate.
+     *
+     * @param cases the set of cases, modified in place.
+     * @param predicate the predicate on the index of a case.
+     */
+    public void retain(BitSet cases, IntPredicate predicate) {
+        for (int c = cases.nextSetBit(0); c >= 0; c = cases.nextSetBit(c + 1)) {
+            if (!predicate.test(c)) {
+                cases.clear(c);
+            }
+        }
+    }
+
+    /**
+     * Remove from a set the cases in which no event of the source activity is followed by an event of the target
+     * activity.
+     *
+     * @param cases the set of cases, modified in place.
+     * @param source the source activity code.
+     * @param target the target activity code.
+     * @param directly whether the target must directly follow the source.
+     */
+    public void retainFollows(BitSet cases, int source, int target, boolean directly) {
+        if (source < 0 || target < 0) {
+            cases.clear();
+            return;
+        }
+        cases.and(casesWithActivity(source));
+        cases.and(casesWithActivity(target));
+        EventLog eventLog = getEventLog();
+        retain(
+            cases,
+            c -> {
+                boolean sourceSeen = false;
+                for (int e = eventLog.caseStart(c); e < eventLog.caseEnd(c); e++) {
+                    int activity = eventLog.activity(e);
+                    if (activity == target && sourceSeen) {
+                        return true;
+                    }
+                    sourceSeen = activity == source || (sourceSeen && !directly);
+                }
+                return false;
+            }
+        );
+    }
+
+    /**
+     * @return the epoch milliseconds of the first event of the case, or {@link EventLog#NO_TIMESTAMP}.
+     */
+    public long startTime(int caseIndex) {
+        return startTimes.get(caseIndex);
+    }
+
+    /**
+     * @return the epoch milliseconds of the last event of the case, or {@link EventLog#NO_TIMESTAMP}.
+     */
+    public long endTime(int caseIndex) {
+        return endTimes.get(caseIndex);
+    }
+
+    /**
+     * @return the rank of the variant of the case in the variant index.
+     */
+    public int variantRank(int caseIndex) {
+        return variantIndex.rank(variantIndex.getPrefixTree().caseNode(caseIndex));
+    }
+
+    private BitSet union(ObjectColumn<IntColumn> valueCases, int[] values) {
+        BitSet cases = new BitSet(caseCount());
+        for (int value : values) {
+            if (value >= 0 && value < valueCases.size()) {
+                IntColumn valueCaseList = valueCases.get(value);
+                for (int i = 0; i < valueCaseList.size(); i++) {
+                    cases.set(valueCaseList.get(i));
+                }
+            }
+        }
+        return cases;
+    }
+
+    /**
+     * Adds cases to an empty index or to the columns of another index.
+     */
+    private static final class Builder {
+        private final EventLog eventLog;
+
+        private final CaseLists activityCases;
+
+        private final CaseLists resourceCases;
+
+        private final LongColumn.Builder startTimes;
+
+        private final LongColumn.Builder endTimes;
+
+        Builder(EventLog eventLog) {
+            this.eventLog = eventLog;
+            this.activityCases = new CaseLists(ObjectColumn.empty(), eventLog.activityCount());
+            this.resourceCases = new CaseLists(ObjectColumn.empty(), eventLog.resourceCount());
+            this.startTimes = new LongColumn.Builder();
+            this.endTimes = new LongColumn.Builder();
+        }
+
+        Builder(CaseIndex index, EventLog eventLog) {
+            this.eventLog = eventLog;
+            this.activityCases = new CaseLists(index.activityCases, eventLog.activityCount());
+            this.resourceCases = new CaseLists(index.resourceCases, eventLog.resourceCount());
+            this.startTimes = index.startTimes.toBuilder();
+            this.endTimes = index.endTimes.toBuilder();
+        }
+
+        /**
+         * Skip the activities and resources of a case of an earlier version of the log when adding the case again.
+         */
+        void skipValuesOf(EventLog previous, int caseIndex) {
+            for (int e = previous.caseStart(caseIndex); e < previous.caseEnd(caseIndex); e++) {
+                activityCases.skip(previous.activity(e), caseIndex);
+                if (previous.resource(e) != EventLog.NO_RESOURCE) {
+                    resourceCases.skip(previous.resource(e), caseIndex);
+                }
+            }
+        }
+
+        /**
+         * Add a case, which is either new and follows the known cases, or already indexed.
+         */
+        void addCase(int caseIndex) {
+            long startTime = EventLog.NO_TIMESTAMP;
+            long endTime = EventLog.NO_TIMESTAMP;
+            for (int e = eventLog.caseStart(caseIndex); e < eventLog.caseEnd(caseIndex); e++) {
+                activityCases.add(eventLog.activity(e), caseIndex);
+                if (eventLog.resource(e) != EventLog.NO_RESOURCE) {
+                    resourceCases.add(eventLog.resource(e), caseIndex);
+                }
+                // events without timestamp come first in a case
+                long timestamp = eventLog.timestamp(e);
+                if (timestamp != EventLog.NO_TIMESTAMP) {
+                    if (startTime == EventLog.NO_TIMESTAMP) {
+                        startTime = timestamp;
+                    }
+                    endTime = timestamp;
+                }
+            }
+            if (caseIndex < startTimes.size()) {
+                startTimes.set(caseIndex, startTime);
+                endTimes.set(caseIndex, endTime);
+            } else {
+                startTimes.add(startTime);
+                endTimes.add(endTime);
+            }
+        }
+
+        CaseIndex build(VariantIndex variantIndex) {
+            return new CaseIndex(variantIndex, activityCases.build(), resourceCases.build(), startTimes.build(), endTimes.build());
+        }
+    }
+
+    /**
+     * Lists of distinct case indexes per value, extended case after case.
+     */
+    private static final class CaseLists {
+        private final ObjectColumn<IntColumn> lists;
+
+        /**
+         * The lists being extended, by value.
+         */
+        private final IntColumn.Builder[] builders;
+
+        /**
+         * The last case added to, or skipped by, the list of each value.
+         */
+        private final int[] lastCases;
+
+        CaseLists(ObjectColumn<IntColumn> lists, int valueCount) {
+            this.lists = lists;
+            this.builders = new IntColumn.Builder[valueCount];
+            this.lastCases = new int[valueCount];
+            Arrays.fill(lastCases, -1);
+        }
+
+        void add(int value, int caseIndex) {
+            if (lastCases[value] == caseIndex) {
+                return;
+            }
+            if (builders[value] == null) {
+                builders[value] = value < lists.size() ? lists.get(value).toBuilder() : new IntColumn.Builder();
+            }
+            builders[value].add(caseIndex);
+            lastCases[value] = caseIndex;
+        }
+
+        /**
+         * Leave the list of a value unchanged when adding a case, which it already holds.
+         */
+        void skip(int value, int caseIndex) {
+            lastCases[value] = caseIndex;
+        }
+
+        ObjectColumn<IntColumn> build() {
+            ObjectColumn.Builder<IntColumn> result = lists.toBuilder();
+            for (int value = 0; value < builders.length; value++) {
+                IntColumn list = builders[value] == null ? null : builders[value].build();
+                if (value >= result.size()) {
+                    result.add(list == null ? IntColumn.EMPTY : list);
+                } else if (list != null) {
+                    result.set(value, list);
+                }
+            }
+            return result.build();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.BitSet;
+
+/**
+ * Cases of an event log selected by filters, together with the {@link CaseIndex} of the log they belong to.
+ */
+public final class CaseSelection {
+    private final CaseIndex caseIndex;
+
+    private final BitSet cases;
+
+    public CaseSelection(CaseIndex caseIndex, BitSet cases) {
+        this.caseIndex = caseIndex;
+        this.cases = cases;
+    }
+
+    public CaseIndex getCaseIndex() {
+        return caseIndex;
+    }
+
+    /**
+     * @return the indexes of the selected cases, which must not be modified.
+     */
+    public BitSet getCases() {
+        return cases;
+    }
+
+    public int caseCount() {
+        return cases.cardinality();
+    }
+
+    /**
+     * @return a new event log holding the selected cases only.
+     */
+    public EventLog toEventLog() {
+        return caseIndex.getEventLog().select(cases);
+    }
+}
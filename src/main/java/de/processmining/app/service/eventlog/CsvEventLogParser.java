@@ -0,0 +1,324 @@
+package de.processmining.app.service.eventlog;
+
+import de.processmining.app.service.InvalidEventLogException;
+import de.processmining.app.service.dto.CsvColumnMappingDTO;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser for event logs in CSV format, with one event per record and a header record naming the columns.
+ * <p>
+ * The file is read through positional reads on a {@link FileChannel}, so that it can be {@link #split(int) split} into
+ * byte ranges which are parsed concurrently. Ranges always start at the beginning of a record, therefore quoted
+ * fields may contain delimiters and escaped quotes but no line breaks.
+ */
+public class CsvEventLogParser {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+
+    private final char delimiter;
+
+    private final TimestampParser timestampParser;
+
+    private final long dataStart;
+
+    private final int caseIdColumn;
+
+    private final int activityColumn;
+
+    private final int timestampColumn;
+
+    private final int resourceColumn;
+
+    private final String[] attributeNames;
+
+    private final int[] attributeColumns;
+
+    private CsvEventLogParser(FileChannel channel, CsvColumnMappingDTO mapping, List<String> header, long dataStart) {
+        this.channel = channel;
+        this.delimiter = mapping.getDelimiter();
+        this.dataStart = dataStart;
+        try {
+            this.timestampParser = TimestampParser.ofPattern(mapping.getTimestampFormat());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEventLogException("Invalid timestamp format: " + mapping.getTimestampFormat(), e);
+        }
+        this.caseIdColumn = requiredColumn(header, mapping.getCaseId());
+        this.activityColumn = requiredColumn(header, mapping.getActivity());
+        this.timestampColumn = optionalColumn(header, mapping.getTimestamp());
+        this.resourceColumn = optionalColumn(header, mapping.getResource());
+        List<String> attributes = mapping.getAttributes() == null ? Collections.emptyList() : mapping.getAttributes();
+        this.attributeNames = attributes.toArray(new String[0]);
+        this.attributeColumns = new int[attributeNames.length];
+        for (int i = 0; i < attributeNames.length; i++) {
+            attributeColumns[i] = requiredColumn(header, attributeNames[i]);
+        }
+    }
+
+    /**
+     * Read the header record of a CSV file and resolve the mapped columns.
+     *
+     * @param channel the file, which must stay open while the parser is used.
+     * @param mapping the column mapping.
+     * @return the parser.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidEventLogException if the file has no header or a mapped column is missing.
+     */
+    public static CsvEventLogParser open(FileChannel channel, CsvColumnMappingDTO mapping) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        long position = 0;
+        try (InputStream in = new BufferedInputStream(new RangeInputStream(channel, 0, channel.size()), BUFFER_SIZE)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b == '\n') {
+                    break;
+                }
+                headerBytes.write(b);
+            }
+        }
+        String headerLine = stripLineEnd(new String(headerBytes.toByteArray(), StandardCharsets.UTF_8));
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        if (headerLine.isEmpty()) {
+            throw new InvalidEventLogException("CSV event log has no header");
+        }
+        List<String> header = new ArrayList<>();
+        splitRecord(headerLine, mapping.getDelimiter(), header);
+        return new CsvEventLogParser(channel, mapping, header, position);
+    }
+
+    /**
+     * Split the records of the file into at most {@code count} byte ranges of about the same size.
+     *
+     * @param count the requested number of ranges.
+     * @return the ranges, in file order, each starting at the beginning of a record.
+     * @throws IOException if the file cannot be read.
+     */
+    public List<Chunk> split(int count) throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        long start = dataStart;
+        for (int i = 1; i <= count && start < size; i++) {
+            long end = i == count ? size : Math.max(start, nextRecordStart(dataStart + (size - dataStart) * i / count, size));
+            if (end > start) {
+                chunks.add(new Chunk(start, end));
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Parse the records of a range, pushing them to the handler as events. No traces are reported, as CSV logs
+     * have no case-level attributes.
+     * <p>
+     * Distinct ranges can be parsed concurrently.
+     *
+     * @param chunk the range to parse.
+     * @param handler the handler receiving the events.
+     * @return the number of parsed events.
+     * @throws IOException if the file cannot be read.
+     * @throws InvalidEventLogException if a record cannot be parsed.
+     */
+    public long parse(Chunk chunk, EventLogHandler handler) throws IOException {
+        long count = 0;
+        List<String> fields = new ArrayList<>();
+        try (
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new RangeInputStream(channel, chunk.getStart(), chunk.getEnd()), StandardCharsets.UTF_8),
+                BUFFER_SIZE
+            )
+        ) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                fields.clear();
+                splitRecord(line, delimiter, fields);
+                handleRecord(fields, handler);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void handleRecord(List<String> fields, EventLogHandler handler) {
+        String caseId = field(fields, caseIdColumn);
+        String activity = field(fields, activityColumn);
+        if (caseId == null || activity == null) {
+            throw new InvalidEventLogException("CSV record without case id or activity: " + fields);
+        }
+        String timestamp = field(fields, timestampColumn);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < attributeColumns.length; i++) {
+            String value = field(fields, attributeColumns[i]);
+            if (value != null) {
+                attributes.put(attributeNames[i], value);
+            }
+        }
+        handler.event(
+            caseId,
+            activity,
+            timestamp == null ? null : timestampParser.parse(timestamp),
+            field(fields, resourceColumn),
+            attributes
+        );
+    }
+
+    private long nextRecordStart(long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long current = position - 1;
+        while (current < size) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int requiredColumn(List<String> header, String name) {
+        int column = header.indexOf(name);
+        if (column < 0) {
+            throw new InvalidEventLogException("CSV event log has no column " + name);
+        }
+        return column;
+    }
+
+    private static int optionalColumn(List<String> header, String name) {
+        return name == null || name.isEmpty() ? -1 : requiredColumn(header, name);
+    }
+
+    private static String stripLineEnd(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    /**
+     * Split a record into its fields, following RFC 4180 quoting.
+     */
+    static void splitRecord(String line, char delimiter, List<String> fields) {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            length--;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < length && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+    }
+
+    /**
+     * A byte range of a CSV file, starting at the beginning of a record.
+     */
+    public static final class Chunk {
+        private final long start;
+
+        private final long end;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return "Chunk{start=" + start + ", end=" + end + "}";
+        }
+    }
+
+    /**
+     * Reads a byte range of a file through positional reads, which do not change the channel position.
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+
+        private final long end;
+
+        private final byte[] single = new byte[1];
+
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
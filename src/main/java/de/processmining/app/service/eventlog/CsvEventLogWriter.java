@@ -0,0 +1,124 @@
+package de.processmining.app.service.eventlog;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming writer of event logs in CSV format, with one event per record after a header record.
+ * <p>
+ * Records are written through a buffer straight to the output stream. The columns are {@code case_id},
+ * {@code activity}, {@code timestamp} (ISO-8601, empty if unknown) and {@code resource}, followed by one column per
+ * case attribute, named after it with the {@value #CASE_ATTRIBUTE_PREFIX} prefix, and one column per event attribute.
+ * Fields are quoted only when they contain the delimiter, a quote or a line break, so that the file can be imported
+ * again with a {@link CsvEventLogParser}. Instances are not thread-safe.
+ */
+public class CsvEventLogWriter implements EventLogFileWriter {
+    public static final String CASE_ID = "case_id";
+
+    public static final String ACTIVITY = "activity";
+
+    public static final String TIMESTAMP = "timestamp";
+
+    public static final String RESOURCE = "resource";
+
+    public static final String CASE_ATTRIBUTE_PREFIX = "case:";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    private final char delimiter;
+
+    private final List<String> caseAttributeNames;
+
+    private final List<String> eventAttributeNames;
+
+    private String caseId;
+
+    private Map<String, String> caseAttributes = Collections.emptyMap();
+
+    /**
+     * Write the header record of a CSV event log.
+     *
+     * @param outputStream the stream receiving the UTF-8 records, which is left open.
+     * @param delimiter the field delimiter.
+     * @param caseAttributeNames the names of the case attributes, each written in a column.
+     * @param eventAttributeNames the names of the event attributes, each written in a column.
+     * @throws IOException if the stream cannot be written.
+     */
+    public CsvEventLogWriter(
+        OutputStream outputStream,
+        char delimiter,
+        List<String> caseAttributeNames,
+        List<String> eventAttributeNames
+    ) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.delimiter = delimiter;
+        this.caseAttributeNames = caseAttributeNames;
+        this.eventAttributeNames = eventAttributeNames;
+        writer.write(CASE_ID + delimiter + ACTIVITY + delimiter + TIMESTAMP + delimiter + RESOURCE);
+        for (String name : caseAttributeNames) {
+            writer.write(delimiter);
+            writeField(CASE_ATTRIBUTE_PREFIX + name);
+        }
+        for (String name : eventAttributeNames) {
+            writer.write(delimiter);
+            writeField(name);
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void startCase(String caseId, Map<String, String> attributes) {
+        this.caseId = caseId;
+        this.caseAttributes = attributes;
+    }
+
+    @Override
+    public void event(String activity, Instant timestamp, String resource, Map<String, String> attributes) throws IOException {
+        writeField(caseId);
+        writer.write(delimiter);
+        writeField(activity);
+        writer.write(delimiter);
+        if (timestamp != null) {
+            writer.write(timestamp.toString());
+        }
+        writer.write(delimiter);
+        writeField(resource);
+        for (String name : caseAttributeNames) {
+            writer.write(delimiter);
+            writeField(caseAttributes.get(name));
+        }
+        for (String name : eventAttributeNames) {
+            writer.write(delimiter);
+            writeField(attributes.get(name));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(delimiter) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
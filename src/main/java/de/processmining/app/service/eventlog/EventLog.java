@@ -0,0 +1,435 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.BitSet;
+
+/**
+ * Immutable, columnar in-memory representation of the event log of a process.
+ * <p>
+ * Events are stored in primitive columns indexed by event number and ordered by time within a case. Activities and
+ * resources are dictionary-encoded to {@code int} codes and timestamps are stored as epoch milliseconds. A case is the
+ * range {@code [caseStart(c), caseEnd(c))} of event numbers. This layout takes 16 bytes per event and lets mining
+ * algorithms scan the log sequentially.
+ * <p>
+ * Columns are stored in chunks, which the log {@link #append(EventLog, long) with appended events} shares with this
+ * one: appending events to a case moves the case after the last event, so event numbers are not necessarily in case
+ * order and some of them are left unused until the log is compacted. Reading all events is done case by case.
+ * <p>
+ * Instances are built with an {@link EventLogBuilder} and are safe to share between threads. A log read from the
+ * database carries the {@link de.processmining.app.domain.Process#getLogVersion() version} of the log it holds, so
+ * that analyses derived from it can tell whether they are still current.
+ */
+public final class EventLog {
+    /**
+     * Timestamp of events whose time is unknown.
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * Resource code of events without resource.
+     */
+    public static final int NO_RESOURCE = -1;
+
+    /**
+     * Version of logs that do not hold the log of a process at a known version, such as selections of cases.
+     */
+    public static final long NO_LOG_VERSION = -1;
+
+    private final ValueDictionary activityDictionary;
+
+    private final ValueDictionary resourceDictionary;
+
+    private final ObjectColumn<String> caseIds;
+
+    /**
+     * The index of each case identifier, shared with the logs appended to this one.
+     */
+    private final KeyIndex<String> caseIndexes;
+
+    private final IntColumn caseStarts;
+
+    private final IntColumn caseEnds;
+
+    private final IntColumn activities;
+
+    private final IntColumn resources;
+
+    private final LongColumn timestamps;
+
+    private final int eventCount;
+
+    private final long logVersion;
+
+    EventLog(
+        ValueDictionary activityDictionary,
+        ValueDictionary resourceDictionary,
+        ObjectColumn<String> caseIds,
+        KeyIndex<String> caseIndexes,
+        IntColumn caseStarts,
+        IntColumn caseEnds,
+        IntColumn activities,
+        IntColumn resources,
+        LongColumn timestamps,
+        int eventCount,
+        long logVersion
+    ) {
+        this.activityDictionary = activityDictionary;
+        this.resourceDictionary = resourceDictionary;
+        this.caseIds = caseIds;
+        this.caseIndexes = caseIndexes;
+        this.caseStarts = caseStarts;
+        this.caseEnds = caseEnds;
+        this.activities = activities;
+        this.resources = resources;
+        this.timestamps = timestamps;
+        this.eventCount = eventCount;
+        this.logVersion = logVersion;
+    }
+
+    /**
+     * @return the version of the log of the process held by this log, or {@link #NO_LOG_VERSION}.
+     */
+    public long getLogVersion() {
+        return logVersion;
+    }
+
+    public int caseCount() {
+        return caseIds.size();
+    }
+
+    public int eventCount() {
+        return eventCount;
+    }
+
+    public int activityCount() {
+        return activityDictionary.size();
+    }
+
+    public int resourceCount() {
+        return resourceDictionary.size();
+    }
+
+    public String caseId(int caseIndex) {
+        return caseIds.get(caseIndex);
+    }
+
+    /**
+     * @param caseId the case identifier.
+     * @return the index of the case, or {@code -1} if the log has no such case.
+     */
+    public int caseIndex(String caseId) {
+        return caseIndexes.get(caseId, caseCount());
+    }
+
+    /**
+     * @param caseIndex the index of the case.
+     * @return the number of the first event of the case.
+     */
+    public int caseStart(int caseIndex) {
+        return caseStarts.get(caseIndex);
+    }
+
+    /**
+     * @param caseIndex the index of the case.
+     * @return the number following the last event of the case.
+     */
+    public int caseEnd(int caseIndex) {
+        return caseEnds.get(caseIndex);
+    }
+
+    public int caseLength(int caseIndex) {
+        return caseEnds.get(caseIndex) - caseStarts.get(caseIndex);
+    }
+
+    public int activity(int event) {
+        return activities.get(event);
+    }
+
+    /**
+     * @param event the number of the event.
+     * @return the resource code of the event, or {@link #NO_RESOURCE}.
+     */
+    public int resource(int event) {
+        return resources.get(event);
+    }
+
+    /**
+     * @param event the number of the event.
+     * @return the epoch milliseconds of the event, or {@link #NO_TIMESTAMP}.
+     */
+    public long timestamp(int event) {
+        return timestamps.get(event);
+    }
+
+    /**
+     * Copy some cases of the log into a new log sharing the activity and resource codes of this one.
+     *
+     * @param cases the indexes of the cases to keep.
+     * @return the log of the selected cases, in their order in this log.
+     */
+    public EventLog select(BitSet cases) {
+        Columns selected = new Columns();
+        for (int c = cases.nextSetBit(0); c >= 0 && c < caseCount(); c = cases.nextSetBit(c + 1)) {
+            selected.addCase(caseId(c));
+            selected.copyEvents(this, c);
+        }
+        return selected.build(activityDictionary, resourceDictionary, NO_LOG_VERSION);
+    }
+
+    /**
+     * Add the events of another log to their cases, without copying the events of this log: the new log shares the
+     * chunks of the columns of this one, which stays unchanged. Appended events of an existing case are merged into it
+     * by timestamp, after the events with the same timestamp, and the case is moved after the last event, which costs
+     * the length of the case; new cases follow the existing ones. Once unused event numbers outnumber the events, the
+     * new log is compacted.
+     *
+     * @param appended the appended events, grouped by case.
+     * @param version the version of the log once the events are appended.
+     * @return the new log, with copies of the activity and resource codes of this one.
+     */
+    public EventLog append(EventLog appended, long version) {
+        ValueDictionary appendedActivityDictionary = activityDictionary.copy();
+        ValueDictionary appendedResourceDictionary = resourceDictionary.copy();
+        int[] activityCodes = recode(appended.activityDictionary, appendedActivityDictionary);
+        int[] resourceCodes = recode(appended.resourceDictionary, appendedResourceDictionary);
+        Columns columns = new Columns(this);
+        for (int a = 0; a < appended.caseCount(); a++) {
+            String caseId = appended.caseId(a);
+            int c = columns.caseIndexes.get(caseId, columns.caseIds.size());
+            if (c < 0) {
+                columns.addCase(caseId);
+                c = columns.caseIds.size() - 1;
+            }
+            columns.mergeEvents(c, appended, a, activityCodes, resourceCodes);
+        }
+        columns.eventCount = eventCount + appended.eventCount();
+        if (columns.activities.size() > IntColumn.CHUNK_SIZE && columns.activities.size() > columns.eventCount * 2) {
+            EventLog appendedLog = columns.build(appendedActivityDictionary, appendedResourceDictionary, version);
+            // compacting keeps the order, hence the indexes, of the cases
+            Columns compacted = new Columns(appendedLog.caseIndexes.extend(appendedLog.caseCount()));
+            for (int c = 0; c < appendedLog.caseCount(); c++) {
+                compacted.addCase(appendedLog.caseId(c));
+                compacted.copyEvents(appendedLog, c);
+            }
+            return compacted.build(appendedActivityDictionary, appendedResourceDictionary, version);
+        }
+        return columns.build(appendedActivityDictionary, appendedResourceDictionary, version);
+    }
+
+    /**
+     * @return for each code of a dictionary, the code of its value in another one, encoding the missing values.
+     */
+    private static int[] recode(ValueDictionary from, ValueDictionary to) {
+        int[] codes = new int[from.size()];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = to.encode(from.decode(code));
+        }
+        return codes;
+    }
+
+    /**
+     * Stable insertion sort of the events of a case, which are few and usually almost ordered.
+     */
+    static void sortByTimestamp(int[] activities, int[] resources, long[] timestamps, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long timestamp = timestamps[i];
+            int activity = activities[i];
+            int resource = resources[i];
+            int j = i - 1;
+            while (j >= from && timestamps[j] > timestamp) {
+                timestamps[j + 1] = timestamps[j];
+                activities[j + 1] = activities[j];
+                resources[j + 1] = resources[j];
+                j--;
+            }
+            timestamps[j + 1] = timestamp;
+            activities[j + 1] = activity;
+            resources[j + 1] = resource;
+        }
+    }
+
+    public String activityName(int activity) {
+        return activityDictionary.decode(activity);
+    }
+
+    /**
+     * @param name the activity name.
+     * @return the activity code, or {@code -1} if no event has this activity.
+     */
+    public int activityCode(String name) {
+        return activityDictionary.codeOf(name);
+    }
+
+    public String resourceName(int resource) {
+        return resourceDictionary.decode(resource);
+    }
+
+    /**
+     * @param name the resource name.
+     * @return the resource code, or {@code -1} if no event has this resource.
+     */
+    public int resourceCode(String name) {
+        return resourceDictionary.codeOf(name);
+    }
+
+    /**
+     * Builders of the columns of a log, started empty or from the columns of another log.
+     */
+    static final class Columns {
+        final ObjectColumn.Builder<String> caseIds;
+
+        KeyIndex<String> caseIndexes;
+
+        final IntColumn.Builder caseStarts;
+
+        final IntColumn.Builder caseEnds;
+
+        final IntColumn.Builder activities;
+
+        final IntColumn.Builder resources;
+
+        final LongColumn.Builder timestamps;
+
+        int eventCount;
+
+        /**
+         * Whether the case index was handed to a built log, and must be extended again before adding cases.
+         */
+        private boolean built;
+
+        Columns() {
+            this(KeyIndex.extending());
+        }
+
+        private Columns(KeyIndex<String> caseIndexes) {
+            this.caseIds = new ObjectColumn.Builder<>();
+            this.caseIndexes = caseIndexes;
+            this.caseStarts = new IntColumn.Builder();
+            this.caseEnds = new IntColumn.Builder();
+            this.activities = new IntColumn.Builder();
+            this.resources = new IntColumn.Builder();
+            this.timestamps = new LongColumn.Builder();
+        }
+
+        Columns(EventLog eventLog) {
+            caseIds = eventLog.caseIds.toBuilder();
+            caseIndexes = eventLog.caseIndexes.extend(eventLog.caseCount());
+            caseStarts = eventLog.caseStarts.toBuilder();
+            caseEnds = eventLog.caseEnds.toBuilder();
+            activities = eventLog.activities.toBuilder();
+            resources = eventLog.resources.toBuilder();
+            timestamps = eventLog.timestamps.toBuilder();
+            eventCount = eventLog.eventCount;
+        }
+
+        /**
+         * Start a new empty case after the last event.
+         */
+        void addCase(String caseId) {
+            if (built) {
+                caseIndexes = caseIndexes.extend(caseIds.size());
+                built = false;
+            }
+            caseIndexes.put(caseId, caseIds.size());
+            caseIds.add(caseId);
+            caseStarts.add(activities.size());
+            caseEnds.add(activities.size());
+        }
+
+        /**
+         * Add the event of the last case.
+         */
+        void addEvent(int activity, int resource, long timestamp) {
+            activities.add(activity);
+            resources.add(resource);
+            timestamps.add(timestamp);
+            caseEnds.set(caseEnds.size() - 1, activities.size());
+            eventCount++;
+        }
+
+        /**
+         * Copy the events of a case of a log sharing the codes of these columns to the last case.
+         */
+        void copyEvents(EventLog eventLog, int caseIndex) {
+            for (int e = eventLog.caseStart(caseIndex); e < eventLog.caseEnd(caseIndex); e++) {
+                addEvent(eventLog.activity(e), eventLog.resource(e), eventLog.timestamp(e));
+            }
+        }
+
+        /**
+         * Merge the events of a case of another log into a case, after its events with the same timestamp. The case
+         * grows in place if it ends at the last event and the events follow its last one, and moves after the last
+         * event otherwise.
+         */
+        void mergeEvents(int caseIndex, EventLog eventLog, int appendedCase, int[] activityCodes, int[] resourceCodes) {
+            int start = caseStarts.get(caseIndex);
+            int end = caseEnds.get(caseIndex);
+            int from = eventLog.caseStart(appendedCase);
+            int to = eventLog.caseEnd(appendedCase);
+            boolean follows = start == end || from == to || eventLog.timestamp(from) >= timestamps.get(end - 1);
+            boolean inPlace = follows && end == activities.size();
+            if (!inPlace) {
+                caseStarts.set(caseIndex, activities.size());
+            }
+            int e = inPlace ? end : start;
+            for (int a = from; a < to; a++) {
+                long timestamp = eventLog.timestamp(a);
+                while (e < end && timestamps.get(e) <= timestamp) {
+                    add(activities.get(e), resources.get(e), timestamps.get(e));
+                    e++;
+                }
+                int resource = eventLog.resource(a);
+                add(activityCodes[eventLog.activity(a)], resource == NO_RESOURCE ? NO_RESOURCE : resourceCodes[resource], timestamp);
+            }
+            for (; e < end; e++) {
+                add(activities.get(e), resources.get(e), timestamps.get(e));
+            }
+            caseEnds.set(caseIndex, activities.size());
+        }
+
+        /**
+         * Order the events of a case by timestamp, keeping the order of events with the same timestamp.
+         */
+        void sortCase(int caseIndex) {
+            int start = caseStarts.get(caseIndex);
+            int length = caseEnds.get(caseIndex) - start;
+            int[] caseActivities = new int[length];
+            int[] caseResources = new int[length];
+            long[] caseTimestamps = new long[length];
+            for (int i = 0; i < length; i++) {
+                caseActivities[i] = activities.get(start + i);
+                caseResources[i] = resources.get(start + i);
+                caseTimestamps[i] = timestamps.get(start + i);
+            }
+            sortByTimestamp(caseActivities, caseResources, caseTimestamps, 0, length);
+            for (int i = 0; i < length; i++) {
+                activities.set(start + i, caseActivities[i]);
+                resources.set(start + i, caseResources[i]);
+                timestamps.set(start + i, caseTimestamps[i]);
+            }
+        }
+
+        EventLog build(ValueDictionary activityDictionary, ValueDictionary resourceDictionary, long logVersion) {
+            caseIndexes.extended(caseIds.size());
+            built = true;
+            return new EventLog(
+                activityDictionary,
+                resourceDictionary,
+                caseIds.build(),
+                caseIndexes,
+                caseStarts.build(),
+                caseEnds.build(),
+                activities.build(),
+                resources.build(),
+                timestamps.build(),
+                eventCount,
+                logVersion
+            );
+        }
+
+        private void add(int activity, int resource, long timestamp) {
+            activities.add(activity);
+            resources.add(resource);
+            timestamps.add(timestamp);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package de.processmining.app.service.eventlog;
+
+/**
+ * Builds an {@link EventLog} from events grouped by case.
+ * <p>
+ * The events of a case must be added consecutively; a new case starts whenever the case identifier changes. Events of
+ * a case are ordered by timestamp when the case is complete, keeping the insertion order of events with the same
+ * timestamp. Instances are not thread-safe.
+ */
+public final class EventLogBuilder {
+    private final ValueDictionary activityDictionary = new ValueDictionary();
+
+    private final ValueDictionary resourceDictionary = new ValueDictionary();
+
+    private final EventLog.Columns columns = new EventLog.Columns();
+
+    private String currentCaseId;
+
+    private long lastTimestamp;
+
+    private boolean currentCaseOrdered = true;
+
+    private long logVersion = EventLog.NO_LOG_VERSION;
+
+    /**
+     * Add an event, starting a new case if the case identifier differs from the one of the previous event.
+     *
+     * @param caseId the case identifier.
+     * @param activity the activity name.
+     * @param timestamp the epoch milliseconds of the event, or {@link EventLog#NO_TIMESTAMP}.
+     * @param resource the resource name, or {@code null}.
+     * @return this builder.
+     */
+    public EventLogBuilder addEvent(String caseId, String activity, long timestamp, String resource) {
+        if (currentCaseId == null || !currentCaseId.equals(caseId)) {
+            startCase(caseId);
+        } else if (timestamp < lastTimestamp) {
+            currentCaseOrdered = false;
+        }
+        columns.addEvent(
+            activityDictionary.encode(activity),
+            resource == null ? EventLog.NO_RESOURCE : resourceDictionary.encode(resource),
+            timestamp
+        );
+        lastTimestamp = timestamp;
+        return this;
+    }
+
+    /**
+     * @param logVersion the version of the log of the process the events are read from.
+     * @return this builder.
+     */
+    public EventLogBuilder logVersion(long logVersion) {
+        this.logVersion = logVersion;
+        return this;
+    }
+
+    /**
+     * @return the event log holding all events added so far.
+     */
+    public EventLog build() {
+        finishCase();
+        return columns.build(activityDictionary, resourceDictionary, logVersion);
+    }
+
+    private void startCase(String caseId) {
+        finishCase();
+        columns.addCase(caseId);
+        currentCaseId = caseId;
+    }
+
+    private void finishCase() {
+        if (!currentCaseOrdered) {
+            columns.sortCase(columns.caseIds.size() - 1);
+            currentCaseOrdered = true;
+        }
+    }
+}
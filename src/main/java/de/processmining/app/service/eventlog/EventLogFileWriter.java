@@ -0,0 +1,40 @@
+package de.processmining.app.service.eventlog;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Writes an event log to a file one case at a time, so that exporting a log never holds it in memory as a whole.
+ * <p>
+ * Each case is started with its case attributes and followed by its events; {@link #finish()} completes the file and
+ * leaves the output stream open.
+ */
+public interface EventLogFileWriter {
+    /**
+     * Start a case, ending the previous one.
+     *
+     * @param caseId the case identifier.
+     * @param attributes the case attributes, without the case identifier.
+     * @throws IOException if the stream cannot be written.
+     */
+    void startCase(String caseId, Map<String, String> attributes) throws IOException;
+
+    /**
+     * Write an event of the current case.
+     *
+     * @param activity the executed activity.
+     * @param timestamp the time the event occurred, or {@code null} if unknown.
+     * @param resource the resource executing the activity, or {@code null}.
+     * @param attributes the remaining event attributes.
+     * @throws IOException if the stream cannot be written.
+     */
+    void event(String activity, Instant timestamp, String resource, Map<String, String> attributes) throws IOException;
+
+    /**
+     * End the last case and the file, and flush the stream.
+     *
+     * @throws IOException if the stream cannot be written.
+     */
+    void finish() throws IOException;
+}
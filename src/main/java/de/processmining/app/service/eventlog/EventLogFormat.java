@@ -0,0 +1,79 @@
+package de.processmining.app.service.eventlog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * File formats in which event logs can be exported.
+ */
+public enum EventLogFormat {
+    XES("application/xml", "xes", false) {
+        @Override
+        public EventLogFileWriter open(OutputStream outputStream, List<String> caseAttributeNames, List<String> eventAttributeNames)
+            throws IOException {
+            return new XesEventLogWriter(outputStream);
+        }
+    },
+    CSV("text/csv", "csv", true) {
+        @Override
+        public EventLogFileWriter open(OutputStream outputStream, List<String> caseAttributeNames, List<String> eventAttributeNames)
+            throws IOException {
+            return new CsvEventLogWriter(outputStream, ',', caseAttributeNames, eventAttributeNames);
+        }
+    };
+
+    private final String contentType;
+
+    private final String extension;
+
+    private final boolean attributeColumns;
+
+    EventLogFormat(String contentType, String extension, boolean attributeColumns) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.attributeColumns = attributeColumns;
+    }
+
+    /**
+     * @param extension the file extension of the format, in any case.
+     * @return the format, or empty if no format has this extension.
+     */
+    public static Optional<EventLogFormat> ofExtension(String extension) {
+        for (EventLogFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @return whether each attribute is written in a column, so that the attribute names must be known before the first
+     * case is written.
+     */
+    public boolean hasAttributeColumns() {
+        return attributeColumns;
+    }
+
+    /**
+     * Start writing an event log in this format.
+     *
+     * @param outputStream the stream receiving the log, which is left open.
+     * @param caseAttributeNames the names of the case attributes, if {@link #hasAttributeColumns()}.
+     * @param eventAttributeNames the names of the event attributes, if {@link #hasAttributeColumns()}.
+     * @return the writer receiving the cases.
+     * @throws IOException if the stream cannot be written.
+     */
+    public abstract EventLogFileWriter open(OutputStream outputStream, List<String> caseAttributeNames, List<String> eventAttributeNames)
+        throws IOException;
+}
@@ -0,0 +1,30 @@
+package de.processmining.app.service.eventlog;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Receives the traces and events of an event log while it is being parsed.
+ * <p>
+ * Parsers push the log through a handler one element at a time, so that a log never has to be held in memory as a whole.
+ */
+public interface EventLogHandler {
+    /**
+     * Handle a trace, i.e. the case-level attributes of a case.
+     *
+     * @param caseId the case identifier.
+     * @param attributes the case attributes, without the case identifier.
+     */
+    void trace(String caseId, Map<String, String> attributes);
+
+    /**
+     * Handle an event.
+     *
+     * @param caseId the identifier of the case the event belongs to.
+     * @param activity the executed activity.
+     * @param timestamp the time the event occurred, or {@code null} if unknown.
+     * @param resource the resource executing the activity, or {@code null}.
+     * @param attributes the remaining event attributes.
+     */
+    void event(String caseId, String activity, Instant timestamp, String resource, Map<String, String> attributes);
+}
@@ -0,0 +1,117 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Arrays;
+
+/**
+ * Immutable column of {@code int} values, stored in chunks of {@value #CHUNK_SIZE} values.
+ * <p>
+ * A {@link Builder} started from a column shares its chunks and copies a chunk only before writing to it, so appending
+ * values to a column, or changing a few of them, costs the chunks written plus one reference per chunk instead of a
+ * copy of the whole column. The first chunk grows by doubling, so that small columns stay small.
+ */
+final class IntColumn {
+    static final int CHUNK_BITS = 12;
+
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int MASK = CHUNK_SIZE - 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    static final IntColumn EMPTY = new IntColumn(new int[0][], 0);
+
+    private final int[][] chunks;
+
+    private final int size;
+
+    private IntColumn(int[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    int get(int index) {
+        return chunks[index >>> CHUNK_BITS][index & MASK];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a builder starting with the values of this column, which stays unchanged.
+     */
+    Builder toBuilder() {
+        return new Builder(chunks, size);
+    }
+
+    /**
+     * Builds a column by appending and setting values. Instances are not thread-safe; they share their chunks
+     * with the columns they built, copying them before writing again.
+     */
+    static final class Builder {
+        private int[][] chunks;
+
+        /**
+         * Whether each chunk was allocated by this builder, and may be written to.
+         */
+        private boolean[] owned;
+
+        private int size;
+
+        Builder() {
+            this(EMPTY.chunks, 0);
+        }
+
+        private Builder(int[][] chunks, int size) {
+            this.chunks = Arrays.copyOf(chunks, chunks.length);
+            this.owned = new boolean[chunks.length];
+            this.size = size;
+        }
+
+        int get(int index) {
+            return chunks[index >>> CHUNK_BITS][index & MASK];
+        }
+
+        int size() {
+            return size;
+        }
+
+        Builder add(int value) {
+            int chunk = size >>> CHUNK_BITS;
+            int offset = size & MASK;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(4, chunk * 2));
+                owned = Arrays.copyOf(owned, chunks.length);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new int[chunk == 0 ? INITIAL_CAPACITY : CHUNK_SIZE];
+                owned[chunk] = true;
+            } else if (offset == chunks[chunk].length) {
+                chunks[chunk] = Arrays.copyOf(chunks[chunk], Math.min(CHUNK_SIZE, offset * 2));
+                owned[chunk] = true;
+            }
+            write(chunk)[offset] = value;
+            size++;
+            return this;
+        }
+
+        Builder set(int index, int value) {
+            write(index >>> CHUNK_BITS)[index & MASK] = value;
+            return this;
+        }
+
+        IntColumn build() {
+            IntColumn column = new IntColumn(Arrays.copyOf(chunks, chunks.length), size);
+            Arrays.fill(owned, false);
+            return column;
+        }
+
+        private int[] write(int chunk) {
+            if (!owned[chunk]) {
+                chunks[chunk] = chunks[chunk].clone();
+                owned[chunk] = true;
+            }
+            return chunks[chunk];
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Positions of keys, shared by the successive versions of a structure to which keys are only appended, such as the
+ * cases of the versions of an event log.
+ * <p>
+ * A version holding {@code size} keys only sees the positions below its size, so that the keys appended by later
+ * versions are invisible to it. Only the latest version extends the index in place: extending it from an older version
+ * makes a copy holding the keys of that version, so that two versions never give the same position to different keys.
+ * Instances are thread-safe.
+ */
+final class KeyIndex<K> {
+    private static final int EXTENDING = -1;
+
+    private final Map<K, Integer> positions;
+
+    /**
+     * The number of keys of the latest version, or {@link #EXTENDING} while it is being extended.
+     */
+    private final AtomicInteger size;
+
+    private KeyIndex(Map<K, Integer> positions, int size) {
+        this.positions = positions;
+        this.size = new AtomicInteger(size);
+    }
+
+    /**
+     * @return a new empty index, being extended.
+     */
+    static <K> KeyIndex<K> extending() {
+        return new KeyIndex<>(new ConcurrentHashMap<>(), EXTENDING);
+    }
+
+    /**
+     * @param key the key.
+     * @param size the number of keys of the version.
+     * @return the position of the key in the version, or {@code -1} if the version does not hold it.
+     */
+    int get(K key, int size) {
+        Integer position = positions.get(key);
+        return position != null && position < size ? position : -1;
+    }
+
+    /**
+     * Start extending the version holding the given number of keys, until {@link #extended(int)}.
+     *
+     * @param size the number of keys of the version.
+     * @return this index if the version is the latest one, or a copy of the keys of the version otherwise.
+     */
+    KeyIndex<K> extend(int size) {
+        if (this.size.compareAndSet(size, EXTENDING)) {
+            return this;
+        }
+        Map<K, Integer> copy = new ConcurrentHashMap<>(size * 4 / 3 + 1);
+        for (Map.Entry<K, Integer> entry : positions.entrySet()) {
+            if (entry.getValue() < size) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new KeyIndex<>(copy, EXTENDING);
+    }
+
+    /**
+     * Add a key, keeping its first position if it is already held.
+     *
+     * @param key the key.
+     * @param position its position.
+     */
+    void put(K key, int position) {
+        positions.putIfAbsent(key, position);
+    }
+
+    /**
+     * End extending the index.
+     *
+     * @param size the number of keys of the new version.
+     */
+    void extended(int size) {
+        this.size.set(size);
+    }
+}
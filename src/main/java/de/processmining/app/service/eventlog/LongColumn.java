@@ -0,0 +1,112 @@
+package de.processmining.app.service.eventlog;
+
+import static de.processmining.app.service.eventlog.IntColumn.CHUNK_BITS;
+import static de.processmining.app.service.eventlog.IntColumn.CHUNK_SIZE;
+
+import java.util.Arrays;
+
+/**
+ * Immutable column of {@code long} values, stored in chunks like an {@link IntColumn}.
+ */
+final class LongColumn {
+    private static final int MASK = CHUNK_SIZE - 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    static final LongColumn EMPTY = new LongColumn(new long[0][], 0);
+
+    private final long[][] chunks;
+
+    private final int size;
+
+    private LongColumn(long[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    long get(int index) {
+        return chunks[index >>> CHUNK_BITS][index & MASK];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a builder starting with the values of this column, which stays unchanged.
+     */
+    Builder toBuilder() {
+        return new Builder(chunks, size);
+    }
+
+    /**
+     * Builds a column by appending and setting values. Instances are not thread-safe; they share their chunks
+     * with the columns they built, copying them before writing again.
+     */
+    static final class Builder {
+        private long[][] chunks;
+
+        /**
+         * Whether each chunk was allocated by this builder, and may be written to.
+         */
+        private boolean[] owned;
+
+        private int size;
+
+        Builder() {
+            this(EMPTY.chunks, 0);
+        }
+
+        private Builder(long[][] chunks, int size) {
+            this.chunks = Arrays.copyOf(chunks, chunks.length);
+            this.owned = new boolean[chunks.length];
+            this.size = size;
+        }
+
+        long get(int index) {
+            return chunks[index >>> CHUNK_BITS][index & MASK];
+        }
+
+        int size() {
+            return size;
+        }
+
+        Builder add(long value) {
+            int chunk = size >>> CHUNK_BITS;
+            int offset = size & MASK;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(4, chunk * 2));
+                owned = Arrays.copyOf(owned, chunks.length);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new long[chunk == 0 ? INITIAL_CAPACITY : CHUNK_SIZE];
+                owned[chunk] = true;
+            } else if (offset == chunks[chunk].length) {
+                chunks[chunk] = Arrays.copyOf(chunks[chunk], Math.min(CHUNK_SIZE, offset * 2));
+                owned[chunk] = true;
+            }
+            write(chunk)[offset] = value;
+            size++;
+            return this;
+        }
+
+        Builder set(int index, long value) {
+            write(index >>> CHUNK_BITS)[index & MASK] = value;
+            return this;
+        }
+
+        LongColumn build() {
+            LongColumn column = new LongColumn(Arrays.copyOf(chunks, chunks.length), size);
+            Arrays.fill(owned, false);
+            return column;
+        }
+
+        private long[] write(int chunk) {
+            if (!owned[chunk]) {
+                chunks[chunk] = chunks[chunk].clone();
+                owned[chunk] = true;
+            }
+            return chunks[chunk];
+        }
+    }
+}
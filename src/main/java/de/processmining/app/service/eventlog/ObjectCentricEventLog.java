@@ -0,0 +1,171 @@
+package de.processmining.app.service.eventlog;
+
+/**
+ * Immutable, columnar in-memory representation of an object-centric event log, where each event refers to any number
+ * of objects of different types (orders, items, deliveries, ...).
+ * <p>
+ * Every event is stored once, in primitive arrays indexed by event number and ordered by time. The relation between
+ * events and objects is stored in both directions as compressed sparse rows: {@code [eventObjectStart(e),
+ * eventObjectEnd(e))} ranges over the objects of an event and {@code [objectEventStart(o), objectEventEnd(o))} over
+ * the events of an object, in time order. Unlike flattening the log per object type, which copies an event for each
+ * of its objects, this layout takes 8 bytes per event-object relation.
+ * <p>
+ * Instances are built with an {@link ObjectCentricEventLogBuilder} and are safe to share between threads.
+ */
+public final class ObjectCentricEventLog {
+    private final ValueDictionary activityDictionary;
+
+    private final ValueDictionary objectTypeDictionary;
+
+    private final String[] eventIds;
+
+    private final int[] activities;
+
+    private final long[] timestamps;
+
+    private final String[] objectIds;
+
+    private final int[] objectTypes;
+
+    private final int[] eventObjectOffsets;
+
+    private final int[] eventObjects;
+
+    private final int[] objectEventOffsets;
+
+    private final int[] objectEvents;
+
+    ObjectCentricEventLog(
+        ValueDictionary activityDictionary,
+        ValueDictionary objectTypeDictionary,
+        String[] eventIds,
+        int[] activities,
+        long[] timestamps,
+        String[] objectIds,
+        int[] objectTypes,
+        int[] eventObjectOffsets,
+        int[] eventObjects,
+        int[] objectEventOffsets,
+        int[] objectEvents
+    ) {
+        this.activityDictionary = activityDictionary;
+        this.objectTypeDictionary = objectTypeDictionary;
+        this.eventIds = eventIds;
+        this.activities = activities;
+        this.timestamps = timestamps;
+        this.objectIds = objectIds;
+        this.objectTypes = objectTypes;
+        this.eventObjectOffsets = eventObjectOffsets;
+        this.eventObjects = eventObjects;
+        this.objectEventOffsets = objectEventOffsets;
+        this.objectEvents = objectEvents;
+    }
+
+    public int eventCount() {
+        return activities.length;
+    }
+
+    public int objectCount() {
+        return objectIds.length;
+    }
+
+    public int relationCount() {
+        return eventObjects.length;
+    }
+
+    public int activityCount() {
+        return activityDictionary.size();
+    }
+
+    public int objectTypeCount() {
+        return objectTypeDictionary.size();
+    }
+
+    public String eventId(int event) {
+        return eventIds[event];
+    }
+
+    public int activity(int event) {
+        return activities[event];
+    }
+
+    /**
+     * @param event the number of the event.
+     * @return the epoch milliseconds of the event, or {@link EventLog#NO_TIMESTAMP}.
+     */
+    public long timestamp(int event) {
+        return timestamps[event];
+    }
+
+    /**
+     * @param event the number of the event.
+     * @return the position of the first object of the event.
+     */
+    public int eventObjectStart(int event) {
+        return eventObjectOffsets[event];
+    }
+
+    /**
+     * @param event the number of the event.
+     * @return the position following the last object of the event.
+     */
+    public int eventObjectEnd(int event) {
+        return eventObjectOffsets[event + 1];
+    }
+
+    /**
+     * @param position a position between {@link #eventObjectStart(int)} and {@link #eventObjectEnd(int)}.
+     * @return the number of the object.
+     */
+    public int eventObject(int position) {
+        return eventObjects[position];
+    }
+
+    public String objectId(int object) {
+        return objectIds[object];
+    }
+
+    public int objectType(int object) {
+        return objectTypes[object];
+    }
+
+    /**
+     * @param object the number of the object.
+     * @return the position of the first event of the object.
+     */
+    public int objectEventStart(int object) {
+        return objectEventOffsets[object];
+    }
+
+    /**
+     * @param object the number of the object.
+     * @return the position following the last event of the object.
+     */
+    public int objectEventEnd(int object) {
+        return objectEventOffsets[object + 1];
+    }
+
+    /**
+     * @param position a position between {@link #objectEventStart(int)} and {@link #objectEventEnd(int)}.
+     * @return the number of the event, events of an object being in time order.
+     */
+    public int objectEvent(int position) {
+        return objectEvents[position];
+    }
+
+    public String activityName(int activity) {
+        return activityDictionary.decode(activity);
+    }
+
+    public String objectTypeName(int objectType) {
+        return objectTypeDictionary.decode(objectType);
+    }
+
+    /**
+     * @param name the object type name.
+     * @return the object type code, or {@code -1} if no object has this type.
+     */
+    public int objectTypeCode(String name) {
+        return objectTypeDictionary.codeOf(name);
+    }
+}
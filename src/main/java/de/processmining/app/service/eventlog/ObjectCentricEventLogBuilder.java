@@ -0,0 +1,209 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds an {@link ObjectCentricEventLog} from objects, events and the relations between them, added in any order.
+ * <p>
+ * Events are ordered by timestamp when the log is built, keeping the insertion order of events with the same
+ * timestamp. Relations to events or objects which were never added are ignored. Instances are not thread-safe.
+ */
+public final class ObjectCentricEventLogBuilder {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ValueDictionary activityDictionary = new ValueDictionary();
+
+    private final ValueDictionary objectTypeDictionary = new ValueDictionary();
+
+    private final ValueDictionary objectDictionary = new ValueDictionary();
+
+    private final Map<String, Integer> eventNumbers = new HashMap<>();
+
+    private int[] objectTypes = untyped(new int[INITIAL_CAPACITY], 0);
+
+    private String[] eventIds = new String[INITIAL_CAPACITY];
+
+    private int[] activities = new int[INITIAL_CAPACITY];
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+
+    private int eventCount;
+
+    private int[] relationEvents = new int[INITIAL_CAPACITY];
+
+    private int[] relationObjects = new int[INITIAL_CAPACITY];
+
+    private int relationCount;
+
+    /**
+     * @param objectId the object identifier.
+     * @param objectType the object type name.
+     * @return this builder.
+     */
+    public ObjectCentricEventLogBuilder addObject(String objectId, String objectType) {
+        int object = encodeObject(objectId);
+        objectTypes[object] = objectTypeDictionary.encode(objectType);
+        return this;
+    }
+
+    /**
+     * @param eventId the event identifier, unique in the log.
+     * @param activity the activity name.
+     * @param timestamp the epoch milliseconds of the event, or {@link EventLog#NO_TIMESTAMP}.
+     * @return this builder.
+     */
+    public ObjectCentricEventLogBuilder addEvent(String eventId, String activity, long timestamp) {
+        if (eventCount == activities.length) {
+            int capacity = activities.length * 2;
+            eventIds = Arrays.copyOf(eventIds, capacity);
+            activities = Arrays.copyOf(activities, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        eventNumbers.put(eventId, eventCount);
+        eventIds[eventCount] = eventId;
+        activities[eventCount] = activityDictionary.encode(activity);
+        timestamps[eventCount] = timestamp;
+        eventCount++;
+        return this;
+    }
+
+    /**
+     * @param eventId the identifier of an event, added before.
+     * @param objectId the identifier of an object the event refers to, added before or after.
+     * @return this builder.
+     */
+    public ObjectCentricEventLogBuilder addRelation(String eventId, String objectId) {
+        Integer event = eventNumbers.get(eventId);
+        if (event == null) {
+            return this;
+        }
+        if (relationCount == relationEvents.length) {
+            relationEvents = Arrays.copyOf(relationEvents, relationCount * 2);
+            relationObjects = Arrays.copyOf(relationObjects, relationCount * 2);
+        }
+        relationEvents[relationCount] = event;
+        relationObjects[relationCount] = encodeObject(objectId);
+        relationCount++;
+        return this;
+    }
+
+    /**
+     * @return the object-centric event log holding all objects, events and relations added so far.
+     */
+    public ObjectCentricEventLog build() {
+        int[] eventOrder = timeOrder();
+        int[] eventPositions = new int[eventCount];
+        for (int e = 0; e < eventCount; e++) {
+            eventPositions[eventOrder[e]] = e;
+        }
+
+        // objects referenced but never added have no type and are dropped
+        int[] objectNumbers = new int[objectDictionary.size()];
+        int objectCount = 0;
+        for (int o = 0; o < objectNumbers.length; o++) {
+            objectNumbers[o] = objectTypes[o] < 0 ? -1 : objectCount++;
+        }
+        String[] objectIds = new String[objectCount];
+        int[] types = new int[objectCount];
+        for (int o = 0; o < objectNumbers.length; o++) {
+            if (objectNumbers[o] >= 0) {
+                objectIds[objectNumbers[o]] = objectDictionary.decode(o);
+                types[objectNumbers[o]] = objectTypes[o];
+            }
+        }
+
+        int[] eventObjectOffsets = new int[eventCount + 1];
+        int[] objectEventOffsets = new int[objectCount + 1];
+        for (int r = 0; r < relationCount; r++) {
+            int object = objectNumbers[relationObjects[r]];
+            if (object >= 0) {
+                eventObjectOffsets[eventPositions[relationEvents[r]] + 1]++;
+                objectEventOffsets[object + 1]++;
+            }
+        }
+        for (int e = 0; e < eventCount; e++) {
+            eventObjectOffsets[e + 1] += eventObjectOffsets[e];
+        }
+        for (int o = 0; o < objectCount; o++) {
+            objectEventOffsets[o + 1] += objectEventOffsets[o];
+        }
+        int[] eventObjects = new int[eventObjectOffsets[eventCount]];
+        int[] next = Arrays.copyOf(eventObjectOffsets, eventCount);
+        for (int r = 0; r < relationCount; r++) {
+            int object = objectNumbers[relationObjects[r]];
+            if (object >= 0) {
+                eventObjects[next[eventPositions[relationEvents[r]]]++] = object;
+            }
+        }
+        // filled event by event, so that the events of each object are in time order
+        int[] objectEvents = new int[eventObjects.length];
+        next = Arrays.copyOf(objectEventOffsets, objectCount);
+        for (int e = 0; e < eventCount; e++) {
+            for (int i = eventObjectOffsets[e]; i < eventObjectOffsets[e + 1]; i++) {
+                objectEvents[next[eventObjects[i]]++] = e;
+            }
+        }
+
+        String[] orderedEventIds = new String[eventCount];
+        int[] orderedActivities = new int[eventCount];
+        long[] orderedTimestamps = new long[eventCount];
+        for (int e = 0; e < eventCount; e++) {
+            orderedEventIds[e] = eventIds[eventOrder[e]];
+            orderedActivities[e] = activities[eventOrder[e]];
+            orderedTimestamps[e] = timestamps[eventOrder[e]];
+        }
+        return new ObjectCentricEventLog(
+            activityDictionary,
+            objectTypeDictionary,
+            orderedEventIds,
+            orderedActivities,
+            orderedTimestamps,
+            objectIds,
+            types,
+            eventObjectOffsets,
+            eventObjects,
+            objectEventOffsets,
+            objectEvents
+        );
+    }
+
+    private int encodeObject(String objectId) {
+        int object = objectDictionary.encode(objectId);
+        if (object == objectTypes.length) {
+            objectTypes = untyped(Arrays.copyOf(objectTypes, object * 2), object);
+        }
+        return object;
+    }
+
+    private static int[] untyped(int[] types, int from) {
+        Arrays.fill(types, from, types.length, -1);
+        return types;
+    }
+
+    /**
+     * @return the numbers of the events sorted by timestamp, stable.
+     */
+    private int[] timeOrder() {
+        int[] order = new int[eventCount];
+        boolean ordered = true;
+        for (int e = 0; e < eventCount; e++) {
+            order[e] = e;
+            ordered &= e == 0 || timestamps[e - 1] <= timestamps[e];
+        }
+        if (ordered) {
+            return order;
+        }
+        Integer[] boxed = new Integer[eventCount];
+        for (int e = 0; e < eventCount; e++) {
+            boxed[e] = e;
+        }
+        Arrays.sort(boxed, Comparator.comparingLong(e -> timestamps[e]));
+        for (int e = 0; e < eventCount; e++) {
+            order[e] = boxed[e];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,33 @@
+package de.processmining.app.service.eventlog;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives the objects and events of an object-centric event log while it is being parsed.
+ * <p>
+ * Parsers push the log through a handler one element at a time, in document order: objects may be handled before or
+ * after the events referring to them.
+ */
+public interface ObjectCentricEventLogHandler {
+    /**
+     * Handle an object.
+     *
+     * @param objectId the object identifier.
+     * @param objectType the type of the object.
+     * @param attributes the object attributes.
+     */
+    void object(String objectId, String objectType, Map<String, String> attributes);
+
+    /**
+     * Handle an event.
+     *
+     * @param eventId the event identifier.
+     * @param activity the executed activity.
+     * @param timestamp the time the event occurred, or {@code null} if unknown.
+     * @param objectIds the identifiers of the objects the event refers to.
+     * @param attributes the event attributes.
+     */
+    void event(String eventId, String activity, Instant timestamp, List<String> objectIds, Map<String, String> attributes);
+}
@@ -0,0 +1,123 @@
+package de.processmining.app.service.eventlog;
+
+import static de.processmining.app.service.eventlog.IntColumn.CHUNK_BITS;
+import static de.processmining.app.service.eventlog.IntColumn.CHUNK_SIZE;
+
+import java.util.Arrays;
+
+/**
+ * Immutable column of references, stored in chunks like an {@link IntColumn}.
+ *
+ * @param <T> the type of the values.
+ */
+final class ObjectColumn<T> {
+    private static final int MASK = CHUNK_SIZE - 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final ObjectColumn<?> EMPTY = new ObjectColumn<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+
+    private final int size;
+
+    private ObjectColumn(Object[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ObjectColumn<T> empty() {
+        return (ObjectColumn<T>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        return (T) chunks[index >>> CHUNK_BITS][index & MASK];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a builder starting with the values of this column, which stays unchanged.
+     */
+    Builder<T> toBuilder() {
+        return new Builder<>(chunks, size);
+    }
+
+    /**
+     * Builds a column by appending and setting values. Instances are not thread-safe; they share their chunks
+     * with the columns they built, copying them before writing again.
+     *
+     * @param <T> the type of the values.
+     */
+    static final class Builder<T> {
+        private Object[][] chunks;
+
+        /**
+         * Whether each chunk was allocated by this builder, and may be written to.
+         */
+        private boolean[] owned;
+
+        private int size;
+
+        Builder() {
+            this(EMPTY.chunks, 0);
+        }
+
+        private Builder(Object[][] chunks, int size) {
+            this.chunks = Arrays.copyOf(chunks, chunks.length);
+            this.owned = new boolean[chunks.length];
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int index) {
+            return (T) chunks[index >>> CHUNK_BITS][index & MASK];
+        }
+
+        int size() {
+            return size;
+        }
+
+        Builder<T> add(T value) {
+            int chunk = size >>> CHUNK_BITS;
+            int offset = size & MASK;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(4, chunk * 2));
+                owned = Arrays.copyOf(owned, chunks.length);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new Object[chunk == 0 ? INITIAL_CAPACITY : CHUNK_SIZE];
+                owned[chunk] = true;
+            } else if (offset == chunks[chunk].length) {
+                chunks[chunk] = Arrays.copyOf(chunks[chunk], Math.min(CHUNK_SIZE, offset * 2));
+                owned[chunk] = true;
+            }
+            write(chunk)[offset] = value;
+            size++;
+            return this;
+        }
+
+        Builder<T> set(int index, T value) {
+            write(index >>> CHUNK_BITS)[index & MASK] = value;
+            return this;
+        }
+
+        ObjectColumn<T> build() {
+            ObjectColumn<T> column = new ObjectColumn<>(Arrays.copyOf(chunks, chunks.length), size);
+            Arrays.fill(owned, false);
+            return column;
+        }
+
+        private Object[] write(int chunk) {
+            if (!owned[chunk]) {
+                chunks[chunk] = chunks[chunk].clone();
+                owned[chunk] = true;
+            }
+            return chunks[chunk];
+        }
+    }
+}
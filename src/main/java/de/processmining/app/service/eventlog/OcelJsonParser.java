@@ -0,0 +1,149 @@
+package de.processmining.app.service.eventlog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import de.processmining.app.service.InvalidEventLogException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parser for object-centric event logs in the <a href="http://www.ocel-standard.org">OCEL</a> JSON format.
+ * <p>
+ * The document is read token by token: only the event or object being parsed is held in memory, so logs of any size
+ * can be imported. Only scalar attributes of events and objects are kept; nested values and the global log, event and
+ * object declarations are skipped.
+ */
+public class OcelJsonParser {
+    public static final String EVENTS = "ocel:events";
+
+    public static final String OBJECTS = "ocel:objects";
+
+    public static final String ACTIVITY = "ocel:activity";
+
+    public static final String TIMESTAMP = "ocel:timestamp";
+
+    public static final String OBJECT_MAP = "ocel:omap";
+
+    public static final String VALUE_MAP = "ocel:vmap";
+
+    public static final String TYPE = "ocel:type";
+
+    public static final String OBJECT_VALUE_MAP = "ocel:ovmap";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Parse an OCEL JSON document, pushing its events and objects to the handler in document order.
+     *
+     * @param inputStream the OCEL JSON document.
+     * @param handler the handler receiving the events and objects.
+     * @throws IOException if the document cannot be read.
+     * @throws InvalidEventLogException if the document is not a valid OCEL JSON log.
+     */
+    public void parse(InputStream inputStream, ObjectCentricEventLogHandler handler) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidEventLogException("OCEL JSON document must be an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (EVENTS.equals(name) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String eventId = parser.getCurrentName();
+                        expect(parser.nextToken(), JsonToken.START_OBJECT, eventId);
+                        parseEvent(parser, eventId, handler);
+                    }
+                } else if (OBJECTS.equals(name) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String objectId = parser.getCurrentName();
+                        expect(parser.nextToken(), JsonToken.START_OBJECT, objectId);
+                        parseObject(parser, objectId, handler);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (JsonParseException e) {
+            throw new InvalidEventLogException("Malformed OCEL JSON document: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void parseEvent(JsonParser parser, String eventId, ObjectCentricEventLogHandler handler) throws IOException {
+        String activity = null;
+        String timestamp = null;
+        List<String> objectIds = new ArrayList<>();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (ACTIVITY.equals(name)) {
+                activity = parser.getValueAsString();
+            } else if (TIMESTAMP.equals(name)) {
+                timestamp = parser.getValueAsString();
+            } else if (OBJECT_MAP.equals(name) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken().isScalarValue()) {
+                        objectIds.add(parser.getValueAsString());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if (VALUE_MAP.equals(name) && value == JsonToken.START_OBJECT) {
+                parseAttributes(parser, attributes);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (activity == null) {
+            throw new InvalidEventLogException("Event without " + ACTIVITY + ": " + eventId);
+        }
+        handler.event(eventId, activity, timestamp == null ? null : TimestampParser.iso().parse(timestamp), objectIds, attributes);
+    }
+
+    private void parseObject(JsonParser parser, String objectId, ObjectCentricEventLogHandler handler) throws IOException {
+        String type = null;
+        Map<String, String> attributes = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (TYPE.equals(name)) {
+                type = parser.getValueAsString();
+            } else if (OBJECT_VALUE_MAP.equals(name) && value == JsonToken.START_OBJECT) {
+                parseAttributes(parser, attributes);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (type == null) {
+            throw new InvalidEventLogException("Object without " + TYPE + ": " + objectId);
+        }
+        handler.object(objectId, type, attributes);
+    }
+
+    private static void parseAttributes(JsonParser parser, Map<String, String> attributes) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value.isScalarValue()) {
+                attributes.put(name, value == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+            } else {
+                // nested values are not kept
+                attributes.put(name, null);
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void expect(JsonToken token, JsonToken expected, String id) {
+        if (token != expected) {
+            throw new InvalidEventLogException("Malformed OCEL JSON document: " + id + " is not an object");
+        }
+    }
+}
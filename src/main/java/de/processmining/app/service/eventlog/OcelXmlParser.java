@@ -0,0 +1,164 @@
+package de.processmining.app.service.eventlog;
+
+import de.processmining.app.service.InvalidEventLogException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming parser for object-centric event logs in the <a href="http://www.ocel-standard.org">OCEL</a> XML format.
+ * <p>
+ * The document is read with a StAX pull parser: only the event or object being parsed is held in memory, so logs of
+ * any size can be imported. Only the top-level attributes of the value maps of events and objects are kept; the global
+ * log, event and object declarations are skipped.
+ */
+public class OcelXmlParser {
+    private static final String EVENT = "event";
+
+    private static final String OBJECT = "object";
+
+    private static final String ID = "id";
+
+    private static final String ACTIVITY = "activity";
+
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final String TYPE = "type";
+
+    private static final String OBJECT_MAP = "omap";
+
+    private static final String VALUE_MAP = "vmap";
+
+    private static final String OBJECT_VALUE_MAP = "ovmap";
+
+    private final XMLInputFactory inputFactory;
+
+    public OcelXmlParser() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    /**
+     * Parse an OCEL XML document, pushing its events and objects to the handler in document order.
+     *
+     * @param inputStream the OCEL XML document.
+     * @param handler the handler receiving the events and objects.
+     * @throws InvalidEventLogException if the document is not a valid OCEL XML log.
+     */
+    public void parse(InputStream inputStream, ObjectCentricEventLogHandler handler) {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(inputStream);
+            parse(reader, handler);
+        } catch (XMLStreamException e) {
+            throw new InvalidEventLogException("Malformed OCEL XML document: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // the underlying stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    private void parse(XMLStreamReader reader, ObjectCentricEventLogHandler handler) throws XMLStreamException {
+        // fields of the event or object being parsed, null outside of them
+        Map<String, String> fields = null;
+        List<String> objectIds = new ArrayList<>();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        // the key of the list being parsed directly inside the event or object, if any
+        String list = null;
+        // depth of the current element below the event or object
+        int depth = 0;
+
+        while (reader.hasNext()) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (fields == null) {
+                    if (EVENT.equals(name) || OBJECT.equals(name)) {
+                        fields = new LinkedHashMap<>();
+                        objectIds.clear();
+                        attributes.clear();
+                        depth = 0;
+                    }
+                    continue;
+                }
+                depth++;
+                String key = reader.getAttributeValue(null, "key");
+                if (depth == 1) {
+                    if ("list".equals(name)) {
+                        list = key;
+                    } else if (key != null) {
+                        fields.put(key, reader.getAttributeValue(null, "value"));
+                    }
+                } else if (depth == 2 && list != null) {
+                    String value = reader.getAttributeValue(null, "value");
+                    if (OBJECT_MAP.equals(list)) {
+                        if (value != null) {
+                            objectIds.add(value);
+                        }
+                    } else if ((VALUE_MAP.equals(list) || OBJECT_VALUE_MAP.equals(list)) && key != null) {
+                        // nested lists and containers are kept without value
+                        attributes.put(key, value);
+                    }
+                }
+            } else if (type == XMLStreamConstants.END_ELEMENT && fields != null) {
+                if (depth > 0) {
+                    if (depth == 1) {
+                        list = null;
+                    }
+                    depth--;
+                    continue;
+                }
+                String name = reader.getLocalName();
+                if (EVENT.equals(name)) {
+                    handleEvent(fields, objectIds, attributes, handler);
+                } else if (OBJECT.equals(name)) {
+                    handleObject(fields, attributes, handler);
+                }
+                fields = null;
+            }
+        }
+    }
+
+    private void handleEvent(
+        Map<String, String> fields,
+        List<String> objectIds,
+        Map<String, String> attributes,
+        ObjectCentricEventLogHandler handler
+    ) {
+        String eventId = fields.get(ID);
+        String activity = fields.get(ACTIVITY);
+        if (eventId == null || activity == null) {
+            throw new InvalidEventLogException("Event without " + ID + " or " + ACTIVITY + ": " + fields);
+        }
+        String timestamp = fields.get(TIMESTAMP);
+        handler.event(
+            eventId,
+            activity,
+            timestamp == null ? null : TimestampParser.iso().parse(timestamp),
+            new ArrayList<>(objectIds),
+            new LinkedHashMap<>(attributes)
+        );
+    }
+
+    private void handleObject(Map<String, String> fields, Map<String, String> attributes, ObjectCentricEventLogHandler handler) {
+        String objectId = fields.get(ID);
+        String type = fields.get(TYPE);
+        if (objectId == null || type == null) {
+            throw new InvalidEventLogException("Object without " + ID + " or " + TYPE + ": " + fields);
+        }
+        handler.object(objectId, type, new LinkedHashMap<>(attributes));
+    }
+}
@@ -0,0 +1,359 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Arrays;
+
+/**
+ * Immutable prefix tree of the traces of an {@link EventLog}, a trace being the sequence of activities of a case.
+ * <p>
+ * Each node stands for a trace prefix: the root for the empty prefix, and every other node for the prefix of its parent
+ * followed by its activity. A node records how many traces start with its prefix and which cases have exactly its
+ * prefix as trace, so that each trace variant, and each prefix shared by several variants, is stored once.
+ * Nodes are numbered in creation order, a parent always before its children.
+ * <p>
+ * The tree of a log with appended events is {@link #update(EventLog, int[]) updated} from the tree of the previous log,
+ * sharing its chunked columns, at the cost of the traces of the changed cases. A node which no trace starts with any
+ * more keeps its number, with a trace count of 0, but is no longer a child of its parent.
+ */
+public final class PrefixTree {
+    public static final int ROOT = 0;
+
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private final IntColumn parents;
+
+    private final IntColumn activities;
+
+    private final IntColumn depths;
+
+    private final IntColumn traceCounts;
+
+    /**
+     * The children of each node, ordered by activity code.
+     */
+    private final ObjectColumn<int[]> children;
+
+    /**
+     * The child of each node for each activity, by {@link #childKey(int, int) key}.
+     */
+    private final KeyIndex<Long> childNodes;
+
+    /**
+     * The node of the trace of each case.
+     */
+    private final IntColumn caseNodes;
+
+    /**
+     * The number of cases whose trace is exactly the prefix of each node.
+     */
+    private final IntColumn caseCounts;
+
+    /**
+     * The cases of each node, built on first use.
+     */
+    private volatile CaseLists caseLists;
+
+    private PrefixTree(
+        IntColumn parents,
+        IntColumn activities,
+        IntColumn depths,
+        IntColumn traceCounts,
+        ObjectColumn<int[]> children,
+        KeyIndex<Long> childNodes,
+        IntColumn caseNodes,
+        IntColumn caseCounts
+    ) {
+        this.parents = parents;
+        this.activities = activities;
+        this.depths = depths;
+        this.traceCounts = traceCounts;
+        this.children = children;
+        this.childNodes = childNodes;
+        this.caseNodes = caseNodes;
+        this.caseCounts = caseCounts;
+    }
+
+    /**
+     * @param eventLog the event log.
+     * @return the prefix tree of the traces of the log.
+     */
+    public static PrefixTree of(EventLog eventLog) {
+        Builder builder = new Builder();
+        for (int c = 0; c < eventLog.caseCount(); c++) {
+            builder.addCase(eventLog, c);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Update the tree with the cases changed by appending events to its log.
+     *
+     * @param eventLog the log with the appended events.
+     * @param cases the indexes in the log of the cases with appended events, in increasing order.
+     * @return the prefix tree of the traces of the log, this one staying unchanged.
+     */
+    public PrefixTree update(EventLog eventLog, int[] cases) {
+        Builder builder = new Builder(this);
+        for (int c : cases) {
+            if (c < caseNodes.size()) {
+                builder.removeCase(c);
+            }
+            builder.addCase(eventLog, c);
+        }
+        return builder.build();
+    }
+
+    public int nodeCount() {
+        return parents.size();
+    }
+
+    /**
+     * @param node a node other than the root.
+     * @return the parent node.
+     */
+    public int parent(int node) {
+        return parents.get(node);
+    }
+
+    /**
+     * @param node a node other than the root.
+     * @return the code of the last activity of the prefix of the node.
+     */
+    public int activity(int node) {
+        return activities.get(node);
+    }
+
+    /**
+     * @return the length of the prefix of the node.
+     */
+    public int depth(int node) {
+        return depths.get(node);
+    }
+
+    /**
+     * @return the number of traces starting with the prefix of the node.
+     */
+    public int traceCount(int node) {
+        return traceCounts.get(node);
+    }
+
+    public int childCount(int node) {
+        return children.get(node).length;
+    }
+
+    /**
+     * @param node a node.
+     * @param index the index of the child, children being ordered by activity code.
+     * @return the child node.
+     */
+    public int child(int node, int index) {
+        return children.get(node)[index];
+    }
+
+    /**
+     * @return the number of cases whose trace is exactly the prefix of the node.
+     */
+    public int caseCount(int node) {
+        return caseCounts.get(node);
+    }
+
+    /**
+     * @param node a node.
+     * @param index the index of the case, between 0 and {@link #caseCount(int)}.
+     * @return the index in the event log of a case whose trace is exactly the prefix of the node.
+     */
+    public int caseIndex(int node, int index) {
+        CaseLists lists = caseLists;
+        if (lists == null) {
+            lists = new CaseLists(nodeCount(), caseNodes, caseCounts);
+            caseLists = lists;
+        }
+        return lists.cases[lists.offsets[node] + index];
+    }
+
+    /**
+     * @param caseIndex the index of a case in the event log.
+     * @return the node whose prefix is the trace of the case.
+     */
+    public int caseNode(int caseIndex) {
+        return caseNodes.get(caseIndex);
+    }
+
+    /**
+     * @return the activity codes of the prefix of the node.
+     */
+    public int[] trace(int node) {
+        int[] trace = new int[depth(node)];
+        for (int n = node, i = trace.length - 1; n != ROOT; n = parent(n), i--) {
+            trace[i] = activity(n);
+        }
+        return trace;
+    }
+
+    private static Long childKey(int node, int activity) {
+        return ((long) node << 32) | activity;
+    }
+
+    /**
+     * Adds and removes the traces of cases, starting from an empty tree or from the columns of another tree.
+     */
+    private static final class Builder {
+        private final IntColumn.Builder parents;
+
+        private final IntColumn.Builder activities;
+
+        private final IntColumn.Builder depths;
+
+        private final IntColumn.Builder traceCounts;
+
+        private final ObjectColumn.Builder<int[]> children;
+
+        private final KeyIndex<Long> childNodes;
+
+        private final IntColumn.Builder caseNodes;
+
+        private final IntColumn.Builder caseCounts;
+
+        Builder() {
+            parents = new IntColumn.Builder();
+            activities = new IntColumn.Builder();
+            depths = new IntColumn.Builder();
+            traceCounts = new IntColumn.Builder();
+            children = new ObjectColumn.Builder<>();
+            childNodes = KeyIndex.extending();
+            caseNodes = new IntColumn.Builder();
+            caseCounts = new IntColumn.Builder();
+            addNode(-1, -1, 0);
+        }
+
+        Builder(PrefixTree tree) {
+            parents = tree.parents.toBuilder();
+            activities = tree.activities.toBuilder();
+            depths = tree.depths.toBuilder();
+            traceCounts = tree.traceCounts.toBuilder();
+            children = tree.children.toBuilder();
+            childNodes = tree.childNodes.extend(tree.nodeCount());
+            caseNodes = tree.caseNodes.toBuilder();
+            caseCounts = tree.caseCounts.toBuilder();
+        }
+
+        /**
+         * Add the trace of a case, which is either new and follows the known cases, or was removed.
+         */
+        void addCase(EventLog eventLog, int caseIndex) {
+            int node = ROOT;
+            increment(node);
+            for (int e = eventLog.caseStart(caseIndex); e < eventLog.caseEnd(caseIndex); e++) {
+                node = child(node, eventLog.activity(e));
+                increment(node);
+            }
+            caseCounts.set(node, caseCounts.get(node) + 1);
+            if (caseIndex < caseNodes.size()) {
+                caseNodes.set(caseIndex, node);
+            } else {
+                caseNodes.add(node);
+            }
+        }
+
+        /**
+         * Remove the trace of a case.
+         */
+        void removeCase(int caseIndex) {
+            int node = caseNodes.get(caseIndex);
+            caseCounts.set(node, caseCounts.get(node) - 1);
+            for (; node != ROOT; node = parents.get(node)) {
+                decrement(node);
+            }
+            decrement(ROOT);
+        }
+
+        PrefixTree build() {
+            childNodes.extended(parents.size());
+            return new PrefixTree(
+                parents.build(),
+                activities.build(),
+                depths.build(),
+                traceCounts.build(),
+                children.build(),
+                childNodes,
+                caseNodes.build(),
+                caseCounts.build()
+            );
+        }
+
+        private int child(int node, int activity) {
+            Long key = childKey(node, activity);
+            int child = childNodes.get(key, parents.size());
+            if (child < 0) {
+                child = addNode(node, activity, depths.get(node) + 1);
+                childNodes.put(key, child);
+            }
+            return child;
+        }
+
+        private int addNode(int parent, int activity, int depth) {
+            int node = parents.size();
+            parents.add(parent);
+            activities.add(activity);
+            depths.add(depth);
+            traceCounts.add(0);
+            children.add(NO_CHILDREN);
+            caseCounts.add(0);
+            return node;
+        }
+
+        private void increment(int node) {
+            int traceCount = traceCounts.get(node);
+            traceCounts.set(node, traceCount + 1);
+            if (traceCount == 0 && node != ROOT) {
+                int parent = parents.get(node);
+                int[] siblings = children.get(parent);
+                int index = 0;
+                while (index < siblings.length && activities.get(siblings[index]) < activities.get(node)) {
+                    index++;
+                }
+                int[] withChild = new int[siblings.length + 1];
+                System.arraycopy(siblings, 0, withChild, 0, index);
+                withChild[index] = node;
+                System.arraycopy(siblings, index, withChild, index + 1, siblings.length - index);
+                children.set(parent, withChild);
+            }
+        }
+
+        private void decrement(int node) {
+            int traceCount = traceCounts.get(node) - 1;
+            traceCounts.set(node, traceCount);
+            if (traceCount == 0 && node != ROOT) {
+                int parent = parents.get(node);
+                int[] siblings = children.get(parent);
+                int[] withoutChild = new int[siblings.length - 1];
+                for (int i = 0, j = 0; i < siblings.length; i++) {
+                    if (siblings[i] != node) {
+                        withoutChild[j++] = siblings[i];
+                    }
+                }
+                children.set(parent, withoutChild);
+            }
+        }
+    }
+
+    /**
+     * The cases of each node, in increasing order.
+     */
+    private static final class CaseLists {
+        private final int[] offsets;
+
+        private final int[] cases;
+
+        CaseLists(int nodeCount, IntColumn caseNodes, IntColumn caseCounts) {
+            offsets = new int[nodeCount + 1];
+            for (int n = 0; n < nodeCount; n++) {
+                offsets[n + 1] = offsets[n] + caseCounts.get(n);
+            }
+            cases = new int[caseNodes.size()];
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            for (int c = 0; c < cases.length; c++) {
+                cases[next[caseNodes.get(c)]++] = c;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package de.processmining.app.service.eventlog;
+
+import de.processmining.app.service.InvalidEventLogException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Parses event timestamps, either as ISO-8601 values or with a custom {@link DateTimeFormatter} pattern.
+ * <p>
+ * Values without a time zone or offset are interpreted as UTC. Instances are immutable and thread-safe.
+ */
+public final class TimestampParser {
+    private static final TimestampParser ISO = new TimestampParser(null);
+
+    private final DateTimeFormatter formatter;
+
+    private TimestampParser(DateTimeFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * @return a parser for ISO-8601 date-times, with or without offset, as used by XES.
+     */
+    public static TimestampParser iso() {
+        return ISO;
+    }
+
+    /**
+     * @param pattern a {@link DateTimeFormatter} pattern, or {@code null} for ISO-8601.
+     * @return a parser for the pattern.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public static TimestampParser ofPattern(String pattern) {
+        return pattern == null || pattern.isEmpty() ? ISO : new TimestampParser(DateTimeFormatter.ofPattern(pattern));
+    }
+
+    /**
+     * @param value the text to parse.
+     * @return the parsed instant.
+     * @throws InvalidEventLogException if the value cannot be parsed.
+     */
+    public Instant parse(String value) {
+        try {
+            return formatter == null ? parseIso(value) : parseFormatted(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidEventLogException("Invalid timestamp: " + value, e);
+        }
+    }
+
+    private static Instant parseIso(String value) {
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC);
+            }
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    private Instant parseFormatted(String value) {
+        TemporalAccessor parsed = formatter.parse(value);
+        if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Instant.from(parsed);
+        }
+        if (parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+            return LocalDateTime.from(parsed).toInstant(ZoneOffset.UTC);
+        }
+        return LocalDate.from(parsed).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
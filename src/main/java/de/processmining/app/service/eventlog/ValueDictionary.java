@@ -0,0 +1,68 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of string values to dense {@code int} codes, assigned in order of first appearance.
+ * <p>
+ * Instances are not thread-safe while values are being added.
+ */
+public final class ValueDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * @param value the value to encode.
+     * @return the code of the value, a new one if the value was not encoded yet.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * @param value the value to look up.
+     * @return the code of the value, or {@code -1} if the value is not encoded.
+     */
+    public int codeOf(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * @param code the code to decode.
+     * @return the value of the code.
+     */
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * @return a dictionary encoding the same values to the same codes, to which values can be added without changing
+     * this one.
+     */
+    public ValueDictionary copy() {
+        ValueDictionary copy = new ValueDictionary();
+        copy.codes.putAll(codes);
+        copy.values.addAll(values);
+        return copy;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public List<String> values() {
+        return Collections.unmodifiableList(values);
+    }
+}
@@ -0,0 +1,164 @@
+package de.processmining.app.service.eventlog;
+
+import java.util.Arrays;
+
+/**
+ * Immutable index of the trace variants of an {@link EventLog}, ranked by decreasing number of cases.
+ * <p>
+ * Variants are the nodes of the {@link PrefixTree} of the log at which cases end, so the index costs one pass over the
+ * events; afterwards variants, their cases and their coverage of the log are read without touching the events.
+ * Real-life logs have far fewer variants than cases, so analyses working on variants do much less work.
+ * <p>
+ * The index of a log with appended events is {@link #update(EventLog, EventLog) updated} from the index of the previous
+ * log, reading only the changed cases. Variants are ranked on first use.
+ */
+public final class VariantIndex {
+    private final EventLog eventLog;
+
+    private final PrefixTree prefixTree;
+
+    /**
+     * The ranking of the variants, built on first use.
+     */
+    private volatile Ranking ranking;
+
+    private VariantIndex(EventLog eventLog, PrefixTree prefixTree) {
+        this.eventLog = eventLog;
+        this.prefixTree = prefixTree;
+    }
+
+    /**
+     * @param eventLog the event log.
+     * @return the variant index of the log.
+     */
+    public static VariantIndex of(EventLog eventLog) {
+        return new VariantIndex(eventLog, PrefixTree.of(eventLog));
+    }
+
+    /**
+     * Update the index with events appended to its log.
+     *
+     * @param eventLog the log of this index with the appended events, as returned by {@link EventLog#append}.
+     * @param appended the appended events.
+     * @return the variant index of the log, this one staying unchanged.
+     */
+    public VariantIndex update(EventLog eventLog, EventLog appended) {
+        return new VariantIndex(eventLog, prefixTree.update(eventLog, appendedCases(eventLog, appended)));
+    }
+
+    /**
+     * @return the indexes in a log of the cases with appended events, in increasing order.
+     */
+    static int[] appendedCases(EventLog eventLog, EventLog appended) {
+        int[] cases = new int[appended.caseCount()];
+        for (int a = 0; a < cases.length; a++) {
+            cases[a] = eventLog.caseIndex(appended.caseId(a));
+        }
+        Arrays.sort(cases);
+        int count = 0;
+        for (int i = 0; i < cases.length; i++) {
+            if (cases[i] >= 0 && (count == 0 || cases[i] != cases[count - 1])) {
+                cases[count++] = cases[i];
+            }
+        }
+        return Arrays.copyOf(cases, count);
+    }
+
+    /**
+     * @return the event log the index was built from.
+     */
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    public PrefixTree getPrefixTree() {
+        return prefixTree;
+    }
+
+    public int variantCount() {
+        return ranking().nodes.length;
+    }
+
+    public int caseCount() {
+        return eventLog.caseCount();
+    }
+
+    /**
+     * @param rank the rank of the variant, 0 for the most frequent one.
+     * @return the prefix tree node of the variant.
+     */
+    public int node(int rank) {
+        return ranking().nodes[rank];
+    }
+
+    /**
+     * @param node a prefix tree node.
+     * @return the rank of the variant of the node, or {@code -1} if no case ends at the node.
+     */
+    public int rank(int node) {
+        return ranking().ranks[node];
+    }
+
+    /**
+     * @param rank the rank of the variant.
+     * @return the number of cases of the variant.
+     */
+    public int caseCount(int rank) {
+        return prefixTree.caseCount(node(rank));
+    }
+
+    /**
+     * @param rank the rank of the variant.
+     * @param index the index of the case, between 0 and {@link #caseCount(int)}.
+     * @return the index in the event log of a case of the variant.
+     */
+    public int caseIndex(int rank, int index) {
+        return prefixTree.caseIndex(node(rank), index);
+    }
+
+    /**
+     * @param rank the rank of the variant.
+     * @return the activity codes of the variant.
+     */
+    public int[] trace(int rank) {
+        return prefixTree.trace(node(rank));
+    }
+
+    private Ranking ranking() {
+        Ranking result = ranking;
+        if (result == null) {
+            result = new Ranking(prefixTree);
+            ranking = result;
+        }
+        return result;
+    }
+
+    /**
+     * The variants by rank, and the rank of each node at which cases end.
+     */
+    private static final class Ranking {
+        private final int[] nodes;
+
+        private final int[] ranks;
+
+        Ranking(PrefixTree prefixTree) {
+            long[] keys = new long[prefixTree.nodeCount()];
+            int variantCount = 0;
+            for (int node = 0; node < prefixTree.nodeCount(); node++) {
+                int caseCount = prefixTree.caseCount(node);
+                if (caseCount > 0) {
+                    // most frequent first, then in prefix tree order
+                    keys[variantCount++] = ((long) (Integer.MAX_VALUE - caseCount) << 32) | node;
+                }
+            }
+            Arrays.sort(keys, 0, variantCount);
+            nodes = new int[variantCount];
+            ranks = new int[prefixTree.nodeCount()];
+            Arrays.fill(ranks, -1);
+            for (int v = 0; v < variantCount; v++) {
+                nodes[v] = (int) keys[v];
+                ranks[nodes[v]] = v;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package de.processmining.app.service.eventlog;
+
+import de.processmining.app.service.InvalidEventLogException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming parser for event logs in the <a href="https://xes-standard.org">XES</a> format.
+ * <p>
+ * The document is read with a StAX pull parser: only the trace being parsed is held in memory, so logs of any
+ * size can be imported. Only the top-level attributes of traces and events are kept; nested (list and container)
+ * attributes and global attribute declarations are skipped.
+ */
+public class XesEventLogParser {
+    public static final String CONCEPT_NAME = "concept:name";
+
+    public static final String TIME_TIMESTAMP = "time:timestamp";
+
+    public static final String ORG_RESOURCE = "org:resource";
+
+    private static final String TRACE = "trace";
+
+    private static final String EVENT = "event";
+
+    private static final String LOG = "log";
+
+    private static final Set<String> ATTRIBUTE_ELEMENTS = new HashSet<>(
+        Arrays.asList("string", "date", "int", "float", "boolean", "id", "list", "container")
+    );
+
+    private final XMLInputFactory inputFactory;
+
+    public XesEventLogParser() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    /**
+     * Parse an XES document, pushing its traces and events to the handler.
+     * <p>
+     * Each trace is handed over once it is complete, followed by its events in document order.
+     *
+     * @param inputStream the XES document.
+     * @param handler the handler receiving the traces and events.
+     * @throws InvalidEventLogException if the document is not a valid XES log.
+     */
+    public void parse(InputStream inputStream, EventLogHandler handler) {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(inputStream);
+            parse(reader, handler);
+        } catch (XMLStreamException e) {
+            throw new InvalidEventLogException("Malformed XES document: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // the underlying stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    private void parse(XMLStreamReader reader, EventLogHandler handler) throws XMLStreamException {
+        Map<String, String> traceAttributes = null;
+        Map<String, String> eventAttributes = null;
+        List<Map<String, String>> traceEvents = new ArrayList<>();
+        long traceNumber = 0;
+        // greater than zero while inside an element whose content is ignored
+        int skipDepth = 0;
+
+        while (reader.hasNext()) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                if (skipDepth > 0) {
+                    skipDepth++;
+                    continue;
+                }
+                String name = reader.getLocalName();
+                if (TRACE.equals(name)) {
+                    traceAttributes = new LinkedHashMap<>();
+                    traceEvents.clear();
+                } else if (EVENT.equals(name)) {
+                    eventAttributes = new LinkedHashMap<>();
+                } else if (ATTRIBUTE_ELEMENTS.contains(name)) {
+                    Map<String, String> target = eventAttributes != null ? eventAttributes : traceAttributes;
+                    String key = reader.getAttributeValue(null, "key");
+                    if (target != null && key != null) {
+                        target.put(key, reader.getAttributeValue(null, "value"));
+                    }
+                    // nested attributes of lists and containers are not kept
+                    skipDepth = 1;
+                } else if (!LOG.equals(name)) {
+                    // extensions, classifiers and global attribute declarations
+                    skipDepth = 1;
+                }
+            } else if (type == XMLStreamConstants.END_ELEMENT) {
+                if (skipDepth > 0) {
+                    skipDepth--;
+                    continue;
+                }
+                String name = reader.getLocalName();
+                if (EVENT.equals(name) && eventAttributes != null) {
+                    if (traceAttributes != null) {
+                        traceEvents.add(eventAttributes);
+                    }
+                    eventAttributes = null;
+                } else if (TRACE.equals(name) && traceAttributes != null) {
+                    traceNumber++;
+                    String caseId = traceAttributes.remove(CONCEPT_NAME);
+                    if (caseId == null) {
+                        caseId = String.valueOf(traceNumber);
+                    }
+                    handler.trace(caseId, traceAttributes);
+                    for (Map<String, String> event : traceEvents) {
+                        handleEvent(caseId, event, handler);
+                    }
+                    traceAttributes = null;
+                    traceEvents.clear();
+                }
+            }
+        }
+    }
+
+    private void handleEvent(String caseId, Map<String, String> attributes, EventLogHandler handler) {
+        String activity = attributes.remove(CONCEPT_NAME);
+        if (activity == null) {
+            throw new InvalidEventLogException("Event without " + CONCEPT_NAME + " in trace " + caseId);
+        }
+        String timestamp = attributes.remove(TIME_TIMESTAMP);
+        String resource = attributes.remove(ORG_RESOURCE);
+        handler.event(caseId, activity, timestamp == null ? null : TimestampParser.iso().parse(timestamp), resource, attributes);
+    }
+}
@@ -0,0 +1,116 @@
+package de.processmining.app.service.eventlog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Map;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Streaming writer of event logs in the <a href="https://xes-standard.org">XES</a> format.
+ * <p>
+ * The document is written with a StAX writer straight to the output stream, one event at a time, so that exporting a
+ * log takes no memory beyond the output buffer. Events are written with their activity, timestamp and resource, using
+ * the attribute keys read by the {@link XesEventLogParser}, and the other case and event attributes are written as
+ * {@code string} attributes. Instances are not thread-safe.
+ */
+public class XesEventLogWriter implements EventLogFileWriter {
+    private static final String XES_VERSION = "1.0";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final XMLStreamWriter writer;
+
+    private boolean caseStarted;
+
+    /**
+     * Start an XES document.
+     *
+     * @param outputStream the stream receiving the UTF-8 document, which is left open.
+     * @throws IOException if the stream cannot be written.
+     */
+    public XesEventLogWriter(OutputStream outputStream) throws IOException {
+        try {
+            writer = OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("log");
+            writer.writeAttribute("xes.version", XES_VERSION);
+            writeExtension(writer, "Concept", "concept", "http://www.xes-standard.org/concept.xesext");
+            writeExtension(writer, "Time", "time", "http://www.xes-standard.org/time.xesext");
+            writeExtension(writer, "Organizational", "org", "http://www.xes-standard.org/org.xesext");
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write XES document: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void startCase(String caseId, Map<String, String> attributes) throws IOException {
+        try {
+            if (caseStarted) {
+                writer.writeEndElement();
+            }
+            writer.writeStartElement("trace");
+            caseStarted = true;
+            writeAttribute(writer, "string", XesEventLogParser.CONCEPT_NAME, caseId);
+            writeAttributes(writer, attributes);
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write XES document: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void event(String activity, Instant timestamp, String resource, Map<String, String> attributes) throws IOException {
+        try {
+            writer.writeStartElement("event");
+            writeAttribute(writer, "string", XesEventLogParser.CONCEPT_NAME, activity);
+            if (timestamp != null) {
+                writeAttribute(writer, "date", XesEventLogParser.TIME_TIMESTAMP, timestamp.toString());
+            }
+            if (resource != null) {
+                writeAttribute(writer, "string", XesEventLogParser.ORG_RESOURCE, resource);
+            }
+            writeAttributes(writer, attributes);
+            writer.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write XES document: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            if (caseStarted) {
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write XES document: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeExtension(XMLStreamWriter writer, String name, String prefix, String uri) throws XMLStreamException {
+        writer.writeEmptyElement("extension");
+        writer.writeAttribute("name", name);
+        writer.writeAttribute("prefix", prefix);
+        writer.writeAttribute("uri", uri);
+    }
+
+    private static void writeAttributes(XMLStreamWriter writer, Map<String, String> attributes) throws XMLStreamException {
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            if (attribute.getValue() != null) {
+                writeAttribute(writer, "string", attribute.getKey(), attribute.getValue());
+            }
+        }
+    }
+
+    private static void writeAttribute(XMLStreamWriter writer, String type, String key, String value) throws XMLStreamException {
+        writer.writeEmptyElement(type);
+        writer.writeAttribute("key", key);
+        writer.writeAttribute("value", value);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Event log parsing and in-memory representation.
+ */
+package de.processmining.app.service.eventlog;
@@ -0,0 +1,135 @@
+package de.processmining.app.service.mining;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable causal net, as discovered by the {@link HeuristicsMiner}: activities linked by causal arcs, each activity
+ * having input and output bindings.
+ * <p>
+ * Bindings are given as a conjunction of disjunctions: an activity with outputs {@code [[B, C], [D]]} is followed by
+ * D and by either B or C.
+ */
+public final class CausalNet {
+    private final List<Activity> activities;
+
+    private final List<Arc> arcs;
+
+    CausalNet(List<Activity> activities, List<Arc> arcs) {
+        this.activities = Collections.unmodifiableList(activities);
+        this.arcs = Collections.unmodifiableList(arcs);
+    }
+
+    public List<Activity> getActivities() {
+        return activities;
+    }
+
+    public List<Arc> getArcs() {
+        return arcs;
+    }
+
+    /**
+     * An activity of the net with its frequencies and its bindings.
+     */
+    public static final class Activity {
+        private final String name;
+
+        private final long frequency;
+
+        private final long startFrequency;
+
+        private final long endFrequency;
+
+        private final List<List<String>> inputs;
+
+        private final List<List<String>> outputs;
+
+        Activity(
+            String name,
+            long frequency,
+            long startFrequency,
+            long endFrequency,
+            List<List<String>> inputs,
+            List<List<String>> outputs
+        ) {
+            this.name = name;
+            this.frequency = frequency;
+            this.startFrequency = startFrequency;
+            this.endFrequency = endFrequency;
+            this.inputs = inputs;
+            this.outputs = outputs;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        public long getStartFrequency() {
+            return startFrequency;
+        }
+
+        public long getEndFrequency() {
+            return endFrequency;
+        }
+
+        /**
+         * @return the groups of exclusive inputs, all groups being required.
+         */
+        public List<List<String>> getInputs() {
+            return inputs;
+        }
+
+        /**
+         * @return the groups of exclusive outputs, all groups being activated.
+         */
+        public List<List<String>> getOutputs() {
+            return outputs;
+        }
+    }
+
+    /**
+     * A causal dependency between two activities.
+     */
+    public static final class Arc {
+        private final String source;
+
+        private final String target;
+
+        private final long frequency;
+
+        private final double dependency;
+
+        Arc(String source, String target, long frequency, double dependency) {
+            this.source = source;
+            this.target = target;
+            this.frequency = frequency;
+            this.dependency = dependency;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * @return how often the target directly follows the source.
+         */
+        public long getFrequency() {
+            return frequency;
+        }
+
+        /**
+         * @return the dependency measure of the arc, between -1 and 1.
+         */
+        public double getDependency() {
+            return dependency;
+        }
+    }
+}
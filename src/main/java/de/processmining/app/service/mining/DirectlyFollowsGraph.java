@@ -0,0 +1,139 @@
+package de.processmining.app.service.mining;
+
+/**
+ * Directly-follows graph of an event log: how often each activity is directly followed by another one within a case,
+ * and how much time passes between them.
+ * <p>
+ * Edge statistics are stored in dense {@code long} matrices indexed by {@code from * activityCount + to}, using the
+ * activity codes of the event log.
+ */
+public final class DirectlyFollowsGraph {
+    private final int activityCount;
+
+    private final long[] activityCounts;
+
+    private final long[] startCounts;
+
+    private final long[] endCounts;
+
+    private final long[] edgeCounts;
+
+    private final long[] edgeDurationSums;
+
+    private final long[] edgeTimedCounts;
+
+    private long caseCount;
+
+    public DirectlyFollowsGraph(int activityCount) {
+        this.activityCount = activityCount;
+        this.activityCounts = new long[activityCount];
+        this.startCounts = new long[activityCount];
+        this.endCounts = new long[activityCount];
+        this.edgeCounts = new long[activityCount * activityCount];
+        this.edgeDurationSums = new long[activityCount * activityCount];
+        this.edgeTimedCounts = new long[activityCount * activityCount];
+    }
+
+    public int getActivityCount() {
+        return activityCount;
+    }
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public long getActivityFrequency(int activity) {
+        return activityCounts[activity];
+    }
+
+    public long getStartFrequency(int activity) {
+        return startCounts[activity];
+    }
+
+    public long getEndFrequency(int activity) {
+        return endCounts[activity];
+    }
+
+    public long getEdgeFrequency(int from, int to) {
+        return edgeCounts[from * activityCount + to];
+    }
+
+    /**
+     * @return the total milliseconds between the two activities, over the occurrences where both have a timestamp.
+     */
+    public long getEdgeDurationSum(int from, int to) {
+        return edgeDurationSums[from * activityCount + to];
+    }
+
+    /**
+     * @return the number of occurrences of the edge where both activities have a timestamp.
+     */
+    public long getEdgeTimedFrequency(int from, int to) {
+        return edgeTimedCounts[from * activityCount + to];
+    }
+
+    void addCase(int firstActivity, int lastActivity) {
+        caseCount++;
+        startCounts[firstActivity]++;
+        endCounts[lastActivity]++;
+    }
+
+    /**
+     * Record that a case now ends with another activity, after events were appended to it.
+     */
+    void moveEnd(int previousLastActivity, int lastActivity) {
+        endCounts[previousLastActivity]--;
+        endCounts[lastActivity]++;
+    }
+
+    void addActivity(int activity) {
+        activityCounts[activity]++;
+    }
+
+    void addEdge(int from, int to, long duration, boolean timed) {
+        int edge = from * activityCount + to;
+        edgeCounts[edge]++;
+        if (timed) {
+            edgeDurationSums[edge] += duration;
+            edgeTimedCounts[edge]++;
+        }
+    }
+
+    /**
+     * Add the statistics of another graph over the same activities to this one.
+     */
+    void merge(DirectlyFollowsGraph other) {
+        caseCount += other.caseCount;
+        add(activityCounts, other.activityCounts);
+        add(startCounts, other.startCounts);
+        add(endCounts, other.endCounts);
+        add(edgeCounts, other.edgeCounts);
+        add(edgeDurationSums, other.edgeDurationSums);
+        add(edgeTimedCounts, other.edgeTimedCounts);
+    }
+
+    /**
+     * @param newActivityCount the number of activities of the copy; activities beyond it must have no occurrence.
+     * @return a copy of this graph over another number of activities, the added ones having no occurrence.
+     */
+    DirectlyFollowsGraph resize(int newActivityCount) {
+        DirectlyFollowsGraph copy = new DirectlyFollowsGraph(newActivityCount);
+        int common = Math.min(activityCount, newActivityCount);
+        copy.caseCount = caseCount;
+        System.arraycopy(activityCounts, 0, copy.activityCounts, 0, common);
+        System.arraycopy(startCounts, 0, copy.startCounts, 0, common);
+        System.arraycopy(endCounts, 0, copy.endCounts, 0, common);
+        for (int from = 0; from < common; from++) {
+            System.arraycopy(edgeCounts, from * activityCount, copy.edgeCounts, from * newActivityCount, common);
+            System.arraycopy(edgeDurationSums, from * activityCount, copy.edgeDurationSums, from * newActivityCount, common);
+            System.arraycopy(edgeTimedCounts, from * activityCount, copy.edgeTimedCounts, from * newActivityCount, common);
+        }
+        return copy;
+    }
+
+    private static void add(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+}
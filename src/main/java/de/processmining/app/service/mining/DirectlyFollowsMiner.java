@@ -0,0 +1,84 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the {@link DirectlyFollowsGraph} of an event log.
+ * <p>
+ * Cases are partitioned into ranges processed in parallel on a {@link ForkJoinPool}, each range counting into its own
+ * matrices, which are then merged pairwise.
+ */
+public final class DirectlyFollowsMiner {
+    /**
+     * Minimum number of cases of a range before it is not split any further.
+     */
+    private static final int MIN_CASES_PER_TASK = 1024;
+
+    private DirectlyFollowsMiner() {}
+
+    /**
+     * @param eventLog the event log.
+     * @param pool the pool running the computation.
+     * @return the directly-follows graph of the log.
+     */
+    public static DirectlyFollowsGraph mine(EventLog eventLog, ForkJoinPool pool) {
+        int threshold = Math.max(MIN_CASES_PER_TASK, eventLog.caseCount() / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new CaseRangeTask(eventLog, 0, eventLog.caseCount(), threshold));
+    }
+
+    static DirectlyFollowsGraph mine(EventLog eventLog, int fromCase, int toCase) {
+        DirectlyFollowsGraph graph = new DirectlyFollowsGraph(eventLog.activityCount());
+        for (int c = fromCase; c < toCase; c++) {
+            int start = eventLog.caseStart(c);
+            int end = eventLog.caseEnd(c);
+            if (start == end) {
+                continue;
+            }
+            graph.addCase(eventLog.activity(start), eventLog.activity(end - 1));
+            graph.addActivity(eventLog.activity(start));
+            for (int e = start + 1; e < end; e++) {
+                long previousTimestamp = eventLog.timestamp(e - 1);
+                long timestamp = eventLog.timestamp(e);
+                boolean timed = previousTimestamp != EventLog.NO_TIMESTAMP && timestamp != EventLog.NO_TIMESTAMP;
+                graph.addActivity(eventLog.activity(e));
+                graph.addEdge(eventLog.activity(e - 1), eventLog.activity(e), timed ? timestamp - previousTimestamp : 0L, timed);
+            }
+        }
+        return graph;
+    }
+
+    private static final class CaseRangeTask extends RecursiveTask<DirectlyFollowsGraph> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EventLog eventLog;
+
+        private final int fromCase;
+
+        private final int toCase;
+
+        private final int threshold;
+
+        CaseRangeTask(EventLog eventLog, int fromCase, int toCase, int threshold) {
+            this.eventLog = eventLog;
+            this.fromCase = fromCase;
+            this.toCase = toCase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected DirectlyFollowsGraph compute() {
+            if (toCase - fromCase <= threshold) {
+                return mine(eventLog, fromCase, toCase);
+            }
+            int middle = (fromCase + toCase) >>> 1;
+            CaseRangeTask left = new CaseRangeTask(eventLog, fromCase, middle, threshold);
+            left.fork();
+            DirectlyFollowsGraph right = new CaseRangeTask(eventLog, middle, toCase, threshold).compute();
+            DirectlyFollowsGraph result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package de.processmining.app.service.mining;
+
+import java.util.Arrays;
+
+/**
+ * Dotted chart of an event log downsampled to a grid of pixels: columns split the time span of the log evenly and
+ * rows hold consecutive cases ordered by start time.
+ * <p>
+ * Each row spans the first to the last event of its cases. Each non-empty cell keeps the number of its events and its
+ * first and last events, the min/max aggregation which keeps the outline of the chart whatever the number of events.
+ * Rows are numbered from {@code 0} and cells are ordered by row then column.
+ */
+public final class DottedChart {
+    private final int width;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    private int rowCount;
+
+    private int[] rowFirstCases = new int[16];
+
+    private int[] rowCaseCounts = new int[16];
+
+    private long[] rowStartTimes = new long[16];
+
+    private long[] rowEndTimes = new long[16];
+
+    private int cellCount;
+
+    private int[] cellColumns = new int[16];
+
+    private int[] cellRows = new int[16];
+
+    private int[] cellEventCounts = new int[16];
+
+    private long[] cellFirstTimes = new long[16];
+
+    private int[] cellFirstActivities = new int[16];
+
+    private long[] cellLastTimes = new long[16];
+
+    private int[] cellLastActivities = new int[16];
+
+    DottedChart(int width, long startTime, long endTime) {
+        this.width = width;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the epoch milliseconds of the first event, the start of the first column, or
+     * {@link de.processmining.app.service.eventlog.EventLog#NO_TIMESTAMP} if no event has a timestamp.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the epoch milliseconds of the last event, the end of the last column.
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the index in the log of the earliest case of the row.
+     */
+    public int getRowFirstCase(int row) {
+        return rowFirstCases[row];
+    }
+
+    public int getRowCaseCount(int row) {
+        return rowCaseCounts[row];
+    }
+
+    /**
+     * @return the time of the first event of the row, or
+     * {@link de.processmining.app.service.eventlog.EventLog#NO_TIMESTAMP} if none of its events has a timestamp.
+     */
+    public long getRowStartTime(int row) {
+        return rowStartTimes[row];
+    }
+
+    public long getRowEndTime(int row) {
+        return rowEndTimes[row];
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getCellColumn(int cell) {
+        return cellColumns[cell];
+    }
+
+    public int getCellRow(int cell) {
+        return cellRows[cell];
+    }
+
+    public int getCellEventCount(int cell) {
+        return cellEventCounts[cell];
+    }
+
+    public long getCellFirstTime(int cell) {
+        return cellFirstTimes[cell];
+    }
+
+    public int getCellFirstActivity(int cell) {
+        return cellFirstActivities[cell];
+    }
+
+    public long getCellLastTime(int cell) {
+        return cellLastTimes[cell];
+    }
+
+    public int getCellLastActivity(int cell) {
+        return cellLastActivities[cell];
+    }
+
+    void addRow(int firstCase, int caseCount, long rowStartTime, long rowEndTime) {
+        if (rowCount == rowFirstCases.length) {
+            int capacity = rowCount * 2;
+            rowFirstCases = Arrays.copyOf(rowFirstCases, capacity);
+            rowCaseCounts = Arrays.copyOf(rowCaseCounts, capacity);
+            rowStartTimes = Arrays.copyOf(rowStartTimes, capacity);
+            rowEndTimes = Arrays.copyOf(rowEndTimes, capacity);
+        }
+        rowFirstCases[rowCount] = firstCase;
+        rowCaseCounts[rowCount] = caseCount;
+        rowStartTimes[rowCount] = rowStartTime;
+        rowEndTimes[rowCount] = rowEndTime;
+        rowCount++;
+    }
+
+    void addCell(int column, int row, int eventCount, long firstTime, int firstActivity, long lastTime, int lastActivity) {
+        if (cellCount == cellColumns.length) {
+            int capacity = cellCount * 2;
+            cellColumns = Arrays.copyOf(cellColumns, capacity);
+            cellRows = Arrays.copyOf(cellRows, capacity);
+            cellEventCounts = Arrays.copyOf(cellEventCounts, capacity);
+            cellFirstTimes = Arrays.copyOf(cellFirstTimes, capacity);
+            cellFirstActivities = Arrays.copyOf(cellFirstActivities, capacity);
+            cellLastTimes = Arrays.copyOf(cellLastTimes, capacity);
+            cellLastActivities = Arrays.copyOf(cellLastActivities, capacity);
+        }
+        cellColumns[cellCount] = column;
+        cellRows[cellCount] = row;
+        cellEventCounts[cellCount] = eventCount;
+        cellFirstTimes[cellCount] = firstTime;
+        cellFirstActivities[cellCount] = firstActivity;
+        cellLastTimes[cellCount] = lastTime;
+        cellLastActivities[cellCount] = lastActivity;
+        cellCount++;
+    }
+
+    /**
+     * Append the rows and cells of a chart of the rows following the rows of this chart.
+     */
+    void append(DottedChart other) {
+        for (int r = 0; r < other.rowCount; r++) {
+            addRow(other.rowFirstCases[r], other.rowCaseCounts[r], other.rowStartTimes[r], other.rowEndTimes[r]);
+        }
+        for (int c = 0; c < other.cellCount; c++) {
+            addCell(
+                other.cellColumns[c],
+                other.cellRows[c],
+                other.cellEventCounts[c],
+                other.cellFirstTimes[c],
+                other.cellFirstActivities[c],
+                other.cellLastTimes[c],
+                other.cellLastActivities[c]
+            );
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the {@link DottedChart} of an event log.
+ * <p>
+ * Cases are ordered by the time of their first event, cases without timestamps last, and split evenly into the rows.
+ * Ranges of rows are aggregated in parallel, each scanning the events of its cases once into cells of a single row at
+ * a time, so the memory used besides the chart itself is one row of cells per task whatever the number of events.
+ */
+public final class DottedChartAggregator {
+    /**
+     * Maximum number of columns and of rows of a chart.
+     */
+    public static final int MAX_SIZE = 4096;
+
+    /**
+     * Minimum number of rows of a range before it is not split any further.
+     */
+    private static final int MIN_ROWS_PER_TASK = 16;
+
+    private DottedChartAggregator() {}
+
+    /**
+     * @param eventLog the event log.
+     * @param width the number of columns, between 1 and {@link #MAX_SIZE}.
+     * @param height the maximum number of rows, between 1 and {@link #MAX_SIZE}; a log with fewer cases has one row per
+     * case.
+     * @param pool the pool running the computation.
+     * @return the dotted chart of the log.
+     */
+    public static DottedChart aggregate(EventLog eventLog, int width, int height, ForkJoinPool pool) {
+        if (width < 1 || width > MAX_SIZE || height < 1 || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Chart size must be between 1 and " + MAX_SIZE + ": " + width + "x" + height);
+        }
+        long[] caseStartTimes = new long[eventLog.caseCount()];
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (int c = 0; c < eventLog.caseCount(); c++) {
+            caseStartTimes[c] = Long.MAX_VALUE;
+            for (int e = eventLog.caseStart(c); e < eventLog.caseEnd(c); e++) {
+                long timestamp = eventLog.timestamp(e);
+                if (timestamp != EventLog.NO_TIMESTAMP) {
+                    caseStartTimes[c] = Math.min(caseStartTimes[c], timestamp);
+                    minTime = Math.min(minTime, timestamp);
+                    maxTime = Math.max(maxTime, timestamp);
+                }
+            }
+        }
+        if (minTime > maxTime) {
+            minTime = EventLog.NO_TIMESTAMP;
+            maxTime = EventLog.NO_TIMESTAMP;
+        }
+        Integer[] boxed = new Integer[eventLog.caseCount()];
+        for (int c = 0; c < boxed.length; c++) {
+            boxed[c] = c;
+        }
+        // stable, so cases starting at the same time keep the order of the log
+        Arrays.sort(boxed, Comparator.comparingLong(c -> caseStartTimes[c]));
+        int[] orderedCases = new int[boxed.length];
+        for (int c = 0; c < boxed.length; c++) {
+            orderedCases[c] = boxed[c];
+        }
+        Grid grid = new Grid(eventLog, orderedCases, width, Math.min(height, orderedCases.length), minTime, maxTime);
+        int threshold = Math.max(MIN_ROWS_PER_TASK, grid.rowCount / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new RowRangeTask(grid, 0, grid.rowCount, threshold));
+    }
+
+    private static DottedChart aggregate(Grid grid, int fromRow, int toRow) {
+        EventLog eventLog = grid.eventLog;
+        DottedChart chart = new DottedChart(grid.width, grid.startTime, grid.endTime);
+        int[] eventCounts = new int[grid.width];
+        long[] firstTimes = new long[grid.width];
+        int[] firstActivities = new int[grid.width];
+        long[] lastTimes = new long[grid.width];
+        int[] lastActivities = new int[grid.width];
+        for (int row = fromRow; row < toRow; row++) {
+            int fromCase = grid.firstCase(row);
+            int toCase = grid.firstCase(row + 1);
+            long rowStartTime = Long.MAX_VALUE;
+            long rowEndTime = Long.MIN_VALUE;
+            for (int c = fromCase; c < toCase; c++) {
+                int caseIndex = grid.orderedCases[c];
+                for (int e = eventLog.caseStart(caseIndex); e < eventLog.caseEnd(caseIndex); e++) {
+                    long timestamp = eventLog.timestamp(e);
+                    if (timestamp == EventLog.NO_TIMESTAMP) {
+                        continue;
+                    }
+                    rowStartTime = Math.min(rowStartTime, timestamp);
+                    rowEndTime = Math.max(rowEndTime, timestamp);
+                    int column = grid.column(timestamp);
+                    if (eventCounts[column]++ == 0) {
+                        firstTimes[column] = timestamp;
+                        firstActivities[column] = eventLog.activity(e);
+                        lastTimes[column] = timestamp;
+                        lastActivities[column] = eventLog.activity(e);
+                    } else if (timestamp < firstTimes[column]) {
+                        firstTimes[column] = timestamp;
+                        firstActivities[column] = eventLog.activity(e);
+                    } else if (timestamp >= lastTimes[column]) {
+                        lastTimes[column] = timestamp;
+                        lastActivities[column] = eventLog.activity(e);
+                    }
+                }
+            }
+            boolean timed = rowStartTime <= rowEndTime;
+            chart.addRow(
+                grid.orderedCases[fromCase],
+                toCase - fromCase,
+                timed ? rowStartTime : EventLog.NO_TIMESTAMP,
+                timed ? rowEndTime : EventLog.NO_TIMESTAMP
+            );
+            for (int column = 0; column < grid.width; column++) {
+                if (eventCounts[column] > 0) {
+                    chart.addCell(
+                        column,
+                        row,
+                        eventCounts[column],
+                        firstTimes[column],
+                        firstActivities[column],
+                        lastTimes[column],
+                        lastActivities[column]
+                    );
+                    eventCounts[column] = 0;
+                }
+            }
+        }
+        return chart;
+    }
+
+    /**
+     * The cases of a log in row order and the mapping of times to columns.
+     */
+    private static final class Grid {
+        private final EventLog eventLog;
+
+        private final int[] orderedCases;
+
+        private final int width;
+
+        private final int rowCount;
+
+        private final long startTime;
+
+        private final long endTime;
+
+        Grid(EventLog eventLog, int[] orderedCases, int width, int rowCount, long startTime, long endTime) {
+            this.eventLog = eventLog;
+            this.orderedCases = orderedCases;
+            this.width = width;
+            this.rowCount = rowCount;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        int firstCase(int row) {
+            return (int) ((long) row * orderedCases.length / rowCount);
+        }
+
+        int column(long timestamp) {
+            double span = (double) endTime - startTime + 1;
+            return Math.min(width - 1, (int) ((timestamp - startTime) / span * width));
+        }
+    }
+
+    private static final class RowRangeTask extends RecursiveTask<DottedChart> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Grid grid;
+
+        private final int fromRow;
+
+        private final int toRow;
+
+        private final int threshold;
+
+        RowRangeTask(Grid grid, int fromRow, int toRow, int threshold) {
+            this.grid = grid;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected DottedChart compute() {
+            if (toRow - fromRow <= threshold) {
+                return aggregate(grid, fromRow, toRow);
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            RowRangeTask left = new RowRangeTask(grid, fromRow, middle, threshold);
+            RowRangeTask right = new RowRangeTask(grid, middle, toRow, threshold);
+            left.fork();
+            DottedChart rightResult = right.compute();
+            DottedChart result = left.join();
+            result.append(rightResult);
+            return result;
+        }
+    }
+}
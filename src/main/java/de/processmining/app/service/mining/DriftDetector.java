@@ -0,0 +1,294 @@
+package de.processmining.app.service.mining;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detects concept drift between consecutive windows of a {@link WindowedDirectlyFollowsGraph}.
+ * <p>
+ * Two windows are compared with a chi-square test of homogeneity on the counts of their directly-follows relations:
+ * a 2 x k contingency table whose columns are the relations occurring in either window, relations expected fewer than
+ * {@link #MIN_EXPECTED_COUNT} times being pooled into one column. As any difference becomes significant on large
+ * windows, a drift is reported only when the test is significant and the effect size, Cramer's V, is large enough.
+ */
+public final class DriftDetector {
+    /**
+     * Minimum expected count of a column for the chi-square approximation to hold.
+     */
+    static final double MIN_EXPECTED_COUNT = 5;
+
+    private DriftDetector() {}
+
+    /**
+     * @param graphs the snapshots of the log.
+     * @param significance the significance level of the test, between 0 and 1.
+     * @param minEffectSize the minimum Cramer's V of a drift, between 0 and 1.
+     * @return the comparison of each window with the previous one, in window order.
+     */
+    public static List<Comparison> detect(WindowedDirectlyFollowsGraph graphs, double significance, double minEffectSize) {
+        List<Comparison> comparisons = new ArrayList<>();
+        for (int w = 1; w < graphs.windowCount(); w++) {
+            comparisons.add(compare(graphs, w - 1, w, significance, minEffectSize));
+        }
+        return comparisons;
+    }
+
+    static Comparison compare(WindowedDirectlyFollowsGraph graphs, int first, int second, double significance, double minEffectSize) {
+        int[] firstKeys = graphs.keys(first);
+        long[] firstCounts = graphs.counts(first);
+        int[] secondKeys = graphs.keys(second);
+        long[] secondCounts = graphs.counts(second);
+        // merge the sorted relations of both windows into the columns of the table
+        int[] keys = new int[firstKeys.length + secondKeys.length];
+        long[][] table = new long[2][keys.length];
+        int columns = 0;
+        int i = 0;
+        int j = 0;
+        while (i < firstKeys.length || j < secondKeys.length) {
+            if (j == secondKeys.length || (i < firstKeys.length && firstKeys[i] < secondKeys[j])) {
+                keys[columns] = firstKeys[i];
+                table[0][columns++] = firstCounts[i++];
+            } else if (i == firstKeys.length || secondKeys[j] < firstKeys[i]) {
+                keys[columns] = secondKeys[j];
+                table[1][columns++] = secondCounts[j++];
+            } else {
+                keys[columns] = firstKeys[i];
+                table[0][columns] = firstCounts[i++];
+                table[1][columns++] = secondCounts[j++];
+            }
+        }
+        double firstTotal = 0;
+        double secondTotal = 0;
+        for (int c = 0; c < columns; c++) {
+            firstTotal += table[0][c];
+            secondTotal += table[1][c];
+        }
+        double total = firstTotal + secondTotal;
+        double statistic = 0;
+        int testedColumns = 0;
+        double[] contributions = new double[columns];
+        long pooledFirst = 0;
+        long pooledSecond = 0;
+        for (int c = 0; c < columns; c++) {
+            double columnTotal = table[0][c] + table[1][c];
+            if (Math.min(firstTotal, secondTotal) * columnTotal / total < MIN_EXPECTED_COUNT) {
+                pooledFirst += table[0][c];
+                pooledSecond += table[1][c];
+            } else {
+                contributions[c] = chiSquare(table[0][c], table[1][c], firstTotal, secondTotal);
+                statistic += contributions[c];
+                testedColumns++;
+            }
+        }
+        if (pooledFirst + pooledSecond > 0) {
+            statistic += chiSquare(pooledFirst, pooledSecond, firstTotal, secondTotal);
+            testedColumns++;
+        }
+        int degreesOfFreedom = testedColumns - 1;
+        double pValue = degreesOfFreedom > 0 ? chiSquarePValue(statistic, degreesOfFreedom) : 1;
+        double effectSize = total > 0 ? Math.sqrt(statistic / total) : 0;
+        boolean drift = degreesOfFreedom > 0 && pValue < significance && effectSize >= minEffectSize;
+        List<RelationChange> changes = new ArrayList<>();
+        for (int c = 0; c < columns; c++) {
+            if (contributions[c] > 0) {
+                changes.add(new RelationChange(keys[c], table[0][c], table[1][c], contributions[c]));
+            }
+        }
+        changes.sort((a, b) -> Double.compare(b.getContribution(), a.getContribution()));
+        return new Comparison(first, second, statistic, degreesOfFreedom, pValue, effectSize, drift, changes);
+    }
+
+    /**
+     * @return the contribution to the statistic of a column with the given counts in windows of the given totals.
+     */
+    private static double chiSquare(double first, double second, double firstTotal, double secondTotal) {
+        double expectedFirst = (first + second) * firstTotal / (firstTotal + secondTotal);
+        double expectedSecond = (first + second) * secondTotal / (firstTotal + secondTotal);
+        return (first - expectedFirst) * (first - expectedFirst) / expectedFirst +
+            (second - expectedSecond) * (second - expectedSecond) / expectedSecond;
+    }
+
+    /**
+     * @return the probability that a chi-square variable with the given degrees of freedom exceeds the statistic.
+     */
+    static double chiSquarePValue(double statistic, int degreesOfFreedom) {
+        return statistic <= 0 ? 1 : regularizedGammaQ(degreesOfFreedom / 2.0, statistic / 2);
+    }
+
+    /**
+     * Upper regularized incomplete gamma function Q(a, x), by its series below {@code a + 1} and by its continued
+     * fraction above, as in Numerical Recipes.
+     */
+    static double regularizedGammaQ(double a, double x) {
+        double logPrefix = a * Math.log(x) - x - logGamma(a);
+        if (x < a + 1) {
+            double term = 1 / a;
+            double sum = term;
+            for (int n = 1; n < 1000 && Math.abs(term) > Math.abs(sum) * 1e-15; n++) {
+                term *= x / (a + n);
+                sum += term;
+            }
+            return Math.max(0, 1 - sum * Math.exp(logPrefix));
+        }
+        double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+        for (int n = 1; n < 1000; n++) {
+            double an = -n * (n - a);
+            b += 2;
+            d = an * d + b;
+            d = Math.abs(d) < tiny ? tiny : d;
+            c = b + an / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) {
+                break;
+            }
+        }
+        return Math.exp(logPrefix) * h;
+    }
+
+    /**
+     * Logarithm of the gamma function, by the Lanczos approximation.
+     */
+    static double logGamma(double x) {
+        double[] coefficients = {
+            76.18009172947146,
+            -86.50532032941677,
+            24.01409824083091,
+            -1.231739572450155,
+            0.1208650973866179e-2,
+            -0.5395239384953e-5
+        };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * The comparison of two windows.
+     */
+    public static final class Comparison {
+        private final int firstWindow;
+
+        private final int secondWindow;
+
+        private final double statistic;
+
+        private final int degreesOfFreedom;
+
+        private final double pValue;
+
+        private final double effectSize;
+
+        private final boolean drift;
+
+        private final List<RelationChange> changes;
+
+        Comparison(
+            int firstWindow,
+            int secondWindow,
+            double statistic,
+            int degreesOfFreedom,
+            double pValue,
+            double effectSize,
+            boolean drift,
+            List<RelationChange> changes
+        ) {
+            this.firstWindow = firstWindow;
+            this.secondWindow = secondWindow;
+            this.statistic = statistic;
+            this.degreesOfFreedom = degreesOfFreedom;
+            this.pValue = pValue;
+            this.effectSize = effectSize;
+            this.drift = drift;
+            this.changes = changes;
+        }
+
+        public int getFirstWindow() {
+            return firstWindow;
+        }
+
+        public int getSecondWindow() {
+            return secondWindow;
+        }
+
+        public double getStatistic() {
+            return statistic;
+        }
+
+        public int getDegreesOfFreedom() {
+            return degreesOfFreedom;
+        }
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        /**
+         * @return Cramer's V, between 0 for identical distributions and 1 for disjoint ones.
+         */
+        public double getEffectSize() {
+            return effectSize;
+        }
+
+        public boolean isDrift() {
+            return drift;
+        }
+
+        /**
+         * @return the relations tested on their own, by decreasing contribution to the statistic.
+         */
+        public List<RelationChange> getChanges() {
+            return changes;
+        }
+    }
+
+    /**
+     * The counts of a relation in two windows and its contribution to the chi-square statistic.
+     */
+    public static final class RelationChange {
+        private final int key;
+
+        private final long firstCount;
+
+        private final long secondCount;
+
+        private final double contribution;
+
+        RelationChange(int key, long firstCount, long secondCount, double contribution) {
+            this.key = key;
+            this.firstCount = firstCount;
+            this.secondCount = secondCount;
+            this.contribution = contribution;
+        }
+
+        /**
+         * @return the key of the relation in the {@link WindowedDirectlyFollowsGraph}.
+         */
+        public int getKey() {
+            return key;
+        }
+
+        public long getFirstCount() {
+            return firstCount;
+        }
+
+        public long getSecondCount() {
+            return secondCount;
+        }
+
+        public double getContribution() {
+            return contribution;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Discovers a {@link CausalNet} from an event log with the Heuristics Miner.
+ * <p>
+ * A single pass over the log counts how often each activity directly follows another ({@code a>b}) and how often the
+ * pattern {@code a b a} occurs ({@code a>>b}), in flat {@code long} matrices indexed by activity code. Cases are
+ * partitioned into ranges counted in parallel on a {@link ForkJoinPool} and merged pairwise. The arcs of the net and
+ * the split and join semantics are then derived from the dependency, length-one loop, length-two loop and AND measures
+ * computed on these counts, the infrequent relations being filtered out by the {@link Parameters}.
+ * <p>
+ * See A.J.M.M. Weijters and J.T.S. Ribeiro, <i>Flexible Heuristics Miner (FHM)</i>, 2011.
+ */
+public final class HeuristicsMiner {
+    /**
+     * Minimum number of cases of a range before it is not split any further.
+     */
+    private static final int MIN_CASES_PER_TASK = 1024;
+
+    private HeuristicsMiner() {}
+
+    /**
+     * @param eventLog the event log.
+     * @param parameters the thresholds of the measures.
+     * @param pool the pool running the computation.
+     * @return the causal net of the log.
+     */
+    public static CausalNet mine(EventLog eventLog, Parameters parameters, ForkJoinPool pool) {
+        return build(eventLog, count(eventLog, pool), parameters);
+    }
+
+    static Counts count(EventLog eventLog, ForkJoinPool pool) {
+        int threshold = Math.max(MIN_CASES_PER_TASK, eventLog.caseCount() / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new CaseRangeTask(eventLog, 0, eventLog.caseCount(), threshold));
+    }
+
+    static Counts count(EventLog eventLog, int fromCase, int toCase) {
+        Counts counts = new Counts(eventLog.activityCount());
+        int n = counts.activityCount;
+        for (int c = fromCase; c < toCase; c++) {
+            int start = eventLog.caseStart(c);
+            int end = eventLog.caseEnd(c);
+            if (start == end) {
+                continue;
+            }
+            counts.starts[eventLog.activity(start)]++;
+            counts.ends[eventLog.activity(end - 1)]++;
+            for (int e = start; e < end; e++) {
+                int activity = eventLog.activity(e);
+                counts.activities[activity]++;
+                if (e > start) {
+                    int previous = eventLog.activity(e - 1);
+                    counts.follows[previous * n + activity]++;
+                    if (e > start + 1 && eventLog.activity(e - 2) == activity && previous != activity) {
+                        counts.twoLoops[activity * n + previous]++;
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static CausalNet build(EventLog eventLog, Counts counts, Parameters parameters) {
+        int n = counts.activityCount;
+        boolean[][] arcs = new boolean[n][n];
+        double[][] dependencies = new double[n][n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                dependencies[a][b] = dependency(counts, a, b);
+            }
+        }
+
+        // length-one loops
+        boolean[] selfLoops = new boolean[n];
+        for (int a = 0; a < n; a++) {
+            long loops = counts.follows[a * n + a];
+            selfLoops[a] = loops >= parameters.positiveObservations && dependencies[a][a] >= parameters.l1LoopThreshold;
+            arcs[a][a] = selfLoops[a];
+        }
+
+        // length-two loops, ignored between activities looping on themselves as a b a is then explained by b b
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                if (selfLoops[a] || selfLoops[b]) {
+                    continue;
+                }
+                long loops = counts.twoLoops[a * n + b] + counts.twoLoops[b * n + a];
+                if (loops >= parameters.positiveObservations && (double) loops / (loops + 1) >= parameters.l2LoopThreshold) {
+                    arcs[a][b] = true;
+                    arcs[b][a] = true;
+                }
+            }
+        }
+
+        // all activities connected: the best input and output of each activity, then the arcs close to them
+        double[] bestOutputs = new double[n];
+        double[] bestInputs = new double[n];
+        Arrays.fill(bestOutputs, Double.NEGATIVE_INFINITY);
+        Arrays.fill(bestInputs, Double.NEGATIVE_INFINITY);
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a != b && counts.follows[a * n + b] > 0) {
+                    bestOutputs[a] = Math.max(bestOutputs[a], dependencies[a][b]);
+                    bestInputs[b] = Math.max(bestInputs[b], dependencies[a][b]);
+                }
+            }
+        }
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a == b || counts.follows[a * n + b] == 0) {
+                    continue;
+                }
+                double dependency = dependencies[a][b];
+                boolean best = dependency > 0 && (dependency == bestOutputs[a] || dependency == bestInputs[b]);
+                boolean accepted =
+                    counts.follows[a * n + b] >= parameters.positiveObservations &&
+                    dependency >= parameters.dependencyThreshold &&
+                    (bestOutputs[a] - dependency <= parameters.relativeToBest || bestInputs[b] - dependency <= parameters.relativeToBest);
+                arcs[a][b] |= best || accepted;
+            }
+        }
+
+        List<CausalNet.Activity> activities = new ArrayList<>();
+        List<CausalNet.Arc> netArcs = new ArrayList<>();
+        for (int a = 0; a < n; a++) {
+            if (counts.activities[a] == 0) {
+                continue;
+            }
+            List<Integer> inputs = new ArrayList<>();
+            List<Integer> outputs = new ArrayList<>();
+            for (int b = 0; b < n; b++) {
+                if (arcs[b][a]) {
+                    inputs.add(b);
+                }
+                if (arcs[a][b]) {
+                    outputs.add(b);
+                    String source = eventLog.activityName(a);
+                    netArcs.add(new CausalNet.Arc(source, eventLog.activityName(b), counts.follows[a * n + b], dependencies[a][b]));
+                }
+            }
+            activities.add(
+                new CausalNet.Activity(
+                    eventLog.activityName(a),
+                    counts.activities[a],
+                    counts.starts[a],
+                    counts.ends[a],
+                    bindings(eventLog, counts, a, inputs, false, parameters.andThreshold),
+                    bindings(eventLog, counts, a, outputs, true, parameters.andThreshold)
+                )
+            );
+        }
+        return new CausalNet(activities, netArcs);
+    }
+
+    private static double dependency(Counts counts, int a, int b) {
+        int n = counts.activityCount;
+        long ab = counts.follows[a * n + b];
+        if (a == b) {
+            return (double) ab / (ab + 1);
+        }
+        long ba = counts.follows[b * n + a];
+        return (double) (ab - ba) / (ab + ba + 1);
+    }
+
+    /**
+     * Group the inputs or outputs of an activity: two neighbours are in parallel when they often directly follow each
+     * other compared to how often they follow (or precede) the activity, and exclusive otherwise. Exclusive neighbours
+     * are grouped transitively, and the groups are in parallel.
+     */
+    private static List<List<String>> bindings(
+        EventLog eventLog,
+        Counts counts,
+        int activity,
+        List<Integer> neighbours,
+        boolean outputs,
+        double andThreshold
+    ) {
+        int n = counts.activityCount;
+        int size = neighbours.size();
+        int[] parents = new int[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                int b = neighbours.get(i);
+                int c = neighbours.get(j);
+                boolean exclusive;
+                if (b == activity || c == activity) {
+                    exclusive = true;
+                } else {
+                    long between = counts.follows[b * n + c] + counts.follows[c * n + b];
+                    long around = outputs
+                        ? counts.follows[activity * n + b] + counts.follows[activity * n + c]
+                        : counts.follows[b * n + activity] + counts.follows[c * n + activity];
+                    exclusive = (double) between / (around + 1) < andThreshold;
+                }
+                if (exclusive) {
+                    parents[find(parents, i)] = find(parents, j);
+                }
+            }
+        }
+        Map<Integer, List<String>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            groups.computeIfAbsent(find(parents, i), root -> new ArrayList<>()).add(eventLog.activityName(neighbours.get(i)));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int find(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Thresholds of the Heuristics Miner, all between 0 and 1 apart from the positive observations.
+     */
+    public static final class Parameters {
+        private double dependencyThreshold = 0.9;
+
+        private double relativeToBest = 0.05;
+
+        private long positiveObservations = 1;
+
+        private double l1LoopThreshold = 0.9;
+
+        private double l2LoopThreshold = 0.9;
+
+        private double andThreshold = 0.1;
+
+        public double getDependencyThreshold() {
+            return dependencyThreshold;
+        }
+
+        /**
+         * @param dependencyThreshold the minimum dependency measure of an arc.
+         * @return these parameters.
+         */
+        public Parameters dependencyThreshold(double dependencyThreshold) {
+            this.dependencyThreshold = dependencyThreshold;
+            return this;
+        }
+
+        public double getRelativeToBest() {
+            return relativeToBest;
+        }
+
+        /**
+         * @param relativeToBest the maximum difference between the dependency measure of an arc and the one of the best
+         * output of its source or the best input of its target.
+         * @return these parameters.
+         */
+        public Parameters relativeToBest(double relativeToBest) {
+            this.relativeToBest = relativeToBest;
+            return this;
+        }
+
+        public long getPositiveObservations() {
+            return positiveObservations;
+        }
+
+        /**
+         * @param positiveObservations the minimum number of times a relation is observed before it is considered.
+         * @return these parameters.
+         */
+        public Parameters positiveObservations(long positiveObservations) {
+            this.positiveObservations = positiveObservations;
+            return this;
+        }
+
+        public double getL1LoopThreshold() {
+            return l1LoopThreshold;
+        }
+
+        /**
+         * @param l1LoopThreshold the minimum length-one loop measure of an activity following itself.
+         * @return these parameters.
+         */
+        public Parameters l1LoopThreshold(double l1LoopThreshold) {
+            this.l1LoopThreshold = l1LoopThreshold;
+            return this;
+        }
+
+        public double getL2LoopThreshold() {
+            return l2LoopThreshold;
+        }
+
+        /**
+         * @param l2LoopThreshold the minimum length-two loop measure of two activities alternating.
+         * @return these parameters.
+         */
+        public Parameters l2LoopThreshold(double l2LoopThreshold) {
+            this.l2LoopThreshold = l2LoopThreshold;
+            return this;
+        }
+
+        public double getAndThreshold() {
+            return andThreshold;
+        }
+
+        /**
+         * @param andThreshold the minimum AND measure of two outputs (or inputs) of an activity to be in parallel.
+         * @return these parameters.
+         */
+        public Parameters andThreshold(double andThreshold) {
+            this.andThreshold = andThreshold;
+            return this;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Parameters{" +
+                "dependencyThreshold=" + dependencyThreshold +
+                ", relativeToBest=" + relativeToBest +
+                ", positiveObservations=" + positiveObservations +
+                ", l1LoopThreshold=" + l1LoopThreshold +
+                ", l2LoopThreshold=" + l2LoopThreshold +
+                ", andThreshold=" + andThreshold +
+                "}";
+        }
+    }
+
+    /**
+     * Counts of a range of cases: occurrences, starts and ends by activity, and the {@code a>b} and {@code a>>b}
+     * matrices, row-major.
+     */
+    static final class Counts {
+        private final int activityCount;
+
+        private final long[] activities;
+
+        private final long[] starts;
+
+        private final long[] ends;
+
+        private final long[] follows;
+
+        private final long[] twoLoops;
+
+        Counts(int activityCount) {
+            this.activityCount = activityCount;
+            this.activities = new long[activityCount];
+            this.starts = new long[activityCount];
+            this.ends = new long[activityCount];
+            this.follows = new long[activityCount * activityCount];
+            this.twoLoops = new long[activityCount * activityCount];
+        }
+
+        long follows(int from, int to) {
+            return follows[from * activityCount + to];
+        }
+
+        long twoLoops(int from, int to) {
+            return twoLoops[from * activityCount + to];
+        }
+
+        void merge(Counts other) {
+            add(activities, other.activities);
+            add(starts, other.starts);
+            add(ends, other.ends);
+            add(follows, other.follows);
+            add(twoLoops, other.twoLoops);
+        }
+
+        private static void add(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += source[i];
+            }
+        }
+    }
+
+    private static final class CaseRangeTask extends RecursiveTask<Counts> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EventLog eventLog;
+
+        private final int fromCase;
+
+        private final int toCase;
+
+        private final int threshold;
+
+        CaseRangeTask(EventLog eventLog, int fromCase, int toCase, int threshold) {
+            this.eventLog = eventLog;
+            this.fromCase = fromCase;
+            this.toCase = toCase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (toCase - fromCase <= threshold) {
+                return count(eventLog, fromCase, toCase);
+            }
+            int middle = (fromCase + toCase) >>> 1;
+            CaseRangeTask left = new CaseRangeTask(eventLog, fromCase, middle, threshold);
+            left.fork();
+            Counts right = new CaseRangeTask(eventLog, middle, toCase, threshold).compute();
+            Counts result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
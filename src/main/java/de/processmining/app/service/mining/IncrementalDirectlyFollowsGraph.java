@@ -0,0 +1,130 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.ValueDictionary;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link DirectlyFollowsGraph} kept up to date while events are appended to the log it was mined from.
+ * <p>
+ * Besides the graph, the last activity and timestamp of every case are kept, so that appending an event only updates
+ * the counts of one activity and one edge. Appending an event older than the last one of its case would reorder the
+ * case, which cannot be done incrementally: such events are rejected and the graph must then be mined again.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class IncrementalDirectlyFollowsGraph {
+    private static final int INITIAL_CASE_CAPACITY = 1024;
+
+    private final ValueDictionary activityDictionary = new ValueDictionary();
+
+    private final Map<String, Integer> caseIndexes;
+
+    private int[] lastActivities;
+
+    private long[] lastTimestamps;
+
+    /**
+     * The graph, whose activity capacity grows by doubling and may exceed the number of known activities.
+     */
+    private DirectlyFollowsGraph graph;
+
+    private IncrementalDirectlyFollowsGraph(int caseCapacity, DirectlyFollowsGraph graph) {
+        this.caseIndexes = new HashMap<>(caseCapacity * 4 / 3 + 1);
+        this.lastActivities = new int[caseCapacity];
+        this.lastTimestamps = new long[caseCapacity];
+        this.graph = graph;
+    }
+
+    /**
+     * @param eventLog the event log.
+     * @param graph the directly-follows graph mined from the log, which becomes owned by the new instance.
+     * @return an incremental graph starting from the given graph.
+     */
+    public static IncrementalDirectlyFollowsGraph of(EventLog eventLog, DirectlyFollowsGraph graph) {
+        IncrementalDirectlyFollowsGraph incremental = new IncrementalDirectlyFollowsGraph(
+            Math.max(INITIAL_CASE_CAPACITY, eventLog.caseCount()),
+            graph
+        );
+        for (int a = 0; a < eventLog.activityCount(); a++) {
+            incremental.activityDictionary.encode(eventLog.activityName(a));
+        }
+        for (int c = 0; c < eventLog.caseCount(); c++) {
+            int end = eventLog.caseEnd(c);
+            if (end > eventLog.caseStart(c)) {
+                incremental.addCase(eventLog.caseId(c), eventLog.activity(end - 1), eventLog.timestamp(end - 1));
+            }
+        }
+        return incremental;
+    }
+
+    /**
+     * Append an event at the end of its case, starting a new case if the case is unknown.
+     *
+     * @param caseId the case identifier.
+     * @param activity the activity name.
+     * @param timestamp the epoch milliseconds of the event, or {@link EventLog#NO_TIMESTAMP}.
+     * @return {@code false}, leaving the graph unchanged, if the event is older than the last event of its case.
+     */
+    public synchronized boolean append(String caseId, String activity, long timestamp) {
+        Integer caseIndex = caseIndexes.get(caseId);
+        if (caseIndex != null && timestamp < lastTimestamps[caseIndex]) {
+            return false;
+        }
+        int code = encode(activity);
+        graph.addActivity(code);
+        if (caseIndex == null) {
+            graph.addCase(code, code);
+            addCase(caseId, code, timestamp);
+            return true;
+        }
+        int previousActivity = lastActivities[caseIndex];
+        long previousTimestamp = lastTimestamps[caseIndex];
+        boolean timed = previousTimestamp != EventLog.NO_TIMESTAMP && timestamp != EventLog.NO_TIMESTAMP;
+        graph.addEdge(previousActivity, code, timed ? timestamp - previousTimestamp : 0L, timed);
+        graph.moveEnd(previousActivity, code);
+        lastActivities[caseIndex] = code;
+        lastTimestamps[caseIndex] = timestamp;
+        return true;
+    }
+
+    /**
+     * @return a copy of the current graph, over the activities known so far.
+     */
+    public synchronized DirectlyFollowsGraph snapshot() {
+        return graph.resize(activityDictionary.size());
+    }
+
+    /**
+     * @param activity an activity code of a graph returned by {@link #snapshot()}.
+     * @return the activity name.
+     */
+    public synchronized String activityName(int activity) {
+        return activityDictionary.decode(activity);
+    }
+
+    public synchronized int caseCount() {
+        return caseIndexes.size();
+    }
+
+    private int encode(String activity) {
+        int code = activityDictionary.encode(activity);
+        if (code == graph.getActivityCount()) {
+            graph = graph.resize(Math.max(4, code * 2));
+        }
+        return code;
+    }
+
+    private void addCase(String caseId, int lastActivity, long lastTimestamp) {
+        int caseIndex = caseIndexes.size();
+        if (caseIndex == lastActivities.length) {
+            lastActivities = Arrays.copyOf(lastActivities, caseIndex * 2);
+            lastTimestamps = Arrays.copyOf(lastTimestamps, caseIndex * 2);
+        }
+        caseIndexes.put(caseId, caseIndex);
+        lastActivities[caseIndex] = lastActivity;
+        lastTimestamps[caseIndex] = lastTimestamp;
+    }
+}
@@ -0,0 +1,270 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.VariantIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Discovers a {@link ProcessTree} from an event log with the infrequent Inductive Miner (IMf).
+ * <p>
+ * The miner looks for a cut in the directly-follows graph of the log, splits the log into one sublog per part of the
+ * cut and recurses on the sublogs, which are processed in parallel on a {@link ForkJoinPool}. When no cut is found,
+ * infrequent edges are filtered out of the graph and the search is repeated; when there is still none, the activities
+ * are put in a flower model. Events not fitting the cut are dropped while splitting the log.
+ * <p>
+ * A noise threshold of 0 gives the plain Inductive Miner, which guarantees a model fitting every trace.
+ */
+public final class InductiveMiner {
+    private final EventLog eventLog;
+
+    private final double noiseThreshold;
+
+    private InductiveMiner(EventLog eventLog, double noiseThreshold) {
+        this.eventLog = eventLog;
+        this.noiseThreshold = noiseThreshold;
+    }
+
+    /**
+     * @param eventLog the event log.
+     * @param noiseThreshold the noise threshold, between 0 and 1.
+     * @param pool the pool running the computation.
+     * @return the discovered process tree.
+     */
+    public static ProcessTree mine(EventLog eventLog, double noiseThreshold, ForkJoinPool pool) {
+        return mine(VariantIndex.of(eventLog), noiseThreshold, pool);
+    }
+
+    /**
+     * @param variantIndex the variant index of the event log.
+     * @param noiseThreshold the noise threshold, between 0 and 1.
+     * @param pool the pool running the computation.
+     * @return the discovered process tree.
+     */
+    public static ProcessTree mine(VariantIndex variantIndex, double noiseThreshold, ForkJoinPool pool) {
+        if (noiseThreshold < 0 || noiseThreshold > 1) {
+            throw new IllegalArgumentException("Noise threshold must be between 0 and 1: " + noiseThreshold);
+        }
+        InductiveMiner miner = new InductiveMiner(variantIndex.getEventLog(), noiseThreshold);
+        return pool.invoke(miner.new SublogTask(TraceVariants.of(variantIndex)));
+    }
+
+    private final class SublogTask extends RecursiveTask<ProcessTree> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient TraceVariants sublog;
+
+        SublogTask(TraceVariants sublog) {
+            this.sublog = sublog;
+        }
+
+        @Override
+        protected ProcessTree compute() {
+            return discover(sublog);
+        }
+    }
+
+    private ProcessTree discover(TraceVariants sublog) {
+        long emptyTraces = 0;
+        for (int v = 0; v < sublog.size(); v++) {
+            if (sublog.trace(v).length == 0) {
+                emptyTraces += sublog.count(v);
+            }
+        }
+        if (emptyTraces == sublog.traceCount()) {
+            return ProcessTree.silent();
+        }
+        if (emptyTraces > 0) {
+            TraceVariants nonEmpty = withoutEmptyTraces(sublog);
+            if (emptyTraces > noiseThreshold * sublog.traceCount()) {
+                return ProcessTree.of(ProcessTree.Operator.XOR, Arrays.asList(ProcessTree.silent(), discover(nonEmpty)));
+            }
+            sublog = nonEmpty;
+        }
+
+        SublogDirectlyFollowsGraph graph = new SublogDirectlyFollowsGraph(sublog);
+        if (graph.size() == 1) {
+            return singleActivity(sublog, graph);
+        }
+        InductiveMinerCuts.Cut cut = InductiveMinerCuts.find(graph);
+        if (cut == null && noiseThreshold > 0) {
+            cut = InductiveMinerCuts.find(graph.filter(noiseThreshold));
+        }
+        if (cut == null) {
+            return flower(graph);
+        }
+
+        TraceVariants[] sublogs = split(sublog, graph, cut);
+        List<SublogTask> tasks = new ArrayList<>(sublogs.length);
+        for (TraceVariants part : sublogs) {
+            tasks.add(new SublogTask(part));
+        }
+        List<ProcessTree> children = new ArrayList<>(sublogs.length);
+        for (SublogTask task : ForkJoinTask.invokeAll(tasks)) {
+            children.add(task.join());
+        }
+        if (cut.getOperator() == ProcessTree.Operator.LOOP && children.size() > 2) {
+            ProcessTree redo = ProcessTree.of(ProcessTree.Operator.XOR, children.subList(1, children.size()));
+            return ProcessTree.of(ProcessTree.Operator.LOOP, Arrays.asList(children.get(0), redo));
+        }
+        return ProcessTree.of(cut.getOperator(), children);
+    }
+
+    /**
+     * A single activity, repeated in some traces: the activity, or a loop of it if repetitions are not infrequent.
+     */
+    private ProcessTree singleActivity(TraceVariants sublog, SublogDirectlyFollowsGraph graph) {
+        ProcessTree activity = ProcessTree.activity(eventLog.activityName(graph.activity(0)));
+        long repeated = 0;
+        for (int v = 0; v < sublog.size(); v++) {
+            if (sublog.trace(v).length > 1) {
+                repeated += sublog.count(v);
+            }
+        }
+        if (repeated <= noiseThreshold * sublog.traceCount()) {
+            return activity;
+        }
+        return ProcessTree.of(ProcessTree.Operator.LOOP, Arrays.asList(activity, ProcessTree.silent()));
+    }
+
+    /**
+     * The fall-through model allowing any sequence of the activities.
+     */
+    private ProcessTree flower(SublogDirectlyFollowsGraph graph) {
+        List<ProcessTree> activities = new ArrayList<>(graph.size());
+        for (int a = 0; a < graph.size(); a++) {
+            activities.add(ProcessTree.activity(eventLog.activityName(graph.activity(a))));
+        }
+        return ProcessTree.of(
+            ProcessTree.Operator.LOOP,
+            Arrays.asList(ProcessTree.silent(), ProcessTree.of(ProcessTree.Operator.XOR, activities))
+        );
+    }
+
+    private static TraceVariants withoutEmptyTraces(TraceVariants sublog) {
+        TraceVariants.Builder builder = new TraceVariants.Builder();
+        for (int v = 0; v < sublog.size(); v++) {
+            if (sublog.trace(v).length > 0) {
+                builder.add(sublog.trace(v), sublog.count(v));
+            }
+        }
+        return builder.build();
+    }
+
+    static TraceVariants[] split(TraceVariants sublog, SublogDirectlyFollowsGraph graph, InductiveMinerCuts.Cut cut) {
+        TraceVariants.Builder[] builders = new TraceVariants.Builder[cut.getPartCount()];
+        for (int p = 0; p < builders.length; p++) {
+            builders[p] = new TraceVariants.Builder();
+        }
+        for (int v = 0; v < sublog.size(); v++) {
+            int[] trace = sublog.trace(v);
+            int[] parts = new int[trace.length];
+            for (int e = 0; e < trace.length; e++) {
+                parts[e] = cut.part(graph.localIndex(trace[e]));
+            }
+            switch (cut.getOperator()) {
+                case XOR:
+                    splitExclusiveChoice(trace, parts, sublog.count(v), builders);
+                    break;
+                case SEQUENCE:
+                    splitSequence(trace, parts, sublog.count(v), builders);
+                    break;
+                case PARALLEL:
+                    for (int p = 0; p < builders.length; p++) {
+                        builders[p].add(project(trace, parts, 0, trace.length, p), sublog.count(v));
+                    }
+                    break;
+                default:
+                    splitLoop(trace, parts, sublog.count(v), builders);
+            }
+        }
+        TraceVariants[] sublogs = new TraceVariants[builders.length];
+        for (int p = 0; p < builders.length; p++) {
+            sublogs[p] = builders[p].build();
+        }
+        return sublogs;
+    }
+
+    /**
+     * The trace goes to the part holding most of its events, the other events are dropped.
+     */
+    private static void splitExclusiveChoice(int[] trace, int[] parts, long count, TraceVariants.Builder[] builders) {
+        int[] eventCounts = new int[builders.length];
+        int best = 0;
+        for (int part : parts) {
+            if (++eventCounts[part] > eventCounts[best]) {
+                best = part;
+            }
+        }
+        builders[best].add(project(trace, parts, 0, trace.length, best), count);
+    }
+
+    /**
+     * The trace is cut into one segment per part, each cut position dropping as few events as possible.
+     */
+    private static void splitSequence(int[] trace, int[] parts, long count, TraceVariants.Builder[] builders) {
+        int start = 0;
+        for (int p = 0; p < builders.length - 1; p++) {
+            int end = start;
+            int score = 0;
+            int bestScore = 0;
+            for (int e = start; e < trace.length; e++) {
+                score += parts[e] == p ? 1 : -1;
+                if (score > bestScore) {
+                    bestScore = score;
+                    end = e + 1;
+                }
+            }
+            builders[p].add(project(trace, parts, start, end, p), count);
+            start = end;
+        }
+        int last = builders.length - 1;
+        builders[last].add(project(trace, parts, start, trace.length, last), count);
+    }
+
+    /**
+     * The trace is cut into alternating runs of body and redo activities; an empty body run is inserted wherever the
+     * trace does not start, end or continue with the body.
+     */
+    private static void splitLoop(int[] trace, int[] parts, long count, TraceVariants.Builder[] builders) {
+        int start = 0;
+        boolean expectBody = true;
+        while (start < trace.length) {
+            int part = parts[start];
+            if (expectBody && part != 0) {
+                builders[0].add(new int[0], count);
+            }
+            int end = start + 1;
+            while (end < trace.length && parts[end] == part) {
+                end++;
+            }
+            builders[part].add(Arrays.copyOfRange(trace, start, end), count);
+            expectBody = part != 0;
+            start = end;
+        }
+        if (expectBody) {
+            builders[0].add(new int[0], count);
+        }
+    }
+
+    private static int[] project(int[] trace, int[] parts, int from, int to, int part) {
+        int length = 0;
+        for (int e = from; e < to; e++) {
+            if (parts[e] == part) {
+                length++;
+            }
+        }
+        int[] projection = new int[length];
+        int i = 0;
+        for (int e = from; e < to; e++) {
+            if (parts[e] == part) {
+                projection[i++] = trace[e];
+            }
+        }
+        return projection;
+    }
+}
@@ -0,0 +1,357 @@
+package de.processmining.app.service.mining;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Cut detection of the {@link InductiveMiner} on a {@link SublogDirectlyFollowsGraph}.
+ * <p>
+ * A cut partitions the activities of the graph into parts, each part becoming a child of the operator of the cut.
+ */
+final class InductiveMinerCuts {
+
+    private InductiveMinerCuts() {}
+
+    /**
+     * Partition of the activities of a graph, identified by their local indexes.
+     */
+    static final class Cut {
+        private final ProcessTree.Operator operator;
+
+        private final int[] parts;
+
+        private final int partCount;
+
+        Cut(ProcessTree.Operator operator, int[] parts, int partCount) {
+            this.operator = operator;
+            this.parts = parts;
+            this.partCount = partCount;
+        }
+
+        ProcessTree.Operator getOperator() {
+            return operator;
+        }
+
+        /**
+         * @param local the local index of an activity.
+         * @return the part of the activity; for a sequence the parts are in execution order, for a loop part 0 is the
+         * body.
+         */
+        int part(int local) {
+            return parts[local];
+        }
+
+        int getPartCount() {
+            return partCount;
+        }
+    }
+
+    /**
+     * @param graph the graph.
+     * @return the first cut found among exclusive choice, sequence, parallel and loop cuts, or {@code null}.
+     */
+    static Cut find(SublogDirectlyFollowsGraph graph) {
+        Cut cut = exclusiveChoice(graph);
+        if (cut == null) {
+            cut = sequence(graph);
+        }
+        if (cut == null) {
+            cut = parallel(graph);
+        }
+        if (cut == null) {
+            cut = loop(graph);
+        }
+        return cut;
+    }
+
+    /**
+     * Exclusive choice: the connected components of the graph, edge directions ignored.
+     */
+    static Cut exclusiveChoice(SublogDirectlyFollowsGraph graph) {
+        int size = graph.size();
+        int[] roots = identity(size);
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                if (graph.hasEdge(from, to)) {
+                    union(roots, from, to);
+                }
+            }
+        }
+        return toCut(ProcessTree.Operator.XOR, roots);
+    }
+
+    /**
+     * Sequence: groups of activities such that each activity of a group reaches every activity of the following
+     * groups, and none of the preceding ones. Strongly connected components and pairwise unreachable activities are
+     * put in the same group.
+     */
+    static Cut sequence(SublogDirectlyFollowsGraph graph) {
+        int size = graph.size();
+        BitSet[] reachable = reachability(graph);
+        int[] roots = identity(size);
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                boolean ab = reachable[a].get(b);
+                boolean ba = reachable[b].get(a);
+                if (ab == ba) {
+                    union(roots, a, b);
+                }
+            }
+        }
+        Cut unordered = toCut(ProcessTree.Operator.SEQUENCE, roots);
+        if (unordered == null) {
+            return null;
+        }
+        int partCount = unordered.getPartCount();
+        // a group comes after every group with an activity reaching it
+        boolean[][] reachingParts = new boolean[partCount][partCount];
+        for (int a = 0; a < size; a++) {
+            for (int b = 0; b < size; b++) {
+                if (unordered.part(a) != unordered.part(b) && reachable[a].get(b)) {
+                    reachingParts[unordered.part(b)][unordered.part(a)] = true;
+                }
+            }
+        }
+        int[] predecessors = new int[partCount];
+        for (int p = 0; p < partCount; p++) {
+            for (int q = 0; q < partCount; q++) {
+                if (reachingParts[p][q]) {
+                    predecessors[p]++;
+                }
+            }
+        }
+        Integer[] order = new Integer[partCount];
+        for (int p = 0; p < partCount; p++) {
+            order[p] = p;
+        }
+        Arrays.sort(order, (p, q) -> Integer.compare(predecessors[p], predecessors[q]));
+        int[] positions = new int[partCount];
+        for (int i = 0; i < partCount; i++) {
+            positions[order[i]] = i;
+        }
+        int[] parts = new int[size];
+        for (int a = 0; a < size; a++) {
+            parts[a] = positions[unordered.part(a)];
+        }
+        for (int a = 0; a < size; a++) {
+            for (int b = 0; b < size; b++) {
+                if (parts[a] < parts[b] && (!reachable[a].get(b) || reachable[b].get(a))) {
+                    return null;
+                }
+            }
+        }
+        return new Cut(ProcessTree.Operator.SEQUENCE, parts, partCount);
+    }
+
+    /**
+     * Parallel: groups of activities such that every two activities of different groups directly follow each other in
+     * both directions, each group having a start and an end activity.
+     */
+    static Cut parallel(SublogDirectlyFollowsGraph graph) {
+        int size = graph.size();
+        int[] roots = identity(size);
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                if (!graph.hasEdge(a, b) || !graph.hasEdge(b, a)) {
+                    union(roots, a, b);
+                }
+            }
+        }
+        Cut cut = toCut(ProcessTree.Operator.PARALLEL, roots);
+        if (cut == null) {
+            return null;
+        }
+        boolean[] hasStart = new boolean[cut.getPartCount()];
+        boolean[] hasEnd = new boolean[cut.getPartCount()];
+        for (int a = 0; a < size; a++) {
+            hasStart[cut.part(a)] |= graph.isStart(a);
+            hasEnd[cut.part(a)] |= graph.isEnd(a);
+        }
+        int complete = -1;
+        for (int p = 0; p < cut.getPartCount() && complete < 0; p++) {
+            if (hasStart[p] && hasEnd[p]) {
+                complete = p;
+            }
+        }
+        if (complete < 0) {
+            return null;
+        }
+        // merging keeps the cut valid, as activities of different parts still follow each other in both directions
+        for (int a = 0; a < size; a++) {
+            int part = cut.part(a);
+            if (!hasStart[part] || !hasEnd[part]) {
+                union(roots, a, firstOfPart(cut, complete));
+            }
+        }
+        return toCut(ProcessTree.Operator.PARALLEL, roots);
+    }
+
+    /**
+     * Loop: the body holds the start and end activities, each redo part is a connected component of the other
+     * activities, entered from all end activities and left to all start activities.
+     */
+    static Cut loop(SublogDirectlyFollowsGraph graph) {
+        int size = graph.size();
+        int[] roots = identity(size);
+        int body = -1;
+        for (int a = 0; a < size; a++) {
+            if (graph.isStart(a) || graph.isEnd(a)) {
+                if (body < 0) {
+                    body = a;
+                } else {
+                    union(roots, body, a);
+                }
+            }
+        }
+        if (body < 0) {
+            return null;
+        }
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                if (graph.hasEdge(from, to) && !inSameSet(roots, from, body) && !inSameSet(roots, to, body)) {
+                    union(roots, from, to);
+                }
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int a = 0; a < size; a++) {
+                if (find(roots, a) == a && !inSameSet(roots, a, body) && !isRedo(graph, roots, body, a)) {
+                    union(roots, body, a);
+                    changed = true;
+                }
+            }
+        }
+        Cut unordered = toCut(ProcessTree.Operator.LOOP, roots);
+        if (unordered == null) {
+            return null;
+        }
+        // renumber the parts so that the body is part 0
+        int bodyPart = unordered.part(body);
+        int[] parts = new int[size];
+        for (int a = 0; a < size; a++) {
+            int part = unordered.part(a);
+            parts[a] = part == bodyPart ? 0 : part < bodyPart ? part + 1 : part;
+        }
+        return new Cut(ProcessTree.Operator.LOOP, parts, unordered.getPartCount());
+    }
+
+    private static boolean isRedo(SublogDirectlyFollowsGraph graph, int[] roots, int body, int root) {
+        int size = graph.size();
+        boolean entered = false;
+        boolean left = false;
+        for (int a = 0; a < size; a++) {
+            if (!inSameSet(roots, a, root)) {
+                continue;
+            }
+            boolean enteredHere = false;
+            boolean leftHere = false;
+            for (int b = 0; b < size; b++) {
+                if (!inSameSet(roots, b, body)) {
+                    continue;
+                }
+                if (graph.hasEdge(b, a)) {
+                    if (!graph.isEnd(b)) {
+                        return false;
+                    }
+                    enteredHere = true;
+                }
+                if (graph.hasEdge(a, b)) {
+                    if (!graph.isStart(b)) {
+                        return false;
+                    }
+                    leftHere = true;
+                }
+            }
+            for (int b = 0; b < size; b++) {
+                if ((enteredHere && graph.isEnd(b) && !graph.hasEdge(b, a)) || (leftHere && graph.isStart(b) && !graph.hasEdge(a, b))) {
+                    return false;
+                }
+            }
+            entered |= enteredHere;
+            left |= leftHere;
+        }
+        return entered && left;
+    }
+
+    private static BitSet[] reachability(SublogDirectlyFollowsGraph graph) {
+        int size = graph.size();
+        BitSet[] reachable = new BitSet[size];
+        int[] stack = new int[size];
+        for (int source = 0; source < size; source++) {
+            BitSet visited = new BitSet(size);
+            int top = 0;
+            stack[top++] = source;
+            while (top > 0) {
+                int from = stack[--top];
+                for (int to = 0; to < size; to++) {
+                    if (graph.hasEdge(from, to) && !visited.get(to)) {
+                        visited.set(to);
+                        stack[top++] = to;
+                    }
+                }
+            }
+            reachable[source] = visited;
+        }
+        return reachable;
+    }
+
+    private static int firstOfPart(Cut cut, int part) {
+        for (int a = 0; ; a++) {
+            if (cut.part(a) == part) {
+                return a;
+            }
+        }
+    }
+
+    /**
+     * @return the cut whose parts are the sets of the union-find forest, or {@code null} if there is only one set.
+     */
+    private static Cut toCut(ProcessTree.Operator operator, int[] roots) {
+        int size = roots.length;
+        int[] partOfRoot = new int[size];
+        Arrays.fill(partOfRoot, -1);
+        List<Integer> partRoots = new ArrayList<>();
+        int[] parts = new int[size];
+        for (int a = 0; a < size; a++) {
+            int root = find(roots, a);
+            if (partOfRoot[root] < 0) {
+                partOfRoot[root] = partRoots.size();
+                partRoots.add(root);
+            }
+            parts[a] = partOfRoot[root];
+        }
+        return partRoots.size() < 2 ? null : new Cut(operator, parts, partRoots.size());
+    }
+
+    private static int[] identity(int size) {
+        int[] roots = new int[size];
+        for (int i = 0; i < size; i++) {
+            roots[i] = i;
+        }
+        return roots;
+    }
+
+    private static int find(int[] roots, int a) {
+        while (roots[a] != a) {
+            roots[a] = roots[roots[a]];
+            a = roots[a];
+        }
+        return a;
+    }
+
+    private static void union(int[] roots, int a, int b) {
+        int rootA = find(roots, a);
+        int rootB = find(roots, b);
+        if (rootA != rootB) {
+            roots[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static boolean inSameSet(int[] roots, int a, int b) {
+        return find(roots, a) == find(roots, b);
+    }
+}
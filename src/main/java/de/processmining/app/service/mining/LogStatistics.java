@@ -0,0 +1,276 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Summary statistics of an event log: how often each activity occurs and starts or ends cases, how long cases take
+ * and how many cases start and complete over time.
+ * <p>
+ * Case durations are counted in a histogram of powers of two of milliseconds: bucket {@code 0} holds durations of
+ * {@code 0} and bucket {@code b} durations from {@code 2^(b-1)} included to {@code 2^b} excluded, which needs no
+ * bounds known in advance and can be merged. Durations are also sketched in a {@link TDigest} for their quantiles.
+ * Likewise, case starts and completions are counted per hour since the epoch, and only grouped into larger buckets
+ * once all cases are counted.
+ */
+public final class LogStatistics {
+    /**
+     * Number of duration histogram buckets, enough for any {@code long} duration.
+     */
+    public static final int DURATION_BUCKETS = Long.SIZE;
+
+    static final long HOUR = 3600000L;
+
+    private final long[] activityFrequencies;
+
+    private final long[] activityCaseFrequencies;
+
+    private final long[] startFrequencies;
+
+    private final long[] endFrequencies;
+
+    private final long[] durationHistogram = new long[DURATION_BUCKETS];
+
+    private final TDigest durations = new TDigest(PerformanceSpectrum.COMPRESSION);
+
+    private double totalDuration;
+
+    /**
+     * Cases starting and completing per hour since the epoch, only for hours in which some do.
+     */
+    private final Map<Long, long[]> hourlyThroughput = new HashMap<>();
+
+    private long throughputStart;
+
+    private long throughputBucketSize = HOUR;
+
+    private long[] startedCases = new long[0];
+
+    private long[] completedCases = new long[0];
+
+    private long caseCount;
+
+    private long eventCount;
+
+    private int minCaseLength = Integer.MAX_VALUE;
+
+    private int maxCaseLength;
+
+    private long startTime = Long.MAX_VALUE;
+
+    private long endTime = Long.MIN_VALUE;
+
+    LogStatistics(int activityCount) {
+        this.activityFrequencies = new long[activityCount];
+        this.activityCaseFrequencies = new long[activityCount];
+        this.startFrequencies = new long[activityCount];
+        this.endFrequencies = new long[activityCount];
+    }
+
+    public int getActivityCount() {
+        return activityFrequencies.length;
+    }
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return the number of events of the shortest case, {@code 0} if the log has no case.
+     */
+    public int getMinCaseLength() {
+        return caseCount == 0 ? 0 : minCaseLength;
+    }
+
+    public int getMaxCaseLength() {
+        return maxCaseLength;
+    }
+
+    /**
+     * @return the time of the first event, or {@link EventLog#NO_TIMESTAMP} if no event has a timestamp.
+     */
+    public long getStartTime() {
+        return startTime <= endTime ? startTime : EventLog.NO_TIMESTAMP;
+    }
+
+    /**
+     * @return the time of the last event, or {@link EventLog#NO_TIMESTAMP} if no event has a timestamp.
+     */
+    public long getEndTime() {
+        return startTime <= endTime ? endTime : EventLog.NO_TIMESTAMP;
+    }
+
+    public long getActivityFrequency(int activity) {
+        return activityFrequencies[activity];
+    }
+
+    /**
+     * @return the number of cases in which the activity occurs.
+     */
+    public long getActivityCaseFrequency(int activity) {
+        return activityCaseFrequencies[activity];
+    }
+
+    public long getStartFrequency(int activity) {
+        return startFrequencies[activity];
+    }
+
+    public long getEndFrequency(int activity) {
+        return endFrequencies[activity];
+    }
+
+    /**
+     * @return the number of cases whose duration falls in the bucket.
+     */
+    public long getDurationFrequency(int bucket) {
+        return durationHistogram[bucket];
+    }
+
+    /**
+     * @return the durations of the cases with at least one timestamped event, in milliseconds.
+     */
+    public TDigest getDurations() {
+        return durations;
+    }
+
+    /**
+     * @return the mean case duration, or {@link Double#NaN} if no case has timestamps.
+     */
+    public double getMeanDuration() {
+        return durations.count() == 0 ? Double.NaN : totalDuration / durations.count();
+    }
+
+    /**
+     * @return the epoch milliseconds at which the first throughput bucket starts.
+     */
+    public long getThroughputStart() {
+        return throughputStart;
+    }
+
+    /**
+     * @return the size of the throughput buckets, a whole number of hours, or of days beyond one hour.
+     */
+    public long getThroughputBucketSize() {
+        return throughputBucketSize;
+    }
+
+    /**
+     * @return the number of throughput buckets, {@code 0} if no event has a timestamp.
+     */
+    public int getThroughputBucketCount() {
+        return startedCases.length;
+    }
+
+    /**
+     * @return the number of cases whose first event falls in the bucket.
+     */
+    public long getStartedCases(int bucket) {
+        return startedCases[bucket];
+    }
+
+    /**
+     * @return the number of cases whose last event falls in the bucket.
+     */
+    public long getCompletedCases(int bucket) {
+        return completedCases[bucket];
+    }
+
+    /**
+     * @return the lower bound of a duration bucket, in milliseconds.
+     */
+    public static long durationBucketLowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+    static int durationBucket(long duration) {
+        return Long.SIZE - Long.numberOfLeadingZeros(duration);
+    }
+
+    void addCase(int length, long caseStartTime, long caseEndTime) {
+        caseCount++;
+        eventCount += length;
+        minCaseLength = Math.min(minCaseLength, length);
+        maxCaseLength = Math.max(maxCaseLength, length);
+        if (caseStartTime == EventLog.NO_TIMESTAMP) {
+            return;
+        }
+        startTime = Math.min(startTime, caseStartTime);
+        endTime = Math.max(endTime, caseEndTime);
+        long duration = caseEndTime - caseStartTime;
+        durationHistogram[durationBucket(duration)]++;
+        durations.add(duration);
+        totalDuration += duration;
+        hourlyThroughput.computeIfAbsent(Math.floorDiv(caseStartTime, HOUR), hour -> new long[2])[0]++;
+        hourlyThroughput.computeIfAbsent(Math.floorDiv(caseEndTime, HOUR), hour -> new long[2])[1]++;
+    }
+
+    void addActivity(int activity, boolean firstInCase) {
+        activityFrequencies[activity]++;
+        if (firstInCase) {
+            activityCaseFrequencies[activity]++;
+        }
+    }
+
+    void addStartAndEnd(int startActivity, int endActivity) {
+        startFrequencies[startActivity]++;
+        endFrequencies[endActivity]++;
+    }
+
+    void merge(LogStatistics other) {
+        caseCount += other.caseCount;
+        eventCount += other.eventCount;
+        minCaseLength = Math.min(minCaseLength, other.minCaseLength);
+        maxCaseLength = Math.max(maxCaseLength, other.maxCaseLength);
+        startTime = Math.min(startTime, other.startTime);
+        endTime = Math.max(endTime, other.endTime);
+        for (int a = 0; a < activityFrequencies.length; a++) {
+            activityFrequencies[a] += other.activityFrequencies[a];
+            activityCaseFrequencies[a] += other.activityCaseFrequencies[a];
+            startFrequencies[a] += other.startFrequencies[a];
+            endFrequencies[a] += other.endFrequencies[a];
+        }
+        for (int b = 0; b < DURATION_BUCKETS; b++) {
+            durationHistogram[b] += other.durationHistogram[b];
+        }
+        durations.add(other.durations);
+        totalDuration += other.totalDuration;
+        other.hourlyThroughput.forEach(
+            (hour, throughput) -> {
+                long[] merged = hourlyThroughput.computeIfAbsent(hour, h -> new long[2]);
+                merged[0] += throughput[0];
+                merged[1] += throughput[1];
+            }
+        );
+    }
+
+    /**
+     * Group the hourly case starts and completions into at most {@code maxBuckets} buckets aligned on the epoch.
+     */
+    void bucketThroughput(int maxBuckets) {
+        if (startTime > endTime) {
+            return;
+        }
+        long firstHour = Math.floorDiv(startTime, HOUR);
+        long lastHour = Math.floorDiv(endTime, HOUR);
+        long hoursPerBucket = (lastHour - firstHour) / Math.max(1, maxBuckets - 1) + 1;
+        if (hoursPerBucket > 1) {
+            hoursPerBucket = (hoursPerBucket + 23) / 24 * 24;
+        }
+        long firstBucket = Math.floorDiv(firstHour, hoursPerBucket);
+        int bucketCount = (int) (Math.floorDiv(lastHour, hoursPerBucket) - firstBucket + 1);
+        throughputStart = firstBucket * hoursPerBucket * HOUR;
+        throughputBucketSize = hoursPerBucket * HOUR;
+        startedCases = new long[bucketCount];
+        completedCases = new long[bucketCount];
+        for (Map.Entry<Long, long[]> entry : hourlyThroughput.entrySet()) {
+            int bucket = (int) (Math.floorDiv(entry.getKey(), hoursPerBucket) - firstBucket);
+            startedCases[bucket] += entry.getValue()[0];
+            completedCases[bucket] += entry.getValue()[1];
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the {@link LogStatistics} of an event log in a single scan of its events.
+ * <p>
+ * Like the {@link PerformanceAnalyzer}, cases are partitioned into ranges processed in parallel, whose statistics are
+ * merged pairwise; throughput buckets are only sized once the time span of the whole log is known.
+ */
+public final class LogStatisticsAnalyzer {
+    /**
+     * Maximum number of throughput buckets.
+     */
+    public static final int MAX_BUCKETS = 1000;
+
+    /**
+     * Minimum number of cases of a range before it is not split any further.
+     */
+    private static final int MIN_CASES_PER_TASK = 1024;
+
+    private LogStatisticsAnalyzer() {}
+
+    /**
+     * @param eventLog the event log.
+     * @param pool the pool running the computation.
+     * @return the statistics of the log.
+     */
+    public static LogStatistics analyze(EventLog eventLog, ForkJoinPool pool) {
+        int threshold = Math.max(MIN_CASES_PER_TASK, eventLog.caseCount() / (pool.getParallelism() * 4) + 1);
+        LogStatistics statistics = pool.invoke(new CaseRangeTask(eventLog, 0, eventLog.caseCount(), threshold));
+        statistics.bucketThroughput(MAX_BUCKETS);
+        return statistics;
+    }
+
+    static LogStatistics analyze(EventLog eventLog, int fromCase, int toCase) {
+        LogStatistics statistics = new LogStatistics(eventLog.activityCount());
+        // the last case in which each activity was counted, to count the cases of an activity once
+        int[] lastCases = new int[eventLog.activityCount()];
+        Arrays.fill(lastCases, -1);
+        for (int c = fromCase; c < toCase; c++) {
+            int start = eventLog.caseStart(c);
+            int end = eventLog.caseEnd(c);
+            long caseStartTime = EventLog.NO_TIMESTAMP;
+            for (int e = start; e < end; e++) {
+                int activity = eventLog.activity(e);
+                statistics.addActivity(activity, lastCases[activity] != c);
+                lastCases[activity] = c;
+                // events without timestamp come first in a case
+                if (caseStartTime == EventLog.NO_TIMESTAMP) {
+                    caseStartTime = eventLog.timestamp(e);
+                }
+            }
+            statistics.addCase(end - start, caseStartTime, start == end ? EventLog.NO_TIMESTAMP : eventLog.timestamp(end - 1));
+            if (start < end) {
+                statistics.addStartAndEnd(eventLog.activity(start), eventLog.activity(end - 1));
+            }
+        }
+        return statistics;
+    }
+
+    private static final class CaseRangeTask extends RecursiveTask<LogStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EventLog eventLog;
+
+        private final int fromCase;
+
+        private final int toCase;
+
+        private final int threshold;
+
+        CaseRangeTask(EventLog eventLog, int fromCase, int toCase, int threshold) {
+            this.eventLog = eventLog;
+            this.fromCase = fromCase;
+            this.toCase = toCase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected LogStatistics compute() {
+            if (toCase - fromCase <= threshold) {
+                return analyze(eventLog, fromCase, toCase);
+            }
+            int middle = (fromCase + toCase) >>> 1;
+            CaseRangeTask left = new CaseRangeTask(eventLog, fromCase, middle, threshold);
+            CaseRangeTask right = new CaseRangeTask(eventLog, middle, toCase, threshold);
+            left.fork();
+            LogStatistics rightResult = right.compute();
+            LogStatistics result = left.join();
+            result.merge(rightResult);
+            return result;
+        }
+    }
+}
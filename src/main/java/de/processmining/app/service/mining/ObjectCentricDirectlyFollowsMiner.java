@@ -0,0 +1,114 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.ObjectCentricEventLog;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the object-centric directly-follows graph of an {@link ObjectCentricEventLog}: one
+ * {@link DirectlyFollowsGraph} per object type, whose "cases" are the objects of that type.
+ * <p>
+ * Edges follow the lifecycle of each object, while each event counts once in the activity frequencies of a type
+ * however many objects of that type it refers to. This avoids the duplicated events (convergence) and the spurious
+ * loops (divergence) of a log flattened per object type, without ever materialising the flattened logs. Objects are
+ * partitioned into ranges processed in parallel on a {@link ForkJoinPool}.
+ */
+public final class ObjectCentricDirectlyFollowsMiner {
+    /**
+     * Minimum number of objects of a range before it is not split any further.
+     */
+    private static final int MIN_OBJECTS_PER_TASK = 1024;
+
+    private ObjectCentricDirectlyFollowsMiner() {}
+
+    /**
+     * @param eventLog the object-centric event log.
+     * @param pool the pool running the computation.
+     * @return the directly-follows graphs of the log, indexed by object type code.
+     */
+    public static DirectlyFollowsGraph[] mine(ObjectCentricEventLog eventLog, ForkJoinPool pool) {
+        int threshold = Math.max(MIN_OBJECTS_PER_TASK, eventLog.objectCount() / (pool.getParallelism() * 4) + 1);
+        DirectlyFollowsGraph[] graphs = pool.invoke(new ObjectRangeTask(eventLog, 0, eventLog.objectCount(), threshold));
+        countActivities(eventLog, graphs);
+        return graphs;
+    }
+
+    static DirectlyFollowsGraph[] mine(ObjectCentricEventLog eventLog, int fromObject, int toObject) {
+        DirectlyFollowsGraph[] graphs = new DirectlyFollowsGraph[eventLog.objectTypeCount()];
+        for (int t = 0; t < graphs.length; t++) {
+            graphs[t] = new DirectlyFollowsGraph(eventLog.activityCount());
+        }
+        for (int o = fromObject; o < toObject; o++) {
+            int start = eventLog.objectEventStart(o);
+            int end = eventLog.objectEventEnd(o);
+            if (start == end) {
+                continue;
+            }
+            DirectlyFollowsGraph graph = graphs[eventLog.objectType(o)];
+            graph.addCase(eventLog.activity(eventLog.objectEvent(start)), eventLog.activity(eventLog.objectEvent(end - 1)));
+            for (int i = start + 1; i < end; i++) {
+                int previous = eventLog.objectEvent(i - 1);
+                int event = eventLog.objectEvent(i);
+                long previousTimestamp = eventLog.timestamp(previous);
+                long timestamp = eventLog.timestamp(event);
+                boolean timed = previousTimestamp != EventLog.NO_TIMESTAMP && timestamp != EventLog.NO_TIMESTAMP;
+                graph.addEdge(eventLog.activity(previous), eventLog.activity(event), timed ? timestamp - previousTimestamp : 0L, timed);
+            }
+        }
+        return graphs;
+    }
+
+    /**
+     * Count each event once in the graph of every type of the objects it refers to.
+     */
+    private static void countActivities(ObjectCentricEventLog eventLog, DirectlyFollowsGraph[] graphs) {
+        int[] lastEventOfType = new int[graphs.length];
+        Arrays.fill(lastEventOfType, -1);
+        for (int e = 0; e < eventLog.eventCount(); e++) {
+            for (int i = eventLog.eventObjectStart(e); i < eventLog.eventObjectEnd(e); i++) {
+                int type = eventLog.objectType(eventLog.eventObject(i));
+                if (lastEventOfType[type] != e) {
+                    lastEventOfType[type] = e;
+                    graphs[type].addActivity(eventLog.activity(e));
+                }
+            }
+        }
+    }
+
+    private static final class ObjectRangeTask extends RecursiveTask<DirectlyFollowsGraph[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ObjectCentricEventLog eventLog;
+
+        private final int fromObject;
+
+        private final int toObject;
+
+        private final int threshold;
+
+        ObjectRangeTask(ObjectCentricEventLog eventLog, int fromObject, int toObject, int threshold) {
+            this.eventLog = eventLog;
+            this.fromObject = fromObject;
+            this.toObject = toObject;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected DirectlyFollowsGraph[] compute() {
+            if (toObject - fromObject <= threshold) {
+                return mine(eventLog, fromObject, toObject);
+            }
+            int middle = (fromObject + toObject) >>> 1;
+            ObjectRangeTask left = new ObjectRangeTask(eventLog, fromObject, middle, threshold);
+            left.fork();
+            DirectlyFollowsGraph[] right = new ObjectRangeTask(eventLog, middle, toObject, threshold).compute();
+            DirectlyFollowsGraph[] result = left.join();
+            for (int t = 0; t < result.length; t++) {
+                result[t].merge(right[t]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the {@link PerformanceSpectrum} of an event log.
+ * <p>
+ * Like the {@link DirectlyFollowsMiner}, cases are partitioned into ranges processed in parallel, each range sketching
+ * durations into its own digests, which are then merged pairwise. No duration is ever stored or sorted.
+ */
+public final class PerformanceAnalyzer {
+    /**
+     * Maximum number of time buckets; larger buckets are used when the requested size would exceed it.
+     */
+    public static final int MAX_BUCKETS = 1000;
+
+    /**
+     * Minimum number of cases of a range before it is not split any further.
+     */
+    private static final int MIN_CASES_PER_TASK = 1024;
+
+    private PerformanceAnalyzer() {}
+
+    /**
+     * @param eventLog the event log.
+     * @param bucketSize the requested size of the throughput buckets, in milliseconds.
+     * @param pool the pool running the computation.
+     * @return the performance spectrum of the log.
+     */
+    public static PerformanceSpectrum analyze(EventLog eventLog, long bucketSize, ForkJoinPool pool) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("Bucket size must be positive: " + bucketSize);
+        }
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (int c = 0; c < eventLog.caseCount(); c++) {
+            for (int e = eventLog.caseStart(c); e < eventLog.caseEnd(c); e++) {
+                long timestamp = eventLog.timestamp(e);
+                if (timestamp != EventLog.NO_TIMESTAMP) {
+                    minTime = Math.min(minTime, timestamp);
+                    maxTime = Math.max(maxTime, timestamp);
+                }
+            }
+        }
+        long size = bucketSize;
+        long start = 0;
+        int bucketCount = 0;
+        if (minTime <= maxTime) {
+            if ((maxTime - minTime) / size >= MAX_BUCKETS) {
+                size = (maxTime - minTime) / (MAX_BUCKETS - 1) + 1;
+            }
+            // aligned on the epoch, so that daily buckets are UTC days
+            start = Math.floorDiv(minTime, size) * size;
+            bucketCount = (int) ((maxTime - start) / size) + 1;
+        }
+        int threshold = Math.max(MIN_CASES_PER_TASK, eventLog.caseCount() / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new CaseRangeTask(eventLog, start, size, bucketCount, 0, eventLog.caseCount(), threshold));
+    }
+
+    static PerformanceSpectrum analyze(EventLog eventLog, long bucketStart, long bucketSize, int bucketCount, int fromCase, int toCase) {
+        PerformanceSpectrum spectrum = new PerformanceSpectrum(eventLog.activityCount(), bucketStart, bucketSize, bucketCount);
+        for (int c = fromCase; c < toCase; c++) {
+            int start = eventLog.caseStart(c);
+            int end = eventLog.caseEnd(c);
+            if (start == end) {
+                continue;
+            }
+            // events without timestamp come first in a case
+            spectrum.addCase(eventLog.timestamp(end - 1));
+            for (int e = start + 1; e < end; e++) {
+                spectrum.addEdge(eventLog.activity(e - 1), eventLog.activity(e), eventLog.timestamp(e - 1), eventLog.timestamp(e));
+            }
+        }
+        return spectrum;
+    }
+
+    private static final class CaseRangeTask extends RecursiveTask<PerformanceSpectrum> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EventLog eventLog;
+
+        private final long bucketStart;
+
+        private final long bucketSize;
+
+        private final int bucketCount;
+
+        private final int fromCase;
+
+        private final int toCase;
+
+        private final int threshold;
+
+        CaseRangeTask(EventLog eventLog, long bucketStart, long bucketSize, int bucketCount, int fromCase, int toCase, int threshold) {
+            this.eventLog = eventLog;
+            this.bucketStart = bucketStart;
+            this.bucketSize = bucketSize;
+            this.bucketCount = bucketCount;
+            this.fromCase = fromCase;
+            this.toCase = toCase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected PerformanceSpectrum compute() {
+            if (toCase - fromCase <= threshold) {
+                return analyze(eventLog, bucketStart, bucketSize, bucketCount, fromCase, toCase);
+            }
+            int middle = (fromCase + toCase) >>> 1;
+            CaseRangeTask left = new CaseRangeTask(eventLog, bucketStart, bucketSize, bucketCount, fromCase, middle, threshold);
+            CaseRangeTask right = new CaseRangeTask(eventLog, bucketStart, bucketSize, bucketCount, middle, toCase, threshold);
+            left.fork();
+            PerformanceSpectrum rightResult = right.compute();
+            PerformanceSpectrum result = left.join();
+            result.merge(rightResult);
+            return result;
+        }
+    }
+}
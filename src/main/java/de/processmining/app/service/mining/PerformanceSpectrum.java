@@ -0,0 +1,181 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance of the directly-follows edges of an event log: the distribution of the time between the two activities
+ * of each edge, sketched with a {@link TDigest}, and how many times each edge and each case completes per time bucket.
+ * <p>
+ * Time buckets have a fixed size in milliseconds and start at {@link #getBucketStart()}; an edge is counted in the
+ * bucket of its target event and a case in the bucket of its last event.
+ */
+public final class PerformanceSpectrum {
+    /**
+     * Compression of the duration digests, keeping quantile errors well below one percent.
+     */
+    static final double COMPRESSION = 100;
+
+    private final int activityCount;
+
+    private final long bucketStart;
+
+    private final long bucketSize;
+
+    private final long[] caseThroughput;
+
+    private final Map<Integer, Edge> edges = new HashMap<>();
+
+    private long caseCount;
+
+    PerformanceSpectrum(int activityCount, long bucketStart, long bucketSize, int bucketCount) {
+        this.activityCount = activityCount;
+        this.bucketStart = bucketStart;
+        this.bucketSize = bucketSize;
+        this.caseThroughput = new long[bucketCount];
+    }
+
+    public int getActivityCount() {
+        return activityCount;
+    }
+
+    public long getCaseCount() {
+        return caseCount;
+    }
+
+    /**
+     * @return the epoch milliseconds at which the first bucket starts.
+     */
+    public long getBucketStart() {
+        return bucketStart;
+    }
+
+    /**
+     * @return the size of the buckets, in milliseconds.
+     */
+    public long getBucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * @return the number of buckets, {@code 0} if no event has a timestamp.
+     */
+    public int getBucketCount() {
+        return caseThroughput.length;
+    }
+
+    /**
+     * @return the number of cases whose last event falls in the bucket.
+     */
+    public long getCaseThroughput(int bucket) {
+        return caseThroughput[bucket];
+    }
+
+    /**
+     * @return the edges occurring in the log, ordered by source and target activity codes.
+     */
+    public List<Edge> getEdges() {
+        List<Edge> sorted = new ArrayList<>(edges.values());
+        sorted.sort((first, second) -> Integer.compare(first.key, second.key));
+        return sorted;
+    }
+
+    void addCase(long endTime) {
+        caseCount++;
+        if (endTime != EventLog.NO_TIMESTAMP) {
+            caseThroughput[bucket(endTime)]++;
+        }
+    }
+
+    void addEdge(int from, int to, long fromTime, long toTime) {
+        int key = from * activityCount + to;
+        Edge edge = edges.get(key);
+        if (edge == null) {
+            edge = new Edge(key, from, to, caseThroughput.length);
+            edges.put(key, edge);
+        }
+        edge.frequency++;
+        if (toTime != EventLog.NO_TIMESTAMP) {
+            edge.throughput[bucket(toTime)]++;
+            if (fromTime != EventLog.NO_TIMESTAMP) {
+                edge.durations.add(toTime - fromTime);
+            }
+        }
+    }
+
+    void merge(PerformanceSpectrum other) {
+        caseCount += other.caseCount;
+        for (int b = 0; b < caseThroughput.length; b++) {
+            caseThroughput[b] += other.caseThroughput[b];
+        }
+        for (Edge otherEdge : other.edges.values()) {
+            Edge edge = edges.get(otherEdge.key);
+            if (edge == null) {
+                edges.put(otherEdge.key, otherEdge);
+            } else {
+                edge.frequency += otherEdge.frequency;
+                edge.durations.add(otherEdge.durations);
+                for (int b = 0; b < edge.throughput.length; b++) {
+                    edge.throughput[b] += otherEdge.throughput[b];
+                }
+            }
+        }
+    }
+
+    private int bucket(long time) {
+        return (int) ((time - bucketStart) / bucketSize);
+    }
+
+    /**
+     * A directly-follows edge with its frequency, the distribution of its durations and its throughput per bucket.
+     */
+    public static final class Edge {
+        private final int key;
+
+        private final int source;
+
+        private final int target;
+
+        private final TDigest durations = new TDigest(COMPRESSION);
+
+        private final long[] throughput;
+
+        private long frequency;
+
+        Edge(int key, int source, int target, int bucketCount) {
+            this.key = key;
+            this.source = source;
+            this.target = target;
+            this.throughput = new long[bucketCount];
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public int getTarget() {
+            return target;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+
+        /**
+         * @return the milliseconds between the two activities, over the occurrences where both have a timestamp.
+         */
+        public TDigest getDurations() {
+            return durations;
+        }
+
+        /**
+         * @return the number of occurrences of the edge whose target event falls in the bucket.
+         */
+        public long getThroughput(int bucket) {
+            return throughput[bucket];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.processmining.app.service.mining;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable process tree: a block-structured process model whose leaves are activities or silent steps and whose
+ * inner nodes are control-flow operators.
+ * <p>
+ * A {@link Operator#LOOP loop} node has exactly two children: the body, executed first and last, and the redo part,
+ * executed between two executions of the body.
+ */
+public final class ProcessTree {
+
+    public enum Operator {
+        ACTIVITY,
+        SILENT,
+        XOR,
+        SEQUENCE,
+        PARALLEL,
+        LOOP
+    }
+
+    private static final ProcessTree SILENT = new ProcessTree(Operator.SILENT, null, Collections.<ProcessTree>emptyList());
+
+    private final Operator operator;
+
+    private final String activity;
+
+    private final List<ProcessTree> children;
+
+    private ProcessTree(Operator operator, String activity, List<ProcessTree> children) {
+        this.operator = operator;
+        this.activity = activity;
+        this.children = children;
+    }
+
+    public static ProcessTree activity(String activity) {
+        return new ProcessTree(Operator.ACTIVITY, Objects.requireNonNull(activity), Collections.<ProcessTree>emptyList());
+    }
+
+    public static ProcessTree silent() {
+        return SILENT;
+    }
+
+    /**
+     * @param operator a control-flow operator.
+     * @param children the children, at least two, exactly two for a loop.
+     * @return the tree.
+     */
+    public static ProcessTree of(Operator operator, List<ProcessTree> children) {
+        if (operator == Operator.ACTIVITY || operator == Operator.SILENT) {
+            throw new IllegalArgumentException("Not a control-flow operator: " + operator);
+        }
+        if (children.size() < 2 || (operator == Operator.LOOP && children.size() != 2)) {
+            throw new IllegalArgumentException("Wrong number of children for " + operator + ": " + children.size());
+        }
+        return new ProcessTree(operator, null, Collections.unmodifiableList(new ArrayList<>(children)));
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * @return the activity name of an {@link Operator#ACTIVITY activity} leaf, {@code null} otherwise.
+     */
+    public String getActivity() {
+        return activity;
+    }
+
+    public List<ProcessTree> getChildren() {
+        return children;
+    }
+
+    public boolean isLeaf() {
+        return children.isEmpty();
+    }
+
+    /**
+     * @return the tree in the usual prefix notation, for example {@code ->(a, X(b, tau))}.
+     */
+    @Override
+    public String toString() {
+        switch (operator) {
+            case ACTIVITY:
+                return activity;
+            case SILENT:
+                return "tau";
+            default:
+                StringBuilder sb = new StringBuilder(symbol(operator)).append('(');
+                for (int i = 0; i < children.size(); i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(children.get(i));
+                }
+                return sb.append(')').toString();
+        }
+    }
+
+    private static String symbol(Operator operator) {
+        switch (operator) {
+            case XOR:
+                return "X";
+            case SEQUENCE:
+                return "->";
+            case PARALLEL:
+                return "+";
+            default:
+                return "*";
+        }
+    }
+}
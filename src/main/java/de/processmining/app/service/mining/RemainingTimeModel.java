@@ -0,0 +1,354 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Annotated transition system predicting the remaining time of running cases.
+ * <p>
+ * The state of a case after an event is the sequence of its last activities, up to a horizon. Each state is annotated
+ * with the distribution of the time from the events reaching it to the end of their case, observed on the completed
+ * cases of the training log: the cases whose last activity ends at least half of its occurrences. A running case is
+ * predicted from its longest state observed at least {@code minSupport} times, backing off to shorter suffixes of its
+ * activities down to the empty state, which is annotated with all observations.
+ * <p>
+ * Like the {@link PerformanceAnalyzer}, training sketches the remaining times of ranges of cases in parallel into
+ * {@link TDigest}s, which are merged pairwise. Only the mean and quantiles of the states are kept, so that a trained
+ * model is immutable, safe to share between threads and small: it holds neither the log nor any remaining time.
+ * <p>
+ * See W.M.P. van der Aalst, M.H. Schonenberg and M. Song, <i>Time Prediction Based on Process Mining</i>, 2011.
+ */
+public final class RemainingTimeModel {
+    /**
+     * Longest supported horizon, so that a state of codes shifted by one fits in a {@code long} key.
+     */
+    public static final int MAX_HORIZON = 3;
+
+    private static final int BITS_PER_ACTIVITY = Long.SIZE / MAX_HORIZON;
+
+    /**
+     * Minimum number of cases of a range before it is not split any further.
+     */
+    private static final int MIN_CASES_PER_TASK = 1024;
+
+    private final int horizon;
+
+    private final int minSupport;
+
+    private final int trainedEventCount;
+
+    private final String[] activityNames;
+
+    private final Map<String, Integer> activityCodes;
+
+    private final Map<Long, Integer> states;
+
+    private final long[] stateKeys;
+
+    private final long[] supports;
+
+    private final double[] means;
+
+    private final double[] p50s;
+
+    private final double[] p90s;
+
+    private RemainingTimeModel(EventLog eventLog, int horizon, int minSupport, Map<Long, Annotation> annotations) {
+        this.horizon = horizon;
+        this.minSupport = minSupport;
+        this.trainedEventCount = eventLog.eventCount();
+        this.activityNames = new String[eventLog.activityCount()];
+        this.activityCodes = new HashMap<>();
+        for (int a = 0; a < activityNames.length; a++) {
+            activityNames[a] = eventLog.activityName(a);
+            activityCodes.put(activityNames[a], a);
+        }
+        this.states = new HashMap<>();
+        this.stateKeys = new long[annotations.size()];
+        this.supports = new long[stateKeys.length];
+        this.means = new double[stateKeys.length];
+        this.p50s = new double[stateKeys.length];
+        this.p90s = new double[stateKeys.length];
+        int state = 0;
+        for (Map.Entry<Long, Annotation> entry : annotations.entrySet()) {
+            Annotation annotation = entry.getValue();
+            states.put(entry.getKey(), state);
+            stateKeys[state] = entry.getKey();
+            supports[state] = annotation.remainingTimes.count();
+            means[state] = annotation.sum / supports[state];
+            p50s[state] = annotation.remainingTimes.quantile(0.5);
+            p90s[state] = annotation.remainingTimes.quantile(0.9);
+            state++;
+        }
+    }
+
+    /**
+     * @param eventLog the training log.
+     * @param horizon the maximum number of last activities making up a state, between 1 and {@link #MAX_HORIZON}.
+     * @param minSupport the minimum number of observations of a state before predictions are based on it.
+     * @param pool the pool running the training.
+     * @return the model.
+     */
+    public static RemainingTimeModel train(EventLog eventLog, int horizon, int minSupport, ForkJoinPool pool) {
+        if (horizon < 1 || horizon > MAX_HORIZON) {
+            throw new IllegalArgumentException("Horizon must be between 1 and " + MAX_HORIZON + ": " + horizon);
+        }
+        if (minSupport < 1) {
+            throw new IllegalArgumentException("Minimum support must be positive: " + minSupport);
+        }
+        if (eventLog.activityCount() >= 1 << BITS_PER_ACTIVITY) {
+            throw new IllegalArgumentException("Too many activities for a remaining time model: " + eventLog.activityCount());
+        }
+        boolean[] completionActivities = completionActivities(eventLog);
+        int threshold = Math.max(MIN_CASES_PER_TASK, eventLog.caseCount() / (pool.getParallelism() * 4) + 1);
+        Map<Long, Annotation> annotations = pool.invoke(
+            new CaseRangeTask(eventLog, horizon, completionActivities, 0, eventLog.caseCount(), threshold)
+        );
+        return new RemainingTimeModel(eventLog, horizon, minSupport, annotations);
+    }
+
+    static RemainingTimeModel train(EventLog eventLog, int horizon, int minSupport) {
+        Map<Long, Annotation> annotations = annotate(eventLog, horizon, completionActivities(eventLog), 0, eventLog.caseCount());
+        return new RemainingTimeModel(eventLog, horizon, minSupport, annotations);
+    }
+
+    /**
+     * An activity completes cases if at least half of its occurrences are the last event of their case. If no activity
+     * does, which happens when every case is still running, all cases are taken as completed.
+     */
+    private static boolean[] completionActivities(EventLog eventLog) {
+        long[] occurrences = new long[eventLog.activityCount()];
+        long[] ends = new long[eventLog.activityCount()];
+        for (int c = 0; c < eventLog.caseCount(); c++) {
+            for (int e = eventLog.caseStart(c); e < eventLog.caseEnd(c); e++) {
+                occurrences[eventLog.activity(e)]++;
+            }
+            if (eventLog.caseLength(c) > 0) {
+                ends[eventLog.activity(eventLog.caseEnd(c) - 1)]++;
+            }
+        }
+        boolean[] completionActivities = new boolean[occurrences.length];
+        boolean any = false;
+        for (int a = 0; a < occurrences.length; a++) {
+            completionActivities[a] = ends[a] * 2 >= occurrences[a] && ends[a] > 0;
+            any |= completionActivities[a];
+        }
+        if (!any) {
+            for (int a = 0; a < occurrences.length; a++) {
+                completionActivities[a] = ends[a] > 0;
+            }
+        }
+        return completionActivities;
+    }
+
+    private static Map<Long, Annotation> annotate(
+        EventLog eventLog,
+        int horizon,
+        boolean[] completionActivities,
+        int fromCase,
+        int toCase
+    ) {
+        Map<Long, Annotation> annotations = new HashMap<>();
+        for (int c = fromCase; c < toCase; c++) {
+            int start = eventLog.caseStart(c);
+            int end = eventLog.caseEnd(c);
+            if (start == end || !completionActivities[eventLog.activity(end - 1)]) {
+                continue;
+            }
+            long endTime = eventLog.timestamp(end - 1);
+            if (endTime == EventLog.NO_TIMESTAMP) {
+                continue;
+            }
+            for (int e = start; e < end; e++) {
+                long timestamp = eventLog.timestamp(e);
+                // events without timestamp come first in a case, they only make up the states of later events
+                if (timestamp == EventLog.NO_TIMESTAMP) {
+                    continue;
+                }
+                long remainingTime = endTime - timestamp;
+                long key = 0;
+                annotations.computeIfAbsent(key, k -> new Annotation()).add(remainingTime);
+                for (int length = 1; length <= horizon && e - length + 1 >= start; length++) {
+                    key |= (long) (eventLog.activity(e - length + 1) + 1) << (BITS_PER_ACTIVITY * (length - 1));
+                    annotations.computeIfAbsent(key, k -> new Annotation()).add(remainingTime);
+                }
+            }
+        }
+        return annotations;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public int getMinSupport() {
+        return minSupport;
+    }
+
+    /**
+     * @return the number of events of the training log.
+     */
+    public int getTrainedEventCount() {
+        return trainedEventCount;
+    }
+
+    public int stateCount() {
+        return stateKeys.length;
+    }
+
+    /**
+     * Find the state predicting the remaining time of a case: the longest suffix of its activities observed at least
+     * {@code minSupport} times, or else the longest one observed at all.
+     *
+     * @param activities the names of the last activities of the case, oldest first; only the last {@link #getHorizon()}
+     * ones are used.
+     * @return the state, or {@code -1} if the training log has no completed case with timestamps.
+     */
+    public int state(List<String> activities) {
+        int found = -1;
+        long key = 0;
+        int length = 0;
+        while (true) {
+            Integer state = states.get(key);
+            if (state == null) {
+                break;
+            }
+            found = state;
+            if (length == activities.size() || length == horizon) {
+                break;
+            }
+            Integer activity = activityCodes.get(activities.get(activities.size() - 1 - length));
+            if (activity == null) {
+                break;
+            }
+            length++;
+            key |= (long) (activity + 1) << (BITS_PER_ACTIVITY * (length - 1));
+        }
+        // back off from the longest observed suffix to the longest sufficiently supported one
+        while (found >= 0 && supports[found] < minSupport && stateKeys[found] != 0) {
+            found = states.get(stateKeys[found] & ~(-1L << (BITS_PER_ACTIVITY * (stateLength(found) - 1))));
+        }
+        return found;
+    }
+
+    /**
+     * @param state the state.
+     * @return the names of the activities of the state, oldest first.
+     */
+    public List<String> stateActivities(int state) {
+        int length = stateLength(state);
+        List<String> activities = new ArrayList<>(length);
+        for (int i = length - 1; i >= 0; i--) {
+            int activity = (int) ((stateKeys[state] >>> (BITS_PER_ACTIVITY * i)) & ((1L << BITS_PER_ACTIVITY) - 1)) - 1;
+            activities.add(activityNames[activity]);
+        }
+        return Collections.unmodifiableList(activities);
+    }
+
+    /**
+     * @param state the state.
+     * @return the number of events of completed cases annotating the state.
+     */
+    public long support(int state) {
+        return supports[state];
+    }
+
+    /**
+     * @param state the state.
+     * @return the mean remaining time after the events reaching the state, in milliseconds.
+     */
+    public double meanRemainingTime(int state) {
+        return means[state];
+    }
+
+    /**
+     * @param state the state.
+     * @return the median remaining time after the events reaching the state, in milliseconds.
+     */
+    public double p50RemainingTime(int state) {
+        return p50s[state];
+    }
+
+    /**
+     * @param state the state.
+     * @return the 90th percentile of the remaining time after the events reaching the state, in milliseconds.
+     */
+    public double p90RemainingTime(int state) {
+        return p90s[state];
+    }
+
+    private int stateLength(int state) {
+        int length = 0;
+        for (long key = stateKeys[state]; key != 0; key >>>= BITS_PER_ACTIVITY) {
+            length++;
+        }
+        return length;
+    }
+
+    private static final class Annotation {
+        private final TDigest remainingTimes = new TDigest(PerformanceSpectrum.COMPRESSION);
+
+        private double sum;
+
+        void add(long remainingTime) {
+            remainingTimes.add(remainingTime);
+            sum += remainingTime;
+        }
+
+        void merge(Annotation other) {
+            remainingTimes.add(other.remainingTimes);
+            sum += other.sum;
+        }
+    }
+
+    private static final class CaseRangeTask extends RecursiveTask<Map<Long, Annotation>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EventLog eventLog;
+
+        private final int horizon;
+
+        private final boolean[] completionActivities;
+
+        private final int fromCase;
+
+        private final int toCase;
+
+        private final int threshold;
+
+        CaseRangeTask(EventLog eventLog, int horizon, boolean[] completionActivities, int fromCase, int toCase, int threshold) {
+            this.eventLog = eventLog;
+            this.horizon = horizon;
+            this.completionActivities = completionActivities;
+            this.fromCase = fromCase;
+            this.toCase = toCase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Map<Long, Annotation> compute() {
+            if (toCase - fromCase <= threshold) {
+                return annotate(eventLog, horizon, completionActivities, fromCase, toCase);
+            }
+            int middle = (fromCase + toCase) >>> 1;
+            CaseRangeTask left = new CaseRangeTask(eventLog, horizon, completionActivities, fromCase, middle, threshold);
+            CaseRangeTask right = new CaseRangeTask(eventLog, horizon, completionActivities, middle, toCase, threshold);
+            left.fork();
+            Map<Long, Annotation> rightResult = right.compute();
+            Map<Long, Annotation> result = left.join();
+            for (Map.Entry<Long, Annotation> entry : rightResult.entrySet()) {
+                Annotation annotation = result.putIfAbsent(entry.getKey(), entry.getValue());
+                if (annotation != null) {
+                    annotation.merge(entry.getValue());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package de.processmining.app.service.mining;
+
+/**
+ * Social network of the resources of an event log, each matrix being indexed by the resource codes of the log.
+ * <ul>
+ * <li>handover of work: how often an event of a resource is directly followed in a case by an event of another
+ * resource;</li>
+ * <li>working together: in how many cases two resources both execute events, stored once with the smaller code as
+ * row;</li>
+ * <li>subcontracting: how often a resource executes an event between two events of another resource, the row being
+ * the contractor.</li>
+ * </ul>
+ */
+public final class SocialNetwork {
+    private final long[] eventCounts;
+
+    private final long[] caseCounts;
+
+    private final SparseLongMatrix handovers = new SparseLongMatrix();
+
+    private final SparseLongMatrix workingTogether = new SparseLongMatrix();
+
+    private final SparseLongMatrix subcontracting = new SparseLongMatrix();
+
+    SocialNetwork(int resourceCount) {
+        this.eventCounts = new long[resourceCount];
+        this.caseCounts = new long[resourceCount];
+    }
+
+    public int getResourceCount() {
+        return eventCounts.length;
+    }
+
+    public long getEventCount(int resource) {
+        return eventCounts[resource];
+    }
+
+    public long getCaseCount(int resource) {
+        return caseCounts[resource];
+    }
+
+    public SparseLongMatrix getHandovers() {
+        return handovers;
+    }
+
+    public SparseLongMatrix getWorkingTogether() {
+        return workingTogether;
+    }
+
+    public SparseLongMatrix getSubcontracting() {
+        return subcontracting;
+    }
+
+    void addEvent(int resource) {
+        eventCounts[resource]++;
+    }
+
+    void addCase(int resource) {
+        caseCounts[resource]++;
+    }
+
+    void merge(SocialNetwork other) {
+        for (int r = 0; r < eventCounts.length; r++) {
+            eventCounts[r] += other.eventCounts[r];
+            caseCounts[r] += other.caseCounts[r];
+        }
+        handovers.add(other.handovers);
+        workingTogether.add(other.workingTogether);
+        subcontracting.add(other.subcontracting);
+    }
+}
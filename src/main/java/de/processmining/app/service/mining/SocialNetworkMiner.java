@@ -0,0 +1,112 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the {@link SocialNetwork} of the resources of an event log.
+ * <p>
+ * Like the {@link DirectlyFollowsMiner}, cases are partitioned into ranges scanned in parallel, each range counting
+ * into its own sparse matrices, which are then merged pairwise. Events without resource are skipped, so they interrupt
+ * handovers and subcontracting.
+ */
+public final class SocialNetworkMiner {
+    /**
+     * Minimum number of cases of a range before it is not split any further.
+     */
+    private static final int MIN_CASES_PER_TASK = 1024;
+
+    private SocialNetworkMiner() {}
+
+    /**
+     * @param eventLog the event log.
+     * @param pool the pool running the computation.
+     * @return the social network of the resources of the log.
+     */
+    public static SocialNetwork mine(EventLog eventLog, ForkJoinPool pool) {
+        int threshold = Math.max(MIN_CASES_PER_TASK, eventLog.caseCount() / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new CaseRangeTask(eventLog, 0, eventLog.caseCount(), threshold));
+    }
+
+    static SocialNetwork mine(EventLog eventLog, int fromCase, int toCase) {
+        SocialNetwork network = new SocialNetwork(eventLog.resourceCount());
+        int[] caseResources = new int[0];
+        for (int c = fromCase; c < toCase; c++) {
+            int start = eventLog.caseStart(c);
+            int end = eventLog.caseEnd(c);
+            if (caseResources.length < end - start) {
+                caseResources = new int[end - start];
+            }
+            int resourceCount = 0;
+            int previous = EventLog.NO_RESOURCE;
+            int beforePrevious = EventLog.NO_RESOURCE;
+            for (int e = start; e < end; e++) {
+                int resource = eventLog.resource(e);
+                if (resource == EventLog.NO_RESOURCE) {
+                    previous = EventLog.NO_RESOURCE;
+                    beforePrevious = EventLog.NO_RESOURCE;
+                    continue;
+                }
+                network.addEvent(resource);
+                caseResources[resourceCount++] = resource;
+                if (previous != EventLog.NO_RESOURCE && previous != resource) {
+                    network.getHandovers().add(previous, resource, 1);
+                    if (beforePrevious == resource) {
+                        network.getSubcontracting().add(resource, previous, 1);
+                    }
+                }
+                beforePrevious = previous;
+                previous = resource;
+            }
+            Arrays.sort(caseResources, 0, resourceCount);
+            int distinct = 0;
+            for (int i = 0; i < resourceCount; i++) {
+                if (i == 0 || caseResources[i] != caseResources[i - 1]) {
+                    caseResources[distinct++] = caseResources[i];
+                }
+            }
+            for (int i = 0; i < distinct; i++) {
+                network.addCase(caseResources[i]);
+                for (int j = i + 1; j < distinct; j++) {
+                    network.getWorkingTogether().add(caseResources[i], caseResources[j], 1);
+                }
+            }
+        }
+        return network;
+    }
+
+    private static final class CaseRangeTask extends RecursiveTask<SocialNetwork> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EventLog eventLog;
+
+        private final int fromCase;
+
+        private final int toCase;
+
+        private final int threshold;
+
+        CaseRangeTask(EventLog eventLog, int fromCase, int toCase, int threshold) {
+            this.eventLog = eventLog;
+            this.fromCase = fromCase;
+            this.toCase = toCase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected SocialNetwork compute() {
+            if (toCase - fromCase <= threshold) {
+                return mine(eventLog, fromCase, toCase);
+            }
+            int middle = (fromCase + toCase) >>> 1;
+            CaseRangeTask left = new CaseRangeTask(eventLog, fromCase, middle, threshold);
+            left.fork();
+            SocialNetwork right = new CaseRangeTask(eventLog, middle, toCase, threshold).compute();
+            SocialNetwork result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
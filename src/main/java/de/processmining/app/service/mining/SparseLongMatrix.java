@@ -0,0 +1,122 @@
+package de.processmining.app.service.mining;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix of {@code long} counts indexed by two non-negative {@code int}s, stored in an open-addressing hash
+ * table of primitive keys and values, so that only non-zero cells take memory (about 32 bytes each, half the table
+ * being free at most). Instances are not thread-safe.
+ */
+public final class SparseLongMatrix {
+    private static final long FREE = -1L;
+
+    private long[] keys;
+
+    private long[] values;
+
+    private int size;
+
+    public SparseLongMatrix() {
+        keys = new long[16];
+        values = new long[16];
+        Arrays.fill(keys, FREE);
+    }
+
+    /**
+     * Receives the non-zero cells of a matrix.
+     */
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(int row, int column, long value);
+    }
+
+    /**
+     * @return the number of non-zero cells.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long get(int row, int column) {
+        int slot = slot(key(row, column));
+        return keys[slot] == FREE ? 0 : values[slot];
+    }
+
+    public void add(int row, int column, long value) {
+        add(key(row, column), value);
+    }
+
+    /**
+     * Add the cells of another matrix to this one.
+     */
+    public void add(SparseLongMatrix other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != FREE) {
+                add(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Pass every non-zero cell to a consumer, in no particular order.
+     */
+    public void forEach(CellConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                consumer.accept((int) (keys[i] >>> 32), (int) keys[i], values[i]);
+            }
+        }
+    }
+
+    private void add(long key, long value) {
+        int slot = slot(key);
+        if (keys[slot] == FREE) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+                slot = slot(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] += value;
+    }
+
+    private static long key(int row, int column) {
+        if (row < 0 || column < 0) {
+            throw new IndexOutOfBoundsException("Negative cell index: " + row + ", " + column);
+        }
+        return ((long) row << 32) | column;
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot where it belongs.
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        // murmur3 finalizer, spreading consecutive indexes over the table
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        int slot = (int) hash & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package de.processmining.app.service.mining;
+
+import java.util.Arrays;
+
+/**
+ * Primitive directly-follows graph of a set of {@link TraceVariants}, as used by the {@link InductiveMiner}.
+ * <p>
+ * Only the activities occurring in the traces are nodes of the graph; they are numbered by local indexes
+ * {@code 0..size()-1} in increasing order of their activity codes.
+ */
+final class SublogDirectlyFollowsGraph {
+    private final int[] activities;
+
+    private final int[] localIndexes;
+
+    private final long[] activityCounts;
+
+    private final long[] startCounts;
+
+    private final long[] endCounts;
+
+    private final long[] edgeCounts;
+
+    SublogDirectlyFollowsGraph(TraceVariants variants) {
+        int maxActivity = -1;
+        for (int v = 0; v < variants.size(); v++) {
+            for (int activity : variants.trace(v)) {
+                maxActivity = Math.max(maxActivity, activity);
+            }
+        }
+        localIndexes = new int[maxActivity + 1];
+        Arrays.fill(localIndexes, -1);
+        for (int v = 0; v < variants.size(); v++) {
+            for (int activity : variants.trace(v)) {
+                localIndexes[activity] = 0;
+            }
+        }
+        int size = 0;
+        for (int a = 0; a <= maxActivity; a++) {
+            if (localIndexes[a] == 0) {
+                localIndexes[a] = size++;
+            }
+        }
+        activities = new int[size];
+        for (int a = 0; a <= maxActivity; a++) {
+            if (localIndexes[a] >= 0) {
+                activities[localIndexes[a]] = a;
+            }
+        }
+        activityCounts = new long[size];
+        startCounts = new long[size];
+        endCounts = new long[size];
+        edgeCounts = new long[size * size];
+        for (int v = 0; v < variants.size(); v++) {
+            int[] trace = variants.trace(v);
+            long count = variants.count(v);
+            if (trace.length == 0) {
+                continue;
+            }
+            startCounts[localIndexes[trace[0]]] += count;
+            endCounts[localIndexes[trace[trace.length - 1]]] += count;
+            int previous = -1;
+            for (int activity : trace) {
+                int local = localIndexes[activity];
+                activityCounts[local] += count;
+                if (previous >= 0) {
+                    edgeCounts[previous * size + local] += count;
+                }
+                previous = local;
+            }
+        }
+    }
+
+    private SublogDirectlyFollowsGraph(SublogDirectlyFollowsGraph graph) {
+        this.activities = graph.activities;
+        this.localIndexes = graph.localIndexes;
+        this.activityCounts = graph.activityCounts;
+        this.startCounts = graph.startCounts.clone();
+        this.endCounts = graph.endCounts.clone();
+        this.edgeCounts = graph.edgeCounts.clone();
+    }
+
+    int size() {
+        return activities.length;
+    }
+
+    /**
+     * @param local the local index of an activity.
+     * @return the activity code.
+     */
+    int activity(int local) {
+        return activities[local];
+    }
+
+    /**
+     * @param activity an activity code occurring in the traces.
+     * @return the local index of the activity.
+     */
+    int localIndex(int activity) {
+        return localIndexes[activity];
+    }
+
+    long activityCount(int local) {
+        return activityCounts[local];
+    }
+
+    boolean isStart(int local) {
+        return startCounts[local] > 0;
+    }
+
+    boolean isEnd(int local) {
+        return endCounts[local] > 0;
+    }
+
+    boolean hasEdge(int from, int to) {
+        return edgeCounts[from * activities.length + to] > 0;
+    }
+
+    /**
+     * Remove infrequent behaviour as in the infrequent Inductive Miner: the edges whose frequency is below
+     * {@code threshold} times the one of the most frequent edge leaving the same activity, and the start and end
+     * activities whose frequency is below {@code threshold} times the one of the most frequent start or end activity.
+     *
+     * @param threshold the noise threshold, between 0 and 1.
+     * @return the filtered graph, over the same activities.
+     */
+    SublogDirectlyFollowsGraph filter(double threshold) {
+        SublogDirectlyFollowsGraph filtered = new SublogDirectlyFollowsGraph(this);
+        int size = activities.length;
+        for (int from = 0; from < size; from++) {
+            long max = 0;
+            for (int to = 0; to < size; to++) {
+                max = Math.max(max, edgeCounts[from * size + to]);
+            }
+            for (int to = 0; to < size; to++) {
+                if (edgeCounts[from * size + to] < threshold * max) {
+                    filtered.edgeCounts[from * size + to] = 0;
+                }
+            }
+        }
+        filterBelow(filtered.startCounts, threshold);
+        filterBelow(filtered.endCounts, threshold);
+        return filtered;
+    }
+
+    private static void filterBelow(long[] counts, double threshold) {
+        long max = 0;
+        for (long count : counts) {
+            max = Math.max(max, count);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < threshold * max) {
+                counts[i] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package de.processmining.app.service.mining;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest: a sketch of a distribution of values answering quantile queries with a bounded memory footprint.
+ * <p>
+ * Values are buffered and periodically merged into a sorted list of centroids (a mean and a weight). Centroids are
+ * kept small near both tails and larger around the median, using the {@code asin} scale function, so that extreme
+ * quantiles such as p99 stay accurate while the digest holds at most about {@code compression} centroids whatever the
+ * number of values. Digests built on parts of the data can be merged.
+ * <p>
+ * See T. Dunning and O. Ertl, <i>Computing Extremely Accurate Quantiles Using t-Digests</i>, 2019. Instances are not
+ * thread-safe.
+ */
+public final class TDigest {
+    private final double compression;
+
+    private double[] means;
+
+    private double[] weights;
+
+    private int centroidCount;
+
+    private final double[] buffer;
+
+    private int bufferSize;
+
+    private long count;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param compression the number of centroids the digest aims at, trading memory for accuracy.
+     */
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+        this.means = new double[(int) Math.ceil(compression) + 1];
+        this.weights = new double[means.length];
+        this.buffer = new double[(int) Math.ceil(compression) * 5];
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return the smallest value, or {@link Double#NaN} if the digest is empty.
+     */
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * @return the largest value, or {@link Double#NaN} if the digest is empty.
+     */
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public void add(double value) {
+        if (bufferSize == buffer.length) {
+            flush();
+        }
+        buffer[bufferSize++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all the values of another digest, which is left unchanged apart from its pending values being merged.
+     *
+     * @param other the digest.
+     */
+    public void add(TDigest other) {
+        if (other.count == 0) {
+            return;
+        }
+        flush();
+        other.flush();
+        double[] mergedMeans = new double[centroidCount + other.centroidCount];
+        double[] mergedWeights = new double[mergedMeans.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < mergedMeans.length; k++) {
+            if (j == other.centroidCount || (i < centroidCount && means[i] <= other.means[j])) {
+                mergedMeans[k] = means[i];
+                mergedWeights[k] = weights[i++];
+            } else {
+                mergedMeans[k] = other.means[j];
+                mergedWeights[k] = other.weights[j++];
+            }
+        }
+        compress(mergedMeans, mergedWeights, mergedMeans.length);
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param q the quantile, between 0 and 1.
+     * @return the estimated value at the quantile, or {@link Double#NaN} if the digest is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        flush();
+        if (centroidCount == 1) {
+            return means[0];
+        }
+        double index = q * count;
+        // the values of the first and last centroids are assumed to spread from the extremes to their means
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / step;
+            }
+            cumulative += step;
+        }
+        int last = centroidCount - 1;
+        return Math.min(max, means[last] + (max - means[last]) * (index - cumulative) / (weights[last] / 2));
+    }
+
+    private void flush() {
+        if (bufferSize == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, bufferSize);
+        double[] mergedMeans = new double[centroidCount + bufferSize];
+        double[] mergedWeights = new double[mergedMeans.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < mergedMeans.length; k++) {
+            if (j == bufferSize || (i < centroidCount && means[i] <= buffer[j])) {
+                mergedMeans[k] = means[i];
+                mergedWeights[k] = weights[i++];
+            } else {
+                mergedMeans[k] = buffer[j++];
+                mergedWeights[k] = 1;
+            }
+        }
+        bufferSize = 0;
+        compress(mergedMeans, mergedWeights, mergedMeans.length);
+    }
+
+    /**
+     * Replace the centroids by the given sorted ones, merging neighbours as long as the merged centroid spans at most
+     * one unit of the scale function.
+     */
+    private void compress(double[] sortedMeans, double[] sortedWeights, int size) {
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += sortedWeights[k];
+        }
+        int n = 0;
+        double mean = sortedMeans[0];
+        double weight = sortedWeights[0];
+        double weightBefore = 0;
+        double lowerScale = scale(0);
+        for (int k = 1; k < size; k++) {
+            double mergedWeight = weight + sortedWeights[k];
+            if (scale((weightBefore + mergedWeight) / total) - lowerScale <= 1) {
+                mean += (sortedMeans[k] - mean) * sortedWeights[k] / mergedWeight;
+                weight = mergedWeight;
+            } else {
+                append(n++, mean, weight);
+                weightBefore += weight;
+                lowerScale = scale(weightBefore / total);
+                mean = sortedMeans[k];
+                weight = sortedWeights[k];
+            }
+        }
+        append(n++, mean, weight);
+        centroidCount = n;
+    }
+
+    private void append(int centroid, double mean, double weight) {
+        if (centroid == means.length) {
+            means = Arrays.copyOf(means, centroid * 2);
+            weights = Arrays.copyOf(weights, centroid * 2);
+        }
+        means[centroid] = mean;
+        weights[centroid] = weight;
+    }
+
+    private double scale(double q) {
+        return compression * Math.asin(2 * Math.min(1, q) - 1) / (2 * Math.PI);
+    }
+}
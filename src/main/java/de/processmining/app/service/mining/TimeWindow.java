@@ -0,0 +1,44 @@
+package de.processmining.app.service.mining;
+
+/**
+ * Calendar windows of fixed length, in UTC, used to split an event log over time.
+ */
+public enum TimeWindow {
+    DAY(86400000L, 0L),
+    /**
+     * Weeks starting on Monday, the epoch being a Thursday.
+     */
+    WEEK(7 * 86400000L, 4 * 86400000L);
+
+    private final long size;
+
+    private final long offset;
+
+    TimeWindow(long size, long offset) {
+        this.size = size;
+        this.offset = offset;
+    }
+
+    /**
+     * @return the length of the window, in milliseconds.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param time epoch milliseconds.
+     * @return the number of the window holding the time, windows being numbered consecutively.
+     */
+    public long index(long time) {
+        return Math.floorDiv(time - offset, size);
+    }
+
+    /**
+     * @param index the number of a window.
+     * @return the epoch milliseconds at which the window starts.
+     */
+    public long start(long index) {
+        return index * size + offset;
+    }
+}
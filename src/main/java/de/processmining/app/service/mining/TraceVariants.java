@@ -0,0 +1,108 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.VariantIndex;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multiset of traces, each trace being the sequence of activity codes of a case; equal traces are stored once with
+ * their number of occurrences.
+ * <p>
+ * Real-life logs have far fewer variants than cases, so algorithms working on traces only see each variant once.
+ */
+final class TraceVariants {
+    private final int[][] traces;
+
+    private final long[] counts;
+
+    private final long traceCount;
+
+    private TraceVariants(int[][] traces, long[] counts) {
+        this.traces = traces;
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.traceCount = total;
+    }
+
+    static TraceVariants of(VariantIndex variantIndex) {
+        Builder builder = new Builder();
+        for (int v = 0; v < variantIndex.variantCount(); v++) {
+            builder.add(variantIndex.trace(v), variantIndex.caseCount(v));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the number of distinct traces.
+     */
+    int size() {
+        return traces.length;
+    }
+
+    int[] trace(int variant) {
+        return traces[variant];
+    }
+
+    long count(int variant) {
+        return counts[variant];
+    }
+
+    /**
+     * @return the number of traces, counting repetitions.
+     */
+    long traceCount() {
+        return traceCount;
+    }
+
+    /**
+     * Collects traces, merging equal ones. Instances are not thread-safe.
+     */
+    static final class Builder {
+        private final Map<Key, long[]> counts = new LinkedHashMap<>();
+
+        /**
+         * @param trace the activity codes, which must not be modified afterwards.
+         * @param count the number of occurrences of the trace.
+         */
+        void add(int[] trace, long count) {
+            counts.computeIfAbsent(new Key(trace), key -> new long[1])[0] += count;
+        }
+
+        TraceVariants build() {
+            int[][] traces = new int[counts.size()][];
+            long[] traceCounts = new long[counts.size()];
+            int i = 0;
+            for (Map.Entry<Key, long[]> entry : counts.entrySet()) {
+                traces[i] = entry.getKey().trace;
+                traceCounts[i] = entry.getValue()[0];
+                i++;
+            }
+            return new TraceVariants(traces, traceCounts);
+        }
+    }
+
+    private static final class Key {
+        private final int[] trace;
+
+        private final int hash;
+
+        Key(int[] trace) {
+            this.trace = trace;
+            this.hash = Arrays.hashCode(trace);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && hash == ((Key) o).hash && Arrays.equals(trace, ((Key) o).trace);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
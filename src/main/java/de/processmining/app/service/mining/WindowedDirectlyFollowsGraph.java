@@ -0,0 +1,196 @@
+package de.processmining.app.service.mining;
+
+import de.processmining.app.service.eventlog.EventLog;
+import java.util.Arrays;
+
+/**
+ * Immutable snapshots of the directly-follows relations of an event log, one per {@link TimeWindow}, a case belonging
+ * to the window in which its first timed event occurs. Cases without timestamp and windows without case are left out.
+ * <p>
+ * Each snapshot counts relations identified by an {@code int} key: {@code from * activityCount + to} for an edge,
+ * then one key per start activity and one per end activity, see {@link #edgeKey}, {@link #startKey} and
+ * {@link #endKey}. Only relations occurring in a window are stored, as sorted keys with their counts.
+ */
+public final class WindowedDirectlyFollowsGraph {
+    private final EventLog eventLog;
+
+    private final TimeWindow window;
+
+    private final long[] windowStarts;
+
+    private final long[] caseCounts;
+
+    private final int[][] keys;
+
+    private final long[][] counts;
+
+    private WindowedDirectlyFollowsGraph(
+        EventLog eventLog,
+        TimeWindow window,
+        long[] windowStarts,
+        long[] caseCounts,
+        int[][] keys,
+        long[][] counts
+    ) {
+        this.eventLog = eventLog;
+        this.window = window;
+        this.windowStarts = windowStarts;
+        this.caseCounts = caseCounts;
+        this.keys = keys;
+        this.counts = counts;
+    }
+
+    /**
+     * Build the snapshots in one pass over the log: cases are grouped by window with a counting sort, then the
+     * relations of each window are counted into a dense array reused from one window to the next.
+     *
+     * @param eventLog the event log.
+     * @param window the time window.
+     * @return the snapshots of the log.
+     */
+    public static WindowedDirectlyFollowsGraph of(EventLog eventLog, TimeWindow window) {
+        int caseCount = eventLog.caseCount();
+        long[] caseWindows = new long[caseCount];
+        long firstWindow = Long.MAX_VALUE;
+        long lastWindow = Long.MIN_VALUE;
+        for (int c = 0; c < caseCount; c++) {
+            caseWindows[c] = Long.MIN_VALUE;
+            for (int e = eventLog.caseStart(c); e < eventLog.caseEnd(c); e++) {
+                if (eventLog.timestamp(e) != EventLog.NO_TIMESTAMP) {
+                    caseWindows[c] = window.index(eventLog.timestamp(e));
+                    firstWindow = Math.min(firstWindow, caseWindows[c]);
+                    lastWindow = Math.max(lastWindow, caseWindows[c]);
+                    break;
+                }
+            }
+        }
+        if (firstWindow > lastWindow) {
+            return new WindowedDirectlyFollowsGraph(eventLog, window, new long[0], new long[0], new int[0][], new long[0][]);
+        }
+        if (lastWindow - firstWindow >= Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Event log spans too many windows");
+        }
+        int windowCount = (int) (lastWindow - firstWindow) + 1;
+        int[] offsets = new int[windowCount + 1];
+        for (int c = 0; c < caseCount; c++) {
+            if (caseWindows[c] != Long.MIN_VALUE) {
+                offsets[(int) (caseWindows[c] - firstWindow) + 1]++;
+            }
+        }
+        for (int w = 0; w < windowCount; w++) {
+            offsets[w + 1] += offsets[w];
+        }
+        int[] cases = new int[offsets[windowCount]];
+        int[] positions = Arrays.copyOf(offsets, windowCount);
+        for (int c = 0; c < caseCount; c++) {
+            if (caseWindows[c] != Long.MIN_VALUE) {
+                cases[positions[(int) (caseWindows[c] - firstWindow)]++] = c;
+            }
+        }
+        int activityCount = eventLog.activityCount();
+        long[] dense = new long[activityCount * activityCount + 2 * activityCount];
+        int[] touched = new int[dense.length];
+        int nonEmpty = 0;
+        long[] windowStarts = new long[windowCount];
+        long[] caseCounts = new long[windowCount];
+        int[][] keys = new int[windowCount][];
+        long[][] counts = new long[windowCount][];
+        for (int w = 0; w < windowCount; w++) {
+            if (offsets[w] == offsets[w + 1]) {
+                continue;
+            }
+            int touchedCount = 0;
+            for (int i = offsets[w]; i < offsets[w + 1]; i++) {
+                int c = cases[i];
+                int start = eventLog.caseStart(c);
+                int end = eventLog.caseEnd(c);
+                touchedCount = increment(dense, touched, touchedCount, startKey(activityCount, eventLog.activity(start)));
+                touchedCount = increment(dense, touched, touchedCount, endKey(activityCount, eventLog.activity(end - 1)));
+                for (int e = start + 1; e < end; e++) {
+                    int key = edgeKey(activityCount, eventLog.activity(e - 1), eventLog.activity(e));
+                    touchedCount = increment(dense, touched, touchedCount, key);
+                }
+            }
+            Arrays.sort(touched, 0, touchedCount);
+            keys[nonEmpty] = Arrays.copyOf(touched, touchedCount);
+            counts[nonEmpty] = new long[touchedCount];
+            for (int k = 0; k < touchedCount; k++) {
+                counts[nonEmpty][k] = dense[touched[k]];
+                dense[touched[k]] = 0;
+            }
+            windowStarts[nonEmpty] = window.start(firstWindow + w);
+            caseCounts[nonEmpty++] = offsets[w + 1] - offsets[w];
+        }
+        return new WindowedDirectlyFollowsGraph(
+            eventLog,
+            window,
+            Arrays.copyOf(windowStarts, nonEmpty),
+            Arrays.copyOf(caseCounts, nonEmpty),
+            Arrays.copyOf(keys, nonEmpty),
+            Arrays.copyOf(counts, nonEmpty)
+        );
+    }
+
+    private static int increment(long[] dense, int[] touched, int touchedCount, int key) {
+        if (dense[key]++ == 0) {
+            touched[touchedCount++] = key;
+        }
+        return touchedCount;
+    }
+
+    public static int edgeKey(int activityCount, int from, int to) {
+        return from * activityCount + to;
+    }
+
+    public static int startKey(int activityCount, int activity) {
+        return activityCount * activityCount + activity;
+    }
+
+    public static int endKey(int activityCount, int activity) {
+        return activityCount * activityCount + activityCount + activity;
+    }
+
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    public TimeWindow getWindow() {
+        return window;
+    }
+
+    public int getActivityCount() {
+        return eventLog.activityCount();
+    }
+
+    /**
+     * @return the number of windows holding at least one case.
+     */
+    public int windowCount() {
+        return windowStarts.length;
+    }
+
+    /**
+     * @return the epoch milliseconds at which the window starts.
+     */
+    public long windowStart(int window) {
+        return windowStarts[window];
+    }
+
+    public long caseCount(int window) {
+        return caseCounts[window];
+    }
+
+    /**
+     * @return the sorted keys of the relations occurring in the window, which must not be modified.
+     */
+    public int[] keys(int window) {
+        return keys[window];
+    }
+
+    /**
+     * @return the number of occurrences of each relation of {@link #keys(int)}, which must not be modified.
+     */
+    public long[] counts(int window) {
+        return counts[window];
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Process mining algorithms working on the in-memory {@link de.processmining.app.service.eventlog.EventLog}.
+ */
+package de.processmining.app.service.mining;
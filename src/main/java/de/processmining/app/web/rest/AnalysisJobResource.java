@@ -0,0 +1,65 @@
+package de.processmining.app.web.rest;
+
+import de.processmining.app.service.AnalysisJobService;
+import de.processmining.app.service.dto.AnalysisJobDTO;
+import io.github.jhipster.web.util.ResponseUtil;
+import java.net.URI;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for polling and cancelling {@link de.processmining.app.domain.AnalysisJob}s.
+ * <p>
+ * Jobs are submitted next to the synchronous analyses they run, for example {@code POST /processes/:id/alignments/jobs},
+ * which answer {@code 202 (Accepted)} with the job and its location.
+ */
+@RestController
+@RequestMapping("/api")
+public class AnalysisJobResource {
+    private final Logger log = LoggerFactory.getLogger(AnalysisJobResource.class);
+
+    private final AnalysisJobService analysisJobService;
+
+    public AnalysisJobResource(AnalysisJobService analysisJobService) {
+        this.analysisJobService = analysisJobService;
+    }
+
+    /**
+     * {@code GET  /jobs/:id} : get the "id" job, with its result once it succeeded.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job,
+     * or with status {@code 404 (Not Found)} if the job does not exist.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<AnalysisJobDTO> getJob(@PathVariable Long id) {
+        log.debug("REST request to get AnalysisJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(analysisJobService.findOne(id));
+    }
+
+    /**
+     * {@code POST  /jobs/:id/cancel} : cancel the "id" job. A running job stops the next time it reports progress.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job,
+     * or with status {@code 404 (Not Found)} if the job does not exist.
+     */
+    @PostMapping("/jobs/{id}/cancel")
+    public ResponseEntity<AnalysisJobDTO> cancelJob(@PathVariable Long id) {
+        log.debug("REST request to cancel AnalysisJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(analysisJobService.cancel(id));
+    }
+
+    /**
+     * @param job the submitted job, or empty if its process does not exist.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}, the location of the job and with body the job,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    static ResponseEntity<AnalysisJobDTO> accepted(Optional<AnalysisJobDTO> job) {
+        AnalysisJobDTO dto = ResponseUtil.wrapOrNotFound(job).getBody();
+        return ResponseEntity.accepted().location(URI.create("/api/jobs/" + dto.getId())).body(dto);
+    }
+}
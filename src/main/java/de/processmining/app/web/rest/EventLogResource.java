@@ -0,0 +1,224 @@
+package de.processmining.app.web.rest;
+
+import de.processmining.app.service.AnalysisJobService;
+import de.processmining.app.service.EventLogExportService;
+import de.processmining.app.service.EventLogImportService;
+import de.processmining.app.service.InvalidCriteriaException;
+import de.processmining.app.service.InvalidEventLogException;
+import de.processmining.app.service.dto.AnalysisJobDTO;
+import de.processmining.app.service.dto.CsvColumnMappingDTO;
+import de.processmining.app.service.dto.EventDTO;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.EventLogImportSummaryDTO;
+import de.processmining.app.service.eventlog.EventLogFormat;
+import de.processmining.app.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.web.util.ResponseUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for managing the event log of a {@link de.processmining.app.domain.Process}.
+ */
+@RestController
+@RequestMapping("/api")
+public class EventLogResource {
+    private final Logger log = LoggerFactory.getLogger(EventLogResource.class);
+
+    private static final String ENTITY_NAME = "eventLog";
+
+    private final EventLogImportService eventLogImportService;
+
+    private final EventLogExportService eventLogExportService;
+
+    private final AnalysisJobService analysisJobService;
+
+    public EventLogResource(
+        EventLogImportService eventLogImportService,
+        EventLogExportService eventLogExportService,
+        AnalysisJobService analysisJobService
+    ) {
+        this.eventLogImportService = eventLogImportService;
+        this.eventLogExportService = eventLogExportService;
+        this.analysisJobService = analysisJobService;
+    }
+
+    /**
+     * {@code POST  /processes/:id/event-logs} : Append an XES event log to the "id" process.
+     *
+     * @param id the id of the process.
+     * @param file the XES file, optionally gzip-compressed.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import summary,
+     * or with status {@code 400 (Bad Request)} if the file is not a valid XES log,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/event-logs")
+    public ResponseEntity<EventLogImportSummaryDTO> importEventLog(@PathVariable Long id, @RequestParam("file") MultipartFile file)
+        throws IOException {
+        log.debug("REST request to import event log {} into Process : {}", file.getOriginalFilename(), id);
+        try (InputStream inputStream = file.getInputStream()) {
+            Optional<EventLogImportSummaryDTO> summary = eventLogImportService.importXes(id, inputStream);
+            return ResponseUtil.wrapOrNotFound(summary);
+        } catch (InvalidEventLogException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalideventlog");
+        }
+    }
+
+    /**
+     * {@code POST  /processes/:id/object-centric-event-logs} : Append an OCEL event log to the "id" process.
+     *
+     * @param id the id of the process.
+     * @param file the OCEL file, in the JSON or XML format, optionally gzip-compressed.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import summary,
+     * or with status {@code 400 (Bad Request)} if the file is not a valid OCEL log,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/object-centric-event-logs")
+    public ResponseEntity<EventLogImportSummaryDTO> importObjectCentricEventLog(
+        @PathVariable Long id,
+        @RequestParam("file") MultipartFile file
+    )
+        throws IOException {
+        log.debug("REST request to import object-centric event log {} into Process : {}", file.getOriginalFilename(), id);
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseUtil.wrapOrNotFound(eventLogImportService.importOcel(id, inputStream));
+        } catch (InvalidEventLogException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalideventlog");
+        }
+    }
+
+    /**
+     * {@code POST  /processes/:id/event-logs/csv} : Append a CSV event log to the "id" process.
+     *
+     * @param id the id of the process.
+     * @param file the CSV file, with a header record.
+     * @param mapping the mapping of the CSV columns to the event fields.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import summary,
+     * or with status {@code 400 (Bad Request)} if the file does not match the mapping,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/event-logs/csv")
+    public ResponseEntity<EventLogImportSummaryDTO> importCsvEventLog(
+        @PathVariable Long id,
+        @RequestPart("file") MultipartFile file,
+        @Valid @RequestPart("mapping") CsvColumnMappingDTO mapping
+    )
+        throws IOException {
+        log.debug("REST request to import CSV event log {} into Process : {}", file.getOriginalFilename(), id);
+        // the file is split into byte ranges parsed concurrently, which needs random access
+        Path csvFile = Files.createTempFile("event-log-", ".csv");
+        try {
+            file.transferTo(csvFile);
+            Optional<EventLogImportSummaryDTO> summary = eventLogImportService.importCsv(id, csvFile, mapping);
+            return ResponseUtil.wrapOrNotFound(summary);
+        } catch (InvalidEventLogException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalideventlog");
+        } finally {
+            Files.deleteIfExists(csvFile);
+        }
+    }
+
+    /**
+     * {@code POST  /processes/:id/event-logs/csv/jobs} : submit the import of a CSV event log into the "id" process,
+     * to be polled at {@code GET /jobs/:jobId}.
+     *
+     * @param id the id of the process.
+     * @param file the CSV file, with a header record.
+     * @param mapping the mapping of the CSV columns to the event fields.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/event-logs/csv/jobs")
+    public ResponseEntity<AnalysisJobDTO> submitCsvEventLogImport(
+        @PathVariable Long id,
+        @RequestPart("file") MultipartFile file,
+        @Valid @RequestPart("mapping") CsvColumnMappingDTO mapping
+    )
+        throws IOException {
+        log.debug("REST request to submit import of CSV event log {} into Process : {}", file.getOriginalFilename(), id);
+        // the upload is gone once the request completes, so the job is handed a copy which it deletes once done
+        Path csvFile = Files.createTempFile("event-log-", ".csv");
+        try {
+            file.transferTo(csvFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(csvFile);
+            throw e;
+        }
+        return AnalysisJobResource.accepted(analysisJobService.submitCsvImport(id, csvFile, mapping));
+    }
+
+    /**
+     * {@code POST  /processes/:id/events} : Append a micro-batch of events to the event log of the "id" process.
+     *
+     * @param id the id of the process.
+     * @param events the events to append.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import summary,
+     * or with status {@code 400 (Bad Request)} if an event has no case identifier or no activity,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @PostMapping("/processes/{id}/events")
+    public ResponseEntity<EventLogImportSummaryDTO> appendEvents(@PathVariable Long id, @RequestBody List<EventDTO> events) {
+        log.debug("REST request to append {} events to Process : {}", events.size(), id);
+        try {
+            return ResponseUtil.wrapOrNotFound(eventLogImportService.appendEvents(id, events));
+        } catch (InvalidEventLogException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalideventlog");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/event-log} : Export the cases of the "id" process matching the criteria.
+     * <p>
+     * The events are streamed to the response with all their case and event attributes from a read-only database cursor.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the exported cases should match.
+     * @param format the file format, {@code xes} or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the event log,
+     * or with status {@code 400 (Bad Request)} if the format is not supported or the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/event-log")
+    public ResponseEntity<StreamingResponseBody> exportEventLog(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "xes") String format
+    ) {
+        log.debug("REST request to export event log of Process : {} as {} by criteria: {}", id, format, criteria);
+        EventLogFormat eventLogFormat = EventLogFormat
+            .ofExtension(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported event log format: " + format, ENTITY_NAME, "unsupportedformat"));
+        Optional<Predicate<String>> cases;
+        try {
+            cases = eventLogExportService.findCases(id, criteria);
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(eventLogFormat.getContentType()));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"process-" + id + "." + eventLogFormat.getExtension() + "\"");
+        return ResponseUtil.wrapOrNotFound(
+            cases.map(
+                selected -> (StreamingResponseBody) outputStream -> eventLogExportService.export(id, selected, eventLogFormat, outputStream)
+            ),
+            headers
+        );
+    }
+}
@@ -0,0 +1,534 @@
+package de.processmining.app.web.rest;
+
+import de.processmining.app.service.AlignmentService;
+import de.processmining.app.service.AnalysisJobService;
+import de.processmining.app.service.ConformanceService;
+import de.processmining.app.service.DirectlyFollowsGraphService;
+import de.processmining.app.service.EventLogQueryService;
+import de.processmining.app.service.InvalidCriteriaException;
+import de.processmining.app.service.InvalidProcessModelException;
+import de.processmining.app.service.LogStatisticsService;
+import de.processmining.app.service.PerformanceService;
+import de.processmining.app.service.SocialNetworkService;
+import de.processmining.app.service.ProcessDiscoveryService;
+import de.processmining.app.service.RemainingTimePredictionService;
+import de.processmining.app.service.TraceVariantService;
+import de.processmining.app.service.conformance.PetriNet;
+import de.processmining.app.service.conformance.PnmlParser;
+import de.processmining.app.service.dto.AlignmentSummaryDTO;
+import de.processmining.app.service.dto.AnalysisJobDTO;
+import de.processmining.app.service.dto.CausalNetDTO;
+import de.processmining.app.service.dto.ConformanceResultDTO;
+import de.processmining.app.service.dto.DirectlyFollowsGraphDTO;
+import de.processmining.app.service.dto.DottedChartDTO;
+import de.processmining.app.service.dto.EventLogCriteria;
+import de.processmining.app.service.dto.LogStatisticsDTO;
+import de.processmining.app.service.dto.ObjectCentricDirectlyFollowsGraphDTO;
+import de.processmining.app.service.dto.PerformanceSpectrumDTO;
+import de.processmining.app.service.dto.ProcessTreeDTO;
+import de.processmining.app.service.dto.RemainingTimePredictionDTO;
+import de.processmining.app.service.dto.SocialNetworkDTO;
+import de.processmining.app.service.dto.TraceVariantsDTO;
+import de.processmining.app.service.mining.DottedChartAggregator;
+import de.processmining.app.service.mining.HeuristicsMiner;
+import de.processmining.app.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.web.util.ResponseUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * REST controller for mining the event log of a {@link de.processmining.app.domain.Process}.
+ */
+@RestController
+@RequestMapping("/api")
+public class ProcessMiningResource {
+    private final Logger log = LoggerFactory.getLogger(ProcessMiningResource.class);
+
+    private static final String ENTITY_NAME = "processMining";
+
+    private final DirectlyFollowsGraphService directlyFollowsGraphService;
+
+    private final ProcessDiscoveryService processDiscoveryService;
+
+    private final ConformanceService conformanceService;
+
+    private final AlignmentService alignmentService;
+
+    private final TraceVariantService traceVariantService;
+
+    private final EventLogQueryService eventLogQueryService;
+
+    private final PerformanceService performanceService;
+
+    private final SocialNetworkService socialNetworkService;
+
+    private final RemainingTimePredictionService remainingTimePredictionService;
+
+    private final LogStatisticsService logStatisticsService;
+
+    private final AnalysisJobService analysisJobService;
+
+    public ProcessMiningResource(
+        DirectlyFollowsGraphService directlyFollowsGraphService,
+        ProcessDiscoveryService processDiscoveryService,
+        ConformanceService conformanceService,
+        AlignmentService alignmentService,
+        TraceVariantService traceVariantService,
+        EventLogQueryService eventLogQueryService,
+        PerformanceService performanceService,
+        SocialNetworkService socialNetworkService,
+        RemainingTimePredictionService remainingTimePredictionService,
+        LogStatisticsService logStatisticsService,
+        AnalysisJobService analysisJobService
+    ) {
+        this.directlyFollowsGraphService = directlyFollowsGraphService;
+        this.processDiscoveryService = processDiscoveryService;
+        this.conformanceService = conformanceService;
+        this.alignmentService = alignmentService;
+        this.traceVariantService = traceVariantService;
+        this.eventLogQueryService = eventLogQueryService;
+        this.performanceService = performanceService;
+        this.socialNetworkService = socialNetworkService;
+        this.remainingTimePredictionService = remainingTimePredictionService;
+        this.logStatisticsService = logStatisticsService;
+        this.analysisJobService = analysisJobService;
+    }
+
+    /**
+     * {@code GET  /processes/:id/statistics} : get the summary statistics of the event log of the "id" process.
+     *
+     * @param id the id of the process.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the statistics,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/statistics")
+    public ResponseEntity<LogStatisticsDTO> getStatistics(@PathVariable Long id) {
+        log.debug("REST request to get statistics of Process : {}", id);
+        return ResponseUtil.wrapOrNotFound(logStatisticsService.getStatistics(id));
+    }
+
+    /**
+     * {@code GET  /processes/:id/cases/count} : count the cases of the "id" process matching the criteria.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the requested cases should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body,
+     * or with status {@code 400 (Bad Request)} if the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/cases/count")
+    public ResponseEntity<Long> countCases(@PathVariable Long id, EventLogCriteria criteria) {
+        log.debug("REST request to count cases of Process : {} by criteria: {}", id, criteria);
+        try {
+            return ResponseUtil.wrapOrNotFound(eventLogQueryService.countByCriteria(id, criteria));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/cases/:caseId/prediction} : predict the remaining time of the "caseId" case of the
+     * "id" process.
+     *
+     * @param id the id of the process.
+     * @param caseId the id of the case.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the prediction,
+     * or with status {@code 404 (Not Found)} if the process or the case does not exist.
+     */
+    @GetMapping("/processes/{id}/cases/{caseId}/prediction")
+    public ResponseEntity<RemainingTimePredictionDTO> predictRemainingTime(@PathVariable Long id, @PathVariable String caseId) {
+        log.debug("REST request to predict remaining time of case {} of Process : {}", caseId, id);
+        return ResponseUtil.wrapOrNotFound(remainingTimePredictionService.predictRemainingTime(id, caseId));
+    }
+
+    /**
+     * {@code GET  /processes/:id/variants} : get the most frequent trace variants of the cases of the "id" process
+     * matching the criteria.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @param limit the maximum number of variants returned.
+     * @param caseIdLimit the maximum number of case ids returned per variant.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the variants and their coverage,
+     * or with status {@code 400 (Bad Request)} if the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/variants")
+    public ResponseEntity<TraceVariantsDTO> getVariants(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "20") int limit,
+        @RequestParam(defaultValue = "10") int caseIdLimit
+    ) {
+        log.debug("REST request to get variants of Process : {} by criteria: {}", id, criteria);
+        try {
+            return ResponseUtil.wrapOrNotFound(traceVariantService.getVariants(id, criteria, Math.max(0, limit), Math.max(0, caseIdLimit)));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/dfg} : get the directly-follows graph of the cases of the "id" process matching the criteria.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the graph,
+     * or with status {@code 400 (Bad Request)} if the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/dfg")
+    public ResponseEntity<DirectlyFollowsGraphDTO> getDirectlyFollowsGraph(@PathVariable Long id, EventLogCriteria criteria) {
+        log.debug("REST request to get directly-follows graph of Process : {} by criteria: {}", id, criteria);
+        try {
+            return ResponseUtil.wrapOrNotFound(directlyFollowsGraphService.getDirectlyFollowsGraph(id, criteria));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/object-centric-dfg} : get the directly-follows graphs of the object types of the
+     * object-centric event log of the "id" process.
+     *
+     * @param id the id of the process.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the graphs,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/object-centric-dfg")
+    public ResponseEntity<ObjectCentricDirectlyFollowsGraphDTO> getObjectCentricDirectlyFollowsGraph(@PathVariable Long id) {
+        log.debug("REST request to get object-centric directly-follows graph of Process : {}", id);
+        return ResponseUtil.wrapOrNotFound(directlyFollowsGraphService.getObjectCentricDirectlyFollowsGraph(id));
+    }
+
+    /**
+     * {@code GET  /processes/:id/performance} : get the duration percentiles and the throughput over time of the
+     * directly-follows edges of the cases of the "id" process matching the criteria.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @param bucket the size of the throughput buckets, as an ISO-8601 duration; it is widened if the log spans too many buckets.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the performance of each edge,
+     * or with status {@code 400 (Bad Request)} if the bucket size is not positive or the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/performance")
+    public ResponseEntity<PerformanceSpectrumDTO> getPerformanceSpectrum(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "P1D") Duration bucket
+    ) {
+        log.debug("REST request to get performance spectrum of Process : {} by criteria: {}", id, criteria);
+        if (bucket.isNegative() || bucket.toMillis() == 0) {
+            throw new BadRequestAlertException("Bucket size must be at least one millisecond", ENTITY_NAME, "invalidbucket");
+        }
+        try {
+            return ResponseUtil.wrapOrNotFound(performanceService.getPerformanceSpectrum(id, criteria, bucket.toMillis()));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/dotted-chart} : get the dotted chart of the cases of the "id" process matching the
+     * criteria, aggregated server-side into a grid of cells so that the browser never receives every event.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @param width the number of columns of the grid, usually the width of the chart in pixels.
+     * @param height the maximum number of rows of the grid, usually the height of the chart in pixels.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the dotted chart,
+     * or with status {@code 400 (Bad Request)} if the grid size is out of range or the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/dotted-chart")
+    public ResponseEntity<DottedChartDTO> getDottedChart(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "1000") int width,
+        @RequestParam(defaultValue = "500") int height
+    ) {
+        log.debug("REST request to get dotted chart of Process : {} by criteria: {}", id, criteria);
+        if (width < 1 || width > DottedChartAggregator.MAX_SIZE || height < 1 || height > DottedChartAggregator.MAX_SIZE) {
+            throw new BadRequestAlertException(
+                "Width and height must be between 1 and " + DottedChartAggregator.MAX_SIZE,
+                ENTITY_NAME,
+                "invalidsize"
+            );
+        }
+        try {
+            return ResponseUtil.wrapOrNotFound(performanceService.getDottedChart(id, criteria, width, height));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/social-network} : get the strongest handover-of-work, working-together and subcontracting
+     * links between the resources of the cases of the "id" process matching the criteria.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @param limit the maximum number of links returned per relation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the social network,
+     * or with status {@code 400 (Bad Request)} if the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/social-network")
+    public ResponseEntity<SocialNetworkDTO> getSocialNetwork(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.debug("REST request to get social network of Process : {} by criteria: {}", id, criteria);
+        try {
+            return ResponseUtil.wrapOrNotFound(socialNetworkService.getSocialNetwork(id, criteria, Math.max(0, limit)));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code GET  /processes/:id/process-tree} : discover a process tree of the "id" process with the infrequent Inductive Miner.
+     *
+     * @param id the id of the process.
+     * @param noiseThreshold the noise threshold, between 0 and 1.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the process tree,
+     * or with status {@code 400 (Bad Request)} if the noise threshold is not between 0 and 1,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/process-tree")
+    public ResponseEntity<ProcessTreeDTO> discoverProcessTree(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "0.2") double noiseThreshold
+    ) {
+        log.debug("REST request to discover process tree of Process : {}", id);
+        checkNoiseThreshold(noiseThreshold);
+        return ResponseUtil.wrapOrNotFound(processDiscoveryService.discoverProcessTree(id, noiseThreshold));
+    }
+
+    /**
+     * {@code POST  /processes/:id/process-tree/jobs} : submit the discovery of a process tree of the "id" process with the
+     * infrequent Inductive Miner, to be polled at {@code GET /jobs/:jobId}.
+     *
+     * @param id the id of the process.
+     * @param noiseThreshold the noise threshold, between 0 and 1.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job,
+     * or with status {@code 400 (Bad Request)} if the noise threshold is not between 0 and 1,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @PostMapping("/processes/{id}/process-tree/jobs")
+    public ResponseEntity<AnalysisJobDTO> submitProcessTreeDiscovery(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "0.2") double noiseThreshold
+    ) {
+        log.debug("REST request to submit process tree discovery of Process : {}", id);
+        checkNoiseThreshold(noiseThreshold);
+        return AnalysisJobResource.accepted(analysisJobService.submitProcessTreeDiscovery(id, noiseThreshold));
+    }
+
+    /**
+     * {@code GET  /processes/:id/causal-net} : discover a causal net of the cases of the "id" process matching the criteria
+     * with the Heuristics Miner.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @param dependencyThreshold the minimum dependency measure of an arc, between 0 and 1.
+     * @param relativeToBest the maximum distance to the dependency measure of the best arc, between 0 and 1.
+     * @param positiveObservations the minimum number of observations of a relation, at least 1.
+     * @param l1LoopThreshold the minimum length-one loop measure, between 0 and 1.
+     * @param l2LoopThreshold the minimum length-two loop measure, between 0 and 1.
+     * @param andThreshold the minimum AND measure of parallel branches, between 0 and 1.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the causal net,
+     * or with status {@code 400 (Bad Request)} if a threshold is out of range or the criteria cannot be interpreted,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/causal-net")
+    public ResponseEntity<CausalNetDTO> discoverCausalNet(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "0.9") double dependencyThreshold,
+        @RequestParam(defaultValue = "0.05") double relativeToBest,
+        @RequestParam(defaultValue = "1") long positiveObservations,
+        @RequestParam(defaultValue = "0.9") double l1LoopThreshold,
+        @RequestParam(defaultValue = "0.9") double l2LoopThreshold,
+        @RequestParam(defaultValue = "0.1") double andThreshold
+    ) {
+        log.debug("REST request to discover causal net of Process : {} by criteria: {}", id, criteria);
+        HeuristicsMiner.Parameters parameters = heuristicsMinerParameters(
+            dependencyThreshold,
+            relativeToBest,
+            positiveObservations,
+            l1LoopThreshold,
+            l2LoopThreshold,
+            andThreshold
+        );
+        try {
+            return ResponseUtil.wrapOrNotFound(processDiscoveryService.discoverCausalNet(id, criteria, parameters));
+        } catch (InvalidCriteriaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcriteria");
+        }
+    }
+
+    /**
+     * {@code POST  /processes/:id/causal-net/jobs} : submit the discovery of a causal net of the cases of the "id" process
+     * matching the criteria with the Heuristics Miner, to be polled at {@code GET /jobs/:jobId}.
+     *
+     * @param id the id of the process.
+     * @param criteria the criteria which the cases should match.
+     * @param dependencyThreshold the minimum dependency measure of an arc, between 0 and 1.
+     * @param relativeToBest the maximum distance to the dependency measure of the best arc, between 0 and 1.
+     * @param positiveObservations the minimum number of observations of a relation, at least 1.
+     * @param l1LoopThreshold the minimum length-one loop measure, between 0 and 1.
+     * @param l2LoopThreshold the minimum length-two loop measure, between 0 and 1.
+     * @param andThreshold the minimum AND measure of parallel branches, between 0 and 1.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job,
+     * or with status {@code 400 (Bad Request)} if a threshold is out of range,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @PostMapping("/processes/{id}/causal-net/jobs")
+    public ResponseEntity<AnalysisJobDTO> submitCausalNetDiscovery(
+        @PathVariable Long id,
+        EventLogCriteria criteria,
+        @RequestParam(defaultValue = "0.9") double dependencyThreshold,
+        @RequestParam(defaultValue = "0.05") double relativeToBest,
+        @RequestParam(defaultValue = "1") long positiveObservations,
+        @RequestParam(defaultValue = "0.9") double l1LoopThreshold,
+        @RequestParam(defaultValue = "0.9") double l2LoopThreshold,
+        @RequestParam(defaultValue = "0.1") double andThreshold
+    ) {
+        log.debug("REST request to submit causal net discovery of Process : {} by criteria: {}", id, criteria);
+        HeuristicsMiner.Parameters parameters = heuristicsMinerParameters(
+            dependencyThreshold,
+            relativeToBest,
+            positiveObservations,
+            l1LoopThreshold,
+            l2LoopThreshold,
+            andThreshold
+        );
+        return AnalysisJobResource.accepted(analysisJobService.submitCausalNetDiscovery(id, criteria, parameters));
+    }
+
+    /**
+     * {@code POST  /processes/:id/conformance} : replay the event log of the "id" process on a Petri net.
+     *
+     * @param id the id of the process.
+     * @param model the Petri net, as a PNML file.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @param caseIdLimit the maximum number of case ids returned per deviating variant.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fitness, precision and deviations,
+     * or with status {@code 400 (Bad Request)} if the model is not a valid PNML Petri net,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/conformance")
+    public ResponseEntity<ConformanceResultDTO> checkConformance(
+        @PathVariable Long id,
+        @RequestParam("model") MultipartFile model,
+        @RequestParam(defaultValue = "100") int deviationLimit,
+        @RequestParam(defaultValue = "10") int caseIdLimit
+    )
+        throws IOException {
+        log.debug("REST request to check conformance of Process {} to {}", id, model.getOriginalFilename());
+        try (InputStream inputStream = model.getInputStream()) {
+            return ResponseUtil.wrapOrNotFound(
+                conformanceService.replay(id, inputStream, Math.max(0, deviationLimit), Math.max(0, caseIdLimit))
+            );
+        } catch (InvalidProcessModelException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidprocessmodel");
+        }
+    }
+
+    /**
+     * {@code POST  /processes/:id/alignments} : align the trace variants of the "id" process with a Petri net.
+     *
+     * @param id the id of the process.
+     * @param model the Petri net, as a PNML file.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fitness and the alignments of deviating variants,
+     * or with status {@code 400 (Bad Request)} if the model is not a valid PNML Petri net,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/alignments")
+    public ResponseEntity<AlignmentSummaryDTO> align(
+        @PathVariable Long id,
+        @RequestParam("model") MultipartFile model,
+        @RequestParam(defaultValue = "100") int deviationLimit
+    )
+        throws IOException {
+        log.debug("REST request to align Process {} with {}", id, model.getOriginalFilename());
+        try (InputStream inputStream = model.getInputStream()) {
+            return ResponseUtil.wrapOrNotFound(alignmentService.align(id, inputStream, Math.max(0, deviationLimit)));
+        } catch (InvalidProcessModelException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidprocessmodel");
+        }
+    }
+
+    /**
+     * {@code POST  /processes/:id/alignments/jobs} : submit the alignment of the trace variants of the "id" process with a
+     * Petri net, to be polled at {@code GET /jobs/:jobId}.
+     *
+     * @param id the id of the process.
+     * @param model the Petri net, as a PNML file.
+     * @param deviationLimit the maximum number of deviating variants returned.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job,
+     * or with status {@code 400 (Bad Request)} if the model is not a valid PNML Petri net,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping("/processes/{id}/alignments/jobs")
+    public ResponseEntity<AnalysisJobDTO> submitAlignment(
+        @PathVariable Long id,
+        @RequestParam("model") MultipartFile model,
+        @RequestParam(defaultValue = "100") int deviationLimit
+    )
+        throws IOException {
+        log.debug("REST request to submit alignment of Process {} with {}", id, model.getOriginalFilename());
+        PetriNet net;
+        // the model is parsed right away, so that invalid models are rejected before a job is queued
+        try (InputStream inputStream = model.getInputStream()) {
+            net = new PnmlParser().parse(inputStream);
+        } catch (InvalidProcessModelException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidprocessmodel");
+        }
+        return AnalysisJobResource.accepted(analysisJobService.submitAlignment(id, net, Math.max(0, deviationLimit)));
+    }
+
+    private static void checkNoiseThreshold(double noiseThreshold) {
+        if (noiseThreshold < 0 || noiseThreshold > 1) {
+            throw new BadRequestAlertException("Noise threshold must be between 0 and 1", ENTITY_NAME, "invalidnoisethreshold");
+        }
+    }
+
+    private static HeuristicsMiner.Parameters heuristicsMinerParameters(
+        double dependencyThreshold,
+        double relativeToBest,
+        long positiveObservations,
+        double l1LoopThreshold,
+        double l2LoopThreshold,
+        double andThreshold
+    ) {
+        for (double threshold : new double[] { dependencyThreshold, relativeToBest, l1LoopThreshold, l2LoopThreshold, andThreshold }) {
+            if (threshold < 0 || threshold > 1) {
+                throw new BadRequestAlertException("Thresholds must be between 0 and 1", ENTITY_NAME, "invalidthreshold");
+            }
+        }
+        if (positiveObservations < 1) {
+            throw new BadRequestAlertException("Positive observations must be at least 1", ENTITY_NAME, "invalidthreshold");
+        }
+        return new HeuristicsMiner.Parameters()
+            .dependencyThreshold(dependencyThreshold)
+            .relativeToBest(relativeToBest)
+            .positiveObservations(positiveObservations)
+            .l1LoopThreshold(l1LoopThreshold)
+            .l2LoopThreshold(l2LoopThreshold)
+            .andThreshold(andThreshold);
+    }
+}
@@ -1,10 +1,13 @@
 package de.processmining.app.web.rest;
 
 import de.processmining.app.domain.Process;
+import de.processmining.app.service.DriftService;
 import de.processmining.app.service.ProcessService;
 import de.processmining.app.web.rest.errors.BadRequestAlertException;
 import de.processmining.app.service.dto.ProcessCriteria;
 import de.processmining.app.service.ProcessQueryService;
+import de.processmining.app.service.dto.ConceptDriftDTO;
+import de.processmining.app.service.mining.TimeWindow;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -14,8 +17,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,6 +43,11 @@ public class ProcessResource {
 
     private static final String ENTITY_NAME = "process";
 
+    /**
+     * Newline-delimited JSON, one document per line.
+     */
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -44,9 +55,12 @@ public class ProcessResource {
 
     private final ProcessQueryService processQueryService;
 
-    public ProcessResource(ProcessService processService, ProcessQueryService processQueryService) {
+    private final DriftService driftService;
+
+    public ProcessResource(ProcessService processService, ProcessQueryService processQueryService, DriftService driftService) {
         this.processService = processService;
         this.processQueryService = processQueryService;
+        this.driftService = driftService;
     }
 
     /**
@@ -91,19 +105,57 @@ public class ProcessResource {
 
     /**
      * {@code GET  /processes} : get all the processes.
+     * <p>
+     * With {@code after}, the processes are returned by increasing id, starting after the given id, without counting
+     * them: clients page through all processes by passing {@code after=0}, then following the {@code next} link until
+     * there is none. Otherwise, pages are numbered and their total count is returned.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the id after which processes are returned, to page by id.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of processes in body.
      */
     @GetMapping("/processes")
-    public ResponseEntity<List<Process>> getAllProcesses(ProcessCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<Process>> getAllProcesses(
+        ProcessCriteria criteria,
+        Pageable pageable,
+        @RequestParam(required = false) Long after
+    ) {
         log.debug("REST request to get Processes by criteria: {}", criteria);
+        if (after != null) {
+            Slice<Process> slice = processQueryService.findByCriteriaAfter(criteria, after, pageable);
+            HttpHeaders headers = new HttpHeaders();
+            if (slice.hasNext()) {
+                Long last = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+                String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", last).toUriString();
+                headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<Process> page = processQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /processes/stream} : stream all the processes, as newline-delimited JSON ordered by id.
+     * <p>
+     * The processes are read in a single query and written as they are read, for bulk extracts which would otherwise
+     * page through the processes.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the processes in body, one per line.
+     */
+    @GetMapping("/processes/stream")
+    public ResponseEntity<StreamingResponseBody> streamProcesses(ProcessCriteria criteria) {
+        log.debug("REST request to stream Processes by criteria: {}", criteria);
+        StreamingResponseBody body = outputStream -> {
+            long count = processQueryService.writeByCriteria(criteria, outputStream);
+            log.debug("Streamed {} Processes", count);
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * {@code GET  /processes/count} : count all the processes.
      *
@@ -129,6 +181,35 @@ public class ProcessResource {
         return ResponseUtil.wrapOrNotFound(process);
     }
 
+    /**
+     * {@code GET  /processes/:id/drift} : compare the directly-follows relations of each time window of the log of the "id" process
+     * with the previous window.
+     *
+     * @param id the id of the process.
+     * @param window the time window, {@code DAY} or {@code WEEK}.
+     * @param significance the significance level of the chi-square tests.
+     * @param minEffectSize the minimum effect size (Cramer's V) of a drift.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the comparisons of consecutive windows,
+     * or with status {@code 400 (Bad Request)} if the significance or the effect size is not between 0 and 1,
+     * or with status {@code 404 (Not Found)} if the process does not exist.
+     */
+    @GetMapping("/processes/{id}/drift")
+    public ResponseEntity<ConceptDriftDTO> detectDrift(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "WEEK") TimeWindow window,
+        @RequestParam(defaultValue = "0.01") double significance,
+        @RequestParam(defaultValue = "0.1") double minEffectSize
+    ) {
+        log.debug("REST request to detect drift of Process : {} per {}", id, window);
+        if (significance <= 0 || significance >= 1) {
+            throw new BadRequestAlertException("Significance must be between 0 and 1", ENTITY_NAME, "invalidsignificance");
+        }
+        if (minEffectSize < 0 || minEffectSize > 1) {
+            throw new BadRequestAlertException("Minimum effect size must be between 0 and 1", ENTITY_NAME, "invalideffectsize");
+        }
+        return ResponseUtil.wrapOrNotFound(driftService.detectDrift(id, window, significance, minEffectSize));
+    }
+
     /**
      * {@code DELETE  /processes/:id} : delete the "id" process.
      *
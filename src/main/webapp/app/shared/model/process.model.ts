@@ -2,6 +2,7 @@ export interface IProcess {
   id?: number;
   title?: string;
   code?: string;
+  logVersion?: number;
 }
 
 export const defaultValue: Readonly<IProcess> = {};
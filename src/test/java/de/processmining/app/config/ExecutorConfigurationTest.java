@@ -0,0 +1,154 @@
+package de.processmining.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for the {@link ExecutorConfiguration} class.
+ */
+public class ExecutorConfigurationTest {
+    private ApplicationProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MockEnvironment env;
+
+    private ExecutorConfiguration executorConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        env = new MockEnvironment();
+        executorConfiguration = new ExecutorConfiguration(properties, meterRegistry, env);
+    }
+
+    @Test
+    public void miningPoolDefaultsToProcessorCount() {
+        ForkJoinPool pool = executorConfiguration.miningPool();
+        try {
+            assertThat(pool.getParallelism()).isEqualTo(Runtime.getRuntime().availableProcessors());
+            assertThat(meterRegistry.find("executor.steals").tag("name", "mining").meter()).isNotNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void miningPoolRejectsTasksBeyondBound() throws Exception {
+        properties.getConcurrency().getMining().setMaxConcurrentTasks(1);
+        properties.getConcurrency().getMining().setWaitTimeoutSeconds(0);
+        ForkJoinPool pool = executorConfiguration.miningPool();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            pool.execute(() -> await(release));
+
+            assertThatThrownBy(() -> pool.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+            assertThatThrownBy(() -> pool.invoke(ForkJoinTask.adapt(() -> 1))).isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(pool.awaitQuiescence(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(pool.invoke(ForkJoinTask.adapt(() -> 1))).isEqualTo(1);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void importExecutorRunsOverflowOnCallerThread() throws Exception {
+        properties.getConcurrency().getEventLogImport().setThreads(1);
+        properties.getConcurrency().getEventLogImport().setQueueCapacity(1);
+        ThreadPoolExecutor executor = executorConfiguration.importExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            AtomicReference<Thread> runner = new AtomicReference<>();
+            executor.execute(() -> runner.set(Thread.currentThread()));
+
+            assertThat(runner.get()).isEqualTo(Thread.currentThread());
+            assertThat(meterRegistry.find("executor.queued").tag("name", "event-log-import").gauge().value()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void analysisJobExecutorRejectsOverflow() {
+        properties.getConcurrency().getAnalysisJobs().setThreads(1);
+        properties.getConcurrency().getAnalysisJobs().setQueueCapacity(1);
+        ThreadPoolExecutor executor = executorConfiguration.analysisJobExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+
+            assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void mailExecutorRunsOnVirtualThreadsWithProfile() throws Exception {
+        assumeTrue(hasVirtualThreads());
+        env.setActiveProfiles(Constants.SPRING_PROFILE_VIRTUAL_THREADS);
+        ExecutorService executor = executorConfiguration.mailExecutor();
+        try {
+            AtomicReference<Thread> runner = new AtomicReference<>();
+            executor.submit(() -> runner.set(Thread.currentThread())).get(10, TimeUnit.SECONDS);
+
+            assertThat(runner.get().getName()).startsWith("mail-");
+            assertThat(Thread.class.getMethod("isVirtual").invoke(runner.get())).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void mailExecutorKeepsPlatformThreadsWithoutVirtualThreads() {
+        assumeFalse(hasVirtualThreads());
+        env.setActiveProfiles(Constants.SPRING_PROFILE_VIRTUAL_THREADS);
+        ExecutorService executor = executorConfiguration.mailExecutor();
+        try {
+            assertThat(executor).isInstanceOf(ThreadPoolExecutor.class);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean hasVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
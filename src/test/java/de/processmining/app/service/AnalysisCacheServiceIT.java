@@ -0,0 +1,84 @@
+package de.processmining.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.Process2021App;
+import de.processmining.app.domain.Process;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.dto.EventLogCriteria;
+import io.github.jhipster.service.filter.StringFilter;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link AnalysisCacheService}.
+ */
+@SpringBootTest(classes = Process2021App.class)
+@Transactional
+public class AnalysisCacheServiceIT {
+    @Autowired
+    private ProcessRepository processRepository;
+
+    @Autowired
+    private AnalysisCacheService analysisCacheService;
+
+    private Process process;
+
+    private AtomicInteger analysisCount;
+
+    @BeforeEach
+    public void init() {
+        process = processRepository.saveAndFlush(new Process().title("AAAAAAAAAA"));
+        analysisCount = new AtomicInteger();
+    }
+
+    private Supplier<Optional<String>> analysis() {
+        return () -> Optional.of("result-" + analysisCount.incrementAndGet());
+    }
+
+    @Test
+    public void cachesResultsUntilLogVersionChanges() {
+        assertThat(process.getLogVersion()).isEqualTo(0L);
+
+        assertThat(analysisCacheService.getOrCompute(process.getId(), "test", null, "p=1", analysis())).contains("result-1");
+        assertThat(analysisCacheService.getOrCompute(process.getId(), "test", null, "p=1", analysis())).contains("result-1");
+        assertThat(analysisCount.get()).isEqualTo(1);
+
+        processRepository.incrementLogVersion(process.getId());
+
+        assertThat(analysisCacheService.getOrCompute(process.getId(), "test", null, "p=1", analysis())).contains("result-2");
+        assertThat(processRepository.findLogVersionById(process.getId())).contains(1L);
+    }
+
+    @Test
+    public void keysResultsByFiltersAlgorithmAndParameters() {
+        EventLogCriteria criteria = new EventLogCriteria();
+        StringFilter activity = new StringFilter();
+        activity.setEquals("A");
+        criteria.setActivity(activity);
+
+        analysisCacheService.getOrCompute(process.getId(), "test", null, "p=1", analysis());
+        analysisCacheService.getOrCompute(process.getId(), "test", new EventLogCriteria(), "p=1", analysis());
+        assertThat(analysisCount.get()).isEqualTo(1);
+
+        analysisCacheService.getOrCompute(process.getId(), "test", criteria, "p=1", analysis());
+        analysisCacheService.getOrCompute(process.getId(), "test", criteria.copy(), "p=1", analysis());
+        assertThat(analysisCount.get()).isEqualTo(2);
+
+        analysisCacheService.getOrCompute(process.getId(), "other", null, "p=1", analysis());
+        analysisCacheService.getOrCompute(process.getId(), "test", null, "p=2", analysis());
+        assertThat(analysisCount.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void returnsEmptyForUnknownProcess() {
+        assertThat(analysisCacheService.getOrCompute(Long.MAX_VALUE, "test", null, "p=1", analysis())).isEmpty();
+        assertThat(analysisCount.get()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,162 @@
+package de.processmining.app.service.conformance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link Aligner} and its {@link LinearProgram}.
+ */
+public class AlignerTest {
+
+    @Test
+    public void solvesLinearProgram() {
+        double[] solution = LinearProgram.minimize(new double[][] { { 1, -1, 0 }, { 0, 1, 1 } }, new double[] { 1, 2 }, new double[] { 1, 1, 3 });
+
+        assertThat(solution[0]).isCloseTo(3.0, within(1e-9));
+        assertThat(solution[1]).isCloseTo(2.0, within(1e-9));
+        assertThat(solution[2]).isCloseTo(0.0, within(1e-9));
+    }
+
+    @Test
+    public void detectsInfeasibleLinearProgram() {
+        assertThat(LinearProgram.minimize(new double[][] { { 1, 1 } }, new double[] { -1 }, new double[] { 1, 1 })).isNull();
+    }
+
+    @Test
+    public void fittingTraceHasSynchronousMovesOnly() {
+        Alignment alignment = choiceAligner().align(trace("a b"));
+
+        assertThat(alignment.getCost()).isEqualTo(0);
+        assertThat(moves(alignment)).containsExactly("SYNC(a)", "SYNC(b)");
+    }
+
+    @Test
+    public void silentMovesAreCheapButNotListed() {
+        Alignment alignment = choiceAligner().align(trace("a"));
+
+        assertThat(alignment.getCost()).isEqualTo(Aligner.SILENT_MOVE_COST);
+        assertThat(alignment.getDeviationCount()).isEqualTo(0);
+        assertThat(moves(alignment)).containsExactly("SYNC(a)");
+    }
+
+    @Test
+    public void unknownActivityIsLogMove() {
+        Alignment alignment = choiceAligner().align(trace("a d b"));
+
+        assertThat(alignment.getCost()).isEqualTo(Aligner.DEVIATION_COST);
+        assertThat(moves(alignment)).containsExactly("SYNC(a)", "LOG(d)", "SYNC(b)");
+    }
+
+    @Test
+    public void skippedActivityIsModelMove() {
+        Alignment alignment = choiceAligner().align(trace("b"));
+
+        assertThat(alignment.getCost()).isEqualTo(Aligner.DEVIATION_COST);
+        assertThat(moves(alignment)).containsExactly("MODEL(a)", "SYNC(b)");
+    }
+
+    @Test
+    public void exclusiveActivitiesCostOneLogMove() {
+        Alignment alignment = choiceAligner().align(trace("a b c"));
+
+        assertThat(alignment.getCost()).isEqualTo(Aligner.DEVIATION_COST);
+        assertThat(alignment.getDeviationCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void fitnessIsRelativeToWorstAlignment() {
+        Aligner aligner = choiceAligner();
+        Alignment empty = aligner.align(Collections.emptyList());
+
+        assertThat(empty.getCost()).isEqualTo(Aligner.DEVIATION_COST + Aligner.SILENT_MOVE_COST);
+        assertThat(Aligner.fitness(aligner.align(trace("a b")), 2, empty)).isEqualTo(1.0);
+        assertThat(Aligner.fitness(aligner.align(trace("b")), 1, empty)).isCloseTo(1 - 10000.0 / 20001.0, within(1e-9));
+    }
+
+    @Test
+    public void alignsConcurrentActivities() {
+        Aligner aligner = new Aligner(parallelNet());
+
+        assertThat(aligner.align(trace("a c b d")).getCost()).isEqualTo(0);
+        Alignment alignment = aligner.align(trace("a b d"));
+        assertThat(alignment.getCost()).isEqualTo(Aligner.DEVIATION_COST);
+        assertThat(moves(alignment)).contains("MODEL(c)");
+        Alignment swapped = aligner.align(trace("d c b a"));
+        assertThat(swapped.getCost()).isEqualTo(4 * Aligner.DEVIATION_COST);
+    }
+
+    @Test
+    public void unreachableFinalMarkingHasNoAlignment() {
+        PetriNet net = PetriNet
+            .builder()
+            .place("start", 1)
+            .place("end", 0)
+            .transition("a", "a")
+            .arc("start", "a", 1)
+            .arc("a", "end", 1)
+            .finalTokens("end", 2)
+            .build();
+
+        assertThat(new Aligner(net).align(trace("a"))).isNull();
+    }
+
+    @Test
+    public void givesUpAfterMaximumStates() {
+        Aligner aligner = new Aligner(parallelNet(), 2);
+
+        assertThat(aligner.align(trace("d c b a d c b a"))).isNull();
+    }
+
+    private static Aligner choiceAligner() {
+        return new Aligner(new PnmlParser().parse(new ByteArrayInputStream(TokenReplayerTest.PNML.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * a, then b and c concurrently, then d.
+     */
+    private static PetriNet parallelNet() {
+        return PetriNet
+            .builder()
+            .place("p0", 1)
+            .place("p1", 0)
+            .place("p2", 0)
+            .place("p3", 0)
+            .place("p4", 0)
+            .place("p5", 0)
+            .transition("ta", "a")
+            .transition("tb", "b")
+            .transition("tc", "c")
+            .transition("td", "d")
+            .arc("p0", "ta", 1)
+            .arc("ta", "p1", 1)
+            .arc("ta", "p2", 1)
+            .arc("p1", "tb", 1)
+            .arc("tb", "p3", 1)
+            .arc("p2", "tc", 1)
+            .arc("tc", "p4", 1)
+            .arc("p3", "td", 1)
+            .arc("p4", "td", 1)
+            .arc("td", "p5", 1)
+            .build();
+    }
+
+    private static List<String> trace(String activities) {
+        return Arrays.asList(activities.split(" "));
+    }
+
+    private static List<String> moves(Alignment alignment) {
+        List<String> moves = new ArrayList<>();
+        for (Alignment.Move move : alignment.getMoves()) {
+            moves.add(move.toString());
+        }
+        return moves;
+    }
+}
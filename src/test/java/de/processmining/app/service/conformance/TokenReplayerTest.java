@@ -0,0 +1,141 @@
+package de.processmining.app.service.conformance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import de.processmining.app.service.InvalidProcessModelException;
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import de.processmining.app.service.eventlog.PrefixTree;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link PnmlParser} and the {@link TokenReplayer}.
+ */
+public class TokenReplayerTest {
+
+    /**
+     * a, then b or c, with a silent transition allowing to skip both.
+     */
+    static final String PNML =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+        "<pnml><net id=\"net\" type=\"http://www.pnml.org/version-2009/grammar/pnmlcoremodel\"><page id=\"page\">" +
+        "<place id=\"p0\"><name><text>source</text></name><initialMarking><text>1</text></initialMarking></place>" +
+        "<place id=\"p1\"/><place id=\"p2\"/>" +
+        "<transition id=\"ta\"><name><text>a</text></name></transition>" +
+        "<transition id=\"tb\"><name><text>b</text></name></transition>" +
+        "<transition id=\"tc\"><name><text>c</text></name></transition>" +
+        "<transition id=\"tau\"><name><text>tau</text></name><toolspecific tool=\"ProM\" activity=\"$invisible$\"/></transition>" +
+        "<arc id=\"a1\" source=\"p0\" target=\"ta\"/><arc id=\"a2\" source=\"ta\" target=\"p1\"/>" +
+        "<arc id=\"a3\" source=\"p1\" target=\"tb\"/><arc id=\"a4\" source=\"tb\" target=\"p2\"/>" +
+        "<arc id=\"a5\" source=\"p1\" target=\"tc\"/><arc id=\"a6\" source=\"tc\" target=\"p2\"/>" +
+        "<arc id=\"a7\" source=\"p1\" target=\"tau\"/><arc id=\"a8\" source=\"tau\" target=\"p2\"/>" +
+        "</page>" +
+        "<finalmarkings><marking><place idref=\"p2\"><text>1</text></place></marking></finalmarkings>" +
+        "</net></pnml>";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void parsesPnml() {
+        PetriNet net = parse(PNML);
+
+        assertThat(net.placeCount()).isEqualTo(3);
+        assertThat(net.transitionCount()).isEqualTo(4);
+        assertThat(net.label(0)).isEqualTo("a");
+        assertThat(net.isSilent(3)).isTrue();
+        assertThat(net.initialMarking()).containsExactly(1, 0, 0);
+        assertThat(net.finalMarking()).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    public void rejectsArcBetweenPlaces() {
+        String pnml = "<pnml><net id=\"n\"><place id=\"p\"/><place id=\"q\"/><arc id=\"a\" source=\"p\" target=\"q\"/></net></pnml>";
+
+        assertThatThrownBy(() -> parse(pnml)).isInstanceOf(InvalidProcessModelException.class);
+    }
+
+    @Test
+    public void fittingLogHasPerfectFitness() throws Exception {
+        EventLog log = log("a b", "a c", "a", "a b");
+
+        TokenReplayResult result = replay(log, 4);
+
+        assertThat(result.getTraceCount()).isEqualTo(4L);
+        assertThat(result.getFittingTraceCount()).isEqualTo(4L);
+        assertThat(result.getMissing()).isEqualTo(0L);
+        assertThat(result.getRemaining()).isEqualTo(0L);
+        assertThat(result.getFitness()).isEqualTo(1.0);
+        assertThat(result.getDeviatingVariants()).isEmpty();
+        assertThat(result.getPrecision()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void reportsDeviationsOncePerVariant() throws Exception {
+        EventLog log = log("b", "b", "a b c", "a d");
+
+        TokenReplayResult result = replay(log, 1);
+
+        assertThat(result.getFittingTraceCount()).isEqualTo(0L);
+        assertThat(result.getDeviatingVariants()).hasSize(3);
+        TokenReplayResult.VariantResult missingStart = variant(result, 2);
+        assertThat(missingStart.getMissing()).isEqualTo(1);
+        assertThat(missingStart.getRemaining()).isEqualTo(1);
+        assertThat(missingStart.getDeviations()).hasSize(1);
+        assertThat(missingStart.getDeviations().get(0).getType()).isEqualTo(TokenReplayResult.EventDeviation.Type.MISSING_TOKENS);
+        TokenReplayResult.VariantResult unknown = variant(result, 1);
+        assertThat(unknown.getDeviations().get(0).getPosition()).isEqualTo(1);
+        assertThat(unknown.getDeviations().get(0).getType()).isEqualTo(TokenReplayResult.EventDeviation.Type.UNKNOWN_ACTIVITY);
+        assertThat(result.getFitness()).isLessThan(1.0);
+    }
+
+    @Test
+    public void penalizesBehaviourNeverObserved() throws Exception {
+        EventLog log = log("a b", "a b");
+
+        TokenReplayResult result = replay(log, 2);
+
+        assertThat(result.getFitness()).isEqualTo(1.0);
+        // after a, the model also allows c, which the log never does
+        assertThat(result.getPrecision()).isCloseTo(1.0 - 1.0 / 3.0, within(1e-9));
+    }
+
+    private TokenReplayResult replay(EventLog log, int taskCount) throws InterruptedException {
+        return new TokenReplayer(parse(PNML), log).replay(PrefixTree.of(log), executor, taskCount);
+    }
+
+    private static TokenReplayResult.VariantResult variant(TokenReplayResult result, int caseCount) {
+        for (TokenReplayResult.VariantResult variant : result.getDeviatingVariants()) {
+            if (variant.getCaseCount() == caseCount) {
+                return variant;
+            }
+        }
+        throw new AssertionError("No variant with " + caseCount + " cases");
+    }
+
+    private static PetriNet parse(String pnml) {
+        return new PnmlParser().parse(new ByteArrayInputStream(pnml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static EventLog log(String... traces) {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < traces.length; c++) {
+            String[] activities = traces[c].split(" ");
+            for (int e = 0; e < activities.length; e++) {
+                builder.addEvent("case-" + c, activities[e], e, null);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,161 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CaseIndex} and the {@link CaseAttributes}.
+ */
+public class CaseIndexTest {
+
+    private static EventLog createLog() {
+        return new EventLogBuilder()
+            .addEvent("c1", "A", 0L, "alice")
+            .addEvent("c1", "B", 10L, "bob")
+            .addEvent("c1", "C", 20L, "alice")
+            .addEvent("c2", "A", 0L, "alice")
+            .addEvent("c2", "C", 100L, null)
+            .addEvent("c3", "B", 5L, "bob")
+            .addEvent("c3", "A", 6L, null)
+            .addEvent("c4", "A", 0L, null)
+            .addEvent("c4", "C", 30L, null)
+            .build();
+    }
+
+    private static BitSet cases(EventLog log, String... caseIds) {
+        BitSet cases = new BitSet();
+        for (String caseId : caseIds) {
+            for (int c = 0; c < log.caseCount(); c++) {
+                if (log.caseId(c).equals(caseId)) {
+                    cases.set(c);
+                }
+            }
+        }
+        return cases;
+    }
+
+    @Test
+    public void selectsCasesByActivityAndResource() {
+        EventLog log = createLog();
+        CaseIndex index = CaseIndex.of(VariantIndex.of(log));
+
+        assertThat(index.allCases()).isEqualTo(cases(log, "c1", "c2", "c3", "c4"));
+        assertThat(index.casesWithActivity(log.activityCode("B"))).isEqualTo(cases(log, "c1", "c3"));
+        assertThat(index.casesWithActivity(log.activityCode("B"), log.activityCode("C"))).isEqualTo(cases(log, "c1", "c2", "c3", "c4"));
+        assertThat(index.casesWithResource(log.resourceCode("alice"))).isEqualTo(cases(log, "c1", "c2"));
+        assertThat(index.casesWithActivity(-1).cardinality()).isEqualTo(0);
+    }
+
+    @Test
+    public void selectsCasesByVariantAndTime() {
+        EventLog log = createLog();
+        CaseIndex index = CaseIndex.of(VariantIndex.of(log));
+
+        assertThat(index.casesOfVariants(rank -> rank == 0)).isEqualTo(cases(log, "c2", "c4"));
+        assertThat(index.variantRank(log.caseCount() - 1)).isEqualTo(0);
+        assertThat(index.startTime(0)).isEqualTo(0L);
+        assertThat(index.endTime(0)).isEqualTo(20L);
+
+        BitSet cases = index.allCases();
+        index.retain(cases, c -> index.endTime(c) - index.startTime(c) > 20L);
+        assertThat(cases).isEqualTo(cases(log, "c2", "c4"));
+    }
+
+    @Test
+    public void selectsCasesByFollowsRelation() {
+        EventLog log = createLog();
+        CaseIndex index = CaseIndex.of(VariantIndex.of(log));
+        int a = log.activityCode("A");
+        int c = log.activityCode("C");
+
+        BitSet eventually = index.allCases();
+        index.retainFollows(eventually, a, c, false);
+        assertThat(eventually).isEqualTo(cases(log, "c1", "c2", "c4"));
+
+        BitSet directly = index.allCases();
+        index.retainFollows(directly, a, c, true);
+        assertThat(directly).isEqualTo(cases(log, "c2", "c4"));
+
+        BitSet unknown = index.allCases();
+        index.retainFollows(unknown, a, -1, false);
+        assertThat(unknown.cardinality()).isEqualTo(0);
+    }
+
+    @Test
+    public void selectsCasesByAttribute() {
+        EventLog log = createLog();
+        Map<String, String> eu = new HashMap<>();
+        eu.put("region", "EU");
+        Map<String, String> us = new HashMap<>();
+        us.put("region", "US");
+        CaseAttributes attributes = new CaseAttributes.Builder(log).add("c1", eu).add("c3", us).add("unknown", eu).build();
+
+        BitSet cases = cases(log, "c1", "c2", "c3");
+        attributes.retain(cases, "region", value -> value == null || value.equals("EU"));
+        assertThat(cases).isEqualTo(cases(log, "c1", "c2"));
+        assertThat(attributes.value("region", cases(log, "c3").nextSetBit(0))).isEqualTo("US");
+    }
+
+    @Test
+    public void copiesSelectedCases() {
+        EventLog log = createLog();
+
+        EventLog selected = log.select(cases(log, "c1", "c4"));
+
+        assertThat(selected.caseCount()).isEqualTo(2);
+        assertThat(selected.eventCount()).isEqualTo(5);
+        assertThat(selected.caseId(1)).isEqualTo("c4");
+        assertThat(selected.activityName(selected.activity(selected.caseStart(1) + 1))).isEqualTo("C");
+        assertThat(selected.resourceName(selected.resource(1))).isEqualTo("bob");
+        assertThat(selected.timestamp(selected.caseEnd(0) - 1)).isEqualTo(20L);
+    }
+
+    @Test
+    public void updatesIndexesWithAppendedEvents() {
+        EventLog log = createLog();
+        VariantIndex variantIndex = VariantIndex.of(log);
+        CaseIndex index = CaseIndex.of(variantIndex);
+        Map<String, String> eu = new HashMap<>();
+        eu.put("region", "EU");
+        CaseAttributes attributes = new CaseAttributes.Builder(log).add("c1", eu).build();
+        EventLog appendedEvents = new EventLogBuilder()
+            .addEvent("c2", "B", 50L, "carol")
+            .addEvent("c3", "C", 7L, null)
+            .addEvent("c5", "D", 200L, "bob")
+            .build();
+
+        EventLog appended = log.append(appendedEvents, 1);
+        VariantIndex updatedVariants = variantIndex.update(appended, appendedEvents);
+        CaseIndex updated = index.update(updatedVariants, appendedEvents);
+        VariantIndex rebuiltVariants = VariantIndex.of(appended);
+        CaseIndex rebuilt = CaseIndex.of(rebuiltVariants);
+
+        assertThat(updated.caseCount()).isEqualTo(5);
+        for (String activity : new String[] { "A", "B", "C", "D" }) {
+            int code = appended.activityCode(activity);
+            assertThat(updated.casesWithActivity(code)).isEqualTo(rebuilt.casesWithActivity(code));
+        }
+        for (String resource : new String[] { "alice", "bob", "carol" }) {
+            int code = appended.resourceCode(resource);
+            assertThat(updated.casesWithResource(code)).isEqualTo(rebuilt.casesWithResource(code));
+        }
+        for (int c = 0; c < appended.caseCount(); c++) {
+            assertThat(updated.startTime(c)).isEqualTo(rebuilt.startTime(c));
+            assertThat(updated.endTime(c)).isEqualTo(rebuilt.endTime(c));
+            // variants with as many cases may rank in another order, the updated tree numbering its nodes differently
+            assertThat(updatedVariants.trace(updated.variantRank(c))).containsExactly(rebuiltVariants.trace(rebuilt.variantRank(c)));
+            assertThat(updatedVariants.caseCount(updated.variantRank(c))).isEqualTo(rebuiltVariants.caseCount(rebuilt.variantRank(c)));
+        }
+        assertThat(updated.casesWithActivity(appended.activityCode("B"))).isEqualTo(cases(appended, "c1", "c2", "c3"));
+        assertThat(index.casesWithActivity(log.activityCode("B"))).isEqualTo(cases(log, "c1", "c3"));
+        assertThat(index.caseCount()).isEqualTo(4);
+
+        CaseAttributes updatedAttributes = attributes.update(appended);
+        assertThat(updatedAttributes.value("region", 0)).isEqualTo("EU");
+        assertThat(updatedAttributes.value("region", appended.caseIndex("c5"))).isNull();
+    }
+}
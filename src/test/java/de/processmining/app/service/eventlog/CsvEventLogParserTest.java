@@ -0,0 +1,104 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.processmining.app.service.InvalidEventLogException;
+import de.processmining.app.service.dto.CsvColumnMappingDTO;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the {@link CsvEventLogParser}.
+ */
+public class CsvEventLogParserTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void parsesAllRecordsWhateverTheNumberOfChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("case;activity;time;user;amount\r\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("c").append(i % 7).append(";\"act;").append(i).append("\";2021-01-04 10:00;u").append(i).append(";").append(i).append("\r\n");
+        }
+        Path file = write(csv.toString());
+
+        for (int chunkCount : new int[] { 1, 3, 16, 1000 }) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                CsvEventLogParser parser = CsvEventLogParser.open(channel, mapping());
+                List<CsvEventLogParser.Chunk> chunks = parser.split(chunkCount);
+                RecordingHandler handler = new RecordingHandler();
+                long count = 0;
+                for (CsvEventLogParser.Chunk chunk : chunks) {
+                    count += parser.parse(chunk, handler);
+                }
+
+                assertThat(chunks.size()).isLessThanOrEqualTo(chunkCount);
+                assertThat(count).isEqualTo(100);
+                assertThat(handler.records).hasSize(100);
+                assertThat(handler.records.get(0)).isEqualTo("c0 act;0 2021-01-04T10:00:00Z u0 {amount=0}");
+                assertThat(handler.records.get(99)).isEqualTo("c1 act;99 2021-01-04T10:00:00Z u99 {amount=99}");
+            }
+        }
+    }
+
+    @Test
+    public void splitsRecordsWithQuotes() {
+        List<String> fields = new ArrayList<>();
+
+        CsvEventLogParser.splitRecord("a,\"b,c\",\"d \"\"e\"\"\",", ',', fields);
+
+        assertThat(fields).containsExactly("a", "b,c", "d \"e\"", "");
+    }
+
+    @Test
+    public void rejectsMissingColumn() throws Exception {
+        Path file = write("case;activity\nc1;a\n");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThatThrownBy(() -> CsvEventLogParser.open(channel, mapping())).isInstanceOf(InvalidEventLogException.class);
+        }
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = tempDir.resolve("log.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static CsvColumnMappingDTO mapping() {
+        CsvColumnMappingDTO mapping = new CsvColumnMappingDTO();
+        mapping.setCaseId("case");
+        mapping.setActivity("activity");
+        mapping.setTimestamp("time");
+        mapping.setTimestampFormat("yyyy-MM-dd HH:mm");
+        mapping.setResource("user");
+        mapping.setAttributes(Collections.singletonList("amount"));
+        mapping.setDelimiter(';');
+        return mapping;
+    }
+
+    private static class RecordingHandler implements EventLogHandler {
+        private final List<String> records = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void trace(String caseId, Map<String, String> attributes) {
+            records.add("trace " + caseId);
+        }
+
+        @Override
+        public void event(String caseId, String activity, Instant timestamp, String resource, Map<String, String> attributes) {
+            records.add(caseId + " " + activity + " " + timestamp + " " + resource + " " + attributes);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvEventLogWriter}.
+ */
+public class CsvEventLogWriterTest {
+
+    @Test
+    public void writesOneRecordPerEventQuotingWhenNeeded() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        CsvEventLogWriter writer = new CsvEventLogWriter(output, ',', Collections.emptyList(), Collections.emptyList());
+        writer.startCase("case-1", Collections.emptyMap());
+        writer.event("check, \"twice\"", null, null, Collections.emptyMap());
+        writer.event("register", Instant.EPOCH, "alice", Collections.emptyMap());
+        writer.startCase("case-2", Collections.emptyMap());
+        writer.event("register", Instant.ofEpochMilli(1000L), "bob", Collections.emptyMap());
+        writer.finish();
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(
+            "case_id,activity,timestamp,resource\n" +
+            "case-1,\"check, \"\"twice\"\"\",,\n" +
+            "case-1,register,1970-01-01T00:00:00Z,alice\n" +
+            "case-2,register,1970-01-01T00:00:01Z,bob\n"
+        );
+    }
+
+    @Test
+    public void writesOneColumnPerAttribute() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        CsvEventLogWriter writer = new CsvEventLogWriter(output, ';', Collections.singletonList("priority"), Arrays.asList("cost", "note"));
+        writer.startCase("case-1", Collections.singletonMap("priority", "high"));
+        writer.event("register", null, null, Collections.singletonMap("note", "a;b"));
+        writer.startCase("case-2", Collections.emptyMap());
+        writer.event("register", null, "bob", Collections.singletonMap("cost", "12"));
+        writer.finish();
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(
+            "case_id;activity;timestamp;resource;case:priority;cost;note\n" +
+            "case-1;register;;;high;;\"a;b\"\n" +
+            "case-2;register;;bob;;12;\n"
+        );
+    }
+}
@@ -0,0 +1,177 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link EventLogBuilder}.
+ */
+public class EventLogBuilderTest {
+
+    @Test
+    public void encodesEventsGroupedByCase() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 1000L, "alice")
+            .addEvent("c1", "B", 2000L, null)
+            .addEvent("c2", "B", 1500L, "bob")
+            .addEvent("c2", "A", 1600L, "alice")
+            .addEvent("c2", "C", 1700L, "alice")
+            .build();
+
+        assertThat(log.caseCount()).isEqualTo(2);
+        assertThat(log.eventCount()).isEqualTo(5);
+        assertThat(log.activityCount()).isEqualTo(3);
+        assertThat(log.resourceCount()).isEqualTo(2);
+        assertThat(log.caseId(1)).isEqualTo("c2");
+        assertThat(log.caseStart(1)).isEqualTo(2);
+        assertThat(log.caseEnd(1)).isEqualTo(5);
+        assertThat(log.caseLength(0)).isEqualTo(2);
+        assertThat(log.activity(3)).isEqualTo(log.activityCode("A"));
+        assertThat(log.activityName(log.activity(4))).isEqualTo("C");
+        assertThat(log.resource(1)).isEqualTo(EventLog.NO_RESOURCE);
+        assertThat(log.resourceName(log.resource(2))).isEqualTo("bob");
+        assertThat(log.timestamp(2)).isEqualTo(1500L);
+        assertThat(log.activityCode("D")).isEqualTo(-1);
+    }
+
+    @Test
+    public void ordersEventsOfACaseByTimestamp() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "C", 3000L, null)
+            .addEvent("c1", "A", 1000L, null)
+            .addEvent("c1", "B", 2000L, null)
+            .addEvent("c1", "D", 2000L, null)
+            .addEvent("c2", "A", 0L, null)
+            .build();
+
+        assertThat(log.activityName(log.activity(0))).isEqualTo("A");
+        assertThat(log.activityName(log.activity(1))).isEqualTo("B");
+        assertThat(log.activityName(log.activity(2))).isEqualTo("D");
+        assertThat(log.activityName(log.activity(3))).isEqualTo("C");
+        assertThat(log.timestamp(3)).isEqualTo(3000L);
+        assertThat(log.activityName(log.activity(4))).isEqualTo("A");
+    }
+
+    @Test
+    public void buildsEmptyLog() {
+        EventLog log = new EventLogBuilder().build();
+
+        assertThat(log.caseCount()).isEqualTo(0);
+        assertThat(log.eventCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.addEvent("c" + (i / 3), "A" + (i % 4), i, null);
+        }
+
+        EventLog log = builder.build();
+
+        assertThat(log.eventCount()).isEqualTo(5000);
+        assertThat(log.caseCount()).isEqualTo(1667);
+        assertThat(log.caseEnd(1666)).isEqualTo(5000);
+    }
+
+    @Test
+    public void keepsBuiltLogsUnchangedWhenAddingEvents() {
+        EventLogBuilder builder = new EventLogBuilder().addEvent("c1", "A", 0L, null);
+        EventLog first = builder.build();
+
+        EventLog second = builder.addEvent("c1", "B", 10L, null).addEvent("c2", "C", 0L, null).build();
+
+        assertThat(first.caseCount()).isEqualTo(1);
+        assertThat(first.caseLength(0)).isEqualTo(1);
+        assertThat(first.caseIndex("c2")).isEqualTo(-1);
+        assertThat(second.caseLength(0)).isEqualTo(2);
+        assertThat(second.caseIndex("c2")).isEqualTo(1);
+    }
+
+    @Test
+    public void appendsEventsToCopyOfLog() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 1000L, "alice")
+            .addEvent("c1", "B", 3000L, null)
+            .addEvent("c2", "A", 1500L, "bob")
+            .logVersion(4)
+            .build();
+        EventLog appended = new EventLogBuilder()
+            .addEvent("c1", "C", 2000L, "carol")
+            .addEvent("c1", "D", 3000L, null)
+            .addEvent("c3", "B", 4000L, "alice")
+            .build();
+
+        EventLog result = log.append(appended, 5);
+
+        assertThat(result.getLogVersion()).isEqualTo(5);
+        assertThat(result.caseCount()).isEqualTo(3);
+        assertThat(result.eventCount()).isEqualTo(6);
+        assertThat(result.caseLength(0)).isEqualTo(4);
+        int c1 = result.caseStart(0);
+        assertThat(result.activityName(result.activity(c1))).isEqualTo("A");
+        assertThat(result.activityName(result.activity(c1 + 1))).isEqualTo("C");
+        assertThat(result.resourceName(result.resource(c1 + 1))).isEqualTo("carol");
+        assertThat(result.activityName(result.activity(c1 + 2))).isEqualTo("B");
+        assertThat(result.activityName(result.activity(c1 + 3))).isEqualTo("D");
+        assertThat(result.caseId(1)).isEqualTo("c2");
+        assertThat(result.activityName(result.activity(result.caseStart(1)))).isEqualTo("A");
+        assertThat(result.caseId(2)).isEqualTo("c3");
+        assertThat(result.caseLength(2)).isEqualTo(1);
+        assertThat(result.resourceName(result.resource(result.caseStart(2)))).isEqualTo("alice");
+        assertThat(result.caseIndex("c3")).isEqualTo(2);
+        assertThat(log.eventCount()).isEqualTo(3);
+        assertThat(log.getLogVersion()).isEqualTo(4);
+        assertThat(log.activityCode("C")).isEqualTo(-1);
+        assertThat(log.caseIndex("c3")).isEqualTo(-1);
+        assertThat(log.activityName(log.activity(log.caseEnd(0) - 1))).isEqualTo("B");
+    }
+
+    @Test
+    public void appendsToCaseInPlaceWhenItEndsTheLog() {
+        EventLog log = new EventLogBuilder().addEvent("c1", "A", 1000L, null).addEvent("c2", "A", 1000L, null).build();
+
+        EventLog result = log.append(new EventLogBuilder().addEvent("c2", "B", 2000L, null).build(), 1);
+
+        assertThat(result.caseStart(1)).isEqualTo(log.caseStart(1));
+        assertThat(result.caseLength(1)).isEqualTo(2);
+        assertThat(result.caseLength(0)).isEqualTo(1);
+        assertThat(log.caseLength(1)).isEqualTo(1);
+    }
+
+    @Test
+    public void appendsTwiceToSameLog() {
+        EventLog log = new EventLogBuilder().addEvent("c1", "A", 1000L, null).build();
+
+        EventLog first = log.append(new EventLogBuilder().addEvent("c2", "B", 2000L, null).build(), 1);
+        EventLog second = log.append(new EventLogBuilder().addEvent("c3", "C", 3000L, null).build(), 1);
+
+        assertThat(first.caseIndex("c2")).isEqualTo(1);
+        assertThat(first.caseIndex("c3")).isEqualTo(-1);
+        assertThat(first.activityName(first.activity(first.caseStart(1)))).isEqualTo("B");
+        assertThat(second.caseIndex("c3")).isEqualTo(1);
+        assertThat(second.caseIndex("c2")).isEqualTo(-1);
+        assertThat(second.activityName(second.activity(second.caseStart(1)))).isEqualTo("C");
+        assertThat(log.caseCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void compactsLogWhenMovedCasesLeaveMostEventsUnused() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.addEvent("c" + (i / 2500), "A", i, null);
+        }
+        EventLog log = builder.build();
+        for (int i = 0; i < 10; i++) {
+            // alternating cases, so that each append moves the other case after the last event
+            log = log.append(new EventLogBuilder().addEvent("c" + (i % 2), "B", 5000L + i, null).build(), i);
+        }
+
+        assertThat(log.eventCount()).isEqualTo(5010);
+        assertThat(log.caseLength(0) + log.caseLength(1)).isEqualTo(5010);
+        assertThat(Math.max(log.caseEnd(0), log.caseEnd(1))).isLessThanOrEqualTo(2 * 5010);
+        assertThat(log.activityName(log.activity(log.caseEnd(0) - 1))).isEqualTo("B");
+        assertThat(log.timestamp(log.caseEnd(1) - 1)).isEqualTo(5009L);
+    }
+}
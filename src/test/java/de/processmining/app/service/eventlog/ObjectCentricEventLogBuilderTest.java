@@ -0,0 +1,43 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ObjectCentricEventLogBuilder}.
+ */
+public class ObjectCentricEventLogBuilderTest {
+
+    @Test
+    public void ordersEventsByTimestampAndIndexesRelationsBothWays() {
+        ObjectCentricEventLog log = new ObjectCentricEventLogBuilder()
+            .addEvent("e2", "pick item", 2000L)
+            .addEvent("e1", "place order", 1000L)
+            .addRelation("e1", "o1")
+            .addRelation("e1", "i1")
+            .addRelation("e2", "i1")
+            .addRelation("e2", "unknown")
+            .addRelation("e3", "i1")
+            .addObject("o1", "order")
+            .addObject("i1", "item")
+            .build();
+
+        assertThat(log.eventCount()).isEqualTo(2);
+        assertThat(log.objectCount()).isEqualTo(2);
+        assertThat(log.relationCount()).isEqualTo(3);
+        assertThat(log.objectTypeCount()).isEqualTo(2);
+        assertThat(log.eventId(0)).isEqualTo("e1");
+        assertThat(log.activityName(log.activity(0))).isEqualTo("place order");
+        assertThat(log.timestamp(1)).isEqualTo(2000L);
+        assertThat(log.eventObjectEnd(0) - log.eventObjectStart(0)).isEqualTo(2);
+        assertThat(log.eventObjectEnd(1) - log.eventObjectStart(1)).isEqualTo(1);
+        int item = log.eventObject(log.eventObjectStart(1));
+        assertThat(log.objectId(item)).isEqualTo("i1");
+        assertThat(log.objectTypeName(log.objectType(item))).isEqualTo("item");
+        assertThat(log.objectEventEnd(item) - log.objectEventStart(item)).isEqualTo(2);
+        assertThat(log.objectEvent(log.objectEventStart(item))).isEqualTo(0);
+        assertThat(log.objectEvent(log.objectEventStart(item) + 1)).isEqualTo(1);
+        assertThat(log.objectTypeCode("delivery")).isEqualTo(-1);
+    }
+}
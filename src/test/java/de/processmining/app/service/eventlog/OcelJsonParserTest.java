@@ -0,0 +1,81 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.processmining.app.service.InvalidEventLogException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link OcelJsonParser}.
+ */
+public class OcelJsonParserTest {
+    private static final String LOG =
+        "{" +
+        "\"ocel:global-log\": {\"ocel:version\": \"1.0\", \"ocel:object-types\": [\"order\", \"item\"]}," +
+        "\"ocel:global-event\": {\"ocel:activity\": \"__INVALID__\"}," +
+        "\"ocel:events\": {" +
+        "\"e1\": {\"ocel:activity\": \"place order\", \"ocel:timestamp\": \"2021-01-04T10:00:00+01:00\"," +
+        "\"ocel:omap\": [\"o1\", \"i1\"], \"ocel:vmap\": {\"amount\": 42, \"items\": [1, 2]}}," +
+        "\"e2\": {\"ocel:activity\": \"pick item\", \"ocel:omap\": [\"i1\"], \"ocel:vmap\": {}}" +
+        "}," +
+        "\"ocel:objects\": {" +
+        "\"o1\": {\"ocel:type\": \"order\", \"ocel:ovmap\": {\"customer\": \"alice\"}}," +
+        "\"i1\": {\"ocel:type\": \"item\", \"ocel:ovmap\": {}}" +
+        "}" +
+        "}";
+
+    @Test
+    public void parsesEventsAndObjects() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+
+        new OcelJsonParser().parse(new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), handler);
+
+        assertThat(handler.records).containsExactly(
+            "event e1 place order 2021-01-04T09:00:00Z [o1, i1] {amount=42, items=null}",
+            "event e2 pick item null [i1] {}",
+            "object o1 order {customer=alice}",
+            "object i1 item {}"
+        );
+    }
+
+    @Test
+    public void rejectsEventWithoutActivity() {
+        String ocel = "{\"ocel:events\": {\"e1\": {\"ocel:omap\": []}}}";
+
+        assertThatThrownBy(
+                () -> new OcelJsonParser().parse(new ByteArrayInputStream(ocel.getBytes(StandardCharsets.UTF_8)), new RecordingHandler())
+            )
+            .isInstanceOf(InvalidEventLogException.class);
+    }
+
+    @Test
+    public void rejectsMalformedDocument() {
+        String ocel = "{\"ocel:events\": {\"e1\": ";
+
+        assertThatThrownBy(
+                () -> new OcelJsonParser().parse(new ByteArrayInputStream(ocel.getBytes(StandardCharsets.UTF_8)), new RecordingHandler())
+            )
+            .isInstanceOf(InvalidEventLogException.class);
+    }
+
+    private static class RecordingHandler implements ObjectCentricEventLogHandler {
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        public void object(String objectId, String objectType, Map<String, String> attributes) {
+            records.add("object " + objectId + " " + objectType + " " + attributes);
+        }
+
+        @Override
+        public void event(String eventId, String activity, Instant timestamp, List<String> objectIds, Map<String, String> attributes) {
+            records.add("event " + eventId + " " + activity + " " + timestamp + " " + objectIds + " " + attributes);
+        }
+    }
+}
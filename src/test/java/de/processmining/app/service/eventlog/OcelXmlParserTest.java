@@ -0,0 +1,85 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.processmining.app.service.InvalidEventLogException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link OcelXmlParser}.
+ */
+public class OcelXmlParserTest {
+    private static final String LOG =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+        "<log>" +
+        "<global scope=\"log\"><list key=\"object-types\"><string key=\"object-type\" value=\"order\"/></list></global>" +
+        "<events>" +
+        "<event>" +
+        "<string key=\"id\" value=\"e1\"/>" +
+        "<string key=\"activity\" value=\"place order\"/>" +
+        "<date key=\"timestamp\" value=\"2021-01-04T10:00:00+01:00\"/>" +
+        "<list key=\"omap\"><string key=\"object-id\" value=\"o1\"/><string key=\"object-id\" value=\"i1\"/></list>" +
+        "<list key=\"vmap\"><int key=\"amount\" value=\"42\"/></list>" +
+        "</event>" +
+        "<event>" +
+        "<string key=\"id\" value=\"e2\"/>" +
+        "<string key=\"activity\" value=\"pick item\"/>" +
+        "<list key=\"omap\"><string key=\"object-id\" value=\"i1\"/></list>" +
+        "<list key=\"vmap\"/>" +
+        "</event>" +
+        "</events>" +
+        "<objects>" +
+        "<object>" +
+        "<string key=\"id\" value=\"o1\"/>" +
+        "<string key=\"type\" value=\"order\"/>" +
+        "<list key=\"ovmap\"><string key=\"customer\" value=\"alice\"/></list>" +
+        "</object>" +
+        "<object><string key=\"id\" value=\"i1\"/><string key=\"type\" value=\"item\"/><list key=\"ovmap\"/></object>" +
+        "</objects>" +
+        "</log>";
+
+    @Test
+    public void parsesEventsAndObjects() {
+        RecordingHandler handler = new RecordingHandler();
+
+        new OcelXmlParser().parse(new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), handler);
+
+        assertThat(handler.records).containsExactly(
+            "event e1 place order 2021-01-04T09:00:00Z [o1, i1] {amount=42}",
+            "event e2 pick item null [i1] {}",
+            "object o1 order {customer=alice}",
+            "object i1 item {}"
+        );
+    }
+
+    @Test
+    public void rejectsObjectWithoutType() {
+        String ocel = "<log><objects><object><string key=\"id\" value=\"o1\"/></object></objects></log>";
+
+        assertThatThrownBy(
+                () -> new OcelXmlParser().parse(new ByteArrayInputStream(ocel.getBytes(StandardCharsets.UTF_8)), new RecordingHandler())
+            )
+            .isInstanceOf(InvalidEventLogException.class);
+    }
+
+    private static class RecordingHandler implements ObjectCentricEventLogHandler {
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        public void object(String objectId, String objectType, Map<String, String> attributes) {
+            records.add("object " + objectId + " " + objectType + " " + attributes);
+        }
+
+        @Override
+        public void event(String eventId, String activity, Instant timestamp, List<String> objectIds, Map<String, String> attributes) {
+            records.add("event " + eventId + " " + activity + " " + timestamp + " " + objectIds + " " + attributes);
+        }
+    }
+}
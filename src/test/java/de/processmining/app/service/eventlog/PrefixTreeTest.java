@@ -0,0 +1,63 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link PrefixTree}.
+ */
+public class PrefixTreeTest {
+
+    @Test
+    public void sharesCommonPrefixes() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", 1L, null)
+            .addEvent("c2", "A", 0L, null)
+            .addEvent("c2", "C", 1L, null)
+            .addEvent("c3", "A", 0L, null)
+            .addEvent("c3", "B", 1L, null)
+            .addEvent("c4", "A", 0L, null)
+            .build();
+
+        PrefixTree tree = PrefixTree.of(log);
+
+        assertThat(tree.nodeCount()).isEqualTo(4);
+        assertThat(tree.traceCount(PrefixTree.ROOT)).isEqualTo(4);
+        assertThat(tree.childCount(PrefixTree.ROOT)).isEqualTo(1);
+        int a = tree.child(PrefixTree.ROOT, 0);
+        assertThat(tree.traceCount(a)).isEqualTo(4);
+        assertThat(tree.caseCount(a)).isEqualTo(1);
+        assertThat(log.caseId(tree.caseIndex(a, 0))).isEqualTo("c4");
+        assertThat(tree.childCount(a)).isEqualTo(2);
+        int ab = tree.child(a, 0);
+        assertThat(log.activityName(tree.activity(ab))).isEqualTo("B");
+        assertThat(tree.depth(ab)).isEqualTo(2);
+        assertThat(tree.caseCount(ab)).isEqualTo(2);
+        assertThat(tree.trace(ab)).containsExactly(log.activityCode("A"), log.activityCode("B"));
+        assertThat(tree.parent(ab)).isEqualTo(a);
+    }
+
+    @Test
+    public void movesUpdatedCasesToTheirNewTrace() {
+        EventLog log = new EventLogBuilder().addEvent("c1", "A", 0L, null).addEvent("c2", "B", 0L, null).build();
+        PrefixTree tree = PrefixTree.of(log);
+        EventLog appendedEvents = new EventLogBuilder().addEvent("c2", "A", -1L, null).build();
+
+        EventLog appended = log.append(appendedEvents, 1);
+        PrefixTree updated = tree.update(appended, new int[] { 1 });
+
+        // c2 is now A B: the node of B under the root is left without trace
+        assertThat(updated.childCount(PrefixTree.ROOT)).isEqualTo(1);
+        int a = updated.child(PrefixTree.ROOT, 0);
+        assertThat(updated.traceCount(a)).isEqualTo(2);
+        assertThat(updated.caseCount(a)).isEqualTo(1);
+        int ab = updated.child(a, 0);
+        assertThat(updated.caseNode(1)).isEqualTo(ab);
+        assertThat(appended.caseId(updated.caseIndex(ab, 0))).isEqualTo("c2");
+        assertThat(updated.traceCount(tree.child(PrefixTree.ROOT, 1))).isEqualTo(0);
+        assertThat(tree.childCount(PrefixTree.ROOT)).isEqualTo(2);
+        assertThat(tree.traceCount(tree.child(PrefixTree.ROOT, 1))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,79 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link VariantIndex}.
+ */
+public class VariantIndexTest {
+
+    @Test
+    public void ranksVariantsByCaseCount() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c2", "A", 0L, null)
+            .addEvent("c2", "C", 1L, null)
+            .addEvent("c3", "A", 0L, null)
+            .addEvent("c3", "B", 1L, null)
+            .addEvent("c4", "A", 0L, null)
+            .addEvent("c4", "C", 1L, null)
+            .addEvent("c5", "A", 0L, null)
+            .addEvent("c5", "B", 1L, null)
+            .addEvent("c6", "A", 0L, null)
+            .addEvent("c6", "C", 1L, null)
+            .build();
+
+        VariantIndex index = VariantIndex.of(log);
+
+        assertThat(index.variantCount()).isEqualTo(3);
+        assertThat(index.caseCount()).isEqualTo(6);
+        assertThat(index.trace(0)).containsExactly(log.activityCode("A"), log.activityCode("C"));
+        assertThat(index.caseCount(0)).isEqualTo(3);
+        assertThat(index.trace(1)).containsExactly(log.activityCode("A"), log.activityCode("B"));
+        assertThat(index.caseCount(1)).isEqualTo(2);
+        assertThat(index.trace(2)).containsExactly(log.activityCode("A"));
+        assertThat(log.caseId(index.caseIndex(2, 0))).isEqualTo("c1");
+        assertThat(index.getPrefixTree().caseCount(index.node(1))).isEqualTo(2);
+    }
+
+    @Test
+    public void indexesEmptyLog() {
+        VariantIndex index = VariantIndex.of(new EventLogBuilder().build());
+
+        assertThat(index.variantCount()).isEqualTo(0);
+        assertThat(index.caseCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void updatesIndexWithAppendedEvents() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c2", "A", 0L, null)
+            .addEvent("c2", "B", 1L, null)
+            .addEvent("c3", "A", 0L, null)
+            .build();
+        VariantIndex index = VariantIndex.of(log);
+        EventLog appendedEvents = new EventLogBuilder()
+            .addEvent("c1", "B", 1L, null)
+            .addEvent("c3", "C", 1L, null)
+            .addEvent("c4", "A", 0L, null)
+            .addEvent("c4", "B", 1L, null)
+            .build();
+
+        EventLog appended = log.append(appendedEvents, 1);
+        VariantIndex updated = index.update(appended, appendedEvents);
+
+        assertThat(updated.caseCount()).isEqualTo(4);
+        assertThat(updated.variantCount()).isEqualTo(2);
+        assertThat(updated.trace(0)).containsExactly(appended.activityCode("A"), appended.activityCode("B"));
+        assertThat(updated.caseCount(0)).isEqualTo(3);
+        assertThat(appended.caseId(updated.caseIndex(0, 0))).isEqualTo("c1");
+        assertThat(appended.caseId(updated.caseIndex(0, 2))).isEqualTo("c4");
+        assertThat(updated.trace(1)).containsExactly(appended.activityCode("A"), appended.activityCode("C"));
+        assertThat(appended.caseId(updated.caseIndex(1, 0))).isEqualTo("c3");
+        assertThat(index.variantCount()).isEqualTo(2);
+        assertThat(index.caseCount(index.rank(index.getPrefixTree().caseNode(0)))).isEqualTo(2);
+    }
+}
@@ -0,0 +1,93 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.processmining.app.service.InvalidEventLogException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link XesEventLogParser}.
+ */
+public class XesEventLogParserTest {
+    private static final String LOG =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+        "<log xes.version=\"1.0\">" +
+        "<extension name=\"Concept\" prefix=\"concept\" uri=\"http://www.xes-standard.org/concept.xesext\"/>" +
+        "<global scope=\"event\"><string key=\"concept:name\" value=\"__INVALID__\"/></global>" +
+        "<string key=\"concept:name\" value=\"log name\"/>" +
+        "<trace>" +
+        "<string key=\"concept:name\" value=\"case-1\"/>" +
+        "<string key=\"region\" value=\"EU\"/>" +
+        "<event>" +
+        "<string key=\"concept:name\" value=\"register\"/>" +
+        "<date key=\"time:timestamp\" value=\"2021-01-04T10:00:00.000+01:00\"/>" +
+        "<string key=\"org:resource\" value=\"alice\"/>" +
+        "<int key=\"amount\" value=\"42\"/>" +
+        "<list key=\"items\"><values><string key=\"item\" value=\"nested\"/></values></list>" +
+        "</event>" +
+        "<event>" +
+        "<string key=\"concept:name\" value=\"approve\"/>" +
+        "<date key=\"time:timestamp\" value=\"2021-01-04T12:30:00\"/>" +
+        "</event>" +
+        "</trace>" +
+        "<trace>" +
+        "<event><string key=\"concept:name\" value=\"register\"/></event>" +
+        "</trace>" +
+        "</log>";
+
+    @Test
+    public void parsesTracesAndEvents() {
+        RecordingHandler handler = new RecordingHandler();
+
+        new XesEventLogParser().parse(new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), handler);
+
+        assertThat(handler.records).containsExactly(
+            "trace case-1 {region=EU}",
+            "event case-1 register 2021-01-04T09:00:00Z alice {amount=42, items=null}",
+            "event case-1 approve 2021-01-04T12:30:00Z null {}",
+            "trace 2 {}",
+            "event 2 register null null {}"
+        );
+    }
+
+    @Test
+    public void rejectsEventWithoutActivity() {
+        String xes = "<log><trace><string key=\"concept:name\" value=\"c\"/><event/></trace></log>";
+
+        assertThatThrownBy(
+                () -> new XesEventLogParser().parse(new ByteArrayInputStream(xes.getBytes(StandardCharsets.UTF_8)), new RecordingHandler())
+            )
+            .isInstanceOf(InvalidEventLogException.class);
+    }
+
+    @Test
+    public void rejectsMalformedDocument() {
+        String xes = "<log><trace>";
+
+        assertThatThrownBy(
+                () -> new XesEventLogParser().parse(new ByteArrayInputStream(xes.getBytes(StandardCharsets.UTF_8)), new RecordingHandler())
+            )
+            .isInstanceOf(InvalidEventLogException.class);
+    }
+
+    private static class RecordingHandler implements EventLogHandler {
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        public void trace(String caseId, Map<String, String> attributes) {
+            records.add("trace " + caseId + " " + attributes);
+        }
+
+        @Override
+        public void event(String caseId, String activity, Instant timestamp, String resource, Map<String, String> attributes) {
+            records.add("event " + caseId + " " + activity + " " + timestamp + " " + resource + " " + attributes);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.processmining.app.service.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link XesEventLogWriter}.
+ */
+public class XesEventLogWriterTest {
+
+    @Test
+    public void writesCasesReadableByParser() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        XesEventLogWriter writer = new XesEventLogWriter(output);
+        writer.startCase("case-1", Collections.singletonMap("priority", "high"));
+        writer.event("register", Instant.parse("2021-01-04T09:00:00Z"), "alice", Collections.emptyMap());
+        writer.event("approve <fast> & \"safe\"", Instant.parse("2021-01-04T10:00:00Z"), null, Collections.singletonMap("cost", "12"));
+        writer.startCase("case-3", Collections.emptyMap());
+        writer.event("reject", Instant.ofEpochMilli(1L), "carol", Collections.emptyMap());
+        writer.finish();
+
+        List<String> records = new ArrayList<>();
+        new XesEventLogParser()
+            .parse(
+                new ByteArrayInputStream(output.toByteArray()),
+                new EventLogHandler() {
+                    @Override
+                    public void trace(String caseId, Map<String, String> attributes) {
+                        records.add("trace " + caseId + " " + attributes);
+                    }
+
+                    @Override
+                    public void event(String caseId, String activity, Instant timestamp, String resource, Map<String, String> attributes) {
+                        records.add("event " + caseId + " " + activity + " " + timestamp + " " + resource + " " + attributes);
+                    }
+                }
+            );
+        assertThat(records).containsExactly(
+            "trace case-1 {priority=high}",
+            "event case-1 register 2021-01-04T09:00:00Z alice {}",
+            "event case-1 approve <fast> & \"safe\" 2021-01-04T10:00:00Z null {cost=12}",
+            "trace case-3 {}",
+            "event case-3 reject 1970-01-01T00:00:00.001Z carol {}"
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link DirectlyFollowsMiner}.
+ */
+public class DirectlyFollowsMinerTest {
+
+    @Test
+    public void countsDirectlyFollowsRelations() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", 1000L, null)
+            .addEvent("c1", "C", 3000L, null)
+            .addEvent("c2", "A", 0L, null)
+            .addEvent("c2", "B", 3000L, null)
+            .addEvent("c3", "A", EventLog.NO_TIMESTAMP, null)
+            .addEvent("c3", "C", 500L, null)
+            .build();
+        int a = log.activityCode("A");
+        int b = log.activityCode("B");
+        int c = log.activityCode("C");
+
+        DirectlyFollowsGraph graph = DirectlyFollowsMiner.mine(log, ForkJoinPool.commonPool());
+
+        assertThat(graph.getCaseCount()).isEqualTo(3L);
+        assertThat(graph.getActivityFrequency(a)).isEqualTo(3L);
+        assertThat(graph.getStartFrequency(a)).isEqualTo(3L);
+        assertThat(graph.getEndFrequency(b)).isEqualTo(1L);
+        assertThat(graph.getEndFrequency(c)).isEqualTo(2L);
+        assertThat(graph.getEdgeFrequency(a, b)).isEqualTo(2L);
+        assertThat(graph.getEdgeDurationSum(a, b)).isEqualTo(4000L);
+        assertThat(graph.getEdgeTimedFrequency(a, b)).isEqualTo(2L);
+        assertThat(graph.getEdgeFrequency(a, c)).isEqualTo(1L);
+        assertThat(graph.getEdgeTimedFrequency(a, c)).isEqualTo(0L);
+        assertThat(graph.getEdgeFrequency(b, a)).isEqualTo(0L);
+    }
+
+    @Test
+    public void parallelComputationMatchesSequentialOne() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int i = 0; i < 20000; i++) {
+            int length = 1 + i % 5;
+            for (int j = 0; j < length; j++) {
+                builder.addEvent("c" + i, "A" + ((i + j * j) % 7), j * 10L, null);
+            }
+        }
+        EventLog log = builder.build();
+
+        DirectlyFollowsGraph parallel = DirectlyFollowsMiner.mine(log, new ForkJoinPool(4));
+        DirectlyFollowsGraph sequential = DirectlyFollowsMiner.mine(log, 0, log.caseCount());
+
+        assertThat(parallel.getCaseCount()).isEqualTo(sequential.getCaseCount());
+        for (int from = 0; from < log.activityCount(); from++) {
+            assertThat(parallel.getActivityFrequency(from)).isEqualTo(sequential.getActivityFrequency(from));
+            for (int to = 0; to < log.activityCount(); to++) {
+                assertThat(parallel.getEdgeFrequency(from, to)).isEqualTo(sequential.getEdgeFrequency(from, to));
+                assertThat(parallel.getEdgeDurationSum(from, to)).isEqualTo(sequential.getEdgeDurationSum(from, to));
+            }
+        }
+    }
+}
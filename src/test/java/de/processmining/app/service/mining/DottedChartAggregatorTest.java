@@ -0,0 +1,91 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link DottedChartAggregator}.
+ */
+public class DottedChartAggregatorTest {
+
+    @Test
+    public void aggregatesEventsIntoCellsOfCasesOrderedByStartTime() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("late", "A", 50L, null)
+            .addEvent("late", "B", 99L, null)
+            .addEvent("early", "A", 0L, null)
+            .addEvent("early", "B", 10L, null)
+            .addEvent("early", "C", 30L, null)
+            .addEvent("untimed", "A", EventLog.NO_TIMESTAMP, null)
+            .build();
+        int a = log.activityCode("A");
+        int b = log.activityCode("B");
+        int c = log.activityCode("C");
+
+        DottedChart chart = DottedChartAggregator.aggregate(log, 4, 10, ForkJoinPool.commonPool());
+
+        assertThat(chart.getStartTime()).isEqualTo(0L);
+        assertThat(chart.getEndTime()).isEqualTo(99L);
+        assertThat(chart.getRowCount()).isEqualTo(3);
+        assertThat(log.caseId(chart.getRowFirstCase(0))).isEqualTo("early");
+        assertThat(chart.getRowEndTime(0)).isEqualTo(30L);
+        assertThat(log.caseId(chart.getRowFirstCase(2))).isEqualTo("untimed");
+        assertThat(chart.getRowStartTime(2)).isEqualTo(EventLog.NO_TIMESTAMP);
+        assertThat(chart.getCellCount()).isEqualTo(4);
+        // the two events of the early case in the first quarter of the time span share a cell
+        assertThat(chart.getCellRow(0)).isEqualTo(0);
+        assertThat(chart.getCellColumn(0)).isEqualTo(0);
+        assertThat(chart.getCellEventCount(0)).isEqualTo(2);
+        assertThat(chart.getCellFirstActivity(0)).isEqualTo(a);
+        assertThat(chart.getCellLastTime(0)).isEqualTo(10L);
+        assertThat(chart.getCellLastActivity(0)).isEqualTo(b);
+        assertThat(chart.getCellColumn(1)).isEqualTo(1);
+        assertThat(chart.getCellFirstActivity(1)).isEqualTo(c);
+        assertThat(chart.getCellRow(2)).isEqualTo(1);
+        assertThat(chart.getCellColumn(2)).isEqualTo(2);
+        assertThat(chart.getCellColumn(3)).isEqualTo(3);
+    }
+
+    @Test
+    public void splitsCasesEvenlyIntoRows() {
+        Random random = new Random(11);
+        EventLogBuilder builder = new EventLogBuilder();
+        long eventCount = 0;
+        for (int c = 0; c < 10000; c++) {
+            long time = random.nextInt(1000000);
+            for (int e = 0; e < 1 + random.nextInt(5); e++) {
+                builder.addEvent("c" + c, "A" + random.nextInt(4), time + e * 1000L, null);
+                eventCount++;
+            }
+        }
+        EventLog log = builder.build();
+
+        DottedChart parallel = DottedChartAggregator.aggregate(log, 300, 700, new ForkJoinPool(4));
+        DottedChart sequential = DottedChartAggregator.aggregate(log, 300, 700, new ForkJoinPool(1));
+
+        assertThat(parallel.getRowCount()).isEqualTo(700);
+        long cases = 0;
+        long previousStart = Long.MIN_VALUE;
+        for (int r = 0; r < parallel.getRowCount(); r++) {
+            assertThat(parallel.getRowCaseCount(r) >= 14 && parallel.getRowCaseCount(r) <= 15).isEqualTo(true);
+            assertThat(parallel.getRowStartTime(r) >= previousStart).isEqualTo(true);
+            previousStart = parallel.getRowStartTime(r);
+            cases += parallel.getRowCaseCount(r);
+        }
+        assertThat(cases).isEqualTo(10000L);
+        long events = 0;
+        assertThat(parallel.getCellCount()).isEqualTo(sequential.getCellCount());
+        for (int cell = 0; cell < parallel.getCellCount(); cell++) {
+            assertThat(parallel.getCellRow(cell)).isEqualTo(sequential.getCellRow(cell));
+            assertThat(parallel.getCellColumn(cell)).isEqualTo(sequential.getCellColumn(cell));
+            assertThat(parallel.getCellFirstTime(cell) <= parallel.getCellLastTime(cell)).isEqualTo(true);
+            events += parallel.getCellEventCount(cell);
+        }
+        assertThat(events).isEqualTo(eventCount);
+    }
+}
@@ -0,0 +1,117 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link WindowedDirectlyFollowsGraph} and the {@link DriftDetector}.
+ */
+public class DriftDetectorTest {
+    private static final long DAY = 86400000L;
+
+    /**
+     * 2021-01-04, a Monday.
+     */
+    private static final long MONDAY = 18631 * DAY;
+
+    /**
+     * Add cases A, B, C to the log, then after the given week cases A, C, B.
+     */
+    private static EventLog createLog(int casesPerWeek, int changedWeek) {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int week = 0; week < 3; week++) {
+            for (int i = 0; i < casesPerWeek; i++) {
+                String caseId = week + "-" + i;
+                long start = MONDAY + week * 7 * DAY + (i % 7) * DAY;
+                builder.addEvent(caseId, "A", start, null);
+                builder.addEvent(caseId, week < changedWeek ? "B" : "C", start + 1000, null);
+                builder.addEvent(caseId, week < changedWeek ? "C" : "B", start + 2000, null);
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void buildsWeeklySnapshots() {
+        EventLog log = createLog(10, 2);
+
+        WindowedDirectlyFollowsGraph graphs = WindowedDirectlyFollowsGraph.of(log, TimeWindow.WEEK);
+
+        assertThat(graphs.windowCount()).isEqualTo(3);
+        assertThat(graphs.windowStart(0)).isEqualTo(MONDAY);
+        assertThat(graphs.windowStart(2)).isEqualTo(MONDAY + 14 * DAY);
+        assertThat(graphs.caseCount(1)).isEqualTo(10L);
+        int n = log.activityCount();
+        int a = log.activityCode("A");
+        int b = log.activityCode("B");
+        int c = log.activityCode("C");
+        assertThat(graphs.keys(0))
+            .containsExactly(
+                WindowedDirectlyFollowsGraph.edgeKey(n, a, b),
+                WindowedDirectlyFollowsGraph.edgeKey(n, b, c),
+                WindowedDirectlyFollowsGraph.startKey(n, a),
+                WindowedDirectlyFollowsGraph.endKey(n, c)
+            );
+        assertThat(graphs.counts(0)).containsExactly(10L, 10L, 10L, 10L);
+    }
+
+    @Test
+    public void buildsDailySnapshotsWithoutEmptyWindows() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", MONDAY + 1000, null)
+            .addEvent("c2", "A", MONDAY + 3 * DAY, null)
+            .addEvent("c3", "A", EventLog.NO_TIMESTAMP, null)
+            .build();
+
+        WindowedDirectlyFollowsGraph graphs = WindowedDirectlyFollowsGraph.of(log, TimeWindow.DAY);
+
+        assertThat(graphs.windowCount()).isEqualTo(2);
+        assertThat(graphs.windowStart(1)).isEqualTo(MONDAY + 3 * DAY);
+    }
+
+    @Test
+    public void detectsChangedOrderOfActivities() {
+        EventLog log = createLog(50, 2);
+
+        List<DriftDetector.Comparison> comparisons = DriftDetector.detect(
+            WindowedDirectlyFollowsGraph.of(log, TimeWindow.WEEK),
+            0.01,
+            0.1
+        );
+
+        assertThat(comparisons).hasSize(2);
+        assertThat(comparisons.get(0).isDrift()).isFalse();
+        assertThat(comparisons.get(0).getPValue()).isEqualTo(1.0);
+        assertThat(comparisons.get(1).isDrift()).isTrue();
+        assertThat(comparisons.get(1).getPValue()).isLessThan(1e-10);
+        assertThat(comparisons.get(1).getEffectSize()).isGreaterThan(0.5);
+        assertThat(comparisons.get(1).getChanges()).isNotEmpty();
+    }
+
+    @Test
+    public void ignoresSmallWindows() {
+        EventLog log = createLog(2, 2);
+
+        List<DriftDetector.Comparison> comparisons = DriftDetector.detect(
+            WindowedDirectlyFollowsGraph.of(log, TimeWindow.WEEK),
+            0.01,
+            0.1
+        );
+
+        assertThat(comparisons.get(1).isDrift()).isFalse();
+    }
+
+    @Test
+    public void computesChiSquarePValues() {
+        assertThat(DriftDetector.chiSquarePValue(3.841459, 1)).isCloseTo(0.05, within(1e-6));
+        assertThat(DriftDetector.chiSquarePValue(11.0705, 5)).isCloseTo(0.05, within(1e-5));
+        assertThat(DriftDetector.chiSquarePValue(0.5, 2)).isCloseTo(Math.exp(-0.25), within(1e-9));
+        assertThat(DriftDetector.chiSquarePValue(100, 10)).isLessThan(1e-15);
+        assertThat(DriftDetector.chiSquarePValue(0, 3)).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,121 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link HeuristicsMiner}.
+ */
+public class HeuristicsMinerTest {
+
+    @Test
+    public void discoversParallelAndExclusiveBranches() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 10; c++) {
+            addTrace(builder, "p" + c, "A", "B", "C", "D");
+            addTrace(builder, "q" + c, "A", "C", "B", "D");
+            addTrace(builder, "x" + c, "X", "Y", "Z");
+            addTrace(builder, "y" + c, "X", "W", "Z");
+        }
+
+        CausalNet net = HeuristicsMiner.mine(builder.build(), new HeuristicsMiner.Parameters(), ForkJoinPool.commonPool());
+
+        assertThat(net.getArcs()).hasSize(8);
+        assertThat(arc(net, "A", "B").getFrequency()).isEqualTo(10L);
+        assertThat(arc(net, "A", "B").getDependency()).isEqualTo(10.0 / 11);
+        assertThat(arc(net, "B", "C")).isNull();
+        assertThat(activity(net, "A").getStartFrequency()).isEqualTo(20L);
+        assertThat(activity(net, "A").getOutputs()).containsExactly(Collections.singletonList("B"), Collections.singletonList("C"));
+        assertThat(activity(net, "D").getInputs()).containsExactly(Collections.singletonList("B"), Collections.singletonList("C"));
+        assertThat(activity(net, "D").getEndFrequency()).isEqualTo(20L);
+        assertThat(activity(net, "X").getOutputs()).containsExactly(Arrays.asList("Y", "W"));
+        assertThat(activity(net, "Z").getInputs()).containsExactly(Arrays.asList("Y", "W"));
+    }
+
+    @Test
+    public void discoversShortLoops() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 5; c++) {
+            addTrace(builder, "p" + c, "P", "Q", "Q", "Q", "R");
+        }
+        for (int c = 0; c < 10; c++) {
+            addTrace(builder, "s" + c, "S", "T", "S", "U");
+        }
+
+        CausalNet net = HeuristicsMiner.mine(builder.build(), new HeuristicsMiner.Parameters(), ForkJoinPool.commonPool());
+
+        assertThat(arc(net, "Q", "Q").getFrequency()).isEqualTo(10L);
+        assertThat(activity(net, "Q").getOutputs()).containsExactly(Arrays.asList("Q", "R"));
+        assertThat(arc(net, "S", "T")).isNotNull();
+        assertThat(arc(net, "T", "S")).isNotNull();
+        assertThat(arc(net, "S", "U")).isNotNull();
+    }
+
+    @Test
+    public void filtersInfrequentBehaviour() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 50; c++) {
+            addTrace(builder, "a" + c, "A", "B", "C");
+        }
+        addTrace(builder, "noise", "A", "C");
+
+        CausalNet strict = HeuristicsMiner.mine(builder.build(), new HeuristicsMiner.Parameters(), ForkJoinPool.commonPool());
+        CausalNet lenient = HeuristicsMiner.mine(
+            builder.build(),
+            new HeuristicsMiner.Parameters().dependencyThreshold(0.5).relativeToBest(1),
+            ForkJoinPool.commonPool()
+        );
+
+        assertThat(arc(strict, "A", "C")).isNull();
+        assertThat(strict.getArcs()).hasSize(2);
+        assertThat(arc(lenient, "A", "C").getFrequency()).isEqualTo(1L);
+    }
+
+    @Test
+    public void parallelCountsMatchSequentialOnes() {
+        Random random = new Random(5);
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 20000; c++) {
+            for (int e = 0; e < 1 + random.nextInt(6); e++) {
+                builder.addEvent("c" + c, "A" + random.nextInt(8), e, null);
+            }
+        }
+        EventLog log = builder.build();
+
+        HeuristicsMiner.Counts parallel = HeuristicsMiner.count(log, new ForkJoinPool(4));
+        HeuristicsMiner.Counts sequential = HeuristicsMiner.count(log, 0, log.caseCount());
+
+        for (int a = 0; a < log.activityCount(); a++) {
+            for (int b = 0; b < log.activityCount(); b++) {
+                assertThat(parallel.follows(a, b)).isEqualTo(sequential.follows(a, b));
+                assertThat(parallel.twoLoops(a, b)).isEqualTo(sequential.twoLoops(a, b));
+            }
+        }
+    }
+
+    private static void addTrace(EventLogBuilder builder, String caseId, String... activities) {
+        for (int e = 0; e < activities.length; e++) {
+            builder.addEvent(caseId, activities[e], e, null);
+        }
+    }
+
+    private static CausalNet.Arc arc(CausalNet net, String source, String target) {
+        return net
+            .getArcs()
+            .stream()
+            .filter(arc -> arc.getSource().equals(source) && arc.getTarget().equals(target))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static CausalNet.Activity activity(CausalNet net, String name) {
+        return net.getActivities().stream().filter(activity -> activity.getName().equals(name)).findFirst().orElse(null);
+    }
+}
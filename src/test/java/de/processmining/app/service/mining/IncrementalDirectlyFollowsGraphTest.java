@@ -0,0 +1,75 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link IncrementalDirectlyFollowsGraph}.
+ */
+public class IncrementalDirectlyFollowsGraphTest {
+
+    @Test
+    public void appendedEventsGiveTheGraphOfTheWholeLog() {
+        EventLog initial = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", 1000L, null)
+            .addEvent("c2", "A", 0L, null)
+            .build();
+        IncrementalDirectlyFollowsGraph incremental = IncrementalDirectlyFollowsGraph.of(
+            initial,
+            DirectlyFollowsMiner.mine(initial, ForkJoinPool.commonPool())
+        );
+
+        assertThat(incremental.append("c1", "C", 3000L)).isTrue();
+        assertThat(incremental.append("c2", "B", 500L)).isTrue();
+        assertThat(incremental.append("c3", "D", 0L)).isTrue();
+        assertThat(incremental.append("c3", "A", 100L)).isTrue();
+
+        EventLog whole = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", 1000L, null)
+            .addEvent("c1", "C", 3000L, null)
+            .addEvent("c2", "A", 0L, null)
+            .addEvent("c2", "B", 500L, null)
+            .addEvent("c3", "D", 0L, null)
+            .addEvent("c3", "A", 100L, null)
+            .build();
+        DirectlyFollowsGraph expected = DirectlyFollowsMiner.mine(whole, 0, whole.caseCount());
+        DirectlyFollowsGraph actual = incremental.snapshot();
+
+        assertThat(incremental.caseCount()).isEqualTo(3);
+        assertThat(actual.getActivityCount()).isEqualTo(4);
+        assertThat(actual.getCaseCount()).isEqualTo(expected.getCaseCount());
+        for (int from = 0; from < actual.getActivityCount(); from++) {
+            int expectedFrom = whole.activityCode(incremental.activityName(from));
+            assertThat(actual.getActivityFrequency(from)).isEqualTo(expected.getActivityFrequency(expectedFrom));
+            assertThat(actual.getStartFrequency(from)).isEqualTo(expected.getStartFrequency(expectedFrom));
+            assertThat(actual.getEndFrequency(from)).isEqualTo(expected.getEndFrequency(expectedFrom));
+            for (int to = 0; to < actual.getActivityCount(); to++) {
+                int expectedTo = whole.activityCode(incremental.activityName(to));
+                assertThat(actual.getEdgeFrequency(from, to)).isEqualTo(expected.getEdgeFrequency(expectedFrom, expectedTo));
+                assertThat(actual.getEdgeDurationSum(from, to)).isEqualTo(expected.getEdgeDurationSum(expectedFrom, expectedTo));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsEventsOlderThanTheLastEventOfTheirCase() {
+        EventLog initial = new EventLogBuilder().addEvent("c1", "A", 1000L, null).build();
+        IncrementalDirectlyFollowsGraph incremental = IncrementalDirectlyFollowsGraph.of(
+            initial,
+            DirectlyFollowsMiner.mine(initial, ForkJoinPool.commonPool())
+        );
+
+        assertThat(incremental.append("c1", "B", 500L)).isFalse();
+
+        DirectlyFollowsGraph graph = incremental.snapshot();
+        assertThat(graph.getActivityCount()).isEqualTo(1);
+        assertThat(graph.getActivityFrequency(0)).isEqualTo(1L);
+        assertThat(graph.getEndFrequency(0)).isEqualTo(1L);
+    }
+}
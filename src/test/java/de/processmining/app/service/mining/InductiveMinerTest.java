@@ -0,0 +1,101 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link InductiveMiner}.
+ */
+public class InductiveMinerTest {
+
+    @Test
+    public void discoversSequenceAndChoice() {
+        EventLog log = log("a b c", "a b d", "a b c");
+
+        assertThat(mine(log, 0).toString()).isEqualTo("->(a, b, X(c, d))");
+    }
+
+    @Test
+    public void discoversParallelism() {
+        EventLog log = log("a b c d", "a c b d");
+
+        assertThat(mine(log, 0).toString()).isEqualTo("->(a, +(b, c), d)");
+    }
+
+    @Test
+    public void discoversLoop() {
+        EventLog log = log("a b", "a b c a b", "a b c a b c a b");
+
+        assertThat(mine(log, 0).toString()).isEqualTo("*(->(a, b), c)");
+    }
+
+    @Test
+    public void discoversOptionalActivity() {
+        EventLog log = log("a", "a b", "a b");
+
+        assertThat(mine(log, 0).toString()).isEqualTo("->(a, X(tau, b))");
+    }
+
+    @Test
+    public void discoversRepeatedActivity() {
+        EventLog log = log("a b", "a b b b");
+
+        assertThat(mine(log, 0).toString()).isEqualTo("->(a, *(b, tau))");
+    }
+
+    @Test
+    public void ignoresInfrequentlySkippedActivities() {
+        EventLog log = log(repeat("a b c", 20, "a c"));
+
+        assertThat(mine(log, 0.2).toString()).isEqualTo("->(a, b, c)");
+        assertThat(mine(log, 0).toString()).isEqualTo("->(a, X(tau, b), c)");
+    }
+
+    @Test
+    public void filtersInfrequentEdgesWhenNoCutIsFound() {
+        String[] traces = new String[21];
+        for (int i = 0; i < 10; i++) {
+            traces[2 * i] = "a b";
+            traces[2 * i + 1] = "a b c a b";
+        }
+        traces[20] = "a c a b";
+        EventLog log = log(traces);
+
+        assertThat(mine(log, 0.2).toString()).isEqualTo("*(->(a, b), c)");
+        assertThat(mine(log, 0).toString()).isEqualTo("*(tau, X(a, b, c))");
+    }
+
+    @Test
+    public void rejectsInvalidNoiseThreshold() {
+        assertThatThrownBy(() -> mine(log("a"), 1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProcessTree mine(EventLog log, double noiseThreshold) {
+        return InductiveMiner.mine(log, noiseThreshold, ForkJoinPool.commonPool());
+    }
+
+    private static String[] repeat(String trace, int count, String noise) {
+        String[] traces = new String[count + 1];
+        for (int i = 0; i < count; i++) {
+            traces[i] = trace;
+        }
+        traces[count] = noise;
+        return traces;
+    }
+
+    private static EventLog log(String... traces) {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < traces.length; c++) {
+            String[] activities = traces[c].split(" ");
+            for (int e = 0; e < activities.length; e++) {
+                builder.addEvent("case-" + c, activities[e], e, null);
+            }
+        }
+        return builder.build();
+    }
+}
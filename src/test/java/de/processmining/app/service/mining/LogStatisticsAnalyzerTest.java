@@ -0,0 +1,102 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LogStatisticsAnalyzer}.
+ */
+public class LogStatisticsAnalyzerTest {
+    private static final long HOUR = LogStatistics.HOUR;
+
+    @Test
+    public void computesFrequenciesDurationsAndThroughput() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", HOUR, null)
+            .addEvent("c1", "A", 2 * HOUR, null)
+            .addEvent("c2", "A", 3 * HOUR, null)
+            .addEvent("c2", "C", 3 * HOUR + 1000, null)
+            .addEvent("c3", "C", EventLog.NO_TIMESTAMP, null)
+            .build();
+        int a = log.activityCode("A");
+        int c = log.activityCode("C");
+
+        LogStatistics statistics = LogStatisticsAnalyzer.analyze(log, ForkJoinPool.commonPool());
+
+        assertThat(statistics.getCaseCount()).isEqualTo(3L);
+        assertThat(statistics.getEventCount()).isEqualTo(6L);
+        assertThat(statistics.getMinCaseLength()).isEqualTo(1);
+        assertThat(statistics.getMaxCaseLength()).isEqualTo(3);
+        assertThat(statistics.getActivityFrequency(a)).isEqualTo(3L);
+        assertThat(statistics.getActivityCaseFrequency(a)).isEqualTo(2L);
+        assertThat(statistics.getStartFrequency(a)).isEqualTo(2L);
+        assertThat(statistics.getEndFrequency(a)).isEqualTo(1L);
+        assertThat(statistics.getEndFrequency(c)).isEqualTo(2L);
+        assertThat(statistics.getStartTime()).isEqualTo(0L);
+        assertThat(statistics.getEndTime()).isEqualTo(3 * HOUR + 1000);
+        // only the two timed cases have a duration
+        assertThat(statistics.getDurations().count()).isEqualTo(2L);
+        assertThat(statistics.getMeanDuration()).isCloseTo((2 * HOUR + 1000) / 2.0, within(1e-9));
+        assertThat(statistics.getDurationFrequency(LogStatistics.durationBucket(1000))).isEqualTo(1L);
+        assertThat(statistics.getDurationFrequency(LogStatistics.durationBucket(2 * HOUR))).isEqualTo(1L);
+        assertThat(statistics.getThroughputStart()).isEqualTo(0L);
+        assertThat(statistics.getThroughputBucketSize()).isEqualTo(HOUR);
+        assertThat(statistics.getThroughputBucketCount()).isEqualTo(4);
+        assertThat(statistics.getStartedCases(0)).isEqualTo(1L);
+        assertThat(statistics.getCompletedCases(2)).isEqualTo(1L);
+        assertThat(statistics.getStartedCases(3)).isEqualTo(1L);
+        assertThat(statistics.getCompletedCases(3)).isEqualTo(1L);
+    }
+
+    @Test
+    public void groupsLongSpansIntoDays() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c2", "A", 3000 * HOUR, null)
+            .build();
+
+        LogStatistics statistics = LogStatisticsAnalyzer.analyze(log, ForkJoinPool.commonPool());
+
+        assertThat(statistics.getThroughputBucketSize()).isEqualTo(24 * HOUR);
+        assertThat(statistics.getThroughputBucketCount()).isEqualTo(126);
+        assertThat(statistics.getStartedCases(125)).isEqualTo(1L);
+    }
+
+    @Test
+    public void parallelComputationMatchesSequentialOne() {
+        Random random = new Random(7);
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 20000; c++) {
+            long time = random.nextInt(100) * HOUR;
+            for (int e = 0; e < 1 + random.nextInt(6); e++) {
+                time += random.nextInt(7200000);
+                builder.addEvent("c" + c, "A" + random.nextInt(5), time, null);
+            }
+        }
+        EventLog log = builder.build();
+
+        LogStatistics parallel = LogStatisticsAnalyzer.analyze(log, new ForkJoinPool(4));
+        LogStatistics sequential = LogStatisticsAnalyzer.analyze(log, 0, log.caseCount());
+        sequential.bucketThroughput(LogStatisticsAnalyzer.MAX_BUCKETS);
+
+        assertThat(parallel.getEventCount()).isEqualTo(sequential.getEventCount());
+        for (int a = 0; a < log.activityCount(); a++) {
+            assertThat(parallel.getActivityCaseFrequency(a)).isEqualTo(sequential.getActivityCaseFrequency(a));
+            assertThat(parallel.getStartFrequency(a)).isEqualTo(sequential.getStartFrequency(a));
+        }
+        for (int b = 0; b < LogStatistics.DURATION_BUCKETS; b++) {
+            assertThat(parallel.getDurationFrequency(b)).isEqualTo(sequential.getDurationFrequency(b));
+        }
+        assertThat(parallel.getThroughputBucketCount()).isEqualTo(sequential.getThroughputBucketCount());
+        for (int b = 0; b < parallel.getThroughputBucketCount(); b++) {
+            assertThat(parallel.getCompletedCases(b)).isEqualTo(sequential.getCompletedCases(b));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.ObjectCentricEventLog;
+import de.processmining.app.service.eventlog.ObjectCentricEventLogBuilder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ObjectCentricDirectlyFollowsMiner}.
+ */
+public class ObjectCentricDirectlyFollowsMinerTest {
+
+    @Test
+    public void minesOneGraphPerObjectTypeWithoutDuplicatingEvents() {
+        ObjectCentricEventLog log = new ObjectCentricEventLogBuilder()
+            .addObject("o1", "order")
+            .addObject("i1", "item")
+            .addObject("i2", "item")
+            .addEvent("e1", "place order", 1000L)
+            .addRelation("e1", "o1")
+            .addRelation("e1", "i1")
+            .addRelation("e1", "i2")
+            .addEvent("e2", "pick item", 2000L)
+            .addRelation("e2", "i1")
+            .addEvent("e3", "pick item", 4000L)
+            .addRelation("e3", "i2")
+            .addEvent("e4", "pay order", 5000L)
+            .addRelation("e4", "o1")
+            .build();
+        int order = log.objectTypeCode("order");
+        int item = log.objectTypeCode("item");
+        int place = 0;
+        int pick = 1;
+        int pay = 2;
+
+        DirectlyFollowsGraph[] graphs = ObjectCentricDirectlyFollowsMiner.mine(log, ForkJoinPool.commonPool());
+
+        assertThat(graphs).hasSize(2);
+        assertThat(graphs[item].getCaseCount()).isEqualTo(2L);
+        assertThat(graphs[item].getActivityFrequency(place)).isEqualTo(1L);
+        assertThat(graphs[item].getActivityFrequency(pick)).isEqualTo(2L);
+        assertThat(graphs[item].getStartFrequency(place)).isEqualTo(2L);
+        assertThat(graphs[item].getEdgeFrequency(place, pick)).isEqualTo(2L);
+        assertThat(graphs[item].getEdgeDurationSum(place, pick)).isEqualTo(4000L);
+        assertThat(graphs[item].getEdgeFrequency(pick, pick)).isEqualTo(0L);
+        assertThat(graphs[order].getCaseCount()).isEqualTo(1L);
+        assertThat(graphs[order].getActivityFrequency(pick)).isEqualTo(0L);
+        assertThat(graphs[order].getEdgeFrequency(place, pay)).isEqualTo(1L);
+        assertThat(graphs[order].getEndFrequency(pay)).isEqualTo(1L);
+    }
+
+    @Test
+    public void parallelComputationMatchesSequentialOne() {
+        Random random = new Random(11);
+        ObjectCentricEventLogBuilder builder = new ObjectCentricEventLogBuilder();
+        for (int o = 0; o < 20000; o++) {
+            builder.addObject("o" + o, "T" + (o % 3));
+        }
+        for (int e = 0; e < 60000; e++) {
+            builder.addEvent("e" + e, "A" + random.nextInt(6), random.nextInt(1000000));
+            for (int r = 0; r < 1 + random.nextInt(3); r++) {
+                builder.addRelation("e" + e, "o" + random.nextInt(20000));
+            }
+        }
+        ObjectCentricEventLog log = builder.build();
+
+        DirectlyFollowsGraph[] parallel = ObjectCentricDirectlyFollowsMiner.mine(log, new ForkJoinPool(4));
+        DirectlyFollowsGraph[] sequential = ObjectCentricDirectlyFollowsMiner.mine(log, 0, log.objectCount());
+
+        for (int t = 0; t < parallel.length; t++) {
+            assertThat(parallel[t].getCaseCount()).isEqualTo(sequential[t].getCaseCount());
+            for (int from = 0; from < log.activityCount(); from++) {
+                assertThat(parallel[t].getStartFrequency(from)).isEqualTo(sequential[t].getStartFrequency(from));
+                for (int to = 0; to < log.activityCount(); to++) {
+                    assertThat(parallel[t].getEdgeFrequency(from, to)).isEqualTo(sequential[t].getEdgeFrequency(from, to));
+                    assertThat(parallel[t].getEdgeDurationSum(from, to)).isEqualTo(sequential[t].getEdgeDurationSum(from, to));
+                }
+            }
+        }
+    }
+}
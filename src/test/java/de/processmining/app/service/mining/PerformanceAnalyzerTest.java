@@ -0,0 +1,80 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link PerformanceAnalyzer}.
+ */
+public class PerformanceAnalyzerTest {
+    private static final long HOUR = 3600000L;
+
+    private static final long DAY = 24 * HOUR;
+
+    @Test
+    public void sketchesEdgeDurationsAndThroughput() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", HOUR, null)
+            .addEvent("c2", "A", DAY, null)
+            .addEvent("c2", "B", DAY + 3 * HOUR, null)
+            .addEvent("c3", "A", EventLog.NO_TIMESTAMP, null)
+            .addEvent("c3", "B", DAY + 5 * HOUR, null)
+            .addEvent("c3", "C", 2 * DAY + HOUR, null)
+            .build();
+
+        PerformanceSpectrum spectrum = PerformanceAnalyzer.analyze(log, DAY, ForkJoinPool.commonPool());
+
+        assertThat(spectrum.getCaseCount()).isEqualTo(3L);
+        assertThat(spectrum.getBucketStart()).isEqualTo(0L);
+        assertThat(spectrum.getBucketCount()).isEqualTo(3);
+        assertThat(spectrum.getCaseThroughput(0)).isEqualTo(1L);
+        assertThat(spectrum.getCaseThroughput(1)).isEqualTo(1L);
+        assertThat(spectrum.getCaseThroughput(2)).isEqualTo(1L);
+        List<PerformanceSpectrum.Edge> edges = spectrum.getEdges();
+        assertThat(edges).hasSize(2);
+        PerformanceSpectrum.Edge ab = edges.get(0);
+        assertThat(ab.getSource()).isEqualTo(log.activityCode("A"));
+        assertThat(ab.getTarget()).isEqualTo(log.activityCode("B"));
+        assertThat(ab.getFrequency()).isEqualTo(3L);
+        assertThat(ab.getDurations().count()).isEqualTo(2L);
+        assertThat(ab.getDurations().min()).isEqualTo((double) HOUR);
+        assertThat(ab.getDurations().max()).isEqualTo((double) 3 * HOUR);
+        assertThat(ab.getThroughput(0)).isEqualTo(1L);
+        assertThat(ab.getThroughput(1)).isEqualTo(2L);
+        assertThat(edges.get(1).getDurations().quantile(0.5)).isEqualTo((double) 20 * HOUR);
+    }
+
+    @Test
+    public void widensBucketsBeyondMaximumCount() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, null)
+            .addEvent("c1", "B", 10000 * DAY, null)
+            .build();
+
+        PerformanceSpectrum spectrum = PerformanceAnalyzer.analyze(log, DAY, ForkJoinPool.commonPool());
+
+        assertThat(spectrum.getBucketCount()).isLessThanOrEqualTo(PerformanceAnalyzer.MAX_BUCKETS);
+        assertThat(spectrum.getBucketSize()).isGreaterThan(DAY);
+        assertThat(spectrum.getEdges().get(0).getThroughput(spectrum.getBucketCount() - 1)).isEqualTo(1L);
+    }
+
+    @Test
+    public void analyzesLogWithoutTimestamps() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", EventLog.NO_TIMESTAMP, null)
+            .addEvent("c1", "B", EventLog.NO_TIMESTAMP, null)
+            .build();
+
+        PerformanceSpectrum spectrum = PerformanceAnalyzer.analyze(log, DAY, ForkJoinPool.commonPool());
+
+        assertThat(spectrum.getBucketCount()).isEqualTo(0);
+        assertThat(spectrum.getEdges().get(0).getFrequency()).isEqualTo(1L);
+        assertThat(spectrum.getEdges().get(0).getDurations().count()).isEqualTo(0L);
+    }
+}
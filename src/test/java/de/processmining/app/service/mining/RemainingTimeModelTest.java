@@ -0,0 +1,97 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link RemainingTimeModel}.
+ */
+public class RemainingTimeModelTest {
+
+    @Test
+    public void annotatesStatesWithRemainingTimesOfCompletedCases() {
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 10; c++) {
+            builder.addEvent("c" + c, "A", 1000L * c, null);
+            builder.addEvent("c" + c, "B", 1000L * c + 10, null);
+            builder.addEvent("c" + c, "C", 1000L * c + 30, null);
+        }
+        for (int c = 10; c < 12; c++) {
+            builder.addEvent("c" + c, "D", 1000L * c, null);
+            builder.addEvent("c" + c, "B", 1000L * c + 100, null);
+            builder.addEvent("c" + c, "C", 1000L * c + 150, null);
+        }
+        // still running, as B mostly does not end cases
+        builder.addEvent("running", "A", 0L, null);
+        builder.addEvent("running", "B", 500L, null);
+        EventLog log = builder.build();
+
+        RemainingTimeModel model = RemainingTimeModel.train(log, 2, 5, ForkJoinPool.commonPool());
+
+        int ab = model.state(Arrays.asList("C", "A", "B"));
+        assertThat(model.stateActivities(ab)).containsExactly("A", "B");
+        assertThat(model.support(ab)).isEqualTo(10L);
+        assertThat(model.meanRemainingTime(ab)).isCloseTo(20.0, within(1e-9));
+        assertThat(model.p90RemainingTime(ab)).isCloseTo(20.0, within(1e-9));
+        int a = model.state(Collections.singletonList("A"));
+        assertThat(model.meanRemainingTime(a)).isCloseTo(30.0, within(1e-9));
+        // D-B is observed twice only, so the prediction backs off to B
+        int db = model.state(Arrays.asList("D", "B"));
+        assertThat(model.stateActivities(db)).containsExactly("B");
+        assertThat(model.support(db)).isEqualTo(12L);
+        assertThat(model.meanRemainingTime(db)).isCloseTo(25.0, within(1e-9));
+        // unknown activities end the suffix
+        assertThat(model.state(Arrays.asList("X", "B"))).isEqualTo(db);
+        int none = model.state(Collections.singletonList("X"));
+        assertThat(model.stateActivities(none)).hasSize(0);
+        assertThat(model.support(none)).isEqualTo(36L);
+    }
+
+    @Test
+    public void hasNoStateWithoutTimestamps() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", EventLog.NO_TIMESTAMP, null)
+            .addEvent("c1", "B", EventLog.NO_TIMESTAMP, null)
+            .build();
+
+        RemainingTimeModel model = RemainingTimeModel.train(log, 3, 1, ForkJoinPool.commonPool());
+
+        assertThat(model.stateCount()).isEqualTo(0);
+        assertThat(model.state(Arrays.asList("A", "B"))).isEqualTo(-1);
+    }
+
+    @Test
+    public void parallelTrainingMatchesSequentialOne() {
+        Random random = new Random(5);
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 20000; c++) {
+            long time = random.nextInt(1000000);
+            int length = 1 + random.nextInt(6);
+            for (int e = 0; e < length; e++) {
+                time += random.nextInt(3600);
+                builder.addEvent("c" + c, e == length - 1 ? "end" : "A" + random.nextInt(5), time, null);
+            }
+        }
+        EventLog log = builder.build();
+
+        RemainingTimeModel parallel = RemainingTimeModel.train(log, 3, 10, new ForkJoinPool(4));
+        RemainingTimeModel sequential = RemainingTimeModel.train(log, 3, 10);
+
+        assertThat(parallel.stateCount()).isEqualTo(sequential.stateCount());
+        for (int a = 0; a < 5; a++) {
+            int parallelState = parallel.state(Arrays.asList("A" + (4 - a), "A" + a));
+            int sequentialState = sequential.state(Arrays.asList("A" + (4 - a), "A" + a));
+            assertThat(parallel.stateActivities(parallelState)).isEqualTo(sequential.stateActivities(sequentialState));
+            assertThat(parallel.support(parallelState)).isEqualTo(sequential.support(sequentialState));
+            assertThat(parallel.meanRemainingTime(parallelState)).isCloseTo(sequential.meanRemainingTime(sequentialState), within(1e-6));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.processmining.app.service.eventlog.EventLog;
+import de.processmining.app.service.eventlog.EventLogBuilder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SocialNetworkMiner} and its {@link SparseLongMatrix}.
+ */
+public class SocialNetworkMinerTest {
+
+    @Test
+    public void minesHandoversWorkingTogetherAndSubcontracting() {
+        EventLog log = new EventLogBuilder()
+            .addEvent("c1", "A", 0L, "alice")
+            .addEvent("c1", "B", 1L, "bob")
+            .addEvent("c1", "C", 2L, "alice")
+            .addEvent("c2", "A", 0L, "alice")
+            .addEvent("c2", "B", 1L, null)
+            .addEvent("c2", "C", 2L, "carol")
+            .addEvent("c3", "A", 0L, "bob")
+            .addEvent("c3", "B", 1L, "bob")
+            .addEvent("c3", "C", 2L, "carol")
+            .build();
+        int alice = log.resourceCode("alice");
+        int bob = log.resourceCode("bob");
+        int carol = log.resourceCode("carol");
+
+        SocialNetwork network = SocialNetworkMiner.mine(log, ForkJoinPool.commonPool());
+
+        assertThat(network.getEventCount(bob)).isEqualTo(3L);
+        assertThat(network.getCaseCount(bob)).isEqualTo(2L);
+        assertThat(network.getHandovers().get(alice, bob)).isEqualTo(1L);
+        assertThat(network.getHandovers().get(bob, alice)).isEqualTo(1L);
+        assertThat(network.getHandovers().get(bob, carol)).isEqualTo(1L);
+        assertThat(network.getHandovers().get(alice, carol)).isEqualTo(0L);
+        assertThat(network.getHandovers().get(bob, bob)).isEqualTo(0L);
+        assertThat(network.getHandovers().size()).isEqualTo(3);
+        assertThat(network.getWorkingTogether().get(Math.min(alice, carol), Math.max(alice, carol))).isEqualTo(1L);
+        assertThat(network.getWorkingTogether().get(Math.min(bob, carol), Math.max(bob, carol))).isEqualTo(1L);
+        assertThat(network.getWorkingTogether().size()).isEqualTo(3);
+        assertThat(network.getSubcontracting().get(alice, bob)).isEqualTo(1L);
+        assertThat(network.getSubcontracting().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void parallelComputationMatchesSequentialOne() {
+        Random random = new Random(3);
+        EventLogBuilder builder = new EventLogBuilder();
+        for (int c = 0; c < 20000; c++) {
+            for (int e = 0; e < 1 + random.nextInt(6); e++) {
+                builder.addEvent("c" + c, "A" + random.nextInt(5), e, "r" + random.nextInt(300));
+            }
+        }
+        EventLog log = builder.build();
+
+        SocialNetwork parallel = SocialNetworkMiner.mine(log, new ForkJoinPool(4));
+        SocialNetwork sequential = SocialNetworkMiner.mine(log, 0, log.caseCount());
+
+        assertThat(parallel.getHandovers().size()).isEqualTo(sequential.getHandovers().size());
+        assertThat(parallel.getWorkingTogether().size()).isEqualTo(sequential.getWorkingTogether().size());
+        sequential.getHandovers().forEach((from, to, count) -> assertThat(parallel.getHandovers().get(from, to)).isEqualTo(count));
+        sequential.getSubcontracting().forEach((from, to, count) -> assertThat(parallel.getSubcontracting().get(from, to)).isEqualTo(count));
+    }
+
+    @Test
+    public void growsSparseMatrix() {
+        SparseLongMatrix matrix = new SparseLongMatrix();
+        for (int i = 0; i < 10000; i++) {
+            matrix.add(i, 8000 - i % 8000, 2);
+        }
+        matrix.add(5, 7995, 1);
+
+        assertThat(matrix.size()).isEqualTo(10000);
+        assertThat(matrix.get(5, 7995)).isEqualTo(3L);
+        assertThat(matrix.get(9999, 6001)).isEqualTo(2L);
+        assertThat(matrix.get(1, 1)).isEqualTo(0L);
+    }
+}
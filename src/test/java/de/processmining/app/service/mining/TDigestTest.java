@@ -0,0 +1,81 @@
+package de.processmining.app.service.mining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TDigest}.
+ */
+public class TDigestTest {
+
+    @Test
+    public void estimatesQuantilesOfSkewedDistribution() {
+        Random random = new Random(42);
+        double[] values = new double[200000];
+        TDigest digest = new TDigest(100);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -Math.log(1 - random.nextDouble()) * 1000;
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertThat(digest.count()).isEqualTo(200000L);
+        assertThat(digest.min()).isEqualTo(values[0]);
+        assertThat(digest.max()).isEqualTo(values[values.length - 1]);
+        for (double q : new double[] { 0.001, 0.01, 0.5, 0.9, 0.99, 0.999 }) {
+            // t-digests bound the error on the rank of the estimate, relatively to the distance to the nearest tail
+            double rank = (double) rank(values, digest.quantile(q)) / values.length;
+            assertThat(rank).isCloseTo(q, within(Math.min(q, 1 - q) * 0.05 + 0.0005));
+        }
+    }
+
+    private static int rank(double[] sortedValues, double value) {
+        int index = Arrays.binarySearch(sortedValues, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @Test
+    public void mergesDigests() {
+        Random random = new Random(7);
+        double[] values = new double[100000];
+        TDigest first = new TDigest(100);
+        TDigest second = new TDigest(100);
+        for (int i = 0; i < values.length; i++) {
+            // the two halves have different distributions
+            values[i] = i % 2 == 0 ? random.nextDouble() * 100 : 100 + random.nextGaussian() * 10;
+            (i % 2 == 0 ? first : second).add(values[i]);
+        }
+        Arrays.sort(values);
+
+        first.add(second);
+
+        assertThat(first.count()).isEqualTo(100000L);
+        for (double q : new double[] { 0.1, 0.5, 0.9, 0.99 }) {
+            assertThat(first.quantile(q)).isCloseTo(values[(int) (q * values.length)], within(0.5));
+        }
+    }
+
+    @Test
+    public void keepsSmallSamplesExact() {
+        TDigest digest = new TDigest(100);
+        for (int value = 5; value >= 1; value--) {
+            digest.add(value);
+        }
+
+        assertThat(digest.quantile(0)).isEqualTo(1.0);
+        assertThat(digest.quantile(0.5)).isEqualTo(3.0);
+        assertThat(digest.quantile(1)).isEqualTo(5.0);
+    }
+
+    @Test
+    public void answersNothingWhenEmpty() {
+        TDigest digest = new TDigest(100);
+
+        assertThat(Double.isNaN(digest.quantile(0.5))).isTrue();
+        assertThat(Double.isNaN(digest.min())).isTrue();
+    }
+}
@@ -0,0 +1,152 @@
+package de.processmining.app.web.rest;
+
+import de.processmining.app.Process2021App;
+import de.processmining.app.domain.AnalysisJob;
+import de.processmining.app.domain.Process;
+import de.processmining.app.domain.enumeration.AnalysisJobStatus;
+import de.processmining.app.domain.enumeration.AnalysisJobType;
+import de.processmining.app.repository.AnalysisJobRepository;
+import de.processmining.app.repository.ProcessRepository;
+import de.processmining.app.service.AnalysisJobService;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link AnalysisJobResource} REST controller.
+ * <p>
+ * Jobs run on another thread, which only sees committed data: these tests are not transactional and delete their
+ * process, with its jobs, afterwards.
+ */
+@SpringBootTest(classes = Process2021App.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class AnalysisJobResourceIT {
+
+    private static final long TIMEOUT = 10_000;
+
+    @Autowired
+    private ProcessRepository processRepository;
+
+    @Autowired
+    private AnalysisJobRepository analysisJobRepository;
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restAnalysisJobMockMvc;
+
+    private Process process;
+
+    @BeforeEach
+    public void initTest() throws Exception {
+        process = processRepository.saveAndFlush(ProcessResourceIT.createEntity(em));
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "log.xes", "application/xml", EventLogResourceIT.XES_LOG.getBytes(StandardCharsets.UTF_8));
+        restAnalysisJobMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+            .andExpect(status().isOk());
+    }
+
+    @AfterEach
+    public void deleteProcess() {
+        processRepository.deleteById(process.getId());
+    }
+
+    @Test
+    public void submitProcessTreeDiscovery() throws Exception {
+        String submitted = restAnalysisJobMockMvc.perform(
+            post("/api/processes/{id}/process-tree/jobs?noiseThreshold=0", process.getId()))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andExpect(jsonPath("$.type").value("PROCESS_TREE"))
+            .andExpect(jsonPath("$.processId").value(process.getId().intValue()))
+            .andReturn().getResponse().getContentAsString();
+        long jobId = ((Number) JsonPath.read(submitted, "$.id")).longValue();
+
+        assertThat(awaitJob(jobId)).isEqualTo(AnalysisJobStatus.SUCCEEDED.name());
+        restAnalysisJobMockMvc.perform(get("/api/jobs/{id}", jobId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.progress").value(1.0))
+            .andExpect(jsonPath("$.result.operator").value("SEQUENCE"))
+            .andExpect(jsonPath("$.result.children[0].activity").value("A"));
+    }
+
+    @Test
+    public void restartOnlyFailsJobsOfThisInstance() throws Exception {
+        String submitted = restAnalysisJobMockMvc.perform(post("/api/processes/{id}/process-tree/jobs", process.getId()))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+        long submittedId = ((Number) JsonPath.read(submitted, "$.id")).longValue();
+        awaitJob(submittedId);
+        String instanceId = analysisJobRepository.findById(submittedId).get().getOwner();
+        AnalysisJob own = analysisJobRepository.saveAndFlush(runningJob(instanceId));
+        AnalysisJob other = analysisJobRepository.saveAndFlush(runningJob("other-instance"));
+
+        analysisJobService.failInterruptedJobs();
+
+        assertThat(analysisJobRepository.findById(own.getId()).get().getStatus()).isEqualTo(AnalysisJobStatus.FAILED);
+        assertThat(analysisJobRepository.findById(other.getId()).get().getStatus()).isEqualTo(AnalysisJobStatus.RUNNING);
+    }
+
+    @Test
+    public void submitProcessTreeDiscoveryWithInvalidNoiseThreshold() throws Exception {
+        restAnalysisJobMockMvc.perform(post("/api/processes/{id}/process-tree/jobs?noiseThreshold=2", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void submitJobOfNonExistingProcess() throws Exception {
+        restAnalysisJobMockMvc.perform(post("/api/processes/{id}/process-tree/jobs", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getNonExistingJob() throws Exception {
+        restAnalysisJobMockMvc.perform(get("/api/jobs/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+        restAnalysisJobMockMvc.perform(post("/api/jobs/{id}/cancel", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    private AnalysisJob runningJob(String owner) {
+        return new AnalysisJob()
+            .type(AnalysisJobType.PROCESS_TREE)
+            .status(AnalysisJobStatus.RUNNING)
+            .progress(0.5)
+            .owner(owner)
+            .process(process);
+    }
+
+    private String awaitJob(long jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (true) {
+            String job = restAnalysisJobMockMvc.perform(get("/api/jobs/{id}", jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            String status = JsonPath.read(job, "$.status");
+            if (!status.equals(AnalysisJobStatus.QUEUED.name()) && !status.equals(AnalysisJobStatus.RUNNING.name())) {
+                return status;
+            }
+            assertThat(System.currentTimeMillis()).as("job %s finished in time", jobId).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package de.processmining.app.web.rest;
+
+import de.processmining.app.Process2021App;
+import de.processmining.app.domain.Process;
+import de.processmining.app.repository.ProcessRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link EventLogResource} REST controller.
+ */
+@SpringBootTest(classes = Process2021App.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class EventLogResourceIT {
+
+    static final String XES_LOG =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+        "<log xes.version=\"1.0\">" +
+        "<trace><string key=\"concept:name\" value=\"case-1\"/>" +
+        "<event><string key=\"concept:name\" value=\"A\"/><date key=\"time:timestamp\" value=\"2021-01-04T10:00:00Z\"/>" +
+        "<string key=\"org:resource\" value=\"alice\"/></event>" +
+        "<event><string key=\"concept:name\" value=\"B\"/><date key=\"time:timestamp\" value=\"2021-01-04T11:00:00Z\"/></event>" +
+        "</trace>" +
+        "<trace><string key=\"concept:name\" value=\"case-2\"/>" +
+        "<event><string key=\"concept:name\" value=\"A\"/><date key=\"time:timestamp\" value=\"2021-01-05T10:00:00Z\"/></event>" +
+        "</trace>" +
+        "</log>";
+
+    static final String OCEL_LOG =
+        "{\"ocel:events\": {" +
+        "\"e1\": {\"ocel:activity\": \"place order\", \"ocel:timestamp\": \"2021-01-04T10:00:00Z\"," +
+        "\"ocel:omap\": [\"o1\", \"i1\", \"i2\"]}," +
+        "\"e2\": {\"ocel:activity\": \"pick item\", \"ocel:timestamp\": \"2021-01-04T11:00:00Z\", \"ocel:omap\": [\"i1\"]}," +
+        "\"e3\": {\"ocel:activity\": \"pick item\", \"ocel:timestamp\": \"2021-01-04T12:00:00Z\", \"ocel:omap\": [\"i2\"]}" +
+        "}," +
+        "\"ocel:objects\": {" +
+        "\"o1\": {\"ocel:type\": \"order\", \"ocel:ovmap\": {\"customer\": \"alice\"}}," +
+        "\"i1\": {\"ocel:type\": \"item\"}," +
+        "\"i2\": {\"ocel:type\": \"item\"}" +
+        "}}";
+
+    @Autowired
+    private ProcessRepository processRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restEventLogMockMvc;
+
+    private Process process;
+
+    @BeforeEach
+    public void initTest() {
+        process = ProcessResourceIT.createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    public void importXesEventLog() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile("file", "log.xes", "application/xml", XES_LOG.getBytes(StandardCharsets.UTF_8));
+
+        restEventLogMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.processId").value(process.getId().intValue()))
+            .andExpect(jsonPath("$.traceCount").value(2))
+            .andExpect(jsonPath("$.eventCount").value(3));
+
+        Long events = jdbcTemplate.queryForObject("select count(*) from event where process_id = ?", Long.class, process.getId());
+        assertThat(events).isEqualTo(3L);
+        Long traces = jdbcTemplate.queryForObject("select count(*) from trace where process_id = ?", Long.class, process.getId());
+        assertThat(traces).isEqualTo(2L);
+    }
+
+    @Test
+    @Transactional
+    public void importMalformedXesEventLog() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile("file", "log.xes", "application/xml", "<log><trace>".getBytes(StandardCharsets.UTF_8));
+
+        restEventLogMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void importTruncatedXesEventLogLeavesLogUnchanged() throws Exception {
+        // the import must not commit anything, so the test cannot run in a transaction rolled back afterwards
+        processRepository.saveAndFlush(process);
+        try {
+            long logVersion = processRepository.findLogVersionById(process.getId()).get();
+            StringBuilder xes = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><log xes.version=\"1.0\">");
+            // more traces than the batch size, so that batches are sent to the database before the document ends
+            for (int i = 0; i < 2500; i++) {
+                xes.append("<trace><string key=\"concept:name\" value=\"case-").append(i).append("\"/>")
+                    .append("<event><string key=\"concept:name\" value=\"A\"/></event></trace>");
+            }
+            xes.append("<trace><event><string key=");
+            MockMultipartFile file = new MockMultipartFile(
+                "file", "log.xes", "application/xml", xes.toString().getBytes(StandardCharsets.UTF_8));
+
+            restEventLogMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+                .andExpect(status().isBadRequest());
+
+            Long events = jdbcTemplate.queryForObject("select count(*) from event where process_id = ?", Long.class, process.getId());
+            assertThat(events).isZero();
+            Long traces = jdbcTemplate.queryForObject("select count(*) from trace where process_id = ?", Long.class, process.getId());
+            assertThat(traces).isZero();
+            assertThat(processRepository.findLogVersionById(process.getId())).contains(logVersion);
+        } finally {
+            processRepository.deleteById(process.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void importEventLogIntoNonExistingProcess() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "log.xes", "application/xml", XES_LOG.getBytes(StandardCharsets.UTF_8));
+
+        restEventLogMockMvc.perform(multipart("/api/processes/{id}/event-logs", Long.MAX_VALUE).file(file))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void importCsvEventLog() throws Exception {
+        // chunks are written on the import threads, which only see committed data
+        processRepository.saveAndFlush(process);
+        try {
+            MockMultipartFile file = new MockMultipartFile("file", "log.csv", "text/csv",
+                ("\uFEFFcase,activity,timestamp\n" +
+                    "case-1,A,2021-01-04T10:00:00Z\ncase-1,B,2021-01-04T11:00:00Z\ncase-2,A,2021-01-05T10:00:00Z\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            MockMultipartFile mapping = new MockMultipartFile("mapping", "", MediaType.APPLICATION_JSON_VALUE,
+                "{\"caseId\": \"case\", \"activity\": \"activity\", \"timestamp\": \"timestamp\"}".getBytes(StandardCharsets.UTF_8));
+
+            restEventLogMockMvc.perform(
+                multipart("/api/processes/{id}/event-logs/csv", process.getId()).file(file).file(mapping))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.traceCount").value(2))
+                .andExpect(jsonPath("$.eventCount").value(3));
+
+            Long traces = jdbcTemplate.queryForObject("select count(*) from trace where process_id = ?", Long.class, process.getId());
+            assertThat(traces).isEqualTo(2L);
+        } finally {
+            processRepository.deleteById(process.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void importObjectCentricEventLog() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "log.jsonocel", "application/json", OCEL_LOG.getBytes(StandardCharsets.UTF_8));
+
+        restEventLogMockMvc.perform(multipart("/api/processes/{id}/object-centric-event-logs", process.getId()).file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.eventCount").value(3))
+            .andExpect(jsonPath("$.objectCount").value(3));
+
+        Long events = jdbcTemplate.queryForObject("select count(*) from ocel_event where process_id = ?", Long.class, process.getId());
+        assertThat(events).isEqualTo(3L);
+        Long relations = jdbcTemplate.queryForObject(
+            "select count(*) from ocel_event_object where process_id = ?", Long.class, process.getId());
+        assertThat(relations).isEqualTo(5L);
+    }
+
+    @Test
+    @Transactional
+    public void importMalformedObjectCentricEventLog() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "log.jsonocel", "application/json", "{\"ocel:events\": {\"e1\": ".getBytes(StandardCharsets.UTF_8));
+
+        restEventLogMockMvc.perform(multipart("/api/processes/{id}/object-centric-event-logs", process.getId()).file(file))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void appendEvents() throws Exception {
+        processRepository.saveAndFlush(process);
+        String events =
+            "[{\"caseId\":\"case-1\",\"activity\":\"A\",\"timestamp\":\"2021-01-04T10:00:00Z\"}," +
+            "{\"caseId\":\"case-1\",\"activity\":\"B\",\"resource\":\"bob\",\"attributes\":{\"cost\":\"3\"}}]";
+
+        restEventLogMockMvc.perform(post("/api/processes/{id}/events", process.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(events))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.eventCount").value(2));
+
+        Long count = jdbcTemplate.queryForObject("select count(*) from event where process_id = ?", Long.class, process.getId());
+        assertThat(count).isEqualTo(2L);
+    }
+
+    @Test
+    @Transactional
+    public void appendEventWithoutActivity() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restEventLogMockMvc.perform(post("/api/processes/{id}/events", process.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"caseId\":\"case-1\"}]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void exportEventLog() throws Exception {
+        // not transactional: the log is streamed from the database on another thread, which only sees committed data
+        String xesLog = XES_LOG
+            .replace("value=\"case-1\"/>", "value=\"case-1\"/><string key=\"priority\" value=\"high\"/>")
+            .replace("value=\"alice\"/>", "value=\"alice\"/><string key=\"cost\" value=\"12\"/>")
+            .replace("2021-01-05T10:00:00Z\"/>", "2021-01-05T10:00:00Z\"/><string key=\"cost\" value=\"7\"/>");
+        processRepository.saveAndFlush(process);
+        try {
+            MockMultipartFile file = new MockMultipartFile("file", "log.xes", "application/xml", xesLog.getBytes(StandardCharsets.UTF_8));
+            restEventLogMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+                .andExpect(status().isOk());
+
+            MvcResult csv = restEventLogMockMvc
+                .perform(get("/api/processes/{id}/event-log?format=csv&activity.notEquals=B", process.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restEventLogMockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("case_id,activity,timestamp,resource,cost\ncase-2,A,2021-01-05T10:00:00Z,,7\n"));
+
+            MvcResult fullCsv = restEventLogMockMvc.perform(get("/api/processes/{id}/event-log?format=csv", process.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restEventLogMockMvc.perform(asyncDispatch(fullCsv))
+                .andExpect(status().isOk())
+                .andExpect(
+                    content()
+                        .string(
+                            "case_id,activity,timestamp,resource,case:priority,cost\n" +
+                            "case-1,A,2021-01-04T10:00:00Z,alice,high,12\n" +
+                            "case-1,B,2021-01-04T11:00:00Z,,high,\n" +
+                            "case-2,A,2021-01-05T10:00:00Z,,,7\n"
+                        )
+                );
+
+            MvcResult xes = restEventLogMockMvc.perform(get("/api/processes/{id}/event-log", process.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restEventLogMockMvc.perform(asyncDispatch(xes))
+                .andExpect(status().isOk())
+                .andExpect(xpath("count(/log/trace)").number(2.0))
+                .andExpect(xpath("/log/trace[1]/string[@key='priority']/@value").string("high"))
+                .andExpect(xpath("/log/trace[1]/event[1]/string[@key='org:resource']/@value").string("alice"))
+                .andExpect(xpath("/log/trace[1]/event[1]/string[@key='cost']/@value").string("12"));
+        } finally {
+            processRepository.deleteById(process.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void exportEventLogInUnsupportedFormat() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restEventLogMockMvc.perform(get("/api/processes/{id}/event-log?format=parquet", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+}
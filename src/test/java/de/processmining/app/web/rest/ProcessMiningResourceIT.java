@@ -0,0 +1,432 @@
+package de.processmining.app.web.rest;
+
+import de.processmining.app.Process2021App;
+import de.processmining.app.domain.Process;
+import de.processmining.app.repository.ProcessRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link ProcessMiningResource} REST controller.
+ */
+@SpringBootTest(classes = Process2021App.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class ProcessMiningResourceIT {
+
+    /**
+     * A followed by an optional B, matching {@link EventLogResourceIT#XES_LOG}.
+     */
+    private static final String PNML =
+        "<pnml><net id=\"net\"><page id=\"page\">" +
+        "<place id=\"source\"><initialMarking><text>1</text></initialMarking></place><place id=\"middle\"/><place id=\"sink\"/>" +
+        "<transition id=\"a\"><name><text>A</text></name></transition>" +
+        "<transition id=\"b\"><name><text>B</text></name></transition>" +
+        "<transition id=\"skip\"/>" +
+        "<arc id=\"1\" source=\"source\" target=\"a\"/><arc id=\"2\" source=\"a\" target=\"middle\"/>" +
+        "<arc id=\"3\" source=\"middle\" target=\"b\"/><arc id=\"4\" source=\"b\" target=\"sink\"/>" +
+        "<arc id=\"5\" source=\"middle\" target=\"skip\"/><arc id=\"6\" source=\"skip\" target=\"sink\"/>" +
+        "</page></net></pnml>";
+
+    @Autowired
+    private ProcessRepository processRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restProcessMiningMockMvc;
+
+    private Process process;
+
+    @BeforeEach
+    public void initTest() {
+        process = ProcessResourceIT.createEntity(em);
+    }
+
+    private void importLog() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "log.xes", "application/xml", EventLogResourceIT.XES_LOG.getBytes(StandardCharsets.UTF_8));
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    public void getDirectlyFollowsGraph() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/dfg", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(2))
+            .andExpect(jsonPath("$.edges[0].source").value("A"))
+            .andExpect(jsonPath("$.edges[0].target").value("B"));
+    }
+
+    @Test
+    @Transactional
+    public void getVariants() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/variants", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(2))
+            .andExpect(jsonPath("$.variantCount").value(2))
+            .andExpect(jsonPath("$.variants[0].caseCount").value(1))
+            .andExpect(jsonPath("$.variants[0].coverage").value(0.5))
+            .andExpect(jsonPath("$.variants[1].cumulativeCoverage").value(1.0));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/variants?limit=1", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.variants.length()").value(1));
+    }
+
+    @Test
+    @Transactional
+    public void getVariantsByCriteria() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/variants?activity.equals=B", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(1))
+            .andExpect(jsonPath("$.variants[0].caseIds").value(hasItem("case-1")))
+            .andExpect(jsonPath("$.variants[0].coverage").value(1.0));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/variants?duration.greaterThan=0&resource.specified=true", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(1));
+    }
+
+    @Test
+    @Transactional
+    public void getDirectlyFollowsGraphByCriteria() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/dfg?activity.notEquals=B", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(1))
+            .andExpect(jsonPath("$.edges").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void getStatistics() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/statistics", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(2))
+            .andExpect(jsonPath("$.eventCount").value(3))
+            .andExpect(jsonPath("$.resourceCount").value(1))
+            .andExpect(jsonPath("$.maxCaseLength").value(2))
+            .andExpect(jsonPath("$.startTime").value("2021-01-04T10:00:00Z"))
+            .andExpect(jsonPath("$.maxDuration").value(3600000))
+            .andExpect(jsonPath("$.activities[0].activity").value("A"))
+            .andExpect(jsonPath("$.activities[0].frequency").value(2))
+            .andExpect(jsonPath("$.activities[0].startFrequency").value(2))
+            .andExpect(jsonPath("$.activities[0].endFrequency").value(1))
+            .andExpect(jsonPath("$.durationHistogram[0].lowerBound").value(0))
+            .andExpect(jsonPath("$.durationHistogram[0].caseCount").value(1))
+            .andExpect(jsonPath("$.throughputStart").value("2021-01-04T10:00:00Z"))
+            .andExpect(jsonPath("$.throughputBucketSize").value(3600000))
+            .andExpect(jsonPath("$.startedCases.length()").value(25))
+            .andExpect(jsonPath("$.completedCases[1]").value(1));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/statistics", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void countCases() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/cases/count?directlyFollows=A->B", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/cases/count", process.getId())
+            .param("caseStart.greaterThan", "2021-01-05T00:00:00Z"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/cases/count?follows=A", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void predictRemainingTime() throws Exception {
+        importLog();
+
+        // too few completed cases for any longer state, the prediction is the mean of all remaining times
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/cases/{caseId}/prediction", process.getId(), "case-2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseId").value("case-2"))
+            .andExpect(jsonPath("$.eventCount").value(1))
+            .andExpect(jsonPath("$.elapsedTime").value(0))
+            .andExpect(jsonPath("$.state").isEmpty())
+            .andExpect(jsonPath("$.support").value(3))
+            .andExpect(jsonPath("$.predictedRemainingTime").value(1200000))
+            .andExpect(jsonPath("$.predictedEndTime").value("2021-01-05T10:20:00Z"));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/cases/{caseId}/prediction", process.getId(), "case-3"))
+            .andExpect(status().isNotFound());
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/cases/{caseId}/prediction", Long.MAX_VALUE, "case-2"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void getVariantsOfUnknownProcess() throws Exception {
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/variants", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void getObjectCentricDirectlyFollowsGraph() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "log.jsonocel", "application/json", EventLogResourceIT.OCEL_LOG.getBytes(StandardCharsets.UTF_8));
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/object-centric-event-logs", process.getId()).file(file))
+            .andExpect(status().isOk());
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/object-centric-dfg", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.eventCount").value(3))
+            .andExpect(jsonPath("$.objectCount").value(3))
+            .andExpect(jsonPath("$.objectTypes[?(@.objectType == 'item')].objectCount").value(2))
+            .andExpect(jsonPath("$.objectTypes[?(@.objectType == 'item')].graph.nodes[0].frequency").value(1))
+            .andExpect(jsonPath("$.objectTypes[?(@.objectType == 'item')].graph.edges[0].frequency").value(2));
+    }
+
+    @Test
+    @Transactional
+    public void getPerformanceSpectrum() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/performance?bucket=P1D", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(2))
+            .andExpect(jsonPath("$.bucketStart").value("2021-01-04T00:00:00Z"))
+            .andExpect(jsonPath("$.bucketSize").value(86400000))
+            .andExpect(jsonPath("$.caseThroughput[0]").value(1))
+            .andExpect(jsonPath("$.caseThroughput[1]").value(1))
+            .andExpect(jsonPath("$.edges[0].source").value("A"))
+            .andExpect(jsonPath("$.edges[0].target").value("B"))
+            .andExpect(jsonPath("$.edges[0].p50Duration").value(3600000))
+            .andExpect(jsonPath("$.edges[0].p99Duration").value(3600000))
+            .andExpect(jsonPath("$.edges[0].throughput[0]").value(1));
+    }
+
+    @Test
+    @Transactional
+    public void getPerformanceSpectrumWithInvalidBucket() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/performance?bucket=PT0S", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getDottedChart() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/dotted-chart?width=2&height=10", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseCount").value(2))
+            .andExpect(jsonPath("$.height").value(2))
+            .andExpect(jsonPath("$.startTime").value("2021-01-04T10:00:00Z"))
+            .andExpect(jsonPath("$.endTime").value("2021-01-05T10:00:00Z"))
+            .andExpect(jsonPath("$.activities[0]").value("A"))
+            .andExpect(jsonPath("$.rows[0].firstCaseId").value("case-1"))
+            .andExpect(jsonPath("$.rows[0].endTime").value("2021-01-04T11:00:00Z"))
+            .andExpect(jsonPath("$.cells.length()").value(2))
+            .andExpect(jsonPath("$.cells[0].eventCount").value(2))
+            .andExpect(jsonPath("$.cells[0].firstActivity").value(0))
+            .andExpect(jsonPath("$.cells[0].lastActivity").value(1))
+            .andExpect(jsonPath("$.cells[1].x").value(1))
+            .andExpect(jsonPath("$.cells[1].y").value(1));
+    }
+
+    @Test
+    @Transactional
+    public void getDottedChartWithInvalidSize() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/dotted-chart?width=0", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getSocialNetwork() throws Exception {
+        importLog();
+        restProcessMiningMockMvc.perform(post("/api/processes/{id}/events", process.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"caseId\":\"case-2\",\"activity\":\"B\",\"timestamp\":\"2021-01-05T11:00:00Z\",\"resource\":\"bob\"}," +
+                "{\"caseId\":\"case-2\",\"activity\":\"C\",\"timestamp\":\"2021-01-05T12:00:00Z\",\"resource\":\"alice\"}]"))
+            .andExpect(status().isOk());
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/social-network", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.resourceCount").value(2))
+            .andExpect(jsonPath("$.handovers.length()").value(1))
+            .andExpect(jsonPath("$.handovers[0].source").value("bob"))
+            .andExpect(jsonPath("$.handovers[0].target").value("alice"))
+            .andExpect(jsonPath("$.workingTogether[0].frequency").value(1))
+            .andExpect(jsonPath("$.resources.length()").value(2));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/social-network?activity.notEquals=C", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.resourceCount").value(1))
+            .andExpect(jsonPath("$.handovers").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void discoverProcessTree() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/process-tree?noiseThreshold=0", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.operator").value("SEQUENCE"))
+            .andExpect(jsonPath("$.children[0].activity").value("A"))
+            .andExpect(jsonPath("$.children[1].operator").value("XOR"));
+    }
+
+    @Test
+    @Transactional
+    public void discoverProcessTreeWithInvalidNoiseThreshold() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/process-tree?noiseThreshold=2", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void discoverCausalNet() throws Exception {
+        importLog();
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/causal-net", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.activities[0].name").value("A"))
+            .andExpect(jsonPath("$.activities[0].frequency").value(2))
+            .andExpect(jsonPath("$.activities[0].outputs[0][0]").value("B"))
+            .andExpect(jsonPath("$.arcs.length()").value(1))
+            .andExpect(jsonPath("$.arcs[0].dependency").value(0.5));
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/causal-net?activity.notEquals=B", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.activities.length()").value(1))
+            .andExpect(jsonPath("$.arcs").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void discoverCausalNetWithInvalidThreshold() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/causal-net?dependencyThreshold=1.5", process.getId()))
+            .andExpect(status().isBadRequest());
+        restProcessMiningMockMvc.perform(get("/api/processes/{id}/causal-net?positiveObservations=0", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void checkConformance() throws Exception {
+        importLog();
+        MockMultipartFile model = new MockMultipartFile("model", "model.pnml", "application/xml", PNML.getBytes(StandardCharsets.UTF_8));
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/conformance", process.getId()).file(model))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.traceCount").value(2))
+            .andExpect(jsonPath("$.fittingTraceCount").value(2))
+            .andExpect(jsonPath("$.fitness").value(1.0))
+            .andExpect(jsonPath("$.deviatingVariants").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void checkConformanceReportsDeviatingCases() throws Exception {
+        importLog();
+        String model = PNML.replace("<text>B</text>", "<text>C</text>");
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/conformance", process.getId())
+            .file(new MockMultipartFile("model", "model.pnml", "application/xml", model.getBytes(StandardCharsets.UTF_8))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fittingTraceCount").value(1))
+            .andExpect(jsonPath("$.deviatingVariants[0].caseIds").value(hasItem("case-1")))
+            .andExpect(jsonPath("$.deviatingVariants[0].deviations[0].type").value("UNKNOWN_ACTIVITY"));
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/conformance?caseIdLimit=0", process.getId())
+            .file(new MockMultipartFile("model", "model.pnml", "application/xml", model.getBytes(StandardCharsets.UTF_8))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.deviatingVariants[0].caseCount").value(1))
+            .andExpect(jsonPath("$.deviatingVariants[0].caseIds").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void checkConformanceWithInvalidModel() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile model = new MockMultipartFile("model", "model.pnml", "application/xml", "<pnml><net>".getBytes(StandardCharsets.UTF_8));
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/conformance", process.getId()).file(model))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void alignReusesStoredVariantAlignments() throws Exception {
+        importLog();
+        byte[] model = PNML.replace("<text>B</text>", "<text>C</text>").getBytes(StandardCharsets.UTF_8);
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/alignments", process.getId())
+            .file(new MockMultipartFile("model", "model.pnml", "application/xml", model)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.traceCount").value(2))
+            .andExpect(jsonPath("$.fittingTraceCount").value(1))
+            .andExpect(jsonPath("$.computedVariantCount").value(2))
+            .andExpect(jsonPath("$.deviatingVariants[0].caseIds").value(hasItem("case-1")))
+            .andExpect(jsonPath("$.deviatingVariants[0].moves[1].type").value("LOG"))
+            .andExpect(jsonPath("$.deviatingVariants[0].moves[1].activity").value("B"));
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/alignments", process.getId())
+            .file(new MockMultipartFile("model", "model.pnml", "application/xml", model)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.computedVariantCount").value(0))
+            .andExpect(jsonPath("$.cachedVariantCount").value(2))
+            .andExpect(jsonPath("$.deviatingVariants[0].moves[1].type").value("LOG"));
+    }
+
+    @Test
+    @Transactional
+    public void alignWithInvalidModel() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile model = new MockMultipartFile("model", "model.pnml", "application/xml", "<pnml><net>".getBytes(StandardCharsets.UTF_8));
+
+        restProcessMiningMockMvc.perform(multipart("/api/processes/{id}/alignments", process.getId()).file(model))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -13,13 +13,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -156,7 +161,54 @@ public class ProcessResourceIT {
             .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
             .andExpect(jsonPath("$.[*].code").value(hasItem(DEFAULT_CODE)));
     }
-    
+
+    @Test
+    @Transactional
+    public void getAllProcessesAfterId() throws Exception {
+        // Initialize the database
+        processRepository.saveAndFlush(process);
+        Process next = processRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Get the processes after the first one, one by one
+        restProcessMockMvc.perform(get("/api/processes?after={after}&size=1&code.in={first},{next}",
+            process.getId() - 1, DEFAULT_CODE, UPDATED_CODE))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("after=" + process.getId())))
+            .andExpect(jsonPath("$.[*].id").value(contains(process.getId().intValue())));
+
+        restProcessMockMvc.perform(get("/api/processes?after={after}&size=1&code.in={first},{next}",
+            process.getId(), DEFAULT_CODE, UPDATED_CODE))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[*].id").value(contains(next.getId().intValue())));
+    }
+
+    @Test
+    public void streamProcesses() throws Exception {
+        // Initialize the database, committed since the processes are streamed on another thread
+        processRepository.saveAndFlush(process);
+        Process next = processRepository.saveAndFlush(createUpdatedEntity(em));
+        try {
+            MvcResult result = restProcessMockMvc.perform(get("/api/processes/stream?id.in={first},{next}",
+                process.getId(), next.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String lines = restProcessMockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+            assertThat(lines).endsWith("\n");
+            assertThat(lines.split("\n")).hasSize(2);
+            assertThat(lines.split("\n")[0]).contains("\"id\":" + process.getId(), "\"title\":\"" + DEFAULT_TITLE + "\"");
+            assertThat(lines.split("\n")[1]).contains("\"id\":" + next.getId(), "\"title\":\"" + UPDATED_TITLE + "\"");
+        } finally {
+            processRepository.deleteById(process.getId());
+            processRepository.deleteById(next.getId());
+        }
+    }
+
     @Test
     @Transactional
     public void getProcess() throws Exception {
@@ -390,6 +442,39 @@ public class ProcessResourceIT {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    public void detectDrift() throws Exception {
+        processRepository.saveAndFlush(process);
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "log.xes", "application/xml", EventLogResourceIT.XES_LOG.getBytes(StandardCharsets.UTF_8));
+        restProcessMockMvc.perform(multipart("/api/processes/{id}/event-logs", process.getId()).file(file))
+            .andExpect(status().isOk());
+
+        restProcessMockMvc.perform(get("/api/processes/{id}/drift?window=DAY", process.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.window").value("DAY"))
+            .andExpect(jsonPath("$.windowCount").value(2))
+            .andExpect(jsonPath("$.comparisons[0].windowStart").value("2021-01-05T00:00:00Z"))
+            .andExpect(jsonPath("$.comparisons[0].drift").value(false));
+    }
+
+    @Test
+    @Transactional
+    public void detectDriftWithInvalidSignificance() throws Exception {
+        processRepository.saveAndFlush(process);
+
+        restProcessMockMvc.perform(get("/api/processes/{id}/drift?significance=1.5", process.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void detectDriftOfNonExistingProcess() throws Exception {
+        restProcessMockMvc.perform(get("/api/processes/{id}/drift", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void updateProcess() throws Exception {
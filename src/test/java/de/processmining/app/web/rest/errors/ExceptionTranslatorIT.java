@@ -34,6 +34,24 @@ public class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
     }
 
+    @Test
+    public void testUploadTooLarge() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/upload-too-large"))
+            .andExpect(status().isPayloadTooLarge())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_UPLOAD_TOO_LARGE));
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/rejected-execution"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_BUSY));
+    }
+
     @Test
     public void testMethodArgumentNotValid() throws Exception {
         mockMvc
@@ -1,5 +1,6 @@
 package de.processmining.app.web.rest.errors;
 
+import java.util.concurrent.RejectedExecutionException;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -7,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @RestController
 @RequestMapping("/api/exception-translator-test")
@@ -17,6 +19,16 @@ public class ExceptionTranslatorTestController {
         throw new ConcurrencyFailureException("test concurrency failure");
     }
 
+    @GetMapping("/upload-too-large")
+    public void uploadTooLarge() {
+        throw new MaxUploadSizeExceededException(1024);
+    }
+
+    @GetMapping("/rejected-execution")
+    public void rejectedExecution() {
+        throw new RejectedExecutionException("test rejected execution");
+    }
+
     @PostMapping("/method-argument")
     public void methodArgument(@Valid @RequestBody TestDTO testDTO) {}
 